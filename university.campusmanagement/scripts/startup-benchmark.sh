@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+# Benchmark de arranque: mide el tiempo hasta el primer GET /api/campuses exitoso (HTTP 200)
+# para cada modo de ejecución.
+#
+# Uso:
+#   ./mvnw -Pcds package                  # genera target/extracted con application.jsa
+#   ./mvnw -Pnative native:compile        # opcional, requiere GraalVM
+#   AUTH_HEADER="Authorization: Bearer <token>" scripts/startup-benchmark.sh [runs]
+#
+# Modos: jar (por defecto), lazy, aot-cds y native (si existe el binario).
+
+set -euo pipefail
+
+RUNS="${1:-3}"
+PORT="${PORT:-8080}"
+URL="http://localhost:${PORT}/api/campuses"
+TARGET_DIR="$(cd "$(dirname "$0")/.." && pwd)/target"
+APP_NAME="university.campusmanagement-0.0.1-SNAPSHOT"
+JAR="${TARGET_DIR}/${APP_NAME}.jar"
+EXTRACTED_JAR="${TARGET_DIR}/extracted/${APP_NAME}.jar"
+CDS_ARCHIVE="${TARGET_DIR}/extracted/application.jsa"
+NATIVE_BIN="${TARGET_DIR}/university.campusmanagement"
+TIMEOUT_SECONDS=120
+
+now_ms() {
+  date +%s%3N
+}
+
+wait_for_first_success() {
+  local start_ms="$1"
+  local deadline=$((start_ms + TIMEOUT_SECONDS * 1000))
+  local curl_args=(-s -o /dev/null -w "%{http_code}")
+  if [[ -n "${AUTH_HEADER:-}" ]]; then
+    curl_args+=(-H "${AUTH_HEADER}")
+  fi
+
+  while [[ $(now_ms) -lt ${deadline} ]]; do
+    if [[ "$(curl "${curl_args[@]}" "${URL}" || true)" == "200" ]]; then
+      echo $(($(now_ms) - start_ms))
+      return 0
+    fi
+    sleep 0.05
+  done
+  echo "timeout"
+  return 1
+}
+
+run_mode() {
+  local mode="$1"
+  shift
+  local total=0
+
+  for ((i = 1; i <= RUNS; i++)); do
+    local start_ms
+    start_ms=$(now_ms)
+    "$@" --server.port="${PORT}" > "${TARGET_DIR}/startup-${mode}.log" 2>&1 &
+    local pid=$!
+
+    local elapsed
+    elapsed=$(wait_for_first_success "${start_ms}") || true
+    kill "${pid}" 2> /dev/null || true
+    wait "${pid}" 2> /dev/null || true
+
+    if [[ "${elapsed}" == "timeout" ]]; then
+      printf "%-8s run %d: timeout (see %s)\n" "${mode}" "${i}" "${TARGET_DIR}/startup-${mode}.log"
+      return
+    fi
+    printf "%-8s run %d: %6d ms\n" "${mode}" "${i}" "${elapsed}"
+    total=$((total + elapsed))
+  done
+
+  printf "%-8s average: %6d ms\n\n" "${mode}" $((total / RUNS))
+}
+
+[[ -f "${JAR}" ]] || { echo "Missing ${JAR}, run ./mvnw package first"; exit 1; }
+
+run_mode jar java -jar "${JAR}"
+run_mode lazy java -jar "${JAR}" --spring.profiles.active=lazy
+
+if [[ -f "${CDS_ARCHIVE}" ]]; then
+  run_mode aot-cds java -XX:SharedArchiveFile="${CDS_ARCHIVE}" -Dspring.aot.enabled=true -jar "${EXTRACTED_JAR}"
+else
+  echo "Skipping aot-cds: ${CDS_ARCHIVE} not found (./mvnw -Pcds package)"
+fi
+
+if [[ -x "${NATIVE_BIN}" ]]; then
+  run_mode native "${NATIVE_BIN}"
+else
+  echo "Skipping native: ${NATIVE_BIN} not found (./mvnw -Pnative native:compile)"
+fi
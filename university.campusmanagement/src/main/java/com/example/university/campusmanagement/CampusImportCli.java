@@ -0,0 +1,54 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.dto.ImportReport;
+import com.example.university.campusmanagement.service.CampusImportService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Punto de entrada de línea de comandos para la importación CSV de campus.
+ * Uso: java -cp app.jar -Dloader.main=com.example.university.campusmanagement.CampusImportCli
+ *      org.springframework.boot.loader.launch.PropertiesLauncher campuses.csv [--spring.propiedad=valor ...]
+ */
+public class CampusImportCli {
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 0) {
+			System.err.println("Usage: CampusImportCli <file.csv> [--spring.property=value ...]");
+			System.exit(2);
+		}
+
+		Path csvFile = Path.of(args[0]);
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+				.web(WebApplicationType.NONE)
+				.run(Arrays.copyOfRange(args, 1, args.length));
+
+		int exitCode;
+		try (InputStream input = Files.newInputStream(csvFile)) {
+			CampusImportService importService = context.getBeanProvider(CampusImportService.class).getIfAvailable();
+			if (importService == null) {
+				System.err.println("CSV import is disabled (campus.import.enabled=false or logstore profile)");
+				System.exit(SpringApplication.exit(context, () -> 2));
+			}
+			ImportReport report = importService.importCsv(input);
+			System.out.printf("Rows: %d, valid: %d, invalid: %d, upserted: %d, duration: %d ms%n",
+					report.totalRows(), report.validRows(), report.invalidRows(), report.upsertedRows(),
+					report.durationMs());
+			report.errors().forEach(error -> System.out.printf("  line %d: %s%n", error.line(), error.message()));
+			if (report.errorsTruncated()) {
+				System.out.println("  ... more errors omitted");
+			}
+			exitCode = report.invalidRows() == 0 ? 0 : 1;
+		}
+
+		int finalExitCode = exitCode;
+		System.exit(SpringApplication.exit(context, () -> finalExitCode));
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.university.campusmanagement.config;
+
+import com.example.university.campusmanagement.filter.AdaptiveConcurrencyLimiter;
+import com.example.university.campusmanagement.filter.AdmissionControlFilter;
+import com.example.university.campusmanagement.filter.EndpointClass;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuración del control de admisión adaptativo para /api/campuses/**
+ */
+@Configuration
+public class AdmissionControlConfig {
+
+    private static final String METRIC_PREFIX = "campus.admission.";
+    private static final String CLASS_TAG = "class";
+
+    @Value("${campus.admission.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${campus.admission.decrease-interval-ms:250}")
+    private long decreaseIntervalMs;
+
+    @Value("${campus.admission.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Value("${campus.admission.read.max-limit:200}")
+    private int readMaxLimit;
+
+    @Value("${campus.admission.read.latency-threshold-ms:250}")
+    private long readLatencyThresholdMs;
+
+    @Value("${campus.admission.write.max-limit:50}")
+    private int writeMaxLimit;
+
+    @Value("${campus.admission.write.latency-threshold-ms:500}")
+    private long writeLatencyThresholdMs;
+
+    @Value("${campus.admission.bulk.max-limit:4}")
+    private int bulkMaxLimit;
+
+    // Un import o un export completo tarda segundos por diseño: sólo más que eso indica congestión
+    @Value("${campus.admission.bulk.latency-threshold-ms:60000}")
+    private long bulkLatencyThresholdMs;
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(MeterRegistry meterRegistry) {
+        Map<EndpointClass, AdaptiveConcurrencyLimiter> admissionLimiters = new EnumMap<>(EndpointClass.class);
+        admissionLimiters.put(EndpointClass.READ, newLimiter(EndpointClass.READ, readMaxLimit, readLatencyThresholdMs));
+        admissionLimiters.put(EndpointClass.WRITE, newLimiter(EndpointClass.WRITE, writeMaxLimit, writeLatencyThresholdMs));
+        admissionLimiters.put(EndpointClass.BULK, newLimiter(EndpointClass.BULK, bulkMaxLimit, bulkLatencyThresholdMs));
+        admissionLimiters.values().forEach(limiter -> bindMetrics(limiter, meterRegistry));
+
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(admissionLimiters, retryAfterSeconds));
+        registration.addUrlPatterns("/api/campuses", "/api/campuses/*");
+        // Antes que la cadena de seguridad: rechazar una petición debe costar lo mínimo
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private AdaptiveConcurrencyLimiter newLimiter(EndpointClass endpointClass, int maxLimit, long latencyThresholdMs) {
+        int initialLimit = Math.max(1, maxLimit / 4);
+        return new AdaptiveConcurrencyLimiter(endpointClass.name().toLowerCase(), initialLimit, 1, maxLimit,
+                TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs), backoffRatio,
+                TimeUnit.MILLISECONDS.toNanos(decreaseIntervalMs));
+    }
+
+    private void bindMetrics(AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+        Gauge.builder(METRIC_PREFIX + "limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag(CLASS_TAG, limiter.getName())
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag(CLASS_TAG, limiter.getName())
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + "rejections", limiter, AdaptiveConcurrencyLimiter::getRejections)
+                .tag(CLASS_TAG, limiter.getName())
+                .register(meterRegistry);
+    }
+}
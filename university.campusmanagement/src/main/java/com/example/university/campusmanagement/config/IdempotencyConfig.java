@@ -0,0 +1,27 @@
+package com.example.university.campusmanagement.config;
+
+import com.example.university.campusmanagement.filter.IdempotencyFilter;
+import com.example.university.campusmanagement.service.IdempotencyService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registro del filtro de idempotencia para las escrituras de /api/campuses/**
+ */
+@Configuration
+@ConditionalOnProperty(name = "campus.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyService idempotencyService) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyService));
+        registration.addUrlPatterns("/api/campuses", "/api/campuses/*");
+        // Después de la cadena de seguridad: la clave se acota al cliente autenticado
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.university.campusmanagement.config;
+
+import com.example.university.campusmanagement.repository.CampusLogStore;
+import com.example.university.campusmanagement.repository.CampusReadRouter;
+import com.example.university.campusmanagement.repository.LogStructuredCampusRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Backend local de campus (perfil "logstore"): guarda los campus en un log local en lugar de MongoDB.
+ * Reemplaza a MongoReadRoutingConfig: todas las lecturas y escrituras de campus van al log.
+ */
+@Configuration
+@Profile("logstore")
+public class LogStoreConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogStoreConfig.class);
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public LogStructuredCampusRepository logStructuredCampusRepository(
+            @Value("${campus.logstore.directory:data/campus-log}") String directory,
+            @Value("${campus.logstore.fsync-interval-ms:0}") long fsyncIntervalMs,
+            @Value("${campus.logstore.compaction-garbage-ratio:0.5}") double compactionGarbageRatio,
+            @Value("${campus.logstore.compaction-min-bytes:1048576}") long compactionMinBytes) throws IOException {
+        CampusLogStore store = CampusLogStore.open(Path.of(directory), fsyncIntervalMs);
+        logger.info("Campus log store opened at {} ({} campuses, fsync {})", directory, store.size(),
+                fsyncIntervalMs == 0 ? "per write (group commit)" : "every " + fsyncIntervalMs + " ms");
+        return new LogStructuredCampusRepository(store, compactionGarbageRatio, compactionMinBytes);
+    }
+
+    @Bean
+    public CampusReadRouter campusReadRouter(LogStructuredCampusRepository campusRepository) {
+        // Sin plantilla de MongoDB: las proyecciones y las búsquedas con filtros se resuelven en memoria
+        return CampusReadRouter.primaryOnly(campusRepository);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.university.campusmanagement.config;
+
+import com.example.university.campusmanagement.service.QueryShapeRecorder;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+
+/**
+ * Registra el QueryShapeRecorder (campus.query-shapes.enabled) como listener de comandos del cliente de MongoDB
+ */
+@Configuration
+public class MongoCommandListenerConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer queryShapeListener(Optional<QueryShapeRecorder> recorder) {
+        return builder -> recorder.ifPresent(builder::addCommandListener);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.university.campusmanagement.config;
+
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.CampusSchema;
+import com.example.university.campusmanagement.model.IdempotencyRecord;
+import com.example.university.campusmanagement.model.OutboxMessage;
+import com.example.university.campusmanagement.repository.CampusIndexes;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Crea los índices declarados al arrancar y verifica que los de campus existen con las claves declaradas.
+ * Se ejecuta en un virtual thread para no retrasar el arranque si MongoDB tarda en responder.
+ * No se registra con el perfil logstore, que no usa MongoDB.
+ */
+@Component
+@Profile("!logstore")
+public class MongoIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final long idempotencyTtlHours;
+    private volatile List<String> indexProblems = List.of();
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate,
+                                 @Value("${campus.idempotency.ttl-hours:24}") long idempotencyTtlHours) {
+        this.mongoTemplate = mongoTemplate;
+        this.idempotencyTtlHours = idempotencyTtlHours;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("mongo-index-initializer").start(this::ensureIndexes);
+    }
+
+    /**
+     * Crea (si no existen) los índices declarados
+     */
+    public void ensureIndexes() {
+        try {
+            // Los índices sustituidos se eliminan primero: su reemplazo parcial puede tener las mismas claves.
+            // También los que conservan un nombre declarado con otra definición (p. ej. los del esquema 1, con
+            // nombres de campo largos): MongoDB no permite crear un índice con el nombre de otro distinto
+            dropRetiredCampusIndexes();
+            dropOutdatedCampusIndexes();
+            // Índices de campus: los mismos que consulta el planificador de búsquedas.
+            // Uno que no se pueda crear (p. ej. mismo nombre con otras claves) no impide crear los demás
+            for (CampusIndexes.IndexSpec spec : CampusIndexes.all()) {
+                try {
+                    mongoTemplate.indexOps(Campus.class).createIndex(spec.toIndex());
+                } catch (RuntimeException e) {
+                    logger.warn("Could not create campus index {}: {}", spec.name(), e.getMessage());
+                }
+            }
+            mongoTemplate.indexOps(IdempotencyRecord.class).createIndex(new Index()
+                    .on("createdAt", Sort.Direction.ASC)
+                    .expire(Duration.ofHours(idempotencyTtlHours))
+                    .named("idempotency_ttl"));
+            mongoTemplate.indexOps(OutboxMessage.class).createIndex(new Index()
+                    .on("status", Sort.Direction.ASC)
+                    .on("nextAttemptAt", Sort.Direction.ASC)
+                    .named("outbox_ready"));
+            mongoTemplate.indexOps(OutboxMessage.class).createIndex(new Index()
+                    .on("lockedBy", Sort.Direction.ASC)
+                    .sparse()
+                    .named("outbox_locked_by"));
+            logger.info("MongoDB indexes ensured");
+            verifyCampusIndexes();
+        } catch (RuntimeException e) {
+            logger.warn("Could not ensure MongoDB indexes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Compara los índices existentes en la colección de campus con los declarados en CampusIndexes
+     * @return problemas encontrados (índices ausentes o con otras claves); vacío si todo coincide
+     */
+    public List<String> verifyCampusIndexes() {
+        Map<String, IndexInfo> existing = new HashMap<>();
+        mongoTemplate.indexOps(Campus.class).getIndexInfo().forEach(info -> existing.put(info.getName(), info));
+
+        List<String> problems = new ArrayList<>();
+        for (CampusIndexes.IndexSpec spec : CampusIndexes.all()) {
+            IndexInfo info = existing.get(spec.name());
+            if (info == null) {
+                problems.add("Missing campus index " + spec.name() + " " + spec.storedKeys());
+                continue;
+            }
+            Map<String, Sort.Direction> actual = keysOf(info);
+            // Las claves se comparan en orden: un índice compuesto con otro orden no sirve a las mismas consultas
+            if (!sameKeys(actual, spec)) {
+                problems.add("Campus index " + spec.name() + " has keys " + actual + " instead of " + spec.storedKeys());
+            }
+            if (spec.isPartial() != (info.getPartialFilterExpression() != null)) {
+                problems.add("Campus index " + spec.name() + (spec.isPartial()
+                        ? " should be partial on " + spec.partialFilter() : " should not be partial"));
+            }
+        }
+        problems.forEach(problem -> logger.warn("Index verification: {}", problem));
+        if (problems.isEmpty()) {
+            logger.info("Verified {} declared campus indexes", CampusIndexes.all().size());
+        }
+        indexProblems = List.copyOf(problems);
+        return indexProblems;
+    }
+
+    /**
+     * Elimina los índices de campus sustituidos por otros (p. ej. por sus versiones parciales)
+     */
+    private void dropRetiredCampusIndexes() {
+        List<String> existing = mongoTemplate.indexOps(Campus.class).getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .toList();
+        for (String retired : CampusIndexes.retired()) {
+            if (existing.contains(retired)) {
+                mongoTemplate.indexOps(Campus.class).dropIndex(retired);
+                logger.info("Dropped retired campus index {}", retired);
+            }
+        }
+    }
+
+    /**
+     * Elimina los índices con el nombre de uno declarado pero otras claves o sin filtrar por los campos del
+     * filtro parcial declarado; ensureIndexes los vuelve a crear con la definición actual
+     */
+    private void dropOutdatedCampusIndexes() {
+        Map<String, IndexInfo> existing = new HashMap<>();
+        mongoTemplate.indexOps(Campus.class).getIndexInfo().forEach(info -> existing.put(info.getName(), info));
+        for (CampusIndexes.IndexSpec spec : CampusIndexes.all()) {
+            IndexInfo info = existing.get(spec.name());
+            if (info != null && (!sameKeys(keysOf(info), spec) || !samePartialFields(info, spec))) {
+                mongoTemplate.indexOps(Campus.class).dropIndex(spec.name());
+                logger.info("Dropped outdated campus index {} {}", spec.name(), keysOf(info));
+            }
+        }
+    }
+
+    private static Map<String, Sort.Direction> keysOf(IndexInfo info) {
+        Map<String, Sort.Direction> keys = new LinkedHashMap<>();
+        info.getIndexFields().forEach(field -> keys.put(field.getKey(), field.getDirection()));
+        return keys;
+    }
+
+    private static boolean sameKeys(Map<String, Sort.Direction> actual, CampusIndexes.IndexSpec spec) {
+        return List.copyOf(actual.entrySet()).equals(List.copyOf(spec.storedKeys().entrySet()));
+    }
+
+    private static boolean samePartialFields(IndexInfo info, CampusIndexes.IndexSpec spec) {
+        Set<String> declared = spec.partialFilter().keySet().stream()
+                .map(CampusSchema::field)
+                .collect(Collectors.toSet());
+        String expression = info.getPartialFilterExpression();
+        Set<String> actual = expression == null ? Set.of() : Document.parse(expression).keySet();
+        return declared.equals(actual);
+    }
+
+    /**
+     * Problemas de la última verificación de índices de campus
+     */
+    public List<String> getIndexProblems() {
+        return indexProblems;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.university.campusmanagement.config;
+
+import com.example.university.campusmanagement.repository.CampusReadRouter;
+import com.example.university.campusmanagement.repository.CampusRepositoryGuard;
+import com.example.university.campusmanagement.repository.CampusRepository;
+import com.example.university.campusmanagement.service.CampusSchemaMigration;
+import com.mongodb.ReadPreference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Configuración del enrutamiento de lecturas hacia secundarios del replica set.
+ * Las escrituras siguen usando el MongoTemplate por defecto (primario).
+ */
+@Configuration
+@Profile("!logstore")
+public class MongoReadRoutingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoReadRoutingConfig.class);
+
+    // El driver exige un maxStaleness de al menos 90 segundos
+    private static final long MIN_MAX_STALENESS_SECONDS = 90;
+
+    @Bean
+    public CampusReadRouter campusReadRouter(CampusRepository campusRepository,
+                                             MongoTemplate mongoTemplate,
+                                             MongoDatabaseFactory mongoDatabaseFactory,
+                                             MongoConverter mongoConverter,
+                                             Optional<CampusRepositoryGuard> guard,
+                                             Optional<CampusSchemaMigration> migration,
+                                             ApplicationContext applicationContext,
+                                             @Value("${campus.read-routing.enabled:true}") boolean enabled,
+                                             @Value("${campus.read-routing.max-staleness-seconds:90}") long maxStalenessSeconds) {
+        // Sin la migración en esta instancia (campus.schema-migration.enabled=false) se asume terminada
+        BooleanSupplier legacyDocuments = migration.<BooleanSupplier>map(m -> () -> !m.isCompleted())
+                .orElse(() -> false);
+        if (!enabled) {
+            logger.info("Read routing disabled, all campus reads go to the primary");
+            return new CampusReadRouter(protect(campusRepository, guard, false), protect(campusRepository, guard, true),
+                    protect(mongoTemplate, guard), legacyDocuments);
+        }
+
+        long staleness = Math.max(maxStalenessSeconds, MIN_MAX_STALENESS_SECONDS);
+        MongoTemplate readTemplate = new MongoTemplate(mongoDatabaseFactory, mongoConverter);
+        readTemplate.setReadPreference(ReadPreference.secondaryPreferred(staleness, TimeUnit.SECONDS));
+        // Fuera del contenedor la plantilla no tiene entity callbacks ni eventos: sin esto los documentos
+        // aún no migrados (CampusLegacyReadCallback) llegarían vacíos por la ruta de lectura
+        readTemplate.setApplicationContext(applicationContext);
+
+        CampusRepository readRepository = new MongoRepositoryFactory(readTemplate).getRepository(CampusRepository.class);
+        logger.info("Read routing enabled: secondaryPreferred with maxStalenessSeconds={}", staleness);
+        return new CampusReadRouter(protect(campusRepository, guard, false), protect(readRepository, guard, true),
+                protect(readTemplate, guard), legacyDocuments);
+    }
+
+    private static CampusRepository protect(CampusRepository repository, Optional<CampusRepositoryGuard> guard,
+                                            boolean lastKnownGoodReads) {
+        // Circuit breaker, bulkheads y timeouts por operación (campus.resilience.enabled). El último valor bueno
+        // conocido sólo se sirve en la ruta de lectura: el primario lee antes de escribir
+        return guard.map(g -> g.protect(repository, lastKnownGoodReads)).orElse(repository);
+    }
+
+    private static MongoOperations protect(MongoOperations readOperations, Optional<CampusRepositoryGuard> guard) {
+        // Las proyecciones, búsquedas con filtros, $facet y explain no pasan por el repositorio
+        return guard.map(g -> g.protect(readOperations)).orElse(readOperations);
+    }
+}
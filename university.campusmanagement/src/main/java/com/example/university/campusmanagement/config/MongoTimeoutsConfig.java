@@ -0,0 +1,32 @@
+package com.example.university.campusmanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timeouts explícitos del driver de MongoDB, para que una caída del clúster no deje hilos bloqueados
+ * con los valores por defecto (30 s de selección de servidor, lectura del socket sin límite). Complementan los
+ * timeouts por operación de CampusRepositoryGuard, que liberan al llamador aunque el driver siga esperando:
+ * el timeout de lectura del socket acota cuánto sigue ocupado después el permiso del bulkhead.
+ */
+@Configuration
+@ConditionalOnProperty(name = "campus.resilience.enabled", havingValue = "true", matchIfMissing = true)
+public class MongoTimeoutsConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer campusMongoTimeouts(
+            @Value("${campus.resilience.driver.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${campus.resilience.driver.server-selection-timeout-ms:3000}") long serverSelectionTimeoutMs,
+            @Value("${campus.resilience.driver.read-timeout-ms:10000}") long readTimeoutMs) {
+        return builder -> builder
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                        .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(serverSelectionTimeoutMs, TimeUnit.MILLISECONDS));
+    }
+}
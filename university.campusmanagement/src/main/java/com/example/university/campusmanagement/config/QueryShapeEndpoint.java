@@ -0,0 +1,44 @@
+package com.example.university.campusmanagement.config;
+
+import com.example.university.campusmanagement.service.QueryShapeAdvisor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoint de actuator /actuator/queryshapes: formas de consulta registradas, las que examinan
+ * muchos más documentos de los que devuelven con su índice sugerido, y la verificación de índices
+ */
+@Component
+@Endpoint(id = "queryshapes")
+@ConditionalOnProperty(name = "campus.query-shapes.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryShapeEndpoint {
+
+    private final QueryShapeAdvisor advisor;
+    private final MongoIndexInitializer indexInitializer;
+
+    public QueryShapeEndpoint(QueryShapeAdvisor advisor, MongoIndexInitializer indexInitializer) {
+        this.advisor = advisor;
+        this.indexInitializer = indexInitializer;
+    }
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>(advisor.report());
+        report.put("indexProblems", indexInitializer.getIndexProblems());
+        return report;
+    }
+
+    /**
+     * Descarta lo registrado (p. ej. tras crear un índice sugerido)
+     */
+    @DeleteOperation
+    public void reset() {
+        advisor.reset();
+    }
+}
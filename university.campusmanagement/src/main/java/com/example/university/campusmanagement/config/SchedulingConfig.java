@@ -0,0 +1,12 @@
+package com.example.university.campusmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas periódicas de la aplicación (reconciliación de contadores, etc.)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
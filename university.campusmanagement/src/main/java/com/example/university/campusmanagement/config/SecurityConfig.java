@@ -0,0 +1,98 @@
+package com.example.university.campusmanagement.config;
+
+import com.example.university.campusmanagement.security.CachingJwtDecoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+
+/**
+ * Configuración de seguridad stateless para la API de campus.
+ * Sin HttpSession, sin CSRF ni request cache: cada petición se autentica con un bearer token JWT
+ * firmado con HMAC-SHA256, y los tokens ya verificados se guardan en una caché acotada.
+ */
+@Configuration
+@EnableWebSecurity
+public class SecurityConfig {
+
+    private static final String CAMPUS_API_PATTERN = "/api/campuses/**";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    // HS256 exige una clave de al menos 256 bits
+    private static final int MIN_SECRET_BYTES = 32;
+
+    @Bean
+    public JwtDecoder jwtDecoder(@Value("${campus.security.jwt-secret:}") String jwtSecret,
+                                 @Value("${campus.security.token-cache-size:10000}") int tokenCacheSize) {
+        SecretKeySpec secretKey = new SecretKeySpec(decodeSecret(jwtSecret), HMAC_ALGORITHM);
+        NimbusJwtDecoder verifyingDecoder = NimbusJwtDecoder.withSecretKey(secretKey)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        return new CachingJwtDecoder(verifyingDecoder, tokenCacheSize);
+    }
+
+    @Bean
+    @Order(1)
+    public SecurityFilterChain campusApiSecurityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder) throws Exception {
+        http.securityMatcher(CAMPUS_API_PATTERN)
+                .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
+                // Todas las rutas requieren token: el filtro de usuario anónimo sólo añadiría coste
+                .anonymous(AbstractHttpConfigurer::disable)
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.decoder(jwtDecoder)));
+        return statelessDefaults(http).build();
+    }
+
+    @Bean
+    @Order(2)
+    public SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder) throws Exception {
+        http.authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/", "/actuator/health").permitAll()
+                        .anyRequest().authenticated())
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.decoder(jwtDecoder)));
+        return statelessDefaults(http).build();
+    }
+
+    /**
+     * Valida el secreto HMAC al arrancar: no hay clave por defecto con la que se pudieran firmar tokens
+     * @throws IllegalStateException si falta, no es Base64 o tiene menos de 256 bits
+     */
+    static byte[] decodeSecret(String jwtSecret) {
+        if (jwtSecret == null || jwtSecret.isBlank()) {
+            throw new IllegalStateException("campus.security.jwt-secret is not set (CAMPUS_JWT_SECRET)");
+        }
+        byte[] secret;
+        try {
+            secret = Base64.getDecoder().decode(jwtSecret.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("campus.security.jwt-secret must be Base64 encoded", e);
+        }
+        if (secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("campus.security.jwt-secret must be at least 256 bits, got "
+                    + secret.length * 8);
+        }
+        return secret;
+    }
+
+    /**
+     * Desactiva la maquinaria con estado de la cadena por defecto
+     */
+    private HttpSecurity statelessDefaults(HttpSecurity http) throws Exception {
+        return http
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.university.campusmanagement.config;
+
+import com.example.university.campusmanagement.webhook.WebhookClient;
+import com.example.university.campusmanagement.webhook.WebhookProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la entrega de webhooks de cambios de estado (outbox + dispatcher)
+ */
+@Configuration
+@EnableConfigurationProperties(WebhookProperties.class)
+public class WebhookConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "campus.webhooks.enabled", havingValue = "true")
+    public WebhookClient webhookClient(ObjectMapper objectMapper, WebhookProperties properties) {
+        return new WebhookClient(objectMapper, Duration.ofMillis(properties.requestTimeoutMs()));
+    }
+}
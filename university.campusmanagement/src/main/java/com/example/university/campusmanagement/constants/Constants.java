@@ -1,5 +1,7 @@
 package com.example.university.campusmanagement.constants;
 
+import java.util.List;
+
 /**
  * Clase que contiene todas las constantes utilizadas en la aplicación
  * para evitar duplicación de literales y mejorar el mantenimiento
@@ -44,6 +46,10 @@ public final class Constants {
         public static final String MAINTENANCE = "MAINTENANCE";
         public static final String RENOVATION = "RENOVATION";
 
+        // Estados del conjunto de trabajo: todos salvo la baja lógica (INACTIVE)
+        public static final List<String> LIVE = List.of(ACTIVE, MAINTENANCE, RENOVATION);
+        public static final List<String> ALL = List.of(ACTIVE, INACTIVE, MAINTENANCE, RENOVATION);
+
         private States() {}
     }
 
@@ -51,6 +57,8 @@ public final class Constants {
     public static final class ErrorMessages {
         public static final String CAMPUS_NOT_FOUND = "Campus not found";
         public static final String INVALID_ENTITY_TYPE = "Entity must be of type Campus";
+        public static final String SERVICE_OVERLOADED = "Service overloaded, retry later";
+        public static final String SERVICE_UNAVAILABLE = "Database unavailable, retry later";
 
         private ErrorMessages() {}
     }
@@ -0,0 +1,69 @@
+package com.example.university.campusmanagement.controller;
+
+import com.example.university.campusmanagement.constants.Constants;
+import com.example.university.campusmanagement.dto.InvalidRequestException;
+import com.example.university.campusmanagement.service.CampusNotFoundException;
+import com.example.university.campusmanagement.state.InvalidStateTransitionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Traducción común de excepciones a respuestas HTTP para todos los controladores.
+ * Sólo se mapean los errores esperados; cualquier otro sigue siendo un 500 y no se disfraza de 404.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    @ExceptionHandler(CampusNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleCampusNotFound(CampusNotFoundException e) {
+        // Camino caliente ante IDs inexistentes: sin log ni traza
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put(Constants.ResponseFields.ERROR, Constants.ErrorMessages.CAMPUS_NOT_FOUND);
+        body.put("id", e.getCampusId());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(InvalidRequestException e) {
+        // Parámetros inválidos (p. ej. una propiedad desconocida en ?fields=); cualquier otro
+        // IllegalArgumentException es un fallo interno y no se disfraza de 400.
+        // Tipo fijo: el endpoint puede declarar otro (el export produce NDJSON) y la negociación fallaría
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of(Constants.ResponseFields.ERROR, e.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidStateTransitionException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidTransition(InvalidStateTransitionException e) {
+        // El mensaje lo fija el estado del patrón State, no contiene detalles internos
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(Constants.ResponseFields.ERROR, e.getMessage()));
+    }
+
+    @ExceptionHandler(DuplicateKeyException.class)
+    public ResponseEntity<Map<String, String>> handleDuplicateKey(DuplicateKeyException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(Constants.ResponseFields.ERROR, "Campus already exists"));
+    }
+
+    @ExceptionHandler({TransientDataAccessException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<Map<String, String>> handleDatabaseUnavailable(RuntimeException e) {
+        // Incluye CampusRepositoryUnavailableException (circuito abierto, bulkhead lleno o timeout): reintentable
+        logger.warn("Database unavailable: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(Map.of(Constants.ResponseFields.ERROR, Constants.ErrorMessages.SERVICE_UNAVAILABLE));
+    }
+}
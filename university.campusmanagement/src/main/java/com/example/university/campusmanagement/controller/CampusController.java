@@ -1,25 +1,50 @@
 package com.example.university.campusmanagement.controller;
 
+import com.example.university.campusmanagement.dto.CampusChangesDto;
 import com.example.university.campusmanagement.dto.CampusCreateRequest;
 import com.example.university.campusmanagement.dto.CampusDto;
+import com.example.university.campusmanagement.dto.CampusFacet;
+import com.example.university.campusmanagement.dto.CampusFieldSet;
+import com.example.university.campusmanagement.dto.CampusLookupRequest;
+import com.example.university.campusmanagement.dto.CampusLookupResult;
+import com.example.university.campusmanagement.dto.CampusSearchCriteria;
 import com.example.university.campusmanagement.dto.CampusUpdateRequest;
-import com.example.university.campusmanagement.factory.CrudFactory;
+import com.example.university.campusmanagement.dto.InvalidRequestException;
+import com.example.university.campusmanagement.factory.CrudServiceRegistry;
 import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusRepositoryGuard;
+import com.example.university.campusmanagement.service.CampusCounters;
+import com.example.university.campusmanagement.service.CampusQueryService;
+import com.example.university.campusmanagement.service.CampusResponseCache;
 import com.example.university.campusmanagement.service.CampusService;
 import com.example.university.campusmanagement.service.CrudService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Controlador REST para operaciones CRUD básicas de campus universitarios
- * Se enfoca únicamente en crear, leer, actualizar y eliminar campus
+ * Se enfoca únicamente en crear, leer, actualizar y eliminar campus.
+ * Los errores (campus inexistente, parámetros inválidos, BD no disponible) los traduce ApiExceptionHandler.
  */
 @RestController
 @RequestMapping("/api/campuses")
@@ -27,21 +52,33 @@ public class CampusController {
 
     private static final Logger logger = LoggerFactory.getLogger(CampusController.class);
 
-    // Constante para evitar duplicación del mensaje de error
-    private static final String CAMPUS_NOT_FOUND_MSG = "Campus not found";
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String QUERY_WARNING_HEADER = "X-Query-Warning";
 
-    private final CrudService crudService;
+    private final CrudService<Campus, String> crudService;
     private final CampusService campusService;
-
-    public CampusController(CrudFactory crudFactory) {
-        this.crudService = crudFactory.createCrudService();
+    private final CampusCounters campusCounters;
+    private final CampusQueryService queryService;
+    private final CampusResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+
+    public CampusController(CrudServiceRegistry crudServices, CampusCounters campusCounters,
+                            CampusQueryService queryService, Optional<CampusResponseCache> responseCache,
+                            ObjectMapper objectMapper) {
+        this.crudService = crudServices.serviceFor(Campus.class, String.class);
         this.campusService = (CampusService) this.crudService; // Safe cast ya que sabemos que es CampusService
+        this.campusCounters = campusCounters;
+        this.queryService = queryService;
+        // Caché de respuestas pre-serializadas opcional (campus.response-cache.enabled)
+        this.responseCache = responseCache.orElse(null);
+        this.objectMapper = objectMapper;
     }
 
     // ============ CRUD Básico con DTOs ============
 
     @PostMapping
-    public ResponseEntity<CampusDto> createCampus(@RequestBody CampusCreateRequest request) {
+    public ResponseEntity<CampusDto> createCampus(@Valid @RequestBody CampusCreateRequest request) {
         logger.info("Creating new campus: {}", request.getName());
 
         // Convertir DTO request a entidad
@@ -51,7 +88,7 @@ public class CampusController {
         campus.setCity(request.getCity());
         campus.setTelephone(request.getTelephone());
 
-        Campus savedCampus = (Campus) crudService.create(campus);
+        Campus savedCampus = crudService.create(campus);
         CampusDto responseDto = CampusDto.fromCampus(savedCampus);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
@@ -59,108 +96,291 @@ public class CampusController {
 
     @PutMapping("/{id}")
     public ResponseEntity<CampusDto> updateCampus(@PathVariable String id, @RequestBody CampusUpdateRequest request) {
-        try {
-            logger.info("Updating campus with id: {}", id);
-
-            // Convertir DTO request a entidad
-            Campus campus = new Campus();
-            campus.setName(request.getName());
-            campus.setAddress(request.getAddress());
-            campus.setCity(request.getCity());
-            campus.setTelephone(request.getTelephone());
-            if (request.getActive() != null) {
-                campus.setActive(request.getActive());
-            }
+        logger.info("Updating campus with id: {}", id);
 
-            Campus updatedCampus = (Campus) crudService.update(id, campus);
-            CampusDto responseDto = CampusDto.fromCampus(updatedCampus);
-
-            return ResponseEntity.ok(responseDto);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
+        // Convertir DTO request a entidad
+        Campus campus = new Campus();
+        campus.setName(request.getName());
+        campus.setAddress(request.getAddress());
+        campus.setCity(request.getCity());
+        campus.setTelephone(request.getTelephone());
+        if (request.getActive() != null) {
+            campus.setActive(request.getActive());
         }
+
+        Campus updatedCampus = crudService.update(id, campus);
+        CampusDto responseDto = CampusDto.fromCampus(updatedCampus);
+
+        return ResponseEntity.ok(responseDto);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CampusDto> getCampus(@PathVariable String id) {
-        try {
-            logger.debug("Retrieving campus with id: {}", id);
-            Campus campus = (Campus) crudService.findById(id);
-            CampusDto responseDto = CampusDto.fromCampus(campus);
-            return ResponseEntity.ok(responseDto);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<Object> getCampus(@PathVariable String id, @RequestParam(required = false) String fields,
+                                            HttpServletResponse response) throws IOException {
+        CampusFieldSet fieldSet = CampusFieldSet.parse(fields);
+        logger.debug("Retrieving campus with id: {}", id);
+        if (!fieldSet.isAll()) {
+            return ResponseEntity.ok(fieldSet.render(campusService.findById(id, fieldSet)));
         }
+        if (responseCache != null) {
+            return writeCached(CampusResponseCache.campusKey(id),
+                    () -> CampusDto.fromCampus(crudService.findById(id)), response);
+        }
+        Campus campus = crudService.findById(id);
+        CampusDto responseDto = CampusDto.fromCampus(campus);
+        return ResponseEntity.ok(responseDto);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Map<String, String>> disableCampus(@PathVariable String id) {
+        logger.info("Disabling campus with id: {}", id);
+        crudService.delete(id);
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Campus deactivated successfully");
+        response.put("id", id);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getAllCampuses(@RequestParam(required = false) Integer page,
+                                            @RequestParam(defaultValue = "50") int size,
+                                            @RequestParam(required = false) String fields,
+                                            @RequestParam(required = false) String ids,
+                                            @RequestParam(required = false) String city,
+                                            @RequestParam(required = false) String state,
+                                            @RequestParam(required = false) Boolean active,
+                                            @RequestParam(required = false) String namePrefix,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(required = false) String facets,
+                                            @RequestParam(defaultValue = "false") boolean explain,
+                                            @RequestParam(defaultValue = "false") boolean includeInactive,
+                                            HttpServletResponse response) throws IOException {
+        CampusFieldSet fieldSet = CampusFieldSet.parse(fields);
+        CampusSearchCriteria requested = CampusSearchCriteria.of(city, state, active, namePrefix, sort);
+        Set<CampusFacet> facetSet = CampusFacet.parse(facets);
+        if (ids != null) {
+            if (!requested.isEmpty() || page != null || explain || !facetSet.isEmpty()) {
+                throw new InvalidRequestException("ids cannot be combined with filters, sort, page, facets or explain");
+            }
+            return ResponseEntity.ok(lookup(parseIds(ids), fieldSet));
+        }
+        // Las bajas (INACTIVE) quedan fuera salvo que se pidan expresamente o se filtre por estado
+        CampusSearchCriteria criteria = includeInactive ? requested : requested.excludingInactive();
+        if (explain) {
+            return ResponseEntity.ok(queryService.explain(criteria, fieldSet));
+        }
+        if (!facetSet.isEmpty()) {
+            return facetedQuery(criteria, page != null ? page : 0, size, fieldSet, facetSet);
+        }
+        if (!criteria.isEmpty()) {
+            return queryCampuses(criteria, page, size, fieldSet);
+        }
+        if (page != null) {
+            return getCampusPage(page, size, fieldSet, includeInactive);
+        }
+        if (fieldSet.isAll() && responseCache != null) {
+            return writeCached(includeInactive ? CampusResponseCache.ALL_LIST_KEY : CampusResponseCache.LIST_KEY,
+                    () -> campusService.findAll(includeInactive).stream().map(CampusDto::fromCampus).toList(),
+                    response);
+        }
+        return getAllCampuses(fieldSet, includeInactive);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<CampusChangesDto> getChanges(@RequestParam(required = false) String since,
+                                                       @RequestParam(defaultValue = "500") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        CampusService.ChangeFeed feed = campusService.changesSince(parseChangeToken(since), limit);
+        logger.debug("Change feed since {}: {} campuses", since, feed.campuses().size());
+        return ResponseEntity.ok(CampusChangesDto.of(feed.campuses(), feed.nextToken().toString(), feed.hasMore()));
+    }
+
+    private static Optional<CampusService.ChangeToken> parseChangeToken(String since) {
+        if (since == null || since.isBlank()) {
+            return Optional.empty();
+        }
         try {
-            logger.info("Disabling campus with id: {}", id);
-            crudService.delete(id);
+            return Optional.of(CampusService.ChangeToken.parse(since.trim()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException incluida: se informa como token inválido
+            throw new InvalidRequestException("Invalid change token: " + since);
+        }
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<List<CampusLookupResult>> lookupCampuses(@Valid @RequestBody CampusLookupRequest request,
+                                                                   @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(lookup(request.getIds(), CampusFieldSet.parse(fields)));
+    }
 
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Campus deactivated successfully");
-            response.put("id", id);
+    /**
+     * Resuelve una lista de IDs con una única consulta: un resultado por ID, en el orden de la petición
+     */
+    private List<CampusLookupResult> lookup(List<String> ids, CampusFieldSet fieldSet) {
+        logger.debug("Looking up {} campuses (fields: {})", ids.size(), fieldSet);
+        Map<String, Campus> found = campusService.findAllById(ids, fieldSet);
+        return ids.stream()
+                .map(id -> {
+                    Campus campus = found.get(id);
+                    if (campus == null) {
+                        return CampusLookupResult.notFound(id);
+                    }
+                    return CampusLookupResult.found(id,
+                            fieldSet.isAll() ? CampusDto.fromCampus(campus) : fieldSet.render(campus));
+                })
+                .toList();
+    }
 
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("error", CAMPUS_NOT_FOUND_MSG);
-            errorResponse.put("id", id);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    private static List<String> parseIds(String ids) {
+        List<String> parsed = Arrays.stream(ids.split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .toList();
+        if (parsed.isEmpty() || parsed.size() > CampusLookupRequest.MAX_IDS) {
+            throw new InvalidRequestException("ids must contain between 1 and " + CampusLookupRequest.MAX_IDS + " ids");
         }
+        return parsed;
     }
 
-    @GetMapping
-    public ResponseEntity<List<CampusDto>> getAllCampuses() {
-        logger.debug("Retrieving all campuses");
-        List<Object> campuses = crudService.findAll();
-
-        // CORREGIDO: Usar .toList() en lugar de .collect(Collectors.toList())
-        List<CampusDto> campusDtos = campuses.stream()
-                .filter(Campus.class::isInstance)
-                .map(Campus.class::cast)
+    private ResponseEntity<List<?>> getAllCampuses(CampusFieldSet fieldSet, boolean includeInactive) {
+        logger.debug("Retrieving all campuses (fields: {}, includeInactive: {})", fieldSet, includeInactive);
+        if (!fieldSet.isAll()) {
+            // Proyección en MongoDB y respuesta con sólo las propiedades solicitadas
+            return ResponseEntity.ok(render(campusService.findAll(fieldSet, includeInactive), fieldSet));
+        }
+
+        // Una única pasada: entidad -> DTO
+        List<CampusDto> campusDtos = campusService.findAll(includeInactive).stream()
                 .map(CampusDto::fromCampus)
                 .toList();
 
         return ResponseEntity.ok(campusDtos);
     }
 
+    private ResponseEntity<List<?>> getCampusPage(int page, int size, CampusFieldSet fieldSet,
+                                                  boolean includeInactive) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        logger.debug("Retrieving campus page {} (size {})", page, size);
+        // Orden por _id (índice por defecto) para que las páginas sean estables
+        Page<Campus> campusPage = campusService.findAll(PageRequest.of(page, size, Sort.by("id")), includeInactive);
+
+        List<?> content = fieldSet.isAll()
+                ? campusPage.map(CampusDto::fromCampus).getContent()
+                : render(campusPage.getContent(), fieldSet);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(campusPage.getTotalElements()))
+                .body(content);
+    }
+
+    private ResponseEntity<List<?>> queryCampuses(CampusSearchCriteria criteria, Integer page, int size,
+                                                  CampusFieldSet fieldSet) {
+        if (page != null && (page < 0 || size < 1 || size > MAX_PAGE_SIZE)) {
+            return ResponseEntity.badRequest().build();
+        }
+        logger.debug("Querying campuses with {} (fields: {})", criteria, fieldSet);
+        // Filtros y orden resueltos en MongoDB; el planificador rechaza las consultas sin índice
+        CampusQueryService.SearchResult result = queryService.search(criteria, fieldSet, page, size);
+
+        List<?> content = fieldSet.isAll()
+                ? result.campuses().stream().map(CampusDto::fromCampus).toList()
+                : render(result.campuses(), fieldSet);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        result.plan().warning().ifPresent(warning -> response.header(QUERY_WARNING_HEADER, warning));
+        if (page != null) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(result.total()));
+        }
+        return response.body(content);
+    }
+
+    /**
+     * Búsqueda con facetas: página, total y conteos en un único objeto (una sola agregación $facet)
+     */
+    private ResponseEntity<Map<String, Object>> facetedQuery(CampusSearchCriteria criteria, int page, int size,
+                                                             CampusFieldSet fieldSet, Set<CampusFacet> facets) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        logger.debug("Querying campuses with {} and facets {} (fields: {})", criteria, facets, fieldSet);
+        CampusQueryService.SearchResult result = queryService.searchWithFacets(criteria, fieldSet, page, size, facets);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("content", fieldSet.isAll()
+                ? result.campuses().stream().map(CampusDto::fromCampus).toList()
+                : render(result.campuses(), fieldSet));
+        body.put("page", page);
+        body.put("size", size);
+        body.put("total", result.total());
+        body.put("facets", result.facets());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        result.plan().warning().ifPresent(warning -> response.header(QUERY_WARNING_HEADER, warning));
+        return response.header(TOTAL_COUNT_HEADER, String.valueOf(result.total())).body(body);
+    }
+
+    /**
+     * Escribe la respuesta JSON pre-serializada directamente en la salida (sin DTO ni Jackson si hay acierto)
+     * @return null: la respuesta ya está escrita
+     */
+    private <T> ResponseEntity<T> writeCached(String key, Supplier<Object> body, HttpServletResponse response)
+            throws IOException {
+        Optional<CampusResponseCache.CachedResponse> cached = responseCache.get(key);
+        if (cached.isPresent()) {
+            try (CampusResponseCache.CachedResponse hit = cached.get()) {
+                writeJsonHeaders(response, hit.length());
+                hit.writeTo(response.getOutputStream());
+            }
+            return null;
+        }
+        // La generación se lee antes de cargar: si entretanto hay una escritura, no se guarda
+        long generation = responseCache.generation();
+        byte[] serialized = objectMapper.writeValueAsBytes(body.get());
+        if (!CampusRepositoryGuard.isStaleResponse()) {
+            // Una respuesta servida desde el último valor bueno conocido no debe cachearse como fresca
+            responseCache.put(key, serialized, generation);
+        }
+        writeJsonHeaders(response, serialized.length);
+        response.getOutputStream().write(serialized);
+        return null;
+    }
+
+    private static void writeJsonHeaders(HttpServletResponse response, int contentLength) {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(contentLength);
+    }
+
+    private static List<Map<String, Object>> render(List<Campus> campuses, CampusFieldSet fieldSet) {
+        return campuses.stream().map(fieldSet::render).toList();
+    }
+
     // ============ Endpoints de Búsqueda Básica ============
 
     @GetMapping("/search")
-    public ResponseEntity<List<CampusDto>> searchCampuses(@RequestParam(required = false) String city) {
+    public ResponseEntity<List<?>> searchCampuses(@RequestParam(required = false) String city,
+                                                  @RequestParam(required = false) String fields,
+                                                  @RequestParam(defaultValue = "false") boolean includeInactive) {
         logger.debug("Searching campuses with city: {}", city);
+        CampusFieldSet fieldSet = CampusFieldSet.parse(fields);
 
         if (city != null && !city.trim().isEmpty()) {
-            // Buscar por ciudad usando el servicio
-            List<Campus> campuses = campusService.getAllCampuses().stream()
-                    .filter(campus -> city.equalsIgnoreCase(campus.getCity()))
-                    .toList();
-
-            List<CampusDto> campusDtos = campuses.stream()
-                    .map(CampusDto::fromCampus)
-                    .toList();
-
-            return ResponseEntity.ok(campusDtos);
+            // Igualdad sobre el índice campus_city_state_name (ya no se filtra en memoria)
+            CampusSearchCriteria criteria = CampusSearchCriteria.of(city, null, null, null, null);
+            return queryCampuses(includeInactive ? criteria : criteria.excludingInactive(), null, 0, fieldSet);
         }
 
-        return getAllCampuses();
+        return getAllCampuses(fieldSet, includeInactive);
     }
 
     @GetMapping("/count")
     public ResponseEntity<Map<String, Object>> getCampusCount() {
         logger.debug("Getting campus count");
 
-        List<Campus> allCampuses = campusService.getAllCampuses();
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("total", allCampuses.size());
-        response.put("active", allCampuses.stream().filter(Campus::isActive).count());
-        response.put("inactive", allCampuses.stream().filter(campus -> !campus.isActive()).count());
-
-        return ResponseEntity.ok(response);
+        // Contadores mantenidos incrementalmente: lectura O(1) sin tocar MongoDB
+        return ResponseEntity.ok(campusCounters.snapshot());
     }
 }
-
@@ -0,0 +1,57 @@
+package com.example.university.campusmanagement.controller;
+
+import com.example.university.campusmanagement.service.CampusEventBroadcaster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Stream Server-Sent Events con los cambios de los campus (creación, actualización y transiciones de estado).
+ * Sustituye el sondeo periódico de /api/campuses por los paneles que sólo necesitan enterarse de los cambios.
+ */
+@RestController
+@RequestMapping("/api/campuses")
+public class CampusEventsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusEventsController.class);
+
+    private final CampusEventBroadcaster broadcaster;
+    private final long emitterTimeoutMillis;
+    private final long retryAfterSeconds;
+
+    public CampusEventsController(CampusEventBroadcaster broadcaster,
+                                  @Value("${campus.events.emitter-timeout-minutes:30}") long emitterTimeoutMinutes,
+                                  @Value("${campus.admission.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.broadcaster = broadcaster;
+        // Al expirar, el cliente reconecta solo y reanuda con Last-Event-ID
+        this.emitterTimeoutMillis = emitterTimeoutMinutes * 60_000;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        if (!broadcaster.subscribe(emitter, lastEventId)) {
+            logger.warn("Rejecting campus event subscription: subscriber limit reached");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                // Evita que proxies inversos (nginx) acumulen el stream
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+}
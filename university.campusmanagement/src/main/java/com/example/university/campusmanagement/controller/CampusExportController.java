@@ -0,0 +1,67 @@
+package com.example.university.campusmanagement.controller;
+
+import com.example.university.campusmanagement.dto.CampusDto;
+import com.example.university.campusmanagement.dto.CampusFieldSet;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.service.CampusService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Controlador REST para la exportación masiva de campus en NDJSON (un objeto JSON por línea).
+ * Se escribe en streaming desde un cursor de MongoDB, sin materializar la colección en memoria,
+ * y admite ?fields= para leer y escribir sólo las propiedades necesarias.
+ */
+@RestController
+@RequestMapping("/api/campuses")
+public class CampusExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusExportController.class);
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CampusService campusService;
+    private final ObjectMapper objectMapper;
+
+    public CampusExportController(CampusService campusService, ObjectMapper objectMapper) {
+        this.campusService = campusService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportCampuses(@RequestParam(required = false) String fields) {
+        // Se valida antes de empezar el stream: una propiedad desconocida (InvalidRequestException)
+        // la traduce a 400 ApiExceptionHandler
+        CampusFieldSet fieldSet = CampusFieldSet.parse(fields);
+        logger.info("Starting campus export (fields: {})", fieldSet);
+
+        StreamingResponseBody body = outputStream -> {
+            BufferedOutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+            long exported = 0;
+            try (Stream<Campus> campuses = campusService.streamAll(fieldSet)) {
+                Iterator<Campus> iterator = campuses.iterator();
+                while (iterator.hasNext()) {
+                    Campus campus = iterator.next();
+                    Object view = fieldSet.isAll() ? CampusDto.fromCampus(campus) : fieldSet.render(campus);
+                    out.write(objectMapper.writeValueAsBytes(view));
+                    out.write('\n');
+                    exported++;
+                }
+            }
+            out.flush();
+            logger.info("Campus export finished: {} campuses", exported);
+        };
+        return ResponseEntity.ok(body);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.university.campusmanagement.controller;
+
+import com.example.university.campusmanagement.dto.ImportReport;
+import com.example.university.campusmanagement.service.CampusImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Controlador REST para la importación masiva de campus desde CSV.
+ * El cuerpo se procesa en streaming: no se carga el fichero completo en memoria.
+ */
+@RestController
+@ConditionalOnProperty(name = "campus.import.enabled", havingValue = "true", matchIfMissing = true)
+@RequestMapping("/api/campuses")
+public class CampusImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusImportController.class);
+    private static final String TEXT_CSV = "text/csv";
+
+    private final CampusImportService campusImportService;
+
+    public CampusImportController(CampusImportService campusImportService) {
+        this.campusImportService = campusImportService;
+    }
+
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportReport> importCampuses(InputStream body) throws IOException {
+        // Una cabecera CSV inválida (InvalidRequestException) la traduce a 400 ApiExceptionHandler
+        logger.info("Starting campus CSV import");
+        return ResponseEntity.ok(campusImportService.importCsv(body));
+    }
+}
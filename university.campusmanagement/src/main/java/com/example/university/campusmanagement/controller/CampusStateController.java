@@ -0,0 +1,64 @@
+package com.example.university.campusmanagement.controller;
+
+import com.example.university.campusmanagement.constants.Constants;
+import com.example.university.campusmanagement.dto.CampusStatusDto;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.service.CampusService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Controlador REST para el estado operativo de los campus (patrón State).
+ * Expone la consulta de estado y las transiciones activar / desactivar / mantenimiento.
+ */
+@RestController
+@RequestMapping("/api/campuses")
+public class CampusStateController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusStateController.class);
+
+    private final CampusService campusService;
+
+    public CampusStateController(CampusService campusService) {
+        this.campusService = campusService;
+    }
+
+    @GetMapping("/{id}/status")
+    public ResponseEntity<CampusStatusDto> getCampusStatus(@PathVariable String id) {
+        // Un ID inexistente (CampusNotFoundException) lo traduce a 404 ApiExceptionHandler
+        logger.debug("Retrieving status of campus with id: {}", id);
+        Campus campus = campusService.findById(id);
+        return ResponseEntity.ok(CampusStatusDto.fromCampus(campus));
+    }
+
+    @PatchMapping("/{id}/activate")
+    public ResponseEntity<Map<String, Object>> activateCampus(@PathVariable String id) {
+        return transition(id, campusService::activateCampus, Constants.Messages.CAMPUS_ACTIVATED);
+    }
+
+    @PatchMapping("/{id}/deactivate")
+    public ResponseEntity<Map<String, Object>> deactivateCampus(@PathVariable String id) {
+        return transition(id, campusService::deactivateCampus, Constants.Messages.CAMPUS_DEACTIVATED);
+    }
+
+    @PatchMapping("/{id}/maintenance")
+    public ResponseEntity<Map<String, Object>> putCampusInMaintenance(@PathVariable String id) {
+        return transition(id, campusService::putCampusInMaintenance, Constants.Messages.CAMPUS_MAINTENANCE);
+    }
+
+    private ResponseEntity<Map<String, Object>> transition(String id, Function<String, Campus> transition, String message) {
+        // Una transición no permitida (InvalidStateTransitionException) o un fallo de la base de datos
+        // los traduce ApiExceptionHandler
+        Campus campus = transition.apply(id);
+        Map<String, Object> response = new HashMap<>();
+        response.put(Constants.ResponseFields.MESSAGE, message);
+        response.put(Constants.ResponseFields.STATUS, CampusStatusDto.fromCampus(campus));
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.university.campusmanagement.dto;
+
+import com.example.university.campusmanagement.model.Campus;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DTO del feed de cambios (GET /api/campuses/changes): campus cambiados desde un token y el token siguiente
+ */
+public class CampusChangesDto {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DEACTIVATED
+    }
+
+    /**
+     * Un campus cambiado, con el tipo de cambio deducido de su estado actual
+     */
+    public record Change(ChangeType type, CampusDto campus) {
+    }
+
+    private List<Change> changes;
+    private String nextToken;
+    private boolean hasMore;
+
+    // Constructor privado para factory method
+    private CampusChangesDto() {
+        // Constructor privado
+    }
+
+    public static CampusChangesDto of(List<Campus> campuses, String nextToken, boolean hasMore) {
+        CampusChangesDto dto = new CampusChangesDto();
+        dto.changes = campuses.stream()
+                .map(campus -> new Change(typeOf(campus), CampusDto.fromCampus(campus)))
+                .toList();
+        dto.nextToken = nextToken;
+        dto.hasMore = hasMore;
+        return dto;
+    }
+
+    private static ChangeType typeOf(Campus campus) {
+        if (!campus.isActive()) {
+            return ChangeType.DEACTIVATED;
+        }
+        // Sin escrituras posteriores a la creación, lastModified coincide con createdAt
+        return campus.getCreatedAt() != null && Objects.equals(campus.getCreatedAt(), campus.getLastModified())
+                ? ChangeType.CREATED
+                : ChangeType.UPDATED;
+    }
+
+    // Getters
+    public List<Change> getChanges() { return changes; }
+    public String getNextToken() { return nextToken; }
+    public boolean isHasMore() { return hasMore; }
+}
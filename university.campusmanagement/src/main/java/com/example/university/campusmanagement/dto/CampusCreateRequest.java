@@ -1,14 +1,30 @@
 package com.example.university.campusmanagement.dto;
 
-
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 
 /**
- * DTO para crear un nuevo campus
+ * DTO para crear un nuevo campus con validaciones
+ * (las mismas reglas se aplican a cada fila de la importación CSV)
  */
 public class CampusCreateRequest {
+
+    @NotBlank(message = "El nombre es obligatorio")
+    @Size(min = 2, max = 100, message = "El nombre debe tener entre 2 y 100 caracteres")
     private String name;
+
+    @Size(max = 200, message = "La dirección no puede exceder 200 caracteres")
     private String address;
+
+    @NotBlank(message = "La ciudad es obligatoria")
+    @Size(min = 2, max = 50, message = "La ciudad debe tener entre 2 y 50 caracteres")
     private String city;
+
+    @Pattern(
+            regexp = "^\\+?[1-9]\\d{1,14}$",
+            message = "El teléfono debe tener un formato válido (ej: +573012345678 o 3012345678)"
+    )
     private String telephone;
 
     // Constructor por defecto
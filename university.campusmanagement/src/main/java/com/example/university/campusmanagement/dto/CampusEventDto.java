@@ -0,0 +1,23 @@
+package com.example.university.campusmanagement.dto;
+
+import com.example.university.campusmanagement.event.CampusChangeEvent;
+
+import java.time.Instant;
+
+/**
+ * Carga útil de cada evento del stream SSE de cambios de campus
+ *
+ * @param type           tipo de cambio (CREATED, UPDATED, STATE_CHANGED)
+ * @param campus         campus tal y como quedó persistido
+ * @param previousState  estado antes del cambio (null en creaciones)
+ * @param previousActive valor de active antes del cambio
+ * @param timestamp      momento del cambio
+ */
+public record CampusEventDto(String type, CampusDto campus, String previousState, boolean previousActive,
+                             Instant timestamp) {
+
+    public static CampusEventDto fromEvent(CampusChangeEvent event) {
+        return new CampusEventDto(event.type().name(), CampusDto.fromCampus(event.campus()),
+                event.previousState(), event.previousActive(), event.timestamp());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.university.campusmanagement.dto;
+
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.CampusSchema;
+import org.bson.Document;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Facetas disponibles en la búsqueda de campus (?facets=city,currentState,active):
+ * conteo de coincidencias por cada valor de la propiedad
+ */
+public enum CampusFacet {
+    // Cada expresión recurre al campo de la versión 1 del esquema mientras quedan documentos sin migrar
+    CITY("city", Campus::getCity, ifNull(CampusSchema.CITY, "city")),
+    CURRENT_STATE("currentState", Campus::getCurrentState, ifNull(CampusSchema.STATE, "currentState")),
+    ACTIVE("active", Campus::isActive, new Document("$in", List.of(ifNull(CampusSchema.STATE, "currentState"),
+            List.of(CampusSchema.ACTIVE_CODE, "ACTIVE"))));
+
+    private final String property;
+    private final Function<Campus, Object> extractor;
+    private final Object groupExpression;
+
+    CampusFacet(String property, Function<Campus, Object> extractor, Object groupExpression) {
+        this.property = property;
+        this.extractor = extractor;
+        this.groupExpression = groupExpression;
+    }
+
+    private static Document ifNull(String field, String legacyField) {
+        return new Document("$ifNull", List.of("$" + field, "$" + legacyField));
+    }
+
+    /**
+     * Nombre de la propiedad en la respuesta y de la salida en $facet
+     */
+    public String property() {
+        return property;
+    }
+
+    /**
+     * Expresión de agrupación para $sortByCount sobre los campos persistidos
+     */
+    public Object groupExpression() {
+        return groupExpression;
+    }
+
+    /**
+     * Clave del conteo para el _id de un grupo de $sortByCount (el estado se agrupa por su código)
+     */
+    public String label(Object bucketId) {
+        if (this == CURRENT_STATE && bucketId instanceof Number code) {
+            return CampusSchema.stateName(code.intValue());
+        }
+        return String.valueOf(bucketId);
+    }
+
+    /**
+     * Valor de la faceta para un campus, como clave del conteo
+     */
+    public String valueOf(Campus campus) {
+        return String.valueOf(extractor.apply(campus));
+    }
+
+    /**
+     * Interpreta el parámetro facets (lista separada por comas)
+     * @param facetsParam valor del parámetro, o null
+     * @return facetas solicitadas (vacío si no se pide ninguna)
+     * @throws InvalidRequestException si se pide una faceta desconocida
+     */
+    public static Set<CampusFacet> parse(String facetsParam) {
+        Set<CampusFacet> facets = EnumSet.noneOf(CampusFacet.class);
+        if (facetsParam == null || facetsParam.isBlank()) {
+            return facets;
+        }
+        for (String name : facetsParam.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            facets.add(Arrays.stream(values())
+                    .filter(facet -> facet.property.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidRequestException("Unknown facet '" + trimmed + "'. Allowed facets: "
+                            + Arrays.stream(values()).map(CampusFacet::property).collect(Collectors.joining(",")))));
+        }
+        return facets;
+    }
+}
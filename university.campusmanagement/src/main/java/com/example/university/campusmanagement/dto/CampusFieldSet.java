@@ -0,0 +1,148 @@
+package com.example.university.campusmanagement.dto;
+
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.CampusSchema;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Conjunto de propiedades de CampusDto solicitado con ?fields= (sparse fieldsets).
+ * Se traduce en una proyección de MongoDB para leer sólo esos campos y en un mapa ordenado
+ * con sólo esas propiedades para la respuesta.
+ */
+public final class CampusFieldSet {
+
+    private static final String ID = "id";
+
+    // Propiedad del DTO -> (campo en MongoDB, extractor), en el orden en que se serializa CampusDto
+    private static final Map<String, Property> PROPERTIES = new LinkedHashMap<>();
+
+    static {
+        PROPERTIES.put(ID, new Property(CampusSchema.ID, Campus::getId));
+        PROPERTIES.put("name", new Property(CampusSchema.NAME, Campus::getName));
+        PROPERTIES.put("address", new Property(CampusSchema.ADDRESS, Campus::getAddress));
+        PROPERTIES.put("city", new Property(CampusSchema.CITY, Campus::getCity));
+        PROPERTIES.put("telephone", new Property(CampusSchema.TELEPHONE, Campus::getTelephone));
+        // active y currentState se derivan del mismo código de estado
+        PROPERTIES.put("active", new Property(CampusSchema.STATE, Campus::isActive));
+        PROPERTIES.put("currentState", new Property(CampusSchema.STATE, Campus::getCurrentState));
+    }
+
+    /**
+     * Todas las propiedades (sin ?fields=)
+     */
+    public static final CampusFieldSet ALL = new CampusFieldSet(PROPERTIES.keySet());
+
+    private record Property(String mongoField, Function<Campus, Object> extractor) {
+    }
+
+    private final Set<String> fields;
+
+    private CampusFieldSet(Set<String> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * Interpreta el parámetro fields (lista separada por comas)
+     * @param fieldsParam valor del parámetro, o null
+     * @return conjunto de propiedades (ALL si el parámetro está vacío)
+     * @throws InvalidRequestException si se pide una propiedad desconocida
+     */
+    public static CampusFieldSet parse(String fieldsParam) {
+        if (fieldsParam == null || fieldsParam.isBlank()) {
+            return ALL;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fieldsParam.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!PROPERTIES.containsKey(trimmed)) {
+                throw new InvalidRequestException("Unknown field '" + trimmed + "'. Allowed fields: "
+                        + String.join(",", PROPERTIES.keySet()));
+            }
+            requested.add(trimmed);
+        }
+        return requested.isEmpty() ? ALL : ordered(requested);
+    }
+
+    private static CampusFieldSet ordered(Set<String> requested) {
+        // Orden canónico: la respuesta no depende del orden en que el cliente enumeró los campos
+        Set<String> canonical = new LinkedHashSet<>();
+        PROPERTIES.keySet().stream().filter(requested::contains).forEach(canonical::add);
+        return canonical.size() == PROPERTIES.size() ? ALL : new CampusFieldSet(canonical);
+    }
+
+    public boolean isAll() {
+        return fields.size() == PROPERTIES.size();
+    }
+
+    public boolean contains(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Conjunto ampliado con una propiedad más (p. ej. la necesaria para filtrar en memoria)
+     */
+    public CampusFieldSet with(String field) {
+        if (isAll() || fields.contains(field)) {
+            return this;
+        }
+        Set<String> extended = new LinkedHashSet<>(fields);
+        extended.add(field);
+        return ordered(extended);
+    }
+
+    /**
+     * Añade la proyección a una consulta de MongoDB (no hace nada si se piden todos los campos).
+     * Incluye la versión del esquema y los nombres anteriores de cada campo, para que un documento
+     * aún no migrado se lea completo (ver CampusSchema.legacyFields)
+     * @param query consulta
+     * @return la misma consulta
+     */
+    public Query applyTo(Query query) {
+        if (isAll()) {
+            return query;
+        }
+        fields.forEach(field -> {
+            String mongoField = PROPERTIES.get(field).mongoField();
+            query.fields().include(mongoField);
+            CampusSchema.legacyFields(mongoField).forEach(legacy -> query.fields().include(legacy));
+        });
+        query.fields().include(CampusSchema.VERSION);
+        if (!fields.contains(ID)) {
+            query.fields().exclude(PROPERTIES.get(ID).mongoField());
+        }
+        return query;
+    }
+
+    /**
+     * Representación de un campus con sólo las propiedades solicitadas
+     * @param campus campus (puede estar cargado con proyección)
+     * @return mapa ordenado propiedad -> valor
+     */
+    public Map<String, Object> render(Campus campus) {
+        Map<String, Object> view = new LinkedHashMap<>(fields.size() * 2);
+        fields.forEach(field -> view.put(field, PROPERTIES.get(field).extractor().apply(campus)));
+        return view;
+    }
+
+    /**
+     * Clave estable del conjunto (para coalescer consultas idénticas)
+     */
+    public String key() {
+        return String.join(",", fields);
+    }
+
+    @Override
+    public String toString() {
+        return key();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.university.campusmanagement.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para buscar varios campus por ID en una sola petición (POST /api/campuses/lookup)
+ */
+public class CampusLookupRequest {
+
+    /**
+     * Máximo de IDs por petición (también para GET /api/campuses?ids=)
+     */
+    public static final int MAX_IDS = 500;
+
+    @NotEmpty(message = "Debe indicar al menos un ID")
+    @Size(max = MAX_IDS, message = "No se pueden consultar más de 500 IDs por petición")
+    private List<@NotBlank(message = "Los IDs no pueden estar vacíos") String> ids;
+
+    // Constructor por defecto
+    public CampusLookupRequest() {
+        // Constructor por defecto
+    }
+
+    // Constructor con parámetros para testing
+    public CampusLookupRequest(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.university.campusmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado de la búsqueda por lote para un ID solicitado: el campus o una marca explícita de no encontrado
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CampusLookupResult {
+    private final String id;
+    private final boolean found;
+    private final Object campus;
+
+    // Constructor privado para factory methods
+    private CampusLookupResult(String id, boolean found, Object campus) {
+        this.id = id;
+        this.found = found;
+        this.campus = campus;
+    }
+
+    /**
+     * @param campus CampusDto, o mapa con sólo las propiedades solicitadas con ?fields=
+     */
+    public static CampusLookupResult found(String id, Object campus) {
+        return new CampusLookupResult(id, true, campus);
+    }
+
+    public static CampusLookupResult notFound(String id) {
+        return new CampusLookupResult(id, false, null);
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public boolean isFound() { return found; }
+    public Object getCampus() { return campus; }
+}
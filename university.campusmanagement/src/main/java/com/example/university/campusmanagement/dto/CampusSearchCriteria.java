@@ -0,0 +1,174 @@
+package com.example.university.campusmanagement.dto;
+
+import com.example.university.campusmanagement.constants.Constants;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Filtros y orden de la consulta de campus (?city=&state=&active=&namePrefix=&sort=).
+ * Se valida al construirse; CampusQueryPlanner la traduce a una consulta de MongoDB.
+ * Los listados de la API excluyen por defecto los campus dados de baja (excludingInactive()).
+ */
+public final class CampusSearchCriteria {
+
+    // Parámetro de orden -> propiedad de Campus (CampusQueryPlanner la traduce al campo persistido)
+    private static final Map<String, String> SORTABLE = new LinkedHashMap<>();
+
+    static {
+        SORTABLE.put("name", "name");
+        SORTABLE.put("city", "city");
+        SORTABLE.put("createdAt", "createdAt");
+    }
+
+    private static final Set<String> STATES = Set.of(
+            Constants.States.ACTIVE, Constants.States.INACTIVE,
+            Constants.States.MAINTENANCE, Constants.States.RENOVATION);
+
+    private static final int MAX_SORT_KEYS = 3;
+
+    /**
+     * Criterio de orden: campo de MongoDB y dirección
+     */
+    public record SortKey(String field, Sort.Direction direction) {
+    }
+
+    private final String city;
+    private final String state;
+    private final Boolean active;
+    private final String namePrefix;
+    private final List<SortKey> sort;
+    private final boolean excludeInactive;
+
+    private CampusSearchCriteria(String city, String state, Boolean active, String namePrefix, List<SortKey> sort,
+                                 boolean excludeInactive) {
+        this.city = city;
+        this.state = state;
+        this.active = active;
+        this.namePrefix = namePrefix;
+        this.sort = Collections.unmodifiableList(sort);
+        this.excludeInactive = excludeInactive;
+    }
+
+    /**
+     * Construye los criterios a partir de los parámetros de la petición
+     * @param city ciudad exacta, o null
+     * @param state estado (sin distinguir mayúsculas), o null
+     * @param active indicador de actividad, o null
+     * @param namePrefix prefijo del nombre, o null
+     * @param sort lista separada por comas; un '-' delante indica orden descendente (p. ej. "name,-createdAt")
+     * @return criterios validados
+     * @throws InvalidRequestException si algún parámetro no es válido
+     */
+    public static CampusSearchCriteria of(String city, String state, Boolean active, String namePrefix, String sort) {
+        String normalizedState = blankToNull(state);
+        if (normalizedState != null) {
+            normalizedState = normalizedState.toUpperCase(Locale.ROOT);
+            if (!STATES.contains(normalizedState)) {
+                throw new InvalidRequestException("Unknown state '" + state + "'. Allowed states: "
+                        + String.join(",", STATES.stream().sorted().toList()));
+            }
+        }
+        return new CampusSearchCriteria(blankToNull(city), normalizedState, active, blankToNull(namePrefix),
+                parseSort(sort), false);
+    }
+
+    /**
+     * Los mismos criterios restringidos al conjunto de trabajo: sin los campus dados de baja (INACTIVE).
+     * Un filtro de estado explícito tiene prioridad (?state=INACTIVE sigue devolviendo las bajas).
+     */
+    public CampusSearchCriteria excludingInactive() {
+        return new CampusSearchCriteria(city, state, active, namePrefix, sort, true);
+    }
+
+    private static List<SortKey> parseSort(String sortParam) {
+        List<SortKey> keys = new ArrayList<>();
+        if (sortParam == null || sortParam.isBlank()) {
+            return keys;
+        }
+        for (String token : sortParam.split(",")) {
+            String trimmed = token.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Sort.Direction direction = trimmed.startsWith("-") ? Sort.Direction.DESC : Sort.Direction.ASC;
+            if (trimmed.startsWith("-")) {
+                trimmed = trimmed.substring(1);
+            }
+            String field = SORTABLE.get(trimmed);
+            if (field == null) {
+                throw new InvalidRequestException("Cannot sort by '" + trimmed + "'. Sortable fields: "
+                        + String.join(",", SORTABLE.keySet()));
+            }
+            String duplicate = field;
+            if (keys.stream().anyMatch(key -> key.field().equals(duplicate))) {
+                throw new InvalidRequestException("Duplicate sort field '" + trimmed + "'");
+            }
+            keys.add(new SortKey(field, direction));
+        }
+        if (keys.size() > MAX_SORT_KEYS) {
+            throw new InvalidRequestException("At most " + MAX_SORT_KEYS + " sort fields are allowed");
+        }
+        return keys;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Indica si hay que añadir el filtro del conjunto de trabajo (estado entre Constants.States.LIVE)
+     */
+    public boolean excludesInactive() {
+        return excludeInactive && state == null;
+    }
+
+    /**
+     * Indica si no hay ni filtros ni orden (listado completo, o del conjunto de trabajo si excludesInactive())
+     */
+    public boolean isEmpty() {
+        return city == null && state == null && active == null && namePrefix == null && sort.isEmpty();
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public List<SortKey> getSort() {
+        return sort;
+    }
+
+    /**
+     * Orden de Spring Data equivalente (Sort.unsorted() si no se pidió orden)
+     */
+    public Sort toSort() {
+        if (sort.isEmpty()) {
+            return Sort.unsorted();
+        }
+        return Sort.by(sort.stream().map(key -> new Sort.Order(key.direction(), key.field())).toList());
+    }
+
+    @Override
+    public String toString() {
+        return "CampusSearchCriteria{city=" + city + ", state=" + state + ", active=" + active
+                + ", namePrefix=" + namePrefix + ", sort=" + sort + ", excludeInactive=" + excludesInactive() + "}";
+    }
+}
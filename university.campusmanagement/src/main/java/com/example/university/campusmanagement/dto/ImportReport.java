@@ -0,0 +1,26 @@
+package com.example.university.campusmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva de campus
+ *
+ * @param totalRows       filas de datos leídas (sin contar la cabecera)
+ * @param validRows       filas que superaron la validación
+ * @param invalidRows     filas rechazadas
+ * @param upsertedRows    filas escritas en MongoDB
+ * @param durationMs      duración total en milisegundos
+ * @param errors          primeros errores encontrados (acotado)
+ * @param errorsTruncated true si hubo más errores de los incluidos
+ */
+public record ImportReport(long totalRows, long validRows, long invalidRows, long upsertedRows, long durationMs,
+                           List<RowError> errors, boolean errorsTruncated) {
+
+    /**
+     * Error de una fila concreta
+     * @param line número de línea en el fichero (la cabecera es la línea 1)
+     * @param message descripción del error
+     */
+    public record RowError(long line, String message) {
+    }
+}
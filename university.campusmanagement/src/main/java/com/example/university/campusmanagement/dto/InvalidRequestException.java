@@ -0,0 +1,19 @@
+package com.example.university.campusmanagement.dto;
+
+/**
+ * Parámetro de la petición no válido (propiedad desconocida en ?fields=, filtro, orden, token, límite...).
+ * Es la única excepción que ApiExceptionHandler traduce a 400: un IllegalArgumentException de cualquier otro
+ * origen es un fallo interno y sigue siendo un 500. Como CampusNotFoundException, se construye sin traza de pila.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+    public InvalidRequestException(String message) {
+        super(message, null);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        // Resultado esperado ante entradas erróneas: sin coste de traza
+        return this;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.university.campusmanagement.dto;
+
+import com.example.university.campusmanagement.model.OutboxMessage;
+
+import java.time.Instant;
+
+/**
+ * Elemento del cuerpo de un webhook de cambios de estado.
+ * Un mismo mensaje puede llegar más de una vez (entrega at-least-once): los receptores deben deduplicar por id
+ * y ordenar por occurredAt.
+ */
+public record WebhookEventDto(String id, String campusId, String campusName, String city, String eventType,
+                              String previousState, String currentState, boolean active, Instant occurredAt) {
+
+    public static WebhookEventDto fromMessage(OutboxMessage message) {
+        return new WebhookEventDto(message.getId(), message.getCampusId(), message.getCampusName(), message.getCity(),
+                message.getEventType(), message.getPreviousState(), message.getCurrentState(), message.isActive(),
+                message.getOccurredAt());
+    }
+}
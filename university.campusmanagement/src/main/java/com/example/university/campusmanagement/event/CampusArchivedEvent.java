@@ -0,0 +1,14 @@
+package com.example.university.campusmanagement.event;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Evento publicado cuando CampusArchiver traslada campus dados de baja a la colección de archivo.
+ * Los campus ya no existen en la colección principal: los suscriptores deben olvidarlos.
+ *
+ * @param campusIds IDs de los campus archivados
+ * @param timestamp momento del archivado
+ */
+public record CampusArchivedEvent(Set<String> campusIds, Instant timestamp) {
+}
@@ -0,0 +1,13 @@
+package com.example.university.campusmanagement.event;
+
+import java.time.Instant;
+
+/**
+ * Evento publicado tras una escritura masiva que no pasa por CampusService campus a campus
+ * (p. ej. importación CSV). Los suscriptores deben reconstruir su estado derivado.
+ *
+ * @param affectedCampuses número de campus escritos
+ * @param timestamp        momento de la escritura
+ */
+public record CampusBulkChangeEvent(long affectedCampuses, Instant timestamp) {
+}
@@ -0,0 +1,49 @@
+package com.example.university.campusmanagement.event;
+
+import com.example.university.campusmanagement.model.Campus;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Evento publicado por CampusService en cada escritura de un campus.
+ * Incluye el estado previo para que los suscriptores puedan calcular deltas sin releer la BD.
+ *
+ * @param type          tipo de cambio
+ * @param campus        campus tal y como quedó persistido
+ * @param previousState estado antes del cambio (null en creaciones)
+ * @param previousActive valor de active antes del cambio (false en creaciones)
+ * @param timestamp     momento del cambio
+ */
+public record CampusChangeEvent(Type type, Campus campus, String previousState, boolean previousActive,
+                                Instant timestamp) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATE_CHANGED
+    }
+
+    public static CampusChangeEvent created(Campus campus) {
+        return new CampusChangeEvent(Type.CREATED, campus, null, false, Instant.now());
+    }
+
+    public static CampusChangeEvent updated(Campus campus, String previousState, boolean previousActive) {
+        return new CampusChangeEvent(Type.UPDATED, campus, previousState, previousActive, Instant.now());
+    }
+
+    public static CampusChangeEvent stateChanged(Campus campus, String previousState, boolean previousActive) {
+        return new CampusChangeEvent(Type.STATE_CHANGED, campus, previousState, previousActive, Instant.now());
+    }
+
+    public String campusId() {
+        return campus.getId();
+    }
+
+    /**
+     * Indica si el cambio modificó el estado del campus
+     */
+    public boolean isStateTransition() {
+        return type == Type.CREATED || !Objects.equals(previousState, campus.getCurrentState());
+    }
+}
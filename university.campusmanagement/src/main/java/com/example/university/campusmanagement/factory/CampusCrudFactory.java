@@ -1,11 +1,12 @@
 package com.example.university.campusmanagement.factory;
 
+import com.example.university.campusmanagement.model.Campus;
 import com.example.university.campusmanagement.service.CampusService;
 import com.example.university.campusmanagement.service.CrudService;
 import org.springframework.stereotype.Component;
 
 @Component
-public class CampusCrudFactory implements CrudFactory {
+public class CampusCrudFactory implements CrudFactory<Campus, String> {
     private final CampusService campusService;
 
     public CampusCrudFactory(CampusService campusService) {
@@ -13,7 +14,7 @@ public class CampusCrudFactory implements CrudFactory {
     }
 
     @Override
-    public CrudService createCrudService() {
+    public CrudService<Campus, String> createCrudService() {
         return campusService;
     }
 }
@@ -2,10 +2,10 @@ package com.example.university.campusmanagement.factory;
 
 import com.example.university.campusmanagement.service.CrudService;
 
-public interface CrudFactory {
-    CrudService createCrudService();
+public interface CrudFactory<T, ID> {
+    CrudService<T, ID> createCrudService();
 }
 
 //metodo createCrudService() actua como una fabrica abstracta para crear instancias de servicios CRUD
-//Desde CampusController se llama esta fabrica en el constructor para obtener instancia de CrudService que
-//y asi desacopla la creacion del servicio y permite intercambiar implementaciones
+//CrudServiceRegistry reune todas las fabricas (una por entidad) y CampusController le pide en el constructor
+//su CrudService de Campus, asi se desacopla la creacion del servicio y permite intercambiar implementaciones
@@ -0,0 +1,58 @@
+package com.example.university.campusmanagement.factory;
+
+import com.example.university.campusmanagement.service.CrudService;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registro de servicios CRUD por tipo de entidad.
+ * Reúne todas las CrudFactory del contexto para que varias entidades puedan convivir
+ * y cada consumidor (p. ej. CampusController) obtenga su servicio ya tipado, sin casts.
+ */
+@Component
+public class CrudServiceRegistry {
+
+    private final Map<Class<?>, CrudService<?, ?>> servicesByEntity = new HashMap<>();
+
+    public CrudServiceRegistry(List<CrudFactory<?, ?>> factories) {
+        for (CrudFactory<?, ?> factory : factories) {
+            CrudService<?, ?> service = factory.createCrudService();
+            CrudService<?, ?> previous = servicesByEntity.putIfAbsent(service.entityType(), service);
+            if (previous != null && previous != service) {
+                throw new IllegalStateException("Duplicate CrudService for entity " + service.entityType().getName());
+            }
+        }
+    }
+
+    /**
+     * Obtiene el servicio CRUD de una entidad
+     * @param entityType tipo de la entidad
+     * @param idType tipo del identificador
+     * @return servicio tipado
+     * @throws IllegalArgumentException si no hay servicio registrado o el tipo de ID no coincide
+     */
+    @SuppressWarnings("unchecked")
+    public <T, ID> CrudService<T, ID> serviceFor(Class<T> entityType, Class<ID> idType) {
+        CrudService<?, ?> service = servicesByEntity.get(entityType);
+        if (service == null) {
+            throw new IllegalArgumentException("No CrudService registered for entity " + entityType.getName());
+        }
+        if (!service.idType().equals(idType)) {
+            throw new IllegalArgumentException("CrudService for " + entityType.getName()
+                    + " uses ID type " + service.idType().getName() + ", not " + idType.getName());
+        }
+        // Seguro: entityType e idType se han comprobado contra el propio servicio
+        return (CrudService<T, ID>) service;
+    }
+
+    /**
+     * Tipos de entidad con servicio CRUD registrado
+     */
+    public Set<Class<?>> entityTypes() {
+        return Set.copyOf(servicesByEntity.keySet());
+    }
+}
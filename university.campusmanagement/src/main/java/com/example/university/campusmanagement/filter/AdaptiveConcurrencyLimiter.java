@@ -0,0 +1,98 @@
+package com.example.university.campusmanagement.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limitador de concurrencia adaptativo AIMD (additive increase / multiplicative decrease).
+ * El límite crece en 1 mientras las peticiones terminan por debajo del umbral de latencia
+ * y el sistema está realmente usando la capacidad; se reduce multiplicativamente
+ * cuando una petición es lenta o falla por sobrecarga, como mucho una vez por intervalo de muestreo:
+ * una ráfaga de respuestas lentas de la misma congestión cuenta como una sola señal.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final long decreaseIntervalNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejections = new LongAdder();
+    private volatile double limit;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdNanos, double backoffRatio, long decreaseIntervalNanos) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limit bounds for limiter " + name);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.decreaseIntervalNanos = decreaseIntervalNanos;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.lastDecreaseNanos = System.nanoTime() - decreaseIntervalNanos;
+    }
+
+    /**
+     * Intenta admitir una petición sin bloquear
+     * @return true si se admitió, false si se debe rechazar por sobrecarga
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejections.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera un permiso y ajusta el límite según la latencia observada
+     * @param latencyNanos latencia de la petición
+     * @param overloaded true si la petición falló por sobrecarga (timeout, 5xx)
+     */
+    public void release(long latencyNanos, boolean overloaded) {
+        int inFlightBeforeRelease = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (overloaded || latencyNanos > latencyThresholdNanos) {
+                long now = System.nanoTime();
+                if (now - lastDecreaseNanos >= decreaseIntervalNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                }
+            } else if (inFlightBeforeRelease * 2 >= limit) {
+                // Sólo crecer si de verdad se está usando el límite actual
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.university.campusmanagement.filter;
+
+import com.example.university.campusmanagement.constants.Constants;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Filtro de control de admisión delante de CampusController.
+ * Cada clase de endpoint (lecturas, escrituras, bulk) tiene su propio limitador adaptativo;
+ * ante sobrecarga responde inmediatamente 503 con Retry-After en lugar de encolar.
+ * Las peticiones asíncronas (export en streaming) conservan el permiso hasta que termina la respuesta,
+ * no hasta que vuelve el hilo del servlet.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters;
+    private final long retryAfterSeconds;
+
+    public AdmissionControlFilter(Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters, long retryAfterSeconds) {
+        this.limiters = new EnumMap<>(limiters);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = limiters.get(EndpointClass.of(request));
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limiter.tryAcquire()) {
+            logger.debug("Rejecting {} {} - limiter {} at limit {}",
+                    request.getMethod(), request.getRequestURI(), limiter.getName(), limiter.getLimit());
+            rejectOverloaded(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean overloaded = true;
+        boolean releasedAsync = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(limiter, start));
+                releasedAsync = true;
+            } else {
+                overloaded = isOverloaded(response);
+            }
+        } finally {
+            if (!releasedAsync) {
+                limiter.release(System.nanoTime() - start, overloaded);
+            }
+        }
+    }
+
+    private static boolean isOverloaded(HttpServletResponse response) {
+        return response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
+    private void rejectOverloaded(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"" + Constants.ResponseFields.ERROR + "\":\"" + Constants.ErrorMessages.SERVICE_OVERLOADED + "\"}");
+    }
+
+    /**
+     * Libera el permiso cuando el contenedor completa la petición asíncrona.
+     * Tras un timeout o un error el contenedor también notifica onComplete, que es el único punto de liberación.
+     */
+    private static final class ReleaseOnCompletion implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long start;
+        private volatile boolean failed;
+
+        private ReleaseOnCompletion(AdaptiveConcurrencyLimiter limiter, long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            boolean overloaded = failed
+                    || (event.getSuppliedResponse() instanceof HttpServletResponse response && isOverloaded(response));
+            limiter.release(System.nanoTime() - start, overloaded);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Un nuevo ciclo asíncrono reutiliza este mismo listener
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.university.campusmanagement.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.List;
+
+/**
+ * Clases de endpoint con límites de concurrencia independientes
+ */
+public enum EndpointClass {
+    READ,
+    WRITE,
+    BULK,
+    /**
+     * Suscripciones SSE: duran lo que dure el cliente y su número ya lo acota CampusEventBroadcaster,
+     * así que no pasan por un limitador adaptativo
+     */
+    STREAM;
+
+    private static final List<String> BULK_PATH_MARKERS = List.of("/import", "/export");
+    private static final List<String> STREAM_PATH_SUFFIXES = List.of("/events");
+    // Lecturas que usan POST para enviar la lista de IDs en el cuerpo
+    private static final List<String> READ_PATH_SUFFIXES = List.of("/lookup");
+
+    /**
+     * Clasifica una petición según su método HTTP y su ruta
+     * @param request petición HTTP
+     * @return clase de endpoint correspondiente
+     */
+    public static EndpointClass of(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri != null && BULK_PATH_MARKERS.stream().anyMatch(uri::contains)) {
+            return BULK;
+        }
+        if (uri != null && STREAM_PATH_SUFFIXES.stream().anyMatch(uri::endsWith)) {
+            return STREAM;
+        }
+        if (uri != null && READ_PATH_SUFFIXES.stream().anyMatch(uri::endsWith)) {
+            return READ;
+        }
+        return "GET".equalsIgnoreCase(request.getMethod()) || "HEAD".equalsIgnoreCase(request.getMethod())
+                ? READ
+                : WRITE;
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.university.campusmanagement.filter;
+
+import com.example.university.campusmanagement.constants.Constants;
+import com.example.university.campusmanagement.model.IdempotencyRecord;
+import com.example.university.campusmanagement.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Filtro de idempotencia para las escrituras de la API de campus (creación, actualización,
+ * transiciones de estado y operaciones bulk). Si la petición trae Idempotency-Key y ya fue
+ * ejecutada, se devuelve la respuesta almacenada sin volver a ejecutarla.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    // Cuerpos mayores (importaciones CSV) se vuelcan a un fichero temporal en lugar de retenerse en el heap
+    private static final int IN_MEMORY_BODY_BYTES = 256 * 1024;
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of(
+            HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+
+    private final IdempotencyService idempotencyService;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService) {
+        this.idempotencyService = idempotencyService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !IDEMPOTENT_METHODS.contains(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String rawKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (rawKey.isEmpty() || rawKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Invalid " + IDEMPOTENCY_KEY_HEADER + " header");
+            return;
+        }
+
+        String key = scopedKey(request, rawKey);
+        try (BufferedBodyRequest bufferedRequest = new BufferedBodyRequest(request)) {
+            String requestHash = bufferedRequest.getHash();
+            IdempotencyService.Reservation reservation = idempotencyService.reserve(key, requestHash);
+            switch (reservation.outcome()) {
+                case REPLAY -> replay(reservation.storedResponse(), response);
+                case IN_PROGRESS -> {
+                    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                    writeError(response, HttpStatus.CONFLICT, "A request with this " + IDEMPOTENCY_KEY_HEADER + " is in progress");
+                }
+                case MISMATCH -> writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        IDEMPOTENCY_KEY_HEADER + " was already used with a different request");
+                case STARTED -> executeAndStore(key, requestHash, bufferedRequest, response, filterChain);
+            }
+        }
+    }
+
+    private void executeAndStore(String key, String requestHash, HttpServletRequest request,
+                                 HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            int status = responseWrapper.getStatus();
+            if (status >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                idempotencyService.release(key);
+            } else {
+                idempotencyService.complete(key, requestHash, status, responseWrapper.getContentType(),
+                        responseWrapper.getContentAsByteArray());
+            }
+        } catch (IOException | ServletException | RuntimeException e) {
+            idempotencyService.release(key);
+            throw e;
+        } finally {
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotencyRecord storedResponse, HttpServletResponse response) throws IOException {
+        response.setStatus(storedResponse.getResponseStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (storedResponse.getContentType() != null) {
+            response.setContentType(storedResponse.getContentType());
+        }
+        byte[] body = storedResponse.getBody();
+        if (body != null && body.length > 0) {
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    /**
+     * Acota la clave al cliente autenticado, método y ruta para que no colisionen claves de distintos clientes
+     */
+    private String scopedKey(HttpServletRequest request, String rawKey) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String principal = authentication != null ? authentication.getName() : "anonymous";
+        return principal + '|' + request.getMethod() + '|' + request.getRequestURI() + '|' + rawKey;
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"" + Constants.ResponseFields.ERROR + "\":\"" + message + "\"}");
+    }
+
+    /**
+     * Petición con el cuerpo ya leído: se calcula su huella (SHA-256 de query string y cuerpo) antes de reservar
+     * la clave y se vuelve a entregar al controlador. Hasta IN_MEMORY_BODY_BYTES se guarda en memoria;
+     * a partir de ahí, en un fichero temporal que se borra al terminar la petición
+     */
+    static final class BufferedBodyRequest extends HttpServletRequestWrapper implements AutoCloseable {
+
+        private final String hash;
+        private byte[] memory;
+        private Path spill;
+
+        BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            MessageDigest digest = sha256();
+            String queryString = request.getQueryString();
+            if (queryString != null) {
+                digest.update(queryString.getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0);
+            buffer(request.getInputStream(), digest);
+            this.hash = HexFormat.of().formatHex(digest.digest());
+        }
+
+        private void buffer(InputStream body, MessageDigest digest) throws IOException {
+            ByteArrayOutputStream head = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = body.read(chunk)) != -1) {
+                digest.update(chunk, 0, read);
+                if (spill == null && head.size() + read <= IN_MEMORY_BODY_BYTES) {
+                    head.write(chunk, 0, read);
+                    continue;
+                }
+                if (spill == null) {
+                    spill = Files.createTempFile("idempotent-body", ".tmp");
+                    try (OutputStream out = Files.newOutputStream(spill)) {
+                        head.writeTo(out);
+                        out.write(chunk, 0, read);
+                        // El resto va directamente al fichero; el digest lo recorre por el mismo flujo
+                        body.transferTo(new DigestOutputStream(out, digest));
+                    }
+                    return;
+                }
+            }
+            memory = head.toByteArray();
+        }
+
+        String getHash() {
+            return hash;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            InputStream source = spill != null ? Files.newInputStream(spill) : new ByteArrayInputStream(memory);
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return source.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return source.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    try {
+                        return source.available() == 0;
+                    } catch (IOException e) {
+                        return true;
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+
+                @Override
+                public void close() throws IOException {
+                    source.close();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (spill != null) {
+                Files.deleteIfExists(spill);
+            }
+        }
+
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
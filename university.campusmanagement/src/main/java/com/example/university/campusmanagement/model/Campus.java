@@ -8,12 +8,16 @@ import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 
+import java.time.Instant;
 import java.util.Objects;
 
 /**
  * Entidad Campus que representa una sede universitaria.
  * Implementa el patrón State para manejar diferentes estados operativos.
+ * Se persiste con la codificación compacta de CampusSchema: nombres de campo cortos y un único código de estado,
+ * del que se derivan currentState y active.
  */
 @Data
 @Document(collection = "campuses")
@@ -26,14 +30,34 @@ public class Campus {
 
     @Id
     private String id;
+    @Field(CampusSchema.NAME)
     private String name;
+    @Field(CampusSchema.ADDRESS)
     private String address;
+    @Field(CampusSchema.CITY)
     private String city;
+    @Field(CampusSchema.TELEPHONE)
     private String telephone;
-    private boolean active;
 
-    // Patrón State - campo para persistir el estado en BD
-    private String currentState;
+    // Patrón State - código del estado persistido en BD (currentState y active se derivan de él)
+    @Field(CampusSchema.STATE)
+    private int stateCode;
+
+    // Momento de la última escritura (permite consultas delta desde un instante)
+    @Field(CampusSchema.LAST_MODIFIED)
+    private Instant lastModified;
+
+    // Momento de creación (ordenación por antigüedad)
+    @Field(CampusSchema.CREATED_AT)
+    private Instant createdAt;
+
+    // Secuencia de la última escritura (ChangeSequence): base del feed de cambios GET /api/campuses/changes
+    @Field(CampusSchema.CHANGE_SEQ)
+    private long changeSeq;
+
+    // Versión de la codificación; los documentos sin ella se leen y migran como versión 1
+    @Field(CampusSchema.VERSION)
+    private int schemaVersion = CampusSchema.CURRENT_VERSION;
 
     // Estado actual (no se persiste en MongoDB) - Usar @Transient de Spring Data
     @Transient
@@ -62,8 +86,7 @@ public class Campus {
      */
     private void initializeDefaultState() {
         this.state = new ActiveState();
-        this.currentState = ACTIVE_STATE;
-        this.active = true;
+        this.stateCode = CampusSchema.ACTIVE_CODE;
     }
 
     // ============ Métodos del Patrón State ============
@@ -130,10 +153,11 @@ public class Campus {
     // ============ Métodos Privados de Soporte ============
 
     /**
-     * Asegura que el estado esté inicializado (útil después de cargar desde BD)
+     * Asegura que el estado esté inicializado (útil después de cargar desde BD: el mapeo asigna el código
+     * directamente al campo, sin pasar por setStateCode)
      */
     private void ensureStateInitialized() {
-        if (state == null) {
+        if (state == null || CampusSchema.stateCode(state.getStateName()) != stateCode) {
             restoreStateFromPersistedValue();
         }
     }
@@ -142,9 +166,7 @@ public class Campus {
      * Restaura el estado desde el valor persistido en la base de datos
      */
     private void restoreStateFromPersistedValue() {
-        String stateToRestore = currentState != null ? currentState : ACTIVE_STATE;
-
-        this.state = createStateFromString(stateToRestore.toUpperCase());
+        this.state = createStateFromString(getCurrentState());
     }
 
     /**
@@ -166,18 +188,7 @@ public class Campus {
      */
     private void updatePersistedFields() {
         if (state != null) {
-            this.currentState = state.getStateName();
-            this.active = state.canAcceptStudents();
-        }
-    }
-
-    /**
-     * Sincroniza el estado interno cuando se cambia el campo active externamente
-     */
-    private void synchronizeStateWithActiveField(boolean newActiveValue) {
-        if (state != null && newActiveValue != state.canAcceptStudents()) {
-            this.currentState = newActiveValue ? ACTIVE_STATE : INACTIVE_STATE;
-            this.state = null; // Forzar re-inicialización en próximo acceso
+            this.stateCode = CampusSchema.stateCode(state.getStateName());
         }
     }
 
@@ -223,24 +234,75 @@ public class Campus {
         this.telephone = telephone;
     }
 
+    /**
+     * Sólo un campus en estado ACTIVE acepta estudiantes
+     */
     public boolean isActive() {
-        return active;
+        return stateCode == CampusSchema.ACTIVE_CODE;
     }
 
+    /**
+     * Activa o da de baja el campus si el valor no coincide con su estado (un campus en mantenimiento
+     * no está activo, así que setActive(false) lo deja en mantenimiento)
+     */
     public void setActive(boolean active) {
-        this.active = active;
-        synchronizeStateWithActiveField(active);
+        if (active != isActive()) {
+            setStateCode(active ? CampusSchema.ACTIVE_CODE : CampusSchema.INACTIVE_CODE);
+        }
     }
 
     public String getCurrentState() {
-        return currentState;
+        return CampusSchema.stateName(stateCode);
     }
 
+    /**
+     * @param currentState nombre del estado; null o desconocido se tratan como ACTIVE
+     */
     public void setCurrentState(String currentState) {
-        this.currentState = currentState;
+        setStateCode(CampusSchema.stateCode(currentState));
+    }
+
+    public int getStateCode() {
+        return stateCode;
+    }
+
+    public void setStateCode(int stateCode) {
+        this.stateCode = stateCode;
         this.state = null; // El estado se restaurará cuando se necesite
     }
 
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    public void setSchemaVersion(int schemaVersion) {
+        this.schemaVersion = schemaVersion;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     // ============ Métodos de Object (equals, hashCode, toString) ============
 
     @Override
@@ -263,7 +325,7 @@ public class Campus {
     @Override
     public String toString() {
         return String.format("Campus{id='%s', name='%s', currentState='%s', active=%s}",
-                id, name, currentState, active);
+                id, name, getCurrentState(), isActive());
     }
 
     // ============ Métodos de Utilidad ============
@@ -274,7 +336,7 @@ public class Campus {
      * @return true si está en el estado especificado
      */
     public boolean isInState(String stateName) {
-        return Objects.equals(this.currentState, stateName);
+        return Objects.equals(getCurrentState(), stateName);
     }
 
     /**
@@ -286,11 +348,27 @@ public class Campus {
         return state.canAcceptStudents() || state.canScheduleEvents();
     }
 
+    /**
+     * Crea una copia independiente del campus (mismos datos y estado persistido)
+     * @return copia del campus
+     */
+    public Campus copy() {
+        Campus copy = new Campus(name, address, city, telephone);
+        copy.id = this.id;
+        copy.stateCode = this.stateCode;
+        copy.schemaVersion = this.schemaVersion;
+        copy.lastModified = this.lastModified;
+        copy.createdAt = this.createdAt;
+        copy.changeSeq = this.changeSeq;
+        copy.state = null; // Se restaurará desde el código de estado cuando se necesite
+        return copy;
+    }
+
     /**
      * Obtiene información resumida del campus
      * @return string con información básica
      */
     public String getBasicInfo() {
-        return String.format("%s - %s, %s (%s)", name, address, city, currentState);
+        return String.format("%s - %s, %s (%s)", name, address, city, getCurrentState());
     }
 }
\ No newline at end of file
@@ -0,0 +1,247 @@
+package com.example.university.campusmanagement.model;
+
+import com.example.university.campusmanagement.constants.Constants;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Codificación persistida de Campus en MongoDB.
+ * Versión 2 (actual): nombres de campo cortos, un único código de estado en lugar de currentState + active
+ * y el campo v con la versión. Versión 1 (anterior): nombres largos y ambos campos de estado, sin v.
+ * Es la única fuente de nombres de campo para las consultas que no pasan por el mapeo de Spring Data
+ * (agregaciones, explain, documentos crudos) y la que convierte documentos de la versión 1.
+ */
+public final class CampusSchema {
+
+    public static final int CURRENT_VERSION = 2;
+
+    // Campos de la versión 2
+    public static final String ID = "_id";
+    public static final String NAME = "n";
+    public static final String ADDRESS = "a";
+    public static final String CITY = "c";
+    public static final String TELEPHONE = "t";
+    public static final String STATE = "s";
+    public static final String LAST_MODIFIED = "m";
+    public static final String CREATED_AT = "ca";
+    public static final String CHANGE_SEQ = "q";
+    public static final String VERSION = "v";
+
+    private static final String LEGACY_STATE = "currentState";
+    private static final String LEGACY_ACTIVE = "active";
+
+    // Campo compacto -> nombre en la versión 1 (el estado se trata aparte)
+    private static final Map<String, String> LEGACY_FIELDS = new LinkedHashMap<>();
+
+    // Propiedad de Campus -> campo persistido; active y currentState comparten el código de estado
+    private static final Map<String, String> FIELDS = Map.of(
+            "id", ID,
+            "name", NAME,
+            "address", ADDRESS,
+            "city", CITY,
+            "telephone", TELEPHONE,
+            LEGACY_STATE, STATE,
+            LEGACY_ACTIVE, STATE,
+            "lastModified", LAST_MODIFIED,
+            "createdAt", CREATED_AT,
+            "changeSeq", CHANGE_SEQ);
+
+    // Códigos de estado persistidos: nunca se renumeran ni se reutilizan
+    private static final Map<String, Integer> STATE_CODES = Map.of(
+            Constants.States.ACTIVE, 1,
+            Constants.States.INACTIVE, 2,
+            Constants.States.MAINTENANCE, 3,
+            Constants.States.RENOVATION, 4);
+
+    public static final int ACTIVE_CODE = STATE_CODES.get(Constants.States.ACTIVE);
+    public static final int INACTIVE_CODE = STATE_CODES.get(Constants.States.INACTIVE);
+
+    private static final Set<String> KNOWN_FIELDS = new HashSet<>();
+
+    static {
+        LEGACY_FIELDS.put(NAME, "name");
+        LEGACY_FIELDS.put(ADDRESS, "address");
+        LEGACY_FIELDS.put(CITY, "city");
+        LEGACY_FIELDS.put(TELEPHONE, "telephone");
+        LEGACY_FIELDS.put(LAST_MODIFIED, "lastModified");
+        LEGACY_FIELDS.put(CREATED_AT, "createdAt");
+        LEGACY_FIELDS.put(CHANGE_SEQ, "changeSeq");
+        KNOWN_FIELDS.addAll(LEGACY_FIELDS.keySet());
+        KNOWN_FIELDS.addAll(LEGACY_FIELDS.values());
+        KNOWN_FIELDS.addAll(List.of(ID, STATE, VERSION, LEGACY_STATE, LEGACY_ACTIVE));
+    }
+
+    private CampusSchema() {
+    }
+
+    // ============ Campos y códigos ============
+
+    /**
+     * Campo persistido de una propiedad de Campus
+     * @throws IllegalArgumentException si la propiedad no se persiste
+     */
+    public static String field(String property) {
+        String field = FIELDS.get(property);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown campus property: " + property);
+        }
+        return field;
+    }
+
+    /**
+     * Código persistido de un estado; null o desconocido se tratan como ACTIVE, igual que en Campus
+     */
+    public static int stateCode(String state) {
+        return state == null ? ACTIVE_CODE : STATE_CODES.getOrDefault(state.toUpperCase(), ACTIVE_CODE);
+    }
+
+    public static List<Integer> stateCodes(Collection<String> states) {
+        return states.stream().map(CampusSchema::stateCode).distinct().toList();
+    }
+
+    /**
+     * Nombres normalizados de los estados, tal como los guardaba la versión 1 en currentState
+     */
+    public static List<String> stateNames(Collection<String> states) {
+        return stateCodes(states).stream().map(CampusSchema::stateName).toList();
+    }
+
+    /**
+     * Estado de un código persistido; un código desconocido se trata como ACTIVE
+     */
+    public static String stateName(int code) {
+        return STATE_CODES.entrySet().stream()
+                .filter(entry -> entry.getValue() == code)
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(Constants.States.ACTIVE);
+    }
+
+    // ============ Documentos de la versión 1 ============
+
+    /**
+     * Nombres que tenía un campo en la versión 1 (el código de estado sustituye a dos), o vacío si no cambió.
+     * Las proyecciones los incluyen mientras la migración no termina para no leer a medias un documento antiguo
+     */
+    public static List<String> legacyFields(String field) {
+        if (STATE.equals(field)) {
+            return List.of(LEGACY_STATE, LEGACY_ACTIVE);
+        }
+        String legacy = LEGACY_FIELDS.get(field);
+        return legacy == null ? List.of() : List.of(legacy);
+    }
+
+    /**
+     * Nombre en la versión 1 de un campo que sólo cambió de nombre
+     * @throws IllegalArgumentException para el estado (dos campos) o un campo que no cambió
+     */
+    public static String legacyField(String field) {
+        String legacy = LEGACY_FIELDS.get(field);
+        if (legacy == null) {
+            throw new IllegalArgumentException("Field " + field + " has no single legacy name");
+        }
+        return legacy;
+    }
+
+    /**
+     * Condición sobre un campo que, si quedan documentos de la versión 1, casa también con su nombre largo.
+     * Como en toCompact, el campo corto prevalece: el nombre largo sólo se mira si el corto no existe.
+     * @param field campo de la versión actual que sólo cambió de nombre
+     * @param condition condición a aplicar (p. ej. {@code c -> c.is(city)})
+     * @param legacyDocuments true mientras CampusSchemaMigration no haya terminado
+     */
+    public static Criteria matching(String field, UnaryOperator<Criteria> condition, boolean legacyDocuments) {
+        Criteria current = condition.apply(Criteria.where(field));
+        if (!legacyDocuments) {
+            return current;
+        }
+        return new Criteria().orOperator(current,
+                condition.apply(Criteria.where(VERSION).exists(false).and(field).exists(false).and(legacyField(field))));
+    }
+
+    /**
+     * Campus en alguno de los estados; si quedan documentos de la versión 1, también por su currentState.
+     * Un único estado es una igualdad y varios un $in, el mismo filtro que el de los índices parciales
+     * @param legacyDocuments true mientras CampusSchemaMigration no haya terminado
+     */
+    public static Criteria stateIn(Collection<String> states, boolean legacyDocuments) {
+        List<Integer> codes = stateCodes(states);
+        Criteria current = codes.size() == 1 ? Criteria.where(STATE).is(codes.get(0)) : Criteria.where(STATE).in(codes);
+        if (!legacyDocuments) {
+            return current;
+        }
+        return new Criteria().orOperator(current,
+                Criteria.where(VERSION).exists(false).and(STATE).exists(false).and(LEGACY_STATE).in(stateNames(states)));
+    }
+
+    /**
+     * Un documento sin versión está escrito (total o parcialmente) con el esquema anterior
+     */
+    public static boolean isLegacy(Document document) {
+        return !document.containsKey(VERSION);
+    }
+
+    /**
+     * Convierte un documento de la versión 1 a la actual sin pasar por la entidad.
+     * Un documento a medio migrar puede tener ya campos cortos (actualizaciones parciales como las del group
+     * commit o la importación): esos valores son los más recientes y prevalecen sobre los largos.
+     * Los campos desconocidos (y _class) se conservan tal cual.
+     */
+    public static Document toCompact(Document document) {
+        Document compact = new Document(ID, document.get(ID));
+        LEGACY_FIELDS.forEach((field, legacy) -> {
+            Object value = document.containsKey(field) ? document.get(field) : document.get(legacy);
+            if (value != null) {
+                compact.put(field, value);
+            }
+        });
+        compact.put(STATE, document.get(STATE) instanceof Number code ? code.intValue() : legacyStateCode(document));
+        document.forEach((key, value) -> {
+            if (!KNOWN_FIELDS.contains(key)) {
+                compact.put(key, value);
+            }
+        });
+        compact.put(VERSION, CURRENT_VERSION);
+        return compact;
+    }
+
+    /**
+     * Completa un campus leído de un documento de la versión 1 (el mapeo sólo rellena los campos cortos)
+     */
+    public static void readLegacy(Campus campus, Document document) {
+        Document compact = toCompact(document);
+        campus.setName(compact.getString(NAME));
+        campus.setAddress(compact.getString(ADDRESS));
+        campus.setCity(compact.getString(CITY));
+        campus.setTelephone(compact.getString(TELEPHONE));
+        campus.setStateCode(compact.getInteger(STATE));
+        campus.setLastModified(instant(compact.get(LAST_MODIFIED)));
+        campus.setCreatedAt(instant(compact.get(CREATED_AT)));
+        campus.setChangeSeq(compact.get(CHANGE_SEQ) instanceof Number seq ? seq.longValue() : 0);
+    }
+
+    private static int legacyStateCode(Document document) {
+        if (document.get(LEGACY_STATE) instanceof String state) {
+            return stateCode(state);
+        }
+        // Sin currentState sólo queda el booleano: una baja o un campus activo
+        return Boolean.FALSE.equals(document.get(LEGACY_ACTIVE)) ? INACTIVE_CODE : ACTIVE_CODE;
+    }
+
+    private static Instant instant(Object value) {
+        if (value instanceof Date date) {
+            return date.toInstant();
+        }
+        return value instanceof Instant instant ? instant : null;
+    }
+}
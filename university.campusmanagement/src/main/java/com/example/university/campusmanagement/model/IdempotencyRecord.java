@@ -0,0 +1,84 @@
+package com.example.university.campusmanagement.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Respuesta almacenada para una Idempotency-Key.
+ * La colección tiene un índice TTL sobre createdAt (ver MongoIndexInitializer).
+ */
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED
+    }
+
+    @Id
+    private String key;
+    private Status status;
+    private int responseStatus;
+    private String contentType;
+    private byte[] body;
+    private String requestHash;
+    private Instant createdAt;
+
+    public IdempotencyRecord() {
+        // Constructor por defecto
+    }
+
+    /**
+     * Crea el marcador que reserva una clave mientras la petición original se ejecuta
+     * @param requestHash huella de la petición original: un reintento con otro cuerpo no puede reutilizar la clave
+     */
+    public static IdempotencyRecord inProgress(String key, String requestHash) {
+        IdempotencyRecord idempotencyRecord = new IdempotencyRecord();
+        idempotencyRecord.key = key;
+        idempotencyRecord.status = Status.IN_PROGRESS;
+        idempotencyRecord.requestHash = requestHash;
+        idempotencyRecord.createdAt = Instant.now();
+        return idempotencyRecord;
+    }
+
+    /**
+     * Marca el registro como completado con la respuesta original
+     */
+    public void complete(int responseStatus, String contentType, byte[] body) {
+        this.status = Status.COMPLETED;
+        this.responseStatus = responseStatus;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+
+    /**
+     * Registros anteriores a la huella no tienen requestHash: se aceptan
+     */
+    public boolean matches(String requestHash) {
+        return this.requestHash == null || this.requestHash.equals(requestHash);
+    }
+
+    // Getters
+    public String getKey() { return key; }
+    public Status getStatus() { return status; }
+    public int getResponseStatus() { return responseStatus; }
+    public String getContentType() { return contentType; }
+    public byte[] getBody() { return body; }
+    public String getRequestHash() { return requestHash; }
+    public Instant getCreatedAt() { return createdAt; }
+
+    // Setters
+    public void setKey(String key) { this.key = key; }
+    public void setStatus(Status status) { this.status = status; }
+    public void setResponseStatus(int responseStatus) { this.responseStatus = responseStatus; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public void setBody(byte[] body) { this.body = body; }
+    public void setRequestHash(String requestHash) { this.requestHash = requestHash; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,109 @@
+package com.example.university.campusmanagement.model;
+
+import com.example.university.campusmanagement.event.CampusChangeEvent;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Mensaje del outbox de cambios de estado de campus.
+ * Se inserta en la misma transacción que la escritura del campus y WebhookDispatcher lo entrega
+ * después a los webhooks configurados, registrando qué endpoints lo han recibido ya.
+ */
+@Document(collection = OutboxMessage.COLLECTION)
+public class OutboxMessage {
+
+    public static final String COLLECTION = "campus_outbox";
+
+    public enum Status {
+        PENDING,
+        DELIVERED,
+        FAILED
+    }
+
+    @Id
+    private String id;
+    private String campusId;
+    private String campusName;
+    private String city;
+    private String eventType;
+    private String previousState;
+    private String currentState;
+    private boolean active;
+    private Instant occurredAt;
+
+    // Estado de la entrega
+    private Status status;
+    private int attempts;
+    private Instant nextAttemptAt;
+    private String lockedBy;
+    private Instant lockedUntil;
+    private Set<String> deliveredEndpoints = new HashSet<>();
+    private String lastError;
+
+    public OutboxMessage() {
+        // Constructor por defecto
+    }
+
+    /**
+     * Crea el mensaje pendiente de entrega para un cambio de campus
+     */
+    public static OutboxMessage fromEvent(CampusChangeEvent event) {
+        Campus campus = event.campus();
+        OutboxMessage message = new OutboxMessage();
+        message.campusId = campus.getId();
+        message.campusName = campus.getName();
+        message.city = campus.getCity();
+        message.eventType = event.type().name();
+        message.previousState = event.previousState();
+        message.currentState = campus.getCurrentState();
+        message.active = campus.isActive();
+        message.occurredAt = event.timestamp();
+        message.status = Status.PENDING;
+        message.nextAttemptAt = event.timestamp();
+        return message;
+    }
+
+    public boolean isDeliveredTo(String endpointName) {
+        return deliveredEndpoints != null && deliveredEndpoints.contains(endpointName);
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public String getCampusId() { return campusId; }
+    public String getCampusName() { return campusName; }
+    public String getCity() { return city; }
+    public String getEventType() { return eventType; }
+    public String getPreviousState() { return previousState; }
+    public String getCurrentState() { return currentState; }
+    public boolean isActive() { return active; }
+    public Instant getOccurredAt() { return occurredAt; }
+    public Status getStatus() { return status; }
+    public int getAttempts() { return attempts; }
+    public Instant getNextAttemptAt() { return nextAttemptAt; }
+    public String getLockedBy() { return lockedBy; }
+    public Instant getLockedUntil() { return lockedUntil; }
+    public Set<String> getDeliveredEndpoints() { return deliveredEndpoints; }
+    public String getLastError() { return lastError; }
+
+    // Setters
+    public void setId(String id) { this.id = id; }
+    public void setCampusId(String campusId) { this.campusId = campusId; }
+    public void setCampusName(String campusName) { this.campusName = campusName; }
+    public void setCity(String city) { this.city = city; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+    public void setPreviousState(String previousState) { this.previousState = previousState; }
+    public void setCurrentState(String currentState) { this.currentState = currentState; }
+    public void setActive(boolean active) { this.active = active; }
+    public void setOccurredAt(Instant occurredAt) { this.occurredAt = occurredAt; }
+    public void setStatus(Status status) { this.status = status; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public void setNextAttemptAt(Instant nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public void setLockedBy(String lockedBy) { this.lockedBy = lockedBy; }
+    public void setLockedUntil(Instant lockedUntil) { this.lockedUntil = lockedUntil; }
+    public void setDeliveredEndpoints(Set<String> deliveredEndpoints) { this.deliveredEndpoints = deliveredEndpoints; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
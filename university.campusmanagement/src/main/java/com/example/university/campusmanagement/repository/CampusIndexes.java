@@ -0,0 +1,140 @@
+package com.example.university.campusmanagement.repository;
+
+import com.example.university.campusmanagement.constants.Constants;
+import com.example.university.campusmanagement.model.CampusSchema;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catálogo de los índices declarados sobre la colección de campus.
+ * Es la única fuente de verdad: MongoIndexInitializer los crea a partir de aquí y
+ * CampusQueryPlanner comprueba contra ellos si una consulta está cubierta.
+ * Las claves se declaran con los nombres de propiedad de Campus (los que razona el planificador);
+ * storedKeys() y toIndex() las traducen a los campos persistidos de CampusSchema.
+ */
+public final class CampusIndexes {
+
+    public static final String STATE_FIELD = "currentState";
+
+    /**
+     * Índice declarado: nombre y claves (propiedades) en orden, con su dirección
+     * @param partialFilter propiedad -> valores admitidos ($in) de un índice parcial; vacío si el índice es completo
+     */
+    public record IndexSpec(String name, Map<String, Sort.Direction> keys, Map<String, List<String>> partialFilter) {
+
+        public IndexSpec {
+            keys = Collections.unmodifiableMap(new LinkedHashMap<>(keys));
+            partialFilter = Map.copyOf(partialFilter);
+        }
+
+        public IndexSpec(String name, Map<String, Sort.Direction> keys) {
+            this(name, keys, Map.of());
+        }
+
+        public List<String> fields() {
+            return List.copyOf(keys.keySet());
+        }
+
+        public Sort.Direction direction(String field) {
+            return keys.get(field);
+        }
+
+        /**
+         * Claves con los nombres de campo persistidos, en orden (las que devuelve getIndexInfo)
+         */
+        public Map<String, Sort.Direction> storedKeys() {
+            Map<String, Sort.Direction> stored = new LinkedHashMap<>();
+            keys.forEach((property, direction) -> stored.put(CampusSchema.field(property), direction));
+            return stored;
+        }
+
+        /**
+         * Un índice parcial sólo contiene los documentos que cumplen partialFilter:
+         * MongoDB únicamente lo usa si la consulta implica ese filtro
+         */
+        public boolean isPartial() {
+            return !partialFilter.isEmpty();
+        }
+
+        /**
+         * Definición para IndexOperations.ensureIndex
+         */
+        public Index toIndex() {
+            Index index = new Index().named(name);
+            storedKeys().forEach(index::on);
+            if (isPartial()) {
+                // Sólo hay filtros por estado, persistido como código. Un único valor es una igualdad; varios, $in
+                Document filter = new Document();
+                partialFilter.forEach((field, states) -> {
+                    List<Integer> codes = CampusSchema.stateCodes(states);
+                    filter.append(CampusSchema.field(field), codes.size() == 1 ? codes.get(0) : new Document("$in", codes));
+                });
+                index.partial(PartialIndexFilter.of(filter));
+            }
+            return index;
+        }
+    }
+
+    public static final IndexSpec LAST_MODIFIED = spec("campus_last_modified", "lastModified");
+    public static final IndexSpec STATE_NAME = spec("campus_state_name", STATE_FIELD, "name");
+    public static final IndexSpec CITY_STATE_NAME = spec("campus_city_state_name", "city", STATE_FIELD, "name");
+    // _id desempata las escrituras de distintos pods con la misma secuencia (cursor del feed de cambios)
+    public static final IndexSpec CHANGE_SEQ = spec("campus_change_seq", "changeSeq", "id");
+
+    // Índices parciales del conjunto de trabajo: no contienen los campus dados de baja (INACTIVE),
+    // que no aparecen en los listados por defecto y acaban en campuses_archive
+    public static final IndexSpec LIVE_NAME = partial("campus_live_name", Constants.States.LIVE, "name");
+    public static final IndexSpec LIVE_CREATED_AT = partial("campus_live_created_at", Constants.States.LIVE, "createdAt");
+
+    // Sólo las bajas, por antigüedad: candidatas del archivado (CampusArchiver)
+    public static final IndexSpec INACTIVE_LAST_MODIFIED = partial("campus_inactive_last_modified",
+            List.of(Constants.States.INACTIVE), "lastModified");
+
+    private static final List<IndexSpec> ALL = List.of(
+            LAST_MODIFIED, STATE_NAME, CITY_STATE_NAME, LIVE_NAME, LIVE_CREATED_AT, CHANGE_SEQ, INACTIVE_LAST_MODIFIED);
+
+    // Índices sustituidos: campus_name y campus_created_at por sus versiones parciales; campus_active_name
+    // porque active se deriva del código de estado (active=true es currentState=ACTIVE, cubierto por campus_state_name).
+    // Se eliminan al arrancar si existen
+    private static final List<String> RETIRED = List.of("campus_name", "campus_created_at", "campus_active_name");
+
+    private CampusIndexes() {
+    }
+
+    /**
+     * Todos los índices declarados, en orden de creación
+     */
+    public static List<IndexSpec> all() {
+        return ALL;
+    }
+
+    /**
+     * Nombres de índices que ya no se declaran y deben eliminarse
+     */
+    public static List<String> retired() {
+        return RETIRED;
+    }
+
+    private static IndexSpec spec(String name, String... ascendingFields) {
+        return new IndexSpec(name, ascending(ascendingFields));
+    }
+
+    private static IndexSpec partial(String name, List<String> states, String... ascendingFields) {
+        return new IndexSpec(name, ascending(ascendingFields), Map.of(STATE_FIELD, states));
+    }
+
+    private static Map<String, Sort.Direction> ascending(String... fields) {
+        Map<String, Sort.Direction> keys = new LinkedHashMap<>();
+        for (String field : fields) {
+            keys.put(field, Sort.Direction.ASC);
+        }
+        return keys;
+    }
+}
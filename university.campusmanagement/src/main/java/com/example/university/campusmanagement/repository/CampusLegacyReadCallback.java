@@ -0,0 +1,25 @@
+package com.example.university.campusmanagement.repository;
+
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.CampusSchema;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lectura de documentos de campus aún no migrados a la codificación compacta.
+ * El mapeo sólo conoce los nombres cortos, así que un documento de la versión 1 llega con los campos vacíos:
+ * aquí se completan desde el documento original. Al guardarse, el campus se escribe ya en la versión actual.
+ * Necesario sólo mientras CampusSchemaMigration no haya terminado.
+ */
+@Component
+public class CampusLegacyReadCallback implements AfterConvertCallback<Campus> {
+
+    @Override
+    public Campus onAfterConvert(Campus campus, Document document, String collection) {
+        if (CampusSchema.isLegacy(document)) {
+            CampusSchema.readLegacy(campus, document);
+        }
+        return campus;
+    }
+}
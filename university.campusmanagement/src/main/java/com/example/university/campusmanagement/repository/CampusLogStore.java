@@ -0,0 +1,584 @@
+package com.example.university.campusmanagement.repository;
+
+import com.example.university.campusmanagement.model.Campus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Motor de almacenamiento local para campus, log-structured (al estilo Bitcask).
+ * Todas las escrituras se añaden al final de un único fichero; un índice hash en memoria apunta
+ * (id -> offset y tamaño) al último registro de cada campus, así que una lectura es un único pread.
+ * Registro: longitud del cuerpo (int), CRC32 del cuerpo (int) y cuerpo = tipo (PUT/DELETE) + datos.
+ * Al abrir se recorre el log para reconstruir el índice y se trunca la cola si quedó un registro a medias
+ * (caída durante una escritura); un registro dañado antes del último no es una escritura interrumpida, así que
+ * el log no se abre en lugar de descartar los registros válidos que le siguen. La compactación reescribe sólo los registros vivos en un fichero nuevo
+ * que sustituye al anterior con un move atómico.
+ * Durabilidad: con fsyncIntervalMs = 0 cada escritura espera a un fsync compartido con las escrituras
+ * concurrentes (group commit); con un intervalo mayor se confirma antes del fsync, que hace un hilo en segundo plano.
+ */
+public final class CampusLogStore implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusLogStore.class);
+
+    private static final String LOG_FILE = "campus.log";
+    private static final String COMPACT_FILE = "campus.log.compact";
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int MAX_BODY_BYTES = 1 << 20;
+    private static final int NULL_LENGTH = -1;
+    private static final long NULL_INSTANT = Long.MIN_VALUE;
+
+    /**
+     * Posición de un registro vivo en el fichero
+     */
+    private record Entry(long offset, int size) {
+    }
+
+    private final Path directory;
+    private final Path logPath;
+    private final long fsyncIntervalMs;
+
+    // Serializa las escrituras y la compactación
+    private final ReentrantLock appendLock = new ReentrantLock();
+    // Un único fsync en curso; el resto de escritores esperan y normalmente quedan cubiertos por él
+    private final ReentrantLock syncLock = new ReentrantLock();
+    // Los lectores comparten; la compactación lo toma en exclusiva sólo para sustituir fichero e índice
+    private final ReentrantReadWriteLock segmentLock = new ReentrantReadWriteLock();
+
+    private volatile FileChannel channel;
+    private volatile ConcurrentHashMap<String, Entry> index = new ConcurrentHashMap<>();
+    private volatile long writePosition;
+    private volatile long durablePosition;
+    private long liveBytes;
+    private final AtomicLong syncCount = new AtomicLong();
+    private final AtomicLong compactionCount = new AtomicLong();
+    private volatile boolean closed;
+    private Thread syncer;
+
+    private CampusLogStore(Path directory, long fsyncIntervalMs) {
+        this.directory = directory;
+        this.logPath = directory.resolve(LOG_FILE);
+        this.fsyncIntervalMs = fsyncIntervalMs;
+    }
+
+    /**
+     * Abre (o crea) el log del directorio indicado y reconstruye el índice
+     * @param directory directorio de datos
+     * @param fsyncIntervalMs 0 para fsync antes de confirmar cada escritura; si no, intervalo del fsync en segundo plano
+     * @return store listo para usar
+     * @throws IOException si el directorio o el fichero no se pueden abrir
+     */
+    public static CampusLogStore open(Path directory, long fsyncIntervalMs) throws IOException {
+        if (fsyncIntervalMs < 0) {
+            throw new IllegalArgumentException("fsyncIntervalMs must be >= 0");
+        }
+        Files.createDirectories(directory);
+        CampusLogStore store = new CampusLogStore(directory, fsyncIntervalMs);
+        store.recover();
+        if (fsyncIntervalMs > 0) {
+            store.syncer = Thread.ofPlatform().name("campus-log-sync").daemon(true).start(store::syncLoop);
+        }
+        return store;
+    }
+
+    // ============ Lecturas ============
+
+    public Optional<Campus> get(String id) {
+        segmentLock.readLock().lock();
+        try {
+            Entry entry = index.get(id);
+            return entry == null ? Optional.empty() : Optional.of(decodeCampus(readBody(entry)));
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String id) {
+        return index.containsKey(id);
+    }
+
+    /**
+     * Todos los campus vivos (sin orden definido)
+     */
+    public List<Campus> values() {
+        segmentLock.readLock().lock();
+        try {
+            List<Campus> campuses = new ArrayList<>(index.size());
+            for (Entry entry : index.values()) {
+                campuses.add(decodeCampus(readBody(entry)));
+            }
+            return campuses;
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // ============ Escrituras ============
+
+    /**
+     * Añade la versión actual de un campus (su id debe estar asignado)
+     */
+    public void put(Campus campus) {
+        append(campus.getId(), encodeCampus(campus), true);
+    }
+
+    /**
+     * Añade una marca de borrado; no hace nada si el campus no existe
+     * @return true si existía
+     */
+    public boolean delete(String id) {
+        if (!index.containsKey(id)) {
+            return false;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(DELETE);
+            writeString(out, id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return append(id, bytes.toByteArray(), false);
+    }
+
+    private boolean append(String id, byte[] body, boolean put) {
+        long end;
+        boolean existed;
+        appendLock.lock();
+        try {
+            ensureOpen();
+            ByteBuffer frame = frame(body);
+            long offset = writePosition;
+            int size = frame.remaining();
+            writeFully(channel, frame, offset);
+            Entry previous = put ? index.put(id, new Entry(offset, size)) : index.remove(id);
+            existed = previous != null;
+            if (previous != null) {
+                liveBytes -= previous.size();
+            }
+            if (put) {
+                liveBytes += size;
+            }
+            end = offset + size;
+            writePosition = end;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to campus log " + logPath, e);
+        } finally {
+            appendLock.unlock();
+        }
+        if (fsyncIntervalMs == 0) {
+            awaitDurable(end);
+        }
+        return existed;
+    }
+
+    /**
+     * Garantiza que todo lo escrito hasta position está en disco.
+     * Si otro escritor ya lanzó un fsync que lo cubre, sólo espera a que termine.
+     */
+    private void awaitDurable(long position) {
+        if (durablePosition >= position) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durablePosition >= position || closed) {
+                return;
+            }
+            long target = writePosition;
+            channel.force(false);
+            durablePosition = target;
+            syncCount.incrementAndGet();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not fsync campus log " + logPath, e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Fuerza a disco las escrituras pendientes
+     */
+    public void sync() {
+        awaitDurable(writePosition);
+    }
+
+    private void syncLoop() {
+        while (!closed) {
+            try {
+                Thread.sleep(fsyncIntervalMs);
+                sync();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (UncheckedIOException e) {
+                logger.warn("Background fsync of campus log failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    // ============ Compactación ============
+
+    /**
+     * Proporción del fichero ocupada por versiones antiguas y marcas de borrado
+     */
+    public double garbageRatio() {
+        appendLock.lock();
+        try {
+            return writePosition == 0 ? 0.0 : 1.0 - (double) liveBytes / writePosition;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Compacta si el fichero supera minBytes y la basura supera la proporción indicada
+     * @return true si se compactó
+     */
+    public boolean compactIfNeeded(double maxGarbageRatio, long minBytes) {
+        if (writePosition < minBytes || garbageRatio() <= maxGarbageRatio) {
+            return false;
+        }
+        compact();
+        return true;
+    }
+
+    /**
+     * Reescribe los registros vivos en un fichero nuevo y lo sustituye de forma atómica.
+     * Bloquea las escrituras mientras dura; las lecturas sólo durante el cambio de fichero.
+     */
+    public void compact() {
+        appendLock.lock();
+        syncLock.lock();
+        try {
+            ensureOpen();
+            long before = writePosition;
+            Path compactPath = directory.resolve(COMPACT_FILE);
+            ConcurrentHashMap<String, Entry> compacted = new ConcurrentHashMap<>(Math.max(16, index.size() * 2));
+            long position = 0;
+            try (FileChannel out = FileChannel.open(compactPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                for (Map.Entry<String, Entry> live : index.entrySet()) {
+                    ByteBuffer frame = readFrame(live.getValue());
+                    writeFully(out, frame, position);
+                    compacted.put(live.getKey(), new Entry(position, live.getValue().size()));
+                    position += live.getValue().size();
+                }
+                out.force(true);
+            }
+            Files.move(compactPath, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+
+            FileChannel compactedChannel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileChannel previous;
+            segmentLock.writeLock().lock();
+            try {
+                previous = channel;
+                channel = compactedChannel;
+                index = compacted;
+            } finally {
+                segmentLock.writeLock().unlock();
+            }
+            previous.close();
+            writePosition = position;
+            durablePosition = position;
+            liveBytes = position;
+            compactionCount.incrementAndGet();
+            logger.info("Compacted campus log from {} to {} bytes ({} campuses)", before, position, compacted.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact campus log " + logPath, e);
+        } finally {
+            syncLock.unlock();
+            appendLock.unlock();
+        }
+    }
+
+    // ============ Recuperación ============
+
+    private void recover() throws IOException {
+        Files.deleteIfExists(directory.resolve(COMPACT_FILE));
+        channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long fileSize = channel.size();
+        long position = 0;
+        int records = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logPath), 1 << 16))) {
+            while (position + HEADER_BYTES <= fileSize) {
+                long remaining = fileSize - position;
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length <= 0 || length > MAX_BODY_BYTES) {
+                    // Sin longitud válida no se sabe dónde acaba el registro: sólo es una cola a medias si el resto
+                    // del fichero son ceros (espacio reservado por el sistema de ficheros que no llegó a escribirse)
+                    if (length == 0 && checksum == 0 && onlyZeros(in, remaining - HEADER_BYTES)) {
+                        break;
+                    }
+                    throw corrupted(position, fileSize, "invalid record length " + length);
+                }
+                if (HEADER_BYTES + length > remaining) {
+                    break;
+                }
+                byte[] body = new byte[length];
+                in.readFully(body);
+                if (crc(body) != checksum) {
+                    if (HEADER_BYTES + length == remaining) {
+                        // Último registro: escritura interrumpida
+                        break;
+                    }
+                    throw corrupted(position, fileSize, "checksum mismatch");
+                }
+                applyRecovered(body, new Entry(position, HEADER_BYTES + length));
+                position += HEADER_BYTES + length;
+                records++;
+            }
+        } catch (EOFException e) {
+            // Cola incompleta: se trunca a continuación
+        }
+        if (position < fileSize) {
+            logger.warn("Truncating torn tail of campus log {}: {} bytes after offset {}", logPath,
+                    fileSize - position, position);
+            channel.truncate(position);
+            channel.force(true);
+        }
+        writePosition = position;
+        durablePosition = position;
+        logger.info("Recovered {} campuses from {} log records in {}", index.size(), records, logPath);
+    }
+
+    private IOException corrupted(long position, long fileSize, String reason) throws IOException {
+        channel.close();
+        return new IOException("Campus log " + logPath + " is corrupted at offset " + position + " (" + reason + ") with "
+                + (fileSize - position) + " bytes after it; refusing to truncate records that may be valid");
+    }
+
+    private static boolean onlyZeros(DataInputStream in, long bytes) throws IOException {
+        for (long i = 0; i < bytes; i++) {
+            if (in.readByte() != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void applyRecovered(byte[] body, Entry entry) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        byte type = in.readByte();
+        String id = readString(in);
+        if (id == null) {
+            throw new IOException("Campus log record without id at offset " + entry.offset());
+        }
+        Entry previous = type == PUT ? index.put(id, entry) : index.remove(id);
+        if (previous != null) {
+            liveBytes -= previous.size();
+        }
+        if (type == PUT) {
+            liveBytes += entry.size();
+        }
+    }
+
+    // ============ Codificación ============
+
+    private static byte[] encodeCampus(Campus campus) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(PUT);
+            writeString(out, campus.getId());
+            writeString(out, campus.getName());
+            writeString(out, campus.getAddress());
+            writeString(out, campus.getCity());
+            writeString(out, campus.getTelephone());
+            writeString(out, campus.getCurrentState());
+            out.writeBoolean(campus.isActive());
+            writeInstant(out, campus.getLastModified());
+            writeInstant(out, campus.getCreatedAt());
+            out.writeLong(campus.getChangeSeq());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Campus decodeCampus(byte[] body) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+            if (in.readByte() != PUT) {
+                throw new IOException("Index points to a non-PUT campus log record");
+            }
+            Campus campus = new Campus();
+            campus.setId(readString(in));
+            campus.setName(readString(in));
+            campus.setAddress(readString(in));
+            campus.setCity(readString(in));
+            campus.setTelephone(readString(in));
+            campus.setCurrentState(readString(in));
+            campus.setActive(in.readBoolean());
+            campus.setLastModified(readInstant(in));
+            campus.setCreatedAt(readInstant(in));
+            // Los registros escritos antes de existir la secuencia de cambios terminan aquí
+            campus.setChangeSeq(in.available() >= Long.BYTES ? in.readLong() : 0);
+            return campus;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupted campus log record", e);
+        }
+    }
+
+    private static ByteBuffer frame(byte[] body) {
+        if (body.length > MAX_BODY_BYTES) {
+            throw new IllegalArgumentException("Campus record too large: " + body.length + " bytes");
+        }
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + body.length);
+        frame.putInt(body.length).putInt(crc(body)).put(body).flip();
+        return frame;
+    }
+
+    private ByteBuffer readFrame(Entry entry) throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(entry.size());
+        while (frame.hasRemaining()) {
+            if (channel.read(frame, entry.offset() + frame.position()) < 0) {
+                throw new EOFException("Campus log ends before record at offset " + entry.offset());
+            }
+        }
+        return frame.flip();
+    }
+
+    private byte[] readBody(Entry entry) {
+        try {
+            ByteBuffer frame = readFrame(entry);
+            int length = frame.getInt();
+            int checksum = frame.getInt();
+            byte[] body = new byte[length];
+            frame.get(body);
+            if (crc(body) != checksum) {
+                throw new IOException("Checksum mismatch at offset " + entry.offset());
+            }
+            return body;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read campus log " + logPath, e);
+        }
+    }
+
+    private static void writeFully(FileChannel target, ByteBuffer buffer, long position) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += target.write(buffer, position + written);
+        }
+    }
+
+    private static int crc(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > MAX_BODY_BYTES) {
+            throw new IOException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant value) throws IOException {
+        out.writeLong(value != null ? value.toEpochMilli() : NULL_INSTANT);
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        long epochMilli = in.readLong();
+        return epochMilli == NULL_INSTANT ? null : Instant.ofEpochMilli(epochMilli);
+    }
+
+    private void syncDirectory() {
+        // Persiste el rename; no todos los sistemas permiten abrir un directorio como canal
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            logger.debug("Directory fsync not supported for {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Campus log store is closed");
+        }
+    }
+
+    // ============ Estadísticas ============
+
+    public long fileBytes() {
+        return writePosition;
+    }
+
+    public long syncCount() {
+        return syncCount.get();
+    }
+
+    public long compactionCount() {
+        return compactionCount.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        syncLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (syncer != null) {
+                syncer.interrupt();
+            }
+            channel.force(false);
+            channel.close();
+        } finally {
+            syncLock.unlock();
+            appendLock.unlock();
+        }
+    }
+}
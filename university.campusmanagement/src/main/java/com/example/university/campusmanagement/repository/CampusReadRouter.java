@@ -0,0 +1,89 @@
+package com.example.university.campusmanagement.repository;
+
+import org.springframework.data.mongodb.core.MongoOperations;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Política de enrutamiento lectura/escritura para CampusRepository.
+ * Las operaciones de solo lectura pueden ir a secundarios del replica set,
+ * mientras que las escrituras y las lecturas "read-your-own-write" van siempre al primario.
+ */
+public class CampusReadRouter {
+
+    private final CampusRepository primaryRepository;
+    private final CampusRepository readRepository;
+    private final MongoOperations readOperations;
+    private final BooleanSupplier legacyDocuments;
+
+    public CampusReadRouter(CampusRepository primaryRepository, CampusRepository readRepository) {
+        this(primaryRepository, readRepository, null);
+    }
+
+    /**
+     * @param readOperations plantilla con la misma preferencia de lectura que readRepository,
+     *                       para consultas que el repositorio no expresa (proyecciones); puede ser null
+     */
+    public CampusReadRouter(CampusRepository primaryRepository, CampusRepository readRepository,
+                            MongoOperations readOperations) {
+        this(primaryRepository, readRepository, readOperations, () -> false);
+    }
+
+    /**
+     * @param legacyDocuments indica si aún quedan documentos de la versión 1 del esquema (CampusSchemaMigration)
+     */
+    public CampusReadRouter(CampusRepository primaryRepository, CampusRepository readRepository,
+                            MongoOperations readOperations, BooleanSupplier legacyDocuments) {
+        this.primaryRepository = Objects.requireNonNull(primaryRepository, "Primary repository cannot be null");
+        this.readRepository = Objects.requireNonNull(readRepository, "Read repository cannot be null");
+        this.readOperations = readOperations;
+        this.legacyDocuments = Objects.requireNonNull(legacyDocuments, "Legacy documents supplier cannot be null");
+    }
+
+    /**
+     * Crea un router que envía todo el tráfico al primario (útil para tests y despliegues de un solo nodo)
+     * @param primaryRepository repositorio primario
+     * @return router sin separación de lecturas
+     */
+    public static CampusReadRouter primaryOnly(CampusRepository primaryRepository) {
+        return new CampusReadRouter(primaryRepository, primaryRepository);
+    }
+
+    /**
+     * Repositorio para operaciones de solo lectura (secondaryPreferred con staleness acotado)
+     */
+    public CampusRepository forReads() {
+        return readRepository;
+    }
+
+    /**
+     * Operaciones de bajo nivel para lecturas (mismo destino que forReads()), si están disponibles
+     */
+    public Optional<MongoOperations> readOperations() {
+        return Optional.ofNullable(readOperations);
+    }
+
+    /**
+     * Repositorio para escrituras y lecturas que deben ver la última escritura
+     */
+    public CampusRepository forWrites() {
+        return primaryRepository;
+    }
+
+    /**
+     * Indica si las consultas por estado, ciudad o nombre deben casar también con los campos de la versión 1
+     * del esquema (CampusSchema), porque la migración a la codificación compacta aún no ha terminado
+     */
+    public boolean legacyDocumentsRemain() {
+        return legacyDocuments.getAsBoolean();
+    }
+
+    /**
+     * Indica si las lecturas se están enviando a un repositorio distinto del primario
+     */
+    public boolean isReadRoutingEnabled() {
+        return readRepository != primaryRepository;
+    }
+}
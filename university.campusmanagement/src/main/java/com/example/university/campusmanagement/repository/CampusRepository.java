@@ -1,7 +1,117 @@
 package com.example.university.campusmanagement.repository;
 
 import com.example.university.campusmanagement.model.Campus;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import com.example.university.campusmanagement.model.CampusSchema;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.ListPagingAndSortingRepository;
 
-public interface CampusRepository extends MongoRepository<Campus, String> {
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Contrato de persistencia de campus que usan los servicios: CRUD, orden, paginación y las consultas de aquí abajo.
+ * No extiende MongoRepository (query by example, insert): así lo puede implementar también un almacén
+ * que no es MongoDB (LogStructuredCampusRepository)
+ */
+public interface CampusRepository
+        extends ListCrudRepository<Campus, String>, ListPagingAndSortingRepository<Campus, String> {
+
+    // El estado se persiste como código (CampusSchema): las consultas por estado se traducen aquí
+
+    // Mientras quedan documentos de la versión 1 (sin v ni código de estado), el estado se busca también en
+    // currentState. Esa rama no tiene índice: sólo se usa hasta que CampusSchemaMigration termina
+    String STATE_OR_LEGACY_STATE = "{ $or: [ { 's': { $in: ?0 } },"
+            + " { 'v': { $exists: false }, 's': { $exists: false }, 'currentState': { $in: ?1 } } ] }";
+
+    long countByStateCode(int stateCode);
+
+    List<Campus> findByStateCodeIn(Collection<Integer> stateCodes);
+
+    Page<Campus> findByStateCodeIn(Collection<Integer> stateCodes, Pageable pageable);
+
+    @Query(value = STATE_OR_LEGACY_STATE, count = true)
+    long countByStateCodeInOrLegacyState(Collection<Integer> stateCodes, Collection<String> states);
+
+    @Query(STATE_OR_LEGACY_STATE)
+    List<Campus> findByStateCodeInOrLegacyState(Collection<Integer> stateCodes, Collection<String> states);
+
+    @Query(STATE_OR_LEGACY_STATE)
+    Page<Campus> findByStateCodeInOrLegacyState(Collection<Integer> stateCodes, Collection<String> states,
+                                                 Pageable pageable);
+
+    default long countByCurrentState(String currentState) {
+        return countByStateCode(CampusSchema.stateCode(currentState));
+    }
+
+    /**
+     * @param legacyDocuments true mientras quedan documentos de la versión 1 (CampusReadRouter.legacyDocumentsRemain)
+     */
+    default long countByCurrentState(String currentState, boolean legacyDocuments) {
+        if (!legacyDocuments) {
+            return countByCurrentState(currentState);
+        }
+        List<String> states = List.of(currentState);
+        return countByStateCodeInOrLegacyState(CampusSchema.stateCodes(states), CampusSchema.stateNames(states));
+    }
+
+    default long countByActive(boolean active) {
+        long activeCount = countByStateCode(CampusSchema.ACTIVE_CODE);
+        return active ? activeCount : count() - activeCount;
+    }
+
+    default long countByActive(boolean active, boolean legacyDocuments) {
+        if (!legacyDocuments) {
+            return countByActive(active);
+        }
+        long activeCount = countByCurrentState(CampusSchema.stateName(CampusSchema.ACTIVE_CODE), true);
+        return active ? activeCount : count() - activeCount;
+    }
+
+    List<Campus> findByLastModifiedGreaterThanEqual(Instant since);
+
+    /**
+     * Campus en alguno de los estados indicados (p. ej. el conjunto de trabajo, sin las bajas)
+     */
+    default List<Campus> findByCurrentStateIn(Collection<String> states) {
+        return findByStateCodeIn(CampusSchema.stateCodes(states));
+    }
+
+    default Page<Campus> findByCurrentStateIn(Collection<String> states, Pageable pageable) {
+        return findByStateCodeIn(CampusSchema.stateCodes(states), pageable);
+    }
+
+    default List<Campus> findByCurrentStateIn(Collection<String> states, boolean legacyDocuments) {
+        return legacyDocuments
+                ? findByStateCodeInOrLegacyState(CampusSchema.stateCodes(states), CampusSchema.stateNames(states))
+                : findByCurrentStateIn(states);
+    }
+
+    default Page<Campus> findByCurrentStateIn(Collection<String> states, Pageable pageable, boolean legacyDocuments) {
+        return legacyDocuments
+                ? findByStateCodeInOrLegacyState(CampusSchema.stateCodes(states), CampusSchema.stateNames(states), pageable)
+                : findByCurrentStateIn(states, pageable);
+    }
+
+    /**
+     * Campus escritos con secuencia en (after, upTo], en el orden y tamaño de página indicados
+     * (campo persistido de changeSeq: CampusSchema.CHANGE_SEQ)
+     */
+    @Query("{ 'q': { $gt: ?0, $lte: ?1 } }")
+    List<Campus> findChangedBetween(long after, long upTo, Pageable pageable);
+
+    /**
+     * Como findChangedBetween, continuando a mitad de una secuencia: (changeSeq, _id) posterior a (after, afterId)
+     */
+    @Query("{ 'q': { $lte: ?2 }, $or: [ { 'q': { $gt: ?0 } }, { 'q': ?0, '_id': { $gt: ?1 } } ] }")
+    List<Campus> findChangedAfter(long after, String afterId, long upTo, Pageable pageable);
+
+    /**
+     * Recorre toda la colección con un cursor; el stream debe cerrarse tras usarlo
+     */
+    Stream<Campus> streamAllBy();
 }
@@ -0,0 +1,480 @@
+package com.example.university.campusmanagement.repository;
+
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.util.BoundedTtlCache;
+import com.example.university.campusmanagement.util.CircuitBreaker;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Protección de las llamadas a CampusRepository (y a la plantilla de lecturas) frente a incidencias de la base de datos.
+ * Cada llamada pasa por un circuit breaker común, un bulkhead separado para lecturas y escrituras
+ * y un timeout por tipo de operación. Si una lectura del repositorio de lecturas no puede ejecutarse (circuito
+ * abierto, bulkhead lleno, timeout o fallo de infraestructura) se responde con el último valor bueno conocido de
+ * esa misma llamada y se marca la respuesta con la cabecera X-Data-Stale-Seconds; las escrituras, y las lecturas
+ * del primario que las preceden, fallan rápido.
+ */
+@Component
+@ConditionalOnProperty(name = "campus.resilience.enabled", havingValue = "true", matchIfMissing = true)
+public class CampusRepositoryGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusRepositoryGuard.class);
+
+    /**
+     * Cabecera con la antigüedad (segundos) de los datos servidos desde el último valor bueno conocido
+     */
+    public static final String STALE_HEADER = "X-Data-Stale-Seconds";
+
+    private static final String STALE_ATTRIBUTE = CampusRepositoryGuard.class.getName() + ".staleSeconds";
+    private static final String METRIC_PREFIX = "campus.repository.";
+
+    /**
+     * Tipo de operación: determina el timeout y el bulkhead
+     */
+    public enum Operation {
+        POINT_READ,
+        SCAN,
+        COUNT,
+        WRITE;
+
+        boolean isRead() {
+            return this != WRITE;
+        }
+    }
+
+    private record Stamped(Object value, Instant storedAt) {
+    }
+
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore readBulkhead;
+    private final Semaphore writeBulkhead;
+    private final long bulkheadWaitMs;
+    private final Map<Operation, Duration> timeouts = new EnumMap<>(Operation.class);
+    private final BoundedTtlCache<String, Stamped> lastKnownGood;
+    private final Duration lastKnownGoodRefresh;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder circuitRejections = new LongAdder();
+    private final LongAdder bulkheadRejections = new LongAdder();
+    private final LongAdder staleResponses = new LongAdder();
+
+    public CampusRepositoryGuard(MeterRegistry meterRegistry,
+                                 @Value("${campus.resilience.timeouts.point-read-ms:500}") long pointReadTimeoutMs,
+                                 @Value("${campus.resilience.timeouts.scan-ms:3000}") long scanTimeoutMs,
+                                 @Value("${campus.resilience.timeouts.count-ms:1000}") long countTimeoutMs,
+                                 @Value("${campus.resilience.timeouts.write-ms:2000}") long writeTimeoutMs,
+                                 @Value("${campus.resilience.bulkhead.max-concurrent-reads:64}") int maxConcurrentReads,
+                                 @Value("${campus.resilience.bulkhead.max-concurrent-writes:16}") int maxConcurrentWrites,
+                                 @Value("${campus.resilience.bulkhead.max-wait-ms:50}") long bulkheadWaitMs,
+                                 @Value("${campus.resilience.circuit.window-size:50}") int windowSize,
+                                 @Value("${campus.resilience.circuit.minimum-calls:10}") int minimumCalls,
+                                 @Value("${campus.resilience.circuit.failure-rate-threshold:0.5}") double failureRateThreshold,
+                                 @Value("${campus.resilience.circuit.open-seconds:10}") long openSeconds,
+                                 @Value("${campus.resilience.circuit.half-open-calls:3}") int halfOpenCalls,
+                                 @Value("${campus.resilience.last-known-good.max-entries:10000}") int lastKnownGoodEntries,
+                                 @Value("${campus.resilience.last-known-good.ttl-minutes:60}") long lastKnownGoodTtlMinutes,
+                                 @Value("${campus.resilience.last-known-good.refresh-seconds:30}") long lastKnownGoodRefreshSeconds) {
+        timeouts.put(Operation.POINT_READ, Duration.ofMillis(pointReadTimeoutMs));
+        timeouts.put(Operation.SCAN, Duration.ofMillis(scanTimeoutMs));
+        timeouts.put(Operation.COUNT, Duration.ofMillis(countTimeoutMs));
+        timeouts.put(Operation.WRITE, Duration.ofMillis(writeTimeoutMs));
+        this.readBulkhead = new Semaphore(maxConcurrentReads);
+        this.writeBulkhead = new Semaphore(maxConcurrentWrites);
+        this.bulkheadWaitMs = bulkheadWaitMs;
+        this.circuitBreaker = new CircuitBreaker("campus-repository", windowSize, minimumCalls, failureRateThreshold,
+                Duration.ofSeconds(openSeconds), halfOpenCalls);
+        this.lastKnownGood = new BoundedTtlCache<>(lastKnownGoodEntries, Duration.ofMinutes(lastKnownGoodTtlMinutes));
+        this.lastKnownGoodRefresh = Duration.ofSeconds(lastKnownGoodRefreshSeconds);
+        bindMetrics(meterRegistry);
+    }
+
+    private void bindMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder(METRIC_PREFIX + "circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Campus repository circuit breaker state (0 closed, 1 open, 2 half-open)")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + "timeouts", timeoutCount, LongAdder::sum)
+                .description("Campus repository calls abandoned after their timeout")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + "rejections", circuitRejections, LongAdder::sum)
+                .tag("reason", "circuit-open")
+                .description("Campus repository calls rejected without reaching the database")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + "rejections", bulkheadRejections, LongAdder::sum)
+                .tag("reason", "bulkhead-full")
+                .description("Campus repository calls rejected without reaching the database")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + "stale.responses", staleResponses, LongAdder::sum)
+                .description("Reads answered from the last known good value")
+                .register(meterRegistry);
+    }
+
+    // ============ Proxy sobre CampusRepository ============
+
+    /**
+     * Envuelve un repositorio de lecturas para que todas sus llamadas pasen por esta protección,
+     * con respuesta desde el último valor bueno conocido
+     * @param target repositorio real
+     * @return repositorio protegido
+     */
+    public CampusRepository protect(CampusRepository target) {
+        return protect(target, true);
+    }
+
+    /**
+     * Envuelve un repositorio para que todas sus llamadas pasen por esta protección
+     * @param target repositorio real
+     * @param lastKnownGoodReads false para el repositorio primario: sus lecturas preceden a escrituras
+     *                           (read-modify-write) y no pueden responderse con una copia obsoleta
+     * @return repositorio protegido
+     */
+    public CampusRepository protect(CampusRepository target, boolean lastKnownGoodReads) {
+        return proxy(CampusRepository.class, target, (method, args) -> {
+            Operation operation = classify(method);
+            String fallbackKey = lastKnownGoodReads && operation.isRead()
+                    && !Stream.class.isAssignableFrom(method.getReturnType())
+                    ? method.getName() + Arrays.deepToString(args)
+                    : null;
+            return call(operation, fallbackKey, () -> invoke(target, method, args));
+        });
+    }
+
+    /**
+     * Envuelve la plantilla de lecturas (proyecciones de ?fields=, búsquedas con filtros, $facet y explain)
+     * con la misma protección que el repositorio de lecturas, incluido el último valor bueno conocido
+     * @param target plantilla real
+     * @return plantilla protegida; los métodos get* (nombre de colección, conversor...) no van a la base de datos
+     *         y se llaman directamente
+     */
+    public MongoOperations protect(MongoOperations target) {
+        return proxy(MongoOperations.class, target, (method, args) -> {
+            if (method.getName().startsWith("get")) {
+                return invoke(target, method, args);
+            }
+            Operation operation = classifyTemplate(method);
+            return call(operation, templateFallbackKey(operation, method, args), () -> invoke(target, method, args));
+        });
+    }
+
+    private interface GuardedInvocation {
+        Object invoke(Method method, Object[] args) throws Exception;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, GuardedInvocation invocation) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "Guarded" + target;
+                };
+            }
+            return invocation.invoke(method, args);
+        }));
+    }
+
+    static Operation classify(Method method) {
+        String name = method.getName();
+        if (name.startsWith("save") || name.startsWith("insert") || name.startsWith("delete")) {
+            return Operation.WRITE;
+        }
+        if (name.startsWith("count") || name.startsWith("exists")) {
+            return Operation.COUNT;
+        }
+        return name.equals("findById") ? Operation.POINT_READ : Operation.SCAN;
+    }
+
+    static Operation classifyTemplate(Method method) {
+        String name = method.getName();
+        if (name.startsWith("count") || name.startsWith("exists") || name.startsWith("estimatedCount")) {
+            return Operation.COUNT;
+        }
+        if (name.equals("findOne") || name.equals("findById")) {
+            return Operation.POINT_READ;
+        }
+        boolean read = (name.startsWith("find") && !name.startsWith("findAnd")) || name.startsWith("aggregate")
+                || name.startsWith("stream") || name.startsWith("execute");
+        return read ? Operation.SCAN : Operation.WRITE;
+    }
+
+    /**
+     * Clave del último valor bueno conocido de una lectura de la plantilla, o null si no admite respuesta obsoleta:
+     * comandos y callbacks (explain, execute) y argumentos sin una representación estable
+     */
+    private static String templateFallbackKey(Operation operation, Method method, Object[] args) {
+        if (!operation.isRead() || method.getName().startsWith("execute") || method.getName().startsWith("stream")) {
+            return null;
+        }
+        StringJoiner key = new StringJoiner(", ", "template." + method.getName() + "[", "]");
+        for (Object arg : args == null ? new Object[0] : args) {
+            if (arg instanceof Query query) {
+                // Query.toString no incluye skip ni limit: dos páginas distintas compartirían clave
+                key.add(query + ", Skip: " + query.getSkip() + ", Limit: " + query.getLimit());
+            } else if (arg instanceof Class<?> type) {
+                key.add(type.getName());
+            } else if (arg == null || arg instanceof Aggregation || arg instanceof CharSequence
+                    || arg instanceof Number || arg instanceof Boolean || arg instanceof Enum<?>) {
+                key.add(String.valueOf(arg));
+            } else {
+                return null;
+            }
+        }
+        return key.toString();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Exception {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // ============ Ejecución protegida ============
+
+    /**
+     * Ejecuta una llamada con circuit breaker, bulkhead y timeout
+     * @param operation tipo de operación
+     * @param fallbackKey clave del último valor bueno conocido (null si no admite respuesta obsoleta)
+     * @param action llamada a la base de datos
+     * @return resultado, o el último valor bueno conocido si la llamada no pudo completarse
+     * @throws CampusRepositoryUnavailableException si no se pudo ejecutar y no hay valor anterior
+     */
+    public <T> T call(Operation operation, String fallbackKey, Callable<T> action) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitRejections.increment();
+            return fallback(fallbackKey, new CampusRepositoryUnavailableException("Campus repository circuit is open"));
+        }
+        Semaphore bulkhead = operation.isRead() ? readBulkhead : writeBulkhead;
+        if (!acquire(bulkhead)) {
+            circuitBreaker.releasePermission();
+            bulkheadRejections.increment();
+            return fallback(fallbackKey, new CampusRepositoryUnavailableException(
+                    "Too many concurrent campus repository " + (operation.isRead() ? "reads" : "writes")));
+        }
+        try {
+            T result = execute(operation, bulkhead, action);
+            circuitBreaker.onSuccess();
+            if (fallbackKey != null) {
+                remember(fallbackKey, result);
+            }
+            return result;
+        } catch (TimeoutException e) {
+            circuitBreaker.onFailure();
+            timeoutCount.increment();
+            return fallback(fallbackKey, new CampusRepositoryUnavailableException("Campus repository " + operation
+                    + " timed out after " + timeouts.get(operation).toMillis() + " ms", e));
+        } catch (RuntimeException e) {
+            if (!isInfrastructureFailure(e)) {
+                // Errores de negocio (p. ej. clave duplicada): la base de datos respondió
+                circuitBreaker.onSuccess();
+                throw e;
+            }
+            circuitBreaker.onFailure();
+            return fallback(fallbackKey, e);
+        }
+    }
+
+    private boolean acquire(Semaphore bulkhead) {
+        try {
+            return bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Ejecuta la llamada y devuelve el permiso del bulkhead cuando termina de verdad: tras un timeout la llamada
+     * bloqueante del driver sigue en curso (cancel no la interrumpe) y debe seguir contando como llamada en vuelo
+     */
+    private <T> T execute(Operation operation, Semaphore bulkhead, Callable<T> action) throws TimeoutException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // La sesión de la transacción está ligada al hilo: la llamada debe ejecutarse en él
+            try {
+                return callInline(action);
+            } finally {
+                bulkhead.release();
+            }
+        }
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                try {
+                    return action.call();
+                } finally {
+                    bulkhead.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+        try {
+            return future.get(timeouts.get(operation).toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw e;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CampusRepositoryUnavailableException("Interrupted while waiting for the campus repository", e);
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        }
+    }
+
+    private static <T> T callInline(Callable<T> action) {
+        try {
+            return action.call();
+        } catch (Exception e) {
+            throw propagate(e);
+        }
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static boolean isInfrastructureFailure(RuntimeException e) {
+        return e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof MongoSocketException
+                || e instanceof MongoTimeoutException;
+    }
+
+    /**
+     * Guarda una copia del resultado como último valor bueno conocido, como mucho una vez por intervalo de refresco
+     * y clave: copiar en cada lectura encarecería todas las respuestas para servir sólo las de los fallos.
+     * La antigüedad que se anuncia al servirla es la de la copia, no la de la última lectura correcta
+     */
+    private void remember(String fallbackKey, Object result) {
+        Instant now = Instant.now();
+        Optional<Stamped> previous = lastKnownGood.get(fallbackKey);
+        if (previous.isPresent() && previous.get().storedAt().plus(lastKnownGoodRefresh).isAfter(now)) {
+            return;
+        }
+        lastKnownGood.put(fallbackKey, new Stamped(copyOf(result), now));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T fallback(String fallbackKey, RuntimeException failure) {
+        Optional<Stamped> stamped = fallbackKey == null ? Optional.empty() : lastKnownGood.get(fallbackKey);
+        if (stamped.isEmpty()) {
+            throw failure;
+        }
+        staleResponses.increment();
+        long ageSeconds = Duration.between(stamped.get().storedAt(), Instant.now()).toSeconds();
+        logger.debug("Serving stale campus data ({} s old) after: {}", ageSeconds, failure.getMessage());
+        markStale(ageSeconds);
+        return (T) copyOf(stamped.get().value());
+    }
+
+    /**
+     * Copia profunda de los campus de un resultado: el valor guardado no debe compartirse con llamadores que lo modifican
+     */
+    private static Object copyOf(Object value) {
+        if (value instanceof Campus campus) {
+            return campus.copy();
+        }
+        if (value instanceof Optional<?> optional) {
+            return optional.map(CampusRepositoryGuard::copyOf);
+        }
+        if (value instanceof Page<?> page) {
+            return page.map(CampusRepositoryGuard::copyOf);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(element -> copy.add(copyOf(element)));
+            return copy;
+        }
+        return value;
+    }
+
+    // ============ Marca de respuesta obsoleta ============
+
+    private static void markStale(long ageSeconds) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return;
+        }
+        Object previous = servletAttributes.getAttribute(STALE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        long age = previous instanceof Long previousAge ? Math.max(previousAge, ageSeconds) : ageSeconds;
+        servletAttributes.setAttribute(STALE_ATTRIBUTE, age, RequestAttributes.SCOPE_REQUEST);
+        HttpServletResponse response = servletAttributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            response.setHeader(STALE_HEADER, String.valueOf(age));
+        }
+    }
+
+    /**
+     * Indica si la petición en curso se ha respondido (en parte) con datos obsoletos
+     */
+    public static boolean isStaleResponse() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(STALE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
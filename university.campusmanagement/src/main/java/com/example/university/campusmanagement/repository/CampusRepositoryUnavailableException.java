@@ -0,0 +1,18 @@
+package com.example.university.campusmanagement.repository;
+
+import org.springframework.dao.TransientDataAccessResourceException;
+
+/**
+ * La base de datos no está disponible para esta llamada (circuito abierto, bulkhead lleno o timeout)
+ * y no hay un valor anterior con el que responder. Es transitoria: el cliente puede reintentar.
+ */
+public class CampusRepositoryUnavailableException extends TransientDataAccessResourceException {
+
+    public CampusRepositoryUnavailableException(String message) {
+        super(message);
+    }
+
+    public CampusRepositoryUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
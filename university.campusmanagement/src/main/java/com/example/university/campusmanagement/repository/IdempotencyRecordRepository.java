@@ -0,0 +1,7 @@
+package com.example.university.campusmanagement.repository;
+
+import com.example.university.campusmanagement.model.IdempotencyRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface IdempotencyRecordRepository extends MongoRepository<IdempotencyRecord, String> {
+}
@@ -0,0 +1,304 @@
+package com.example.university.campusmanagement.repository;
+
+import com.example.university.campusmanagement.model.Campus;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de CampusRepository sobre CampusLogStore, para ejecutar el servicio sin MongoDB
+ * (sedes sin conectividad, pruebas offline). Se activa con el perfil "logstore".
+ * Igual que MongoDB, cada lectura devuelve instancias nuevas y save asigna un ObjectId si falta el id.
+ */
+public class LogStructuredCampusRepository implements CampusRepository, Closeable {
+
+    // Propiedades ordenables (Sort / Pageable) -> valor
+    private static final Map<String, Function<Campus, Comparable<?>>> SORTABLE = new HashMap<>();
+
+    static {
+        SORTABLE.put("id", Campus::getId);
+        SORTABLE.put("name", Campus::getName);
+        SORTABLE.put("address", Campus::getAddress);
+        SORTABLE.put("city", Campus::getCity);
+        SORTABLE.put("telephone", Campus::getTelephone);
+        SORTABLE.put("currentState", Campus::getCurrentState);
+        SORTABLE.put("active", Campus::isActive);
+        SORTABLE.put("lastModified", Campus::getLastModified);
+        SORTABLE.put("createdAt", Campus::getCreatedAt);
+        SORTABLE.put("changeSeq", Campus::getChangeSeq);
+    }
+
+    private final CampusLogStore store;
+    private final double compactionGarbageRatio;
+    private final long compactionMinBytes;
+
+    /**
+     * @param store motor de almacenamiento ya abierto
+     * @param compactionGarbageRatio proporción de basura a partir de la cual se compacta
+     * @param compactionMinBytes tamaño mínimo del log para compactar
+     */
+    public LogStructuredCampusRepository(CampusLogStore store, double compactionGarbageRatio, long compactionMinBytes) {
+        this.store = store;
+        this.compactionGarbageRatio = compactionGarbageRatio;
+        this.compactionMinBytes = compactionMinBytes;
+    }
+
+    /**
+     * Compactación periódica del log cuando acumula suficientes versiones antiguas
+     */
+    @Scheduled(initialDelayString = "${campus.logstore.compaction-check-interval-ms:60000}",
+            fixedDelayString = "${campus.logstore.compaction-check-interval-ms:60000}")
+    public void compactIfNeeded() {
+        access(() -> store.compactIfNeeded(compactionGarbageRatio, compactionMinBytes));
+    }
+
+    public CampusLogStore getStore() {
+        return store;
+    }
+
+    // ============ Consultas derivadas de CampusRepository ============
+
+    @Override
+    public long countByCurrentState(String currentState) {
+        return access(() -> store.values().stream()
+                .filter(campus -> currentState.equals(campus.getCurrentState()))
+                .count());
+    }
+
+    @Override
+    public long countByActive(boolean active) {
+        return access(() -> store.values().stream().filter(campus -> campus.isActive() == active).count());
+    }
+
+    @Override
+    public long countByStateCode(int stateCode) {
+        return access(() -> store.values().stream().filter(campus -> campus.getStateCode() == stateCode).count());
+    }
+
+    @Override
+    public List<Campus> findByStateCodeIn(Collection<Integer> stateCodes) {
+        return access(() -> store.values().stream()
+                .filter(campus -> stateCodes.contains(campus.getStateCode()))
+                .toList());
+    }
+
+    @Override
+    public Page<Campus> findByStateCodeIn(Collection<Integer> stateCodes, Pageable pageable) {
+        return page(new ArrayList<>(findByStateCodeIn(stateCodes)), pageable);
+    }
+
+    // El almacén local no tiene documentos de la versión 1: basta el código de estado
+
+    @Override
+    public long countByStateCodeInOrLegacyState(Collection<Integer> stateCodes, Collection<String> states) {
+        return access(() -> store.values().stream().filter(campus -> stateCodes.contains(campus.getStateCode())).count());
+    }
+
+    @Override
+    public List<Campus> findByStateCodeInOrLegacyState(Collection<Integer> stateCodes, Collection<String> states) {
+        return findByStateCodeIn(stateCodes);
+    }
+
+    @Override
+    public Page<Campus> findByStateCodeInOrLegacyState(Collection<Integer> stateCodes, Collection<String> states,
+                                                        Pageable pageable) {
+        return findByStateCodeIn(stateCodes, pageable);
+    }
+
+    @Override
+    public List<Campus> findByLastModifiedGreaterThanEqual(Instant since) {
+        return access(() -> store.values().stream()
+                .filter(campus -> campus.getLastModified() != null && !campus.getLastModified().isBefore(since))
+                .toList());
+    }
+
+    @Override
+    public List<Campus> findByCurrentStateIn(Collection<String> states) {
+        return access(() -> store.values().stream()
+                .filter(campus -> states.contains(campus.getCurrentState()))
+                .toList());
+    }
+
+    @Override
+    public Page<Campus> findByCurrentStateIn(Collection<String> states, Pageable pageable) {
+        return page(new ArrayList<>(findByCurrentStateIn(states)), pageable);
+    }
+
+    @Override
+    public List<Campus> findChangedBetween(long after, long upTo, Pageable pageable) {
+        return changed(campus -> campus.getChangeSeq() > after && campus.getChangeSeq() <= upTo, pageable);
+    }
+
+    @Override
+    public List<Campus> findChangedAfter(long after, String afterId, long upTo, Pageable pageable) {
+        return changed(campus -> campus.getChangeSeq() <= upTo && (campus.getChangeSeq() > after
+                || (campus.getChangeSeq() == after && campus.getId().compareTo(afterId) > 0)), pageable);
+    }
+
+    private List<Campus> changed(Predicate<Campus> filter, Pageable pageable) {
+        List<Campus> changed = new ArrayList<>(access(() -> store.values().stream().filter(filter).toList()));
+        comparator(pageable.getSort()).ifPresent(changed::sort);
+        if (pageable.isUnpaged()) {
+            return changed;
+        }
+        int from = (int) Math.min(pageable.getOffset(), changed.size());
+        return changed.subList(from, Math.min(from + pageable.getPageSize(), changed.size()));
+    }
+
+    @Override
+    public Stream<Campus> streamAllBy() {
+        return findAll().stream();
+    }
+
+    // ============ CrudRepository ============
+
+    @Override
+    public <S extends Campus> S save(S entity) {
+        if (entity.getId() == null) {
+            entity.setId(new ObjectId().toHexString());
+        }
+        access(() -> {
+            store.put(entity);
+            return null;
+        });
+        return entity;
+    }
+
+    @Override
+    public <S extends Campus> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public Optional<Campus> findById(String id) {
+        return access(() -> store.get(id));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return store.contains(id);
+    }
+
+    @Override
+    public List<Campus> findAll() {
+        return access(store::values);
+    }
+
+    @Override
+    public List<Campus> findAllById(Iterable<String> ids) {
+        List<Campus> found = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(found::add));
+        return found;
+    }
+
+    @Override
+    public long count() {
+        return store.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        access(() -> store.delete(id));
+    }
+
+    @Override
+    public void delete(Campus entity) {
+        deleteById(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Campus> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        findAll().forEach(this::delete);
+    }
+
+    // ============ Orden y paginación ============
+
+    @Override
+    public List<Campus> findAll(Sort sort) {
+        List<Campus> campuses = new ArrayList<>(findAll());
+        comparator(sort).ifPresent(campuses::sort);
+        return campuses;
+    }
+
+    @Override
+    public Page<Campus> findAll(Pageable pageable) {
+        return page(new ArrayList<>(findAll()), pageable);
+    }
+
+    private static Page<Campus> page(List<Campus> campuses, Pageable pageable) {
+        comparator(pageable.getSort()).ifPresent(campuses::sort);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(campuses);
+        }
+        int from = (int) Math.min(pageable.getOffset(), campuses.size());
+        int to = Math.min(from + pageable.getPageSize(), campuses.size());
+        return new PageImpl<>(campuses.subList(from, to), pageable, campuses.size());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Optional<Comparator<Campus>> comparator(Sort sort) {
+        Comparator<Campus> comparator = null;
+        for (Sort.Order order : sort) {
+            Function<Campus, Comparable<?>> property = SORTABLE.get(order.getProperty());
+            if (property == null) {
+                throw new IllegalArgumentException("Cannot sort campuses by '" + order.getProperty() + "'");
+            }
+            // Como en MongoDB, los nulos van primero en orden ascendente
+            Comparator<Campus> next = Comparator.comparing((Function) property,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return Optional.ofNullable(comparator);
+    }
+
+    @Override
+    public void close() throws IOException {
+        store.close();
+    }
+
+    /**
+     * Traduce los fallos de E/S del log a la jerarquía de Spring, como haría el driver de MongoDB
+     */
+    private static <T> T access(Supplier<T> operation) {
+        try {
+            return operation.get();
+        } catch (UncheckedIOException e) {
+            throw new DataAccessResourceFailureException(e.getMessage(), e.getCause());
+        }
+    }
+}
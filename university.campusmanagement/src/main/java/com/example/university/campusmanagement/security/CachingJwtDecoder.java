@@ -0,0 +1,59 @@
+package com.example.university.campusmanagement.security;
+
+import com.example.university.campusmanagement.util.BoundedTtlCache;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * JwtDecoder con caché acotada de tokens ya verificados.
+ * La verificación de firma (HMAC) sólo se ejecuta la primera vez que se ve un token;
+ * las peticiones siguientes con el mismo token sólo comprueban su expiración.
+ * La caché es LRU (BoundedTtlCache): al llenarse se descarta el token usado hace más tiempo en O(1),
+ * y cada entrada caduca con el exp de su token.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    // Tokens sin exp: se vuelven a verificar al menos cada hora
+    private static final Duration MAX_CACHED_LIFETIME = Duration.ofHours(1);
+
+    private final JwtDecoder delegate;
+    private final BoundedTtlCache<String, Jwt> verifiedTokens;
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Token cache size must be positive");
+        }
+        this.delegate = Objects.requireNonNull(delegate, "JwtDecoder cannot be null");
+        this.verifiedTokens = new BoundedTtlCache<>(maxEntries, MAX_CACHED_LIFETIME);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Optional<Jwt> cached = verifiedTokens.get(token);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        // Verificación completa: firma + validadores (exp, nbf...)
+        Jwt jwt = delegate.decode(token);
+        Instant expiresAt = jwt.getExpiresAt();
+        Duration remaining = expiresAt != null ? Duration.between(Instant.now(), expiresAt) : MAX_CACHED_LIFETIME;
+        if (remaining.isPositive()) {
+            verifiedTokens.put(token, jwt, remaining);
+        }
+        return jwt;
+    }
+
+    /**
+     * Número de tokens verificados en caché
+     */
+    public int size() {
+        return verifiedTokens.size();
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.university.campusmanagement.service;
+
+import com.example.university.campusmanagement.event.CampusArchivedEvent;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.CampusSchema;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Archivado en segundo plano de los campus dados de baja hace más de inactiveDays días.
+ * Los traslada por lotes de la colección principal a campuses_archive para que el conjunto de trabajo
+ * (datos e índices) no crezca con bajas que ya no se consultan. Cada lote se copia primero al archivo
+ * (upsert idempotente) y después se borra de la colección principal con la misma condición, de modo que
+ * un campus reactivado entre ambos pasos no se pierde: se conserva en la principal y se retira su copia.
+ */
+@Component
+@ConditionalOnProperty(name = "campus.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class CampusArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusArchiver.class);
+
+    public static final String ARCHIVE_COLLECTION = "campuses_archive";
+    private static final String ID_FIELD = CampusSchema.ID;
+    private static final String LAST_MODIFIED_FIELD = CampusSchema.LAST_MODIFIED;
+    private static final String ARCHIVED_AT_FIELD = "archivedAt";
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration inactiveAge;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final String collection;
+    private final LongAdder archived = new LongAdder();
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public CampusArchiver(MongoTemplate mongoTemplate, ApplicationEventPublisher eventPublisher,
+                          MeterRegistry meterRegistry,
+                          @Value("${campus.archive.inactive-days:90}") int inactiveDays,
+                          @Value("${campus.archive.batch-size:500}") int batchSize,
+                          @Value("${campus.archive.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.inactiveAge = Duration.ofDays(inactiveDays);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.collection = mongoTemplate.getCollectionName(Campus.class);
+        FunctionCounter.builder("campus.archive.archived", archived, LongAdder::sum)
+                .description("Inactive campuses moved to the archive collection")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${campus.archive.interval-ms:3600000}",
+            fixedDelayString = "${campus.archive.interval-ms:3600000}")
+    public void archiveScheduled() {
+        try {
+            archiveInactive(Instant.now());
+        } catch (RuntimeException e) {
+            // Lo ya archivado es consistente; el resto se reintenta en la siguiente ejecución
+            logger.warn("Campus archival failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Archiva hasta maxBatchesPerRun lotes de campus dados de baja antes de now - inactiveDays
+     * @param now instante de referencia
+     * @return número de campus archivados (0 si ya hay una ejecución en curso)
+     */
+    public long archiveInactive(Instant now) {
+        if (!runLock.tryLock()) {
+            return 0;
+        }
+        try {
+            Date cutoff = Date.from(now.minus(inactiveAge));
+            Set<String> archivedIds = new LinkedHashSet<>();
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int fetched = archiveBatch(cutoff, now, archivedIds);
+                if (fetched < batchSize) {
+                    break;
+                }
+            }
+            if (!archivedIds.isEmpty()) {
+                archived.add(archivedIds.size());
+                logger.info("Archived {} campuses inactive since before {}", archivedIds.size(), cutoff.toInstant());
+                eventPublisher.publishEvent(new CampusArchivedEvent(Set.copyOf(archivedIds), now));
+            }
+            return archivedIds.size();
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Copia y borra un lote
+     * @return documentos leídos en el lote (menos que batchSize: no quedan más)
+     */
+    private int archiveBatch(Date cutoff, Instant now, Set<String> archivedIds) {
+        // Documentos crudos: el archivo conserva el documento tal cual, sin pasar por la entidad
+        Query candidates = query(archivable(cutoff))
+                .with(Sort.by(LAST_MODIFIED_FIELD))
+                .limit(batchSize);
+        List<Document> batch = mongoTemplate.find(candidates, Document.class, collection);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations copy = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ARCHIVE_COLLECTION);
+        List<Object> ids = batch.stream().map(document -> document.get(ID_FIELD)).toList();
+        for (Document document : batch) {
+            copy.replaceOne(query(where(ID_FIELD).is(document.get(ID_FIELD))),
+                    new Document(document).append(ARCHIVED_AT_FIELD, Date.from(now)),
+                    FindAndReplaceOptions.options().upsert());
+        }
+        copy.execute();
+
+        // Mismo filtro que la lectura: un campus reactivado mientras tanto no se borra
+        long deleted = mongoTemplate.remove(query(archivable(cutoff).and(ID_FIELD).in(ids)), collection)
+                .getDeletedCount();
+        Set<Object> kept = new LinkedHashSet<>();
+        if (deleted < batch.size()) {
+            Query stillPresent = query(where(ID_FIELD).in(ids));
+            stillPresent.fields().include(ID_FIELD);
+            mongoTemplate.find(stillPresent, Document.class, collection)
+                    .forEach(document -> kept.add(document.get(ID_FIELD)));
+            mongoTemplate.remove(query(where(ID_FIELD).in(kept)), ARCHIVE_COLLECTION);
+            logger.debug("{} campuses changed during archival and stay in the main collection", kept.size());
+        }
+        ids.stream()
+                .filter(id -> !kept.contains(id))
+                .forEach(id -> archivedIds.add(id.toString()));
+        return batch.size();
+    }
+
+    private static Criteria archivable(Date cutoff) {
+        // Cubierto por el índice parcial campus_inactive_last_modified. Los documentos aún sin migrar
+        // (esquema 1) no se archivan hasta que CampusSchemaMigration los convierte
+        return where(CampusSchema.STATE).is(CampusSchema.INACTIVE_CODE)
+                .and(LAST_MODIFIED_FIELD).lt(cutoff);
+    }
+
+    public long getArchived() {
+        return archived.sum();
+    }
+}
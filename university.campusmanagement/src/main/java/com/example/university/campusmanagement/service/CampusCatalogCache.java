@@ -0,0 +1,277 @@
+package com.example.university.campusmanagement.service;
+
+import com.example.university.campusmanagement.event.CampusArchivedEvent;
+import com.example.university.campusmanagement.event.CampusBulkChangeEvent;
+import com.example.university.campusmanagement.event.CampusChangeEvent;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusReadRouter;
+import com.example.university.campusmanagement.repository.CampusRepository;
+import com.example.university.campusmanagement.util.ChangeSequence;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caché en memoria del catálogo de campus con snapshot local para arranque en caliente.
+ * Al arrancar carga el último snapshot binario (memory-mapped) antes de servir peticiones y después
+ * se pone al día con una consulta delta. Mientras está caliente sirve las lecturas sin tocar MongoDB;
+ * las escrituras de este pod llegan por CampusChangeEvent y las de otros pods por el refresco delta periódico,
+ * que lee del primario por changeSeq desde la mayor secuencia ya cargada (no desde el reloj local).
+ * Una recarga completa periódica retira los campus archivados por otros pods, que el delta no ve.
+ * Campus es mutable: las instancias en caché nunca salen de aquí, cada lectura devuelve copias.
+ */
+@Component
+@ConditionalOnProperty(name = "campus.catalog-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CampusCatalogCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusCatalogCache.class);
+
+    // Solape de las consultas delta, en secuencia: una escritura con la secuencia asignada pero aún sin confirmar,
+    // o de un pod con el reloj retrasado, puede aparecer por detrás de la mayor secuencia ya leída
+    private static final long DELTA_OVERLAP = ChangeSequence.at(Instant.EPOCH.plus(Duration.ofSeconds(5)));
+    private static final Pageable BY_CHANGE_SEQ = Pageable.unpaged(Sort.by("changeSeq"));
+
+    private final CampusRepository campusRepository;
+    // Refresco delta y recarga completa no se solapan (planificador, arranque y escrituras masivas)
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Path snapshotPath;
+    private final ConcurrentMap<String, Campus> campuses = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    // Orden de all(): se reconstruye sólo cuando el catálogo cambia, no en cada lectura
+    private final AtomicLong version = new AtomicLong();
+    private volatile CatalogView view = new CatalogView(-1, List.of());
+    private volatile boolean warm;
+    private volatile Instant syncedAt;
+    // Mayor changeSeq leído de MongoDB (o del snapshot): marca de agua del refresco delta
+    private volatile long watermark;
+
+    public CampusCatalogCache(CampusReadRouter readRouter,
+                              @Value("${campus.catalog-cache.snapshot-path:data/campus-catalog.snapshot}") String snapshotPath) {
+        // Primario: un secundario con retraso no tendría aún escrituras con secuencia menor que la marca de agua
+        this.campusRepository = readRouter.forWrites();
+        this.snapshotPath = Path.of(snapshotPath);
+    }
+
+    /**
+     * Carga el snapshot local antes de que la aplicación empiece a servir peticiones
+     */
+    @PostConstruct
+    public void loadSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            logger.info("No campus snapshot at {}, cache starts cold", snapshotPath);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            CampusSnapshotCodec.Snapshot snapshot = CampusSnapshotCodec.read(snapshotPath);
+            snapshot.campuses().forEach(campus -> campuses.put(campus.getId(), campus));
+            version.incrementAndGet();
+            syncedAt = snapshot.takenAt();
+            watermark = maxChangeSeq(snapshot.campuses());
+            warm = true;
+            logger.info("Loaded {} campuses from snapshot taken at {} in {} µs", snapshot.campuses().size(),
+                    snapshot.takenAt(), (System.nanoTime() - start) / 1_000);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable campus snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Ponerse al día con MongoDB en segundo plano una vez arrancada la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("campus-catalog-catch-up").start(this::refresh);
+    }
+
+    /**
+     * Refresco periódico: delta desde la marca de agua, o carga completa si la caché está fría
+     */
+    @Scheduled(initialDelayString = "${campus.catalog-cache.refresh-interval-ms:5000}",
+            fixedDelayString = "${campus.catalog-cache.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (!warm || syncedAt == null) {
+            reload();
+            return;
+        }
+        refreshLock.lock();
+        try {
+            List<Campus> changed = campusRepository.findChangedBetween(watermark - DELTA_OVERLAP, Long.MAX_VALUE,
+                    BY_CHANGE_SEQ);
+            changed.forEach(this::mergeNewer);
+            watermark = Math.max(watermark, maxChangeSeq(changed));
+            syncedAt = Instant.now();
+            dirty.set(true);
+            logger.debug("Campus catalog cache caught up with {} changes", changed.size());
+        } catch (RuntimeException e) {
+            logger.warn("Could not refresh campus catalog cache: {}", e.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Recarga completa periódica: el delta sólo ve altas y modificaciones, así que los campus que ya no están
+     * en la colección (archivados por otro pod) se retiran aquí
+     */
+    @Scheduled(initialDelayString = "${campus.catalog-cache.full-reload-interval-ms:300000}",
+            fixedDelayString = "${campus.catalog-cache.full-reload-interval-ms:300000}")
+    public void reload() {
+        refreshLock.lock();
+        try {
+            // Lo escrito en este pod durante la lectura llega por evento con una secuencia posterior: se conserva
+            long startedAt = ChangeSequence.next();
+            List<Campus> all = campusRepository.findAll();
+            Set<String> ids = new HashSet<>();
+            all.forEach(campus -> {
+                ids.add(campus.getId());
+                mergeNewer(campus);
+            });
+            campuses.values().removeIf(campus -> !ids.contains(campus.getId()) && campus.getChangeSeq() < startedAt);
+            version.incrementAndGet();
+            watermark = Math.max(watermark, maxChangeSeq(all));
+            syncedAt = Instant.now();
+            warm = true;
+            dirty.set(true);
+            logger.info("Campus catalog cache reloaded with {} campuses", all.size());
+        } catch (RuntimeException e) {
+            logger.warn("Could not reload campus catalog cache: {}", e.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Escritura periódica del snapshot local si hubo cambios
+     */
+    @Scheduled(initialDelayString = "${campus.catalog-cache.snapshot-interval-ms:60000}",
+            fixedDelayString = "${campus.catalog-cache.snapshot-interval-ms:60000}")
+    public void writeSnapshot() {
+        if (!warm || !dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            Instant takenAt = syncedAt;
+            CampusSnapshotCodec.write(snapshotPath, takenAt, new ArrayList<>(campuses.values()));
+            logger.debug("Campus snapshot written to {} ({} campuses)", snapshotPath, campuses.size());
+        } catch (IOException e) {
+            dirty.set(true);
+            logger.warn("Could not write campus snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writeSnapshot();
+    }
+
+    @EventListener
+    public void onCampusChange(CampusChangeEvent event) {
+        if (event.campus() != null && event.campusId() != null) {
+            mergeNewer(event.campus().copy());
+            dirty.set(true);
+        }
+    }
+
+    @EventListener
+    public void onCampusBulkChange(CampusBulkChangeEvent event) {
+        // Los campus afectados no se conocen uno a uno: el próximo refresco delta los recogerá
+        Thread.ofVirtual().name("campus-catalog-bulk-refresh").start(this::refresh);
+    }
+
+    @EventListener
+    public void onCampusArchived(CampusArchivedEvent event) {
+        // El refresco delta no ve los borrados: los archivados en este pod se retiran aquí, los de otros en reload()
+        event.campusIds().forEach(campuses::remove);
+        version.incrementAndGet();
+        dirty.set(true);
+    }
+
+    // ============ Lecturas ============
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Obtiene un campus de la caché
+     * @param id ID del campus
+     * @return copia del campus en caché (vacío si la caché está fría o no lo contiene)
+     */
+    public Optional<Campus> get(String id) {
+        return warm ? Optional.ofNullable(campuses.get(id)).map(Campus::copy) : Optional.empty();
+    }
+
+    /**
+     * Obtiene todos los campus en caché
+     * @return lista inmodificable con copias de los campus (sólo válida si isWarm())
+     */
+    public List<Campus> all() {
+        long current = version.get();
+        CatalogView cached = view;
+        if (cached.version() != current) {
+            // Si el catálogo cambia durante la copia, la vista queda con la versión anterior y se rehace en la siguiente lectura
+            cached = new CatalogView(current, List.copyOf(campuses.values()));
+            view = cached;
+        }
+        return cached.campuses().stream().map(Campus::copy).toList();
+    }
+
+    /**
+     * Añade un campus leído de la BD tras un fallo de caché.
+     * Se guarda una copia: el llamador puede seguir modificando el suyo (p. ej. para una transición)
+     */
+    public void put(Campus campus) {
+        if (campus != null && campus.getId() != null) {
+            mergeNewer(campus.copy());
+        }
+    }
+
+    private void mergeNewer(Campus candidate) {
+        campuses.merge(candidate.getId(), candidate, (current, incoming) -> isNewer(incoming, current) ? incoming : current);
+        version.incrementAndGet();
+    }
+
+    private static boolean isNewer(Campus incoming, Campus current) {
+        // changeSeq ordena las escrituras aunque compartan lastModified; sin secuencia se recurre a lastModified
+        if (incoming.getChangeSeq() > 0 && current.getChangeSeq() > 0) {
+            return incoming.getChangeSeq() >= current.getChangeSeq();
+        }
+        if (incoming.getLastModified() == null || current.getLastModified() == null) {
+            return true;
+        }
+        return !incoming.getLastModified().isBefore(current.getLastModified());
+    }
+
+    private static long maxChangeSeq(List<Campus> loaded) {
+        return loaded.stream().mapToLong(Campus::getChangeSeq).max().orElse(0);
+    }
+
+    private record CatalogView(long version, List<Campus> campuses) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.university.campusmanagement.service;
+
+import com.example.university.campusmanagement.constants.Constants;
+import com.example.university.campusmanagement.event.CampusArchivedEvent;
+import com.example.university.campusmanagement.event.CampusBulkChangeEvent;
+import com.example.university.campusmanagement.event.CampusChangeEvent;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusReadRouter;
+import com.example.university.campusmanagement.repository.CampusRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de campus mantenidos incrementalmente en memoria.
+ * Se actualizan con cada CampusChangeEvent y se reconcilian periódicamente contra la colección,
+ * de modo que consultar los conteos es O(1) y no toca MongoDB.
+ */
+@Component
+public class CampusCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusCounters.class);
+
+    private static final List<String> KNOWN_STATES = List.of(
+            Constants.States.ACTIVE, Constants.States.INACTIVE, Constants.States.MAINTENANCE);
+
+    private final CampusReadRouter readRouter;
+    private final CampusRepository campusRepository;
+    private final ConcurrentMap<String, LongAdder> byState = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+    private final LongAdder active = new LongAdder();
+    private volatile boolean reconciled;
+
+    public CampusCounters(CampusReadRouter readRouter) {
+        this.readRouter = Objects.requireNonNull(readRouter, "CampusReadRouter cannot be null");
+        // Primario: un secundario con retraso sobrescribiría con valores viejos los deltas ya aplicados por eventos
+        this.campusRepository = readRouter.forWrites();
+        KNOWN_STATES.forEach(state -> byState.put(state, new LongAdder()));
+    }
+
+    /**
+     * Actualiza los contadores a partir de un cambio publicado por CampusService
+     * @param event evento de cambio
+     */
+    @EventListener
+    public void onCampusChange(CampusChangeEvent event) {
+        Campus campus = event.campus();
+        if (campus == null) {
+            return;
+        }
+
+        if (event.type() == CampusChangeEvent.Type.CREATED) {
+            total.increment();
+            stateCounter(campus.getCurrentState()).increment();
+            if (campus.isActive()) {
+                active.increment();
+            }
+            return;
+        }
+
+        if (event.isStateTransition()) {
+            stateCounter(event.previousState()).decrement();
+            stateCounter(campus.getCurrentState()).increment();
+        }
+        if (event.previousActive() != campus.isActive()) {
+            if (campus.isActive()) {
+                active.increment();
+            } else {
+                active.decrement();
+            }
+        }
+    }
+
+    /**
+     * Tras una escritura masiva los deltas no son conocidos: reconciliar contra la colección
+     * @param event evento de escritura masiva
+     */
+    @EventListener
+    public void onCampusBulkChange(CampusBulkChangeEvent event) {
+        reconcile();
+    }
+
+    @EventListener
+    public void onCampusArchived(CampusArchivedEvent event) {
+        reconcile();
+    }
+
+    /**
+     * Reconciliación periódica contra la colección real (corrige la deriva por escrituras de otros pods)
+     */
+    @Scheduled(initialDelayString = "${campus.counters.reconcile-initial-delay-ms:0}",
+            fixedDelayString = "${campus.counters.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        try {
+            boolean legacyDocuments = readRouter.legacyDocumentsRemain();
+            Map<String, Long> stateCounts = new LinkedHashMap<>();
+            for (String state : KNOWN_STATES) {
+                stateCounts.put(state, campusRepository.countByCurrentState(state, legacyDocuments));
+            }
+            long totalCount = campusRepository.count();
+            long activeCount = campusRepository.countByActive(true, legacyDocuments);
+
+            stateCounts.forEach((state, count) -> reset(stateCounter(state), count));
+            reset(total, totalCount);
+            reset(active, activeCount);
+            reconciled = true;
+            logger.debug("Campus counters reconciled: total={}, active={}, byState={}", totalCount, activeCount, stateCounts);
+        } catch (RuntimeException e) {
+            logger.warn("Could not reconcile campus counters: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene una instantánea de los contadores
+     * @return conteos por estado, total, activos e inactivos
+     */
+    public Map<String, Object> snapshot() {
+        if (!reconciled) {
+            reconcile();
+        }
+
+        Map<String, Long> states = new LinkedHashMap<>();
+        byState.forEach((state, counter) -> states.put(state, counter.sum()));
+
+        long totalCount = total.sum();
+        long activeCount = active.sum();
+
+        Map<String, Object> counts = new LinkedHashMap<>();
+        counts.put("total", totalCount);
+        counts.put("active", activeCount);
+        counts.put("inactive", totalCount - activeCount);
+        counts.put("byState", states);
+        return counts;
+    }
+
+    private LongAdder stateCounter(String state) {
+        String key = state != null ? state : Constants.States.ACTIVE;
+        return byState.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static void reset(LongAdder counter, long value) {
+        // sumThenReset + add no es atómico respecto a incrementos concurrentes, pero
+        // cualquier deriva resultante se corrige en la siguiente reconciliación
+        counter.sumThenReset();
+        counter.add(value);
+    }
+}
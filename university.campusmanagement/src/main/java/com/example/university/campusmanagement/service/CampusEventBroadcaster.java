@@ -0,0 +1,342 @@
+package com.example.university.campusmanagement.service;
+
+import com.example.university.campusmanagement.dto.CampusEventDto;
+import com.example.university.campusmanagement.event.CampusArchivedEvent;
+import com.example.university.campusmanagement.event.CampusBulkChangeEvent;
+import com.example.university.campusmanagement.event.CampusChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Difusión de los cambios de campus a suscriptores Server-Sent Events.
+ * Cada evento se serializa una sola vez y se encola en un buffer acotado por suscriptor; un hilo virtual
+ * por suscriptor lo vacía hacia su conexión, de modo que un cliente lento nunca bloquea al que escribe
+ * ni a los demás suscriptores. Si el buffer se llena se aplica la política configurada: descartar los
+ * eventos más antiguos (avisando al cliente con un evento "resync") o desconectarlo.
+ * Los últimos eventos se conservan para reanudar con Last-Event-ID tras una reconexión.
+ * Las escrituras masivas (importación CSV) se anuncian con un "resync" y los archivados con un evento
+ * ARCHIVED con los IDs retirados, ambos también en el histórico de reanudación.
+ */
+@Component
+public class CampusEventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusEventBroadcaster.class);
+
+    private static final String METRIC_PREFIX = "campus.events.";
+    private static final String RESYNC_EVENT = "resync";
+    private static final String ARCHIVED_EVENT = "ARCHIVED";
+    private static final String KEEPALIVE_COMMENT = "keepalive";
+
+    /**
+     * Qué hacer con un suscriptor cuyo buffer está lleno
+     */
+    public enum SlowConsumerPolicy {
+        DROP_OLDEST,
+        DISCONNECT
+    }
+
+    private record StreamEvent(long sequence, String id, String name, String data) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final Duration heartbeatInterval;
+
+    // Los IDs llevan la época del proceso: un Last-Event-ID de otra instancia o de antes de un reinicio no es reanudable
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final ArrayDeque<StreamEvent> replayBuffer;
+    private final int replaySize;
+    private long sequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder slowConsumerDisconnects = new LongAdder();
+    private final LongAdder rejectedSubscriptions = new LongAdder();
+
+    public CampusEventBroadcaster(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                  @Value("${campus.events.buffer-size:256}") int bufferSize,
+                                  @Value("${campus.events.replay-size:1024}") int replaySize,
+                                  @Value("${campus.events.max-subscribers:5000}") int maxSubscribers,
+                                  @Value("${campus.events.slow-consumer-policy:DROP_OLDEST}") SlowConsumerPolicy slowConsumerPolicy,
+                                  @Value("${campus.events.heartbeat-seconds:15}") long heartbeatSeconds) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.replaySize = Math.max(0, replaySize);
+        this.replayBuffer = new ArrayDeque<>(this.replaySize);
+        this.maxSubscribers = maxSubscribers;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.heartbeatInterval = Duration.ofSeconds(Math.max(1, heartbeatSeconds));
+        bindMetrics(meterRegistry);
+    }
+
+    private void bindMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder(METRIC_PREFIX + "subscribers", subscribers, Set::size)
+                .description("Active campus event stream subscribers")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + "dropped", droppedEvents, LongAdder::sum)
+                .description("Events dropped for slow subscribers")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + "slow.disconnects", slowConsumerDisconnects, LongAdder::sum)
+                .description("Subscribers disconnected for falling behind")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + "rejected", rejectedSubscriptions, LongAdder::sum)
+                .description("Subscriptions rejected because the subscriber limit was reached")
+                .register(meterRegistry);
+    }
+
+    // ============ Publicación ============
+
+    @EventListener
+    public void onCampusChange(CampusChangeEvent event) {
+        if (event.campus() == null) {
+            return;
+        }
+        publish(event.type().name(), CampusEventDto.fromEvent(event));
+    }
+
+    @EventListener
+    public void onBulkChange(CampusBulkChangeEvent event) {
+        // No hay un evento por campus: el cliente debe recargar el estado completo
+        publish(RESYNC_EVENT, Map.of("reason", "bulk-change", "affectedCampuses", event.affectedCampuses()));
+    }
+
+    @EventListener
+    public void onCampusesArchived(CampusArchivedEvent event) {
+        if (!event.campusIds().isEmpty()) {
+            publish(ARCHIVED_EVENT, event);
+        }
+    }
+
+    private void publish(String name, Object payload) {
+        String data;
+        try {
+            // Serializado una vez para todos los suscriptores
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize campus {} event: {}", name, e.getMessage());
+            return;
+        }
+
+        publishLock.lock();
+        try {
+            long next = ++sequence;
+            StreamEvent streamEvent = new StreamEvent(next, epoch + "-" + next, name, data);
+            if (replaySize > 0) {
+                if (replayBuffer.size() == replaySize) {
+                    replayBuffer.pollFirst();
+                }
+                replayBuffer.addLast(streamEvent);
+            }
+            // offer no bloquea: el coste bajo el lock es O(suscriptores) inserciones en cola
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(streamEvent);
+            }
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    // ============ Suscripción ============
+
+    /**
+     * Registra un suscriptor y arranca el envío de eventos por su conexión
+     * @param emitter conexión SSE del cliente
+     * @param lastEventId último ID recibido por el cliente (cabecera Last-Event-ID), o null
+     * @return false si se ha alcanzado el máximo de suscriptores
+     */
+    public boolean subscribe(SseEmitter emitter, String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            rejectedSubscriptions.increment();
+            return false;
+        }
+
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        // Registro y lectura del histórico bajo el mismo lock: ni huecos ni duplicados entre ambos
+        publishLock.lock();
+        try {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                subscriber.resumeFrom(lastEventId.trim());
+            }
+            subscribers.add(subscriber);
+        } finally {
+            publishLock.unlock();
+        }
+
+        subscriber.thread = Thread.ofVirtual().name("campus-events-subscriber").start(subscriber::drain);
+        logger.debug("Campus event subscriber registered ({} active)", subscribers.size());
+        return true;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    public long getSlowConsumerDisconnects() {
+        return slowConsumerDisconnects.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+            subscriber.close();
+        }
+    }
+
+    /**
+     * Suscriptor con su buffer acotado y su hilo de envío
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        // Eventos a reenviar al reanudar (se envían antes que el buffer)
+        private final List<StreamEvent> backlog = new ArrayList<>();
+        private final AtomicLong missedEvents = new AtomicLong();
+        private volatile boolean resyncRequired;
+        private volatile boolean closed;
+        private volatile Thread thread;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Prepara el reenvío de los eventos posteriores a lastEventId (llamado bajo publishLock)
+         */
+        private void resumeFrom(String lastEventId) {
+            long lastSequence = parseSequence(lastEventId);
+            StreamEvent oldest = replayBuffer.peekFirst();
+            long oldestAvailable = oldest != null ? oldest.sequence() : sequence + 1;
+            if (lastSequence < 0 || lastSequence > sequence || lastSequence + 1 < oldestAvailable) {
+                // Otra época, ID inválido o demasiado antiguo: el cliente debe recargar el estado completo
+                resyncRequired = true;
+                return;
+            }
+            for (StreamEvent event : replayBuffer) {
+                if (event.sequence() > lastSequence) {
+                    backlog.add(event);
+                }
+            }
+        }
+
+        private long parseSequence(String lastEventId) {
+            int separator = lastEventId.lastIndexOf('-');
+            if (separator <= 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(lastEventId.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private void offer(StreamEvent event) {
+            if (closed || buffer.offer(event)) {
+                return;
+            }
+            if (slowConsumerPolicy == SlowConsumerPolicy.DISCONNECT) {
+                slowConsumerDisconnects.increment();
+                logger.debug("Disconnecting slow campus event subscriber ({} buffered)", buffer.size());
+                emitter.complete();
+                close();
+                return;
+            }
+            // DROP_OLDEST: se hace hueco descartando lo más antiguo y se avisa al cliente en el próximo envío
+            while (!buffer.offer(event)) {
+                if (buffer.poll() != null) {
+                    droppedEvents.increment();
+                    missedEvents.incrementAndGet();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                if (resyncRequired) {
+                    sendResync("{\"reason\":\"unknown-last-event-id\"}");
+                }
+                for (StreamEvent event : backlog) {
+                    send(event);
+                }
+                backlog.clear();
+                while (!closed) {
+                    StreamEvent event = buffer.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    long missed = missedEvents.getAndSet(0);
+                    if (missed > 0) {
+                        sendResync("{\"reason\":\"buffer-overflow\",\"missedEvents\":" + missed + "}");
+                    }
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment(KEEPALIVE_COMMENT));
+                    } else {
+                        send(event);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // Conexión cerrada por el cliente o emisor ya completado
+                logger.debug("Campus event subscriber gone: {}", e.getMessage());
+            } finally {
+                close();
+            }
+        }
+
+        private void send(StreamEvent event) throws IOException {
+            emitter.send(SseEmitter.event().id(event.id()).name(event.name()).data(event.data()));
+        }
+
+        private void sendResync(String reason) throws IOException {
+            emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(reason));
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscribers.remove(this);
+            Thread drainer = thread;
+            if (drainer != null && drainer != Thread.currentThread()) {
+                drainer.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package com.example.university.campusmanagement.service;
+
+import com.example.university.campusmanagement.dto.CampusCreateRequest;
+import com.example.university.campusmanagement.dto.ImportReport;
+import com.example.university.campusmanagement.dto.InvalidRequestException;
+import com.example.university.campusmanagement.event.CampusBulkChangeEvent;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.CampusSchema;
+import com.example.university.campusmanagement.util.ChangeSequence;
+import com.example.university.campusmanagement.util.CsvLineParser;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Importación masiva de campus desde CSV en streaming.
+ * Pipeline de tres etapas unidas por colas acotadas: lectura de líneas (hilo llamador),
+ * parseo y validación en paralelo, y upsert en lotes bulk. La memoria usada depende del tamaño
+ * de las colas y de los lotes, no del tamaño del fichero.
+ * Columnas reconocidas (cabecera obligatoria): id (opcional), name, address, city, telephone.
+ * Escribe directamente en la colección con bulk upserts, así que se desactiva sin MongoDB (perfil logstore).
+ */
+@Service
+@ConditionalOnProperty(name = "campus.import.enabled", havingValue = "true", matchIfMissing = true)
+public class CampusImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusImportService.class);
+
+    private static final String ID_COLUMN = "id";
+    private static final String NAME_COLUMN = "name";
+    private static final String ADDRESS_COLUMN = "address";
+    private static final String CITY_COLUMN = "city";
+    private static final String TELEPHONE_COLUMN = "telephone";
+    private static final Set<String> REQUIRED_COLUMNS = Set.of(NAME_COLUMN, CITY_COLUMN);
+
+    private static final Chunk END_OF_INPUT = new Chunk(-1, List.of());
+    private static final List<Row> END_OF_ROWS = List.of();
+    // Cada cuánto vuelve a comprobar una etapa bloqueada en una cola llena que su consumidor sigue vivo
+    private static final long HAND_OFF_CHECK_MS = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int parserThreads;
+    private final int chunkSize;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final long progressInterval;
+
+    public CampusImportService(MongoTemplate mongoTemplate, Validator validator, ApplicationEventPublisher eventPublisher,
+                               @Value("${campus.import.parser-threads:0}") int parserThreads,
+                               @Value("${campus.import.chunk-size:500}") int chunkSize,
+                               @Value("${campus.import.batch-size:1000}") int batchSize,
+                               @Value("${campus.import.max-reported-errors:100}") int maxReportedErrors,
+                               @Value("${campus.import.progress-interval:50000}") long progressInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.parserThreads = parserThreads > 0 ? parserThreads : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Importa un CSV de campus haciendo upsert por id (si viene) o por nombre + ciudad
+     * @param input flujo del CSV en UTF-8; no se cierra
+     * @return informe de la importación
+     * @throws IOException si falla la lectura del flujo
+     * @throws InvalidRequestException si la cabecera no es válida
+     */
+    public ImportReport importCsv(InputStream input) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = readHeader(reader.readLine());
+
+        ImportProgress progress = new ImportProgress();
+        BlockingQueue<Chunk> chunks = new ArrayBlockingQueue<>(parserThreads * 2);
+        BlockingQueue<List<Row>> batches = new ArrayBlockingQueue<>(parserThreads * 2);
+
+        Thread writer = Thread.ofVirtual().name("campus-import-writer").start(() -> writeLoop(batches, progress));
+        BooleanSupplier writerAlive = writer::isAlive;
+        CountDownLatch parsersRunning = new CountDownLatch(parserThreads);
+        ExecutorService parsers = Executors.newFixedThreadPool(parserThreads,
+                Thread.ofPlatform().name("campus-import-parser-", 0).factory());
+        for (int i = 0; i < parserThreads; i++) {
+            parsers.execute(() -> {
+                try {
+                    parseLoop(chunks, batches, columns, progress, writerAlive);
+                } catch (RuntimeException e) {
+                    logger.error("Campus import parser failed: {}", e.getMessage());
+                } finally {
+                    parsersRunning.countDown();
+                }
+            });
+        }
+
+        try {
+            // Mientras se lee ningún parser debe terminar: si uno cae, sus bloques se perderían
+            readChunks(reader, chunks, progress, () -> parsersRunning.getCount() == parserThreads);
+        } finally {
+            try {
+                for (int i = 0; i < parserThreads; i++) {
+                    if (!handOff(chunks, END_OF_INPUT, () -> parsersRunning.getCount() > 0)) {
+                        break;
+                    }
+                }
+                parsers.shutdown();
+                parsers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                handOff(batches, END_OF_ROWS, writerAlive);
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                parsers.shutdownNow();
+                throw new IllegalStateException("Import interrupted", e);
+            }
+        }
+
+        if (progress.upserted.get() > 0) {
+            eventPublisher.publishEvent(new CampusBulkChangeEvent(progress.upserted.get(), Instant.now()));
+        }
+
+        ImportReport report = progress.toReport(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        logger.info("Campus import finished: {} rows, {} valid, {} invalid, {} upserted in {} ms",
+                report.totalRows(), report.validRows(), report.invalidRows(), report.upsertedRows(), report.durationMs());
+        return report;
+    }
+
+    // ============ Etapas del pipeline ============
+
+    private void readChunks(BufferedReader reader, BlockingQueue<Chunk> chunks, ImportProgress progress,
+                            BooleanSupplier parsersAlive) throws IOException {
+        long lineNumber = 1; // La cabecera es la línea 1
+        List<String> lines = new ArrayList<>(chunkSize);
+        long firstLine = lineNumber;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lines.isEmpty()) {
+                firstLine = lineNumber;
+            }
+            // Las líneas en blanco viajan en el bloque para conservar la numeración, el parser las omite
+            lines.add(line);
+            if (lines.size() >= chunkSize) {
+                handOffChunk(chunks, new Chunk(firstLine, lines), parsersAlive);
+                lines = new ArrayList<>(chunkSize);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            long read = progress.read.incrementAndGet();
+            if (read % progressInterval == 0) {
+                logger.info("Campus import progress: {} rows read, {} upserted, {} invalid",
+                        read, progress.upserted.get(), progress.invalid.get());
+            }
+        }
+        if (!lines.isEmpty()) {
+            handOffChunk(chunks, new Chunk(firstLine, lines), parsersAlive);
+        }
+    }
+
+    private void parseLoop(BlockingQueue<Chunk> chunks, BlockingQueue<List<Row>> batches,
+                           Map<String, Integer> columns, ImportProgress progress, BooleanSupplier writerAlive) {
+        List<Row> buffer = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                Chunk chunk = chunks.take();
+                if (chunk == END_OF_INPUT) {
+                    break;
+                }
+                long lineNumber = chunk.firstLine();
+                for (String line : chunk.lines()) {
+                    long currentLine = lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    parseRow(line, currentLine, columns, progress).ifPresent(buffer::add);
+                    if (buffer.size() >= batchSize) {
+                        handOffBatch(batches, buffer, writerAlive);
+                        buffer = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            if (!buffer.isEmpty()) {
+                handOffBatch(batches, buffer, writerAlive);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Optional<Row> parseRow(String line, long lineNumber, Map<String, Integer> columns,
+                                   ImportProgress progress) {
+        try {
+            List<String> fields = CsvLineParser.parse(line);
+            CampusCreateRequest request = new CampusCreateRequest();
+            request.setName(field(fields, columns, NAME_COLUMN));
+            request.setAddress(field(fields, columns, ADDRESS_COLUMN));
+            request.setCity(field(fields, columns, CITY_COLUMN));
+            request.setTelephone(field(fields, columns, TELEPHONE_COLUMN));
+
+            Set<ConstraintViolation<CampusCreateRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                progress.reject(lineNumber, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return Optional.empty();
+            }
+            progress.valid.incrementAndGet();
+            return Optional.of(new Row(field(fields, columns, ID_COLUMN), request));
+        } catch (RuntimeException e) {
+            // Una fila que rompe el parser o el validador no debe tumbar al hilo ni al resto de la importación
+            progress.reject(lineNumber, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            return Optional.empty();
+        }
+    }
+
+    private void writeLoop(BlockingQueue<List<Row>> batches, ImportProgress progress) {
+        try {
+            while (true) {
+                List<Row> batch = batches.take();
+                if (batch == END_OF_ROWS) {
+                    return;
+                }
+                if (progress.writeFailure != null) {
+                    // Seguir drenando la cola para no bloquear a los parsers
+                    continue;
+                }
+                try {
+                    upsert(batch);
+                    progress.upserted.addAndGet(batch.size());
+                } catch (RuntimeException e) {
+                    logger.error("Campus import bulk write failed: {}", e.getMessage());
+                    progress.writeFailure = e.getMessage();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void upsert(List<Row> batch) {
+        // Campos persistidos sin mapeo de la entidad: la búsqueda por nombre y ciudad debe encontrar también
+        // los campus aún sin migrar, cuyos campos conservan el nombre largo (ver CampusSchema)
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+                mongoTemplate.getCollectionName(Campus.class));
+        Instant now = Instant.now();
+        for (Row row : batch) {
+            CampusCreateRequest request = row.request();
+            Query match = row.id() != null
+                    ? query(where(CampusSchema.ID).is(row.id()))
+                    : query(new Criteria().orOperator(
+                            where(CampusSchema.NAME).is(request.getName()).and(CampusSchema.CITY).is(request.getCity()),
+                            where(CampusSchema.VERSION).exists(false)
+                                    .and(CampusSchema.legacyField(CampusSchema.NAME)).is(request.getName())
+                                    .and(CampusSchema.legacyField(CampusSchema.CITY)).is(request.getCity())));
+            Update update = new Update()
+                    .set(CampusSchema.NAME, request.getName())
+                    .set(CampusSchema.ADDRESS, request.getAddress())
+                    .set(CampusSchema.CITY, request.getCity())
+                    .set(CampusSchema.TELEPHONE, request.getTelephone())
+                    .set(CampusSchema.LAST_MODIFIED, now)
+                    .set(CampusSchema.CHANGE_SEQ, ChangeSequence.next())
+                    .setOnInsert(CampusSchema.CREATED_AT, now)
+                    .setOnInsert(CampusSchema.STATE, CampusSchema.ACTIVE_CODE)
+                    .setOnInsert(CampusSchema.VERSION, CampusSchema.CURRENT_VERSION);
+            bulk.upsert(match, update);
+        }
+        bulk.execute();
+    }
+
+    // ============ Métodos Privados de Utilidad ============
+
+    private Map<String, Integer> readHeader(String header) {
+        if (header == null) {
+            throw new InvalidRequestException("CSV file is empty");
+        }
+        List<String> names;
+        try {
+            names = CsvLineParser.parse(header.replace("\uFEFF", ""));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid CSV header: " + e.getMessage());
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+            throw new InvalidRequestException("CSV header must contain the columns " + REQUIRED_COLUMNS);
+        }
+        return columns;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Entrega un elemento a la siguiente etapa sin quedarse bloqueado si esa etapa ha muerto
+     * @return false si los consumidores ya no están vivos
+     */
+    private static <T> boolean handOff(BlockingQueue<T> queue, T item, BooleanSupplier consumersAlive)
+            throws InterruptedException {
+        while (consumersAlive.getAsBoolean()) {
+            if (queue.offer(item, HAND_OFF_CHECK_MS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void handOffChunk(BlockingQueue<Chunk> chunks, Chunk chunk, BooleanSupplier parsersAlive) {
+        try {
+            if (!handOff(chunks, chunk, parsersAlive)) {
+                throw new IllegalStateException("Campus import parser stopped unexpectedly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        }
+    }
+
+    private static void handOffBatch(BlockingQueue<List<Row>> batches, List<Row> batch, BooleanSupplier writerAlive)
+            throws InterruptedException {
+        if (!handOff(batches, batch, writerAlive)) {
+            throw new IllegalStateException("Campus import writer stopped unexpectedly");
+        }
+    }
+
+    private record Chunk(long firstLine, List<String> lines) {
+    }
+
+    private record Row(String id, CampusCreateRequest request) {
+    }
+
+    /**
+     * Progreso compartido entre las etapas
+     */
+    private final class ImportProgress {
+        private final AtomicLong read = new AtomicLong();
+        private final AtomicLong valid = new AtomicLong();
+        private final AtomicLong invalid = new AtomicLong();
+        private final AtomicLong upserted = new AtomicLong();
+        private final AtomicInteger reportedErrors = new AtomicInteger();
+        private final ConcurrentLinkedQueue<ImportReport.RowError> errors = new ConcurrentLinkedQueue<>();
+        private volatile String writeFailure;
+
+        void reject(long line, String message) {
+            invalid.incrementAndGet();
+            if (reportedErrors.incrementAndGet() <= maxReportedErrors) {
+                errors.add(new ImportReport.RowError(line, message));
+            }
+        }
+
+        ImportReport toReport(long durationMs) {
+            List<ImportReport.RowError> rowErrors = new ArrayList<>(errors);
+            if (writeFailure != null) {
+                rowErrors.add(new ImportReport.RowError(0, "Bulk write failed: " + writeFailure));
+            }
+            rowErrors.sort((a, b) -> Long.compare(a.line(), b.line()));
+            return new ImportReport(read.get(), valid.get(), invalid.get(), upserted.get(), durationMs,
+                    rowErrors, reportedErrors.get() > maxReportedErrors);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.university.campusmanagement.service;
+
+/**
+ * El campus solicitado no existe. Es un resultado esperado (IDs erróneos, tráfico de scraping), no un fallo:
+ * se construye sin traza de pila ni supresión, de modo que responder un 404 no cuesta más que la propia búsqueda.
+ * ApiExceptionHandler la traduce a 404.
+ */
+public class CampusNotFoundException extends RuntimeException {
+
+    private final String campusId;
+
+    public CampusNotFoundException(String campusId) {
+        super("Campus not found with id: " + campusId, null, false, false);
+        this.campusId = campusId;
+    }
+
+    public String getCampusId() { return campusId; }
+}
@@ -0,0 +1,70 @@
+package com.example.university.campusmanagement.service;
+
+import com.example.university.campusmanagement.event.CampusChangeEvent;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.OutboxMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Outbox transaccional de cambios de estado de campus.
+ * La escritura del campus y la del mensaje se hacen en la misma transacción de MongoDB (requiere replica set),
+ * de modo que no puede persistirse un cambio sin su notificación ni al revés. La entrega la hace
+ * WebhookDispatcher en segundo plano, nunca en el hilo de la petición.
+ */
+@Component
+@ConditionalOnProperty(name = "campus.webhooks.enabled", havingValue = "true")
+public class CampusOutbox {
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public CampusOutbox(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        // Gestor de transacciones propio: no se registra como bean para no alterar el resto de escrituras
+        this.transactionTemplate = new TransactionTemplate(new MongoTransactionManager(mongoTemplate.getMongoDatabaseFactory()));
+    }
+
+    /**
+     * Guarda un campus y, si el cambio es una transición de estado, su mensaje de outbox en la misma transacción
+     * @param save escritura del campus
+     * @param eventFactory construye el evento de cambio a partir del campus guardado
+     * @return evento del cambio persistido
+     */
+    public CampusChangeEvent saveWithOutbox(Supplier<Campus> save, Function<Campus, CampusChangeEvent> eventFactory) {
+        return transactionTemplate.execute(status -> {
+            CampusChangeEvent event = eventFactory.apply(save.get());
+            messageFor(event).ifPresent(mongoTemplate::insert);
+            return event;
+        });
+    }
+
+    /**
+     * Ejecuta escrituras de campus e inserta sus mensajes de outbox en una única transacción
+     * @param writes escrituras de campus (p. ej. un bulk del group commit); devuelven los mensajes
+     *               de las escrituras que realmente se aplicaron
+     */
+    public void writeWithOutbox(Supplier<List<OutboxMessage>> writes) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<OutboxMessage> messages = writes.get();
+            if (!messages.isEmpty()) {
+                mongoTemplate.insert(messages, OutboxMessage.class);
+            }
+        });
+    }
+
+    /**
+     * Mensaje de outbox para un cambio; sólo las transiciones de estado se notifican
+     */
+    public Optional<OutboxMessage> messageFor(CampusChangeEvent event) {
+        return event.isStateTransition() ? Optional.of(OutboxMessage.fromEvent(event)) : Optional.empty();
+    }
+}
@@ -0,0 +1,375 @@
+package com.example.university.campusmanagement.service;
+
+import com.example.university.campusmanagement.constants.Constants;
+import com.example.university.campusmanagement.dto.CampusSearchCriteria;
+import com.example.university.campusmanagement.dto.InvalidRequestException;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.CampusSchema;
+import com.example.university.campusmanagement.repository.CampusIndexes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Traduce CampusSearchCriteria a una consulta de MongoDB y comprueba, contra el catálogo de
+ * índices declarados (CampusIndexes), si la consulta puede resolverse con un índice.
+ * La evaluación sigue la regla ESR: primero igualdades, luego orden y por último rango (prefijo del nombre).
+ * Un índice parcial sólo se considera si la consulta implica su filtro (p. ej. el del conjunto de trabajo).
+ * El planificador razona con propiedades de Campus; compile() emite los campos y códigos persistidos
+ * (CampusSchema), de modo que la consulta sirve igual a MongoTemplate que a una agregación o a explain.
+ * active no tiene campo propio: se persiste en el código de estado y se trata como una igualdad sobre él.
+ */
+@Component
+public class CampusQueryPlanner {
+
+    /**
+     * Qué hacer con las consultas que ningún índice declarado soporta
+     */
+    public enum UnindexedPolicy {
+        // Rechazar con 400
+        REJECT,
+        // Ejecutar con la cabecera X-Query-Warning
+        WARN
+    }
+
+    /**
+     * Grado de cobertura de la consulta por el mejor índice disponible
+     */
+    public enum Coverage {
+        // Filtros, orden y prefijo resueltos por el índice
+        FULL,
+        // El índice acota la búsqueda, pero hay filtrado u ordenación en memoria
+        PARTIAL,
+        // Ningún índice aplica: recorrido completo de la colección
+        NONE
+    }
+
+    /**
+     * Veredicto del planificador
+     * @param coverage cobertura
+     * @param index índice elegido, o null si no aplica ninguno
+     * @param reasons motivos por los que la cobertura no es completa
+     */
+    public record Plan(Coverage coverage, String index, List<String> reasons) {
+
+        public Plan {
+            reasons = List.copyOf(reasons);
+        }
+
+        public Optional<String> warning() {
+            return coverage == Coverage.FULL ? Optional.empty() : Optional.of(String.join("; ", reasons));
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("coverage", coverage.name());
+            map.put("index", index);
+            map.put("reasons", reasons);
+            return map;
+        }
+    }
+
+    private static final String NAME_FIELD = "name";
+
+    // Campo ordenable -> valor, para evaluar en memoria
+    private static final Map<String, Function<Campus, Comparable<?>>> SORT_VALUES = Map.of(
+            NAME_FIELD, Campus::getName,
+            "city", Campus::getCity,
+            "createdAt", Campus::getCreatedAt);
+
+    private final List<CampusIndexes.IndexSpec> indexes;
+    private final UnindexedPolicy unindexedPolicy;
+
+    public CampusQueryPlanner(@Value("${campus.query.unindexed-policy:REJECT}") UnindexedPolicy unindexedPolicy) {
+        this.indexes = CampusIndexes.all();
+        this.unindexedPolicy = unindexedPolicy;
+    }
+
+    /**
+     * Consulta de MongoDB equivalente a los criterios (sin proyección ni paginación), con los campos persistidos
+     */
+    public Query compile(CampusSearchCriteria criteria) {
+        return compile(criteria, false);
+    }
+
+    /**
+     * Como compile(criteria); con legacyDocuments cada filtro casa también con los campos de la versión 1
+     * (CampusSchema). Esas ramas no tienen índice: sólo mientras CampusSchemaMigration no haya terminado
+     */
+    public Query compile(CampusSearchCriteria criteria, boolean legacyDocuments) {
+        List<Criteria> filters = new ArrayList<>(3);
+        if (criteria.getCity() != null) {
+            filters.add(CampusSchema.matching(CampusSchema.CITY, field -> field.is(criteria.getCity()), legacyDocuments));
+        }
+        List<String> states = allowedStates(criteria);
+        if (states != null) {
+            // Mismo $in que el filtro de los índices parciales, para que MongoDB pueda usarlos.
+            // Un $in vacío (p. ej. state=ACTIVE con active=false) no devuelve nada, como antes
+            filters.add(CampusSchema.stateIn(states, legacyDocuments));
+        }
+        if (criteria.getNamePrefix() != null) {
+            // Expresión anclada y sin metacaracteres: MongoDB la convierte en un rango sobre el índice
+            String prefix = "^" + escapeRegex(criteria.getNamePrefix());
+            filters.add(CampusSchema.matching(CampusSchema.NAME, field -> field.regex(prefix), legacyDocuments));
+        }
+        Query query = new Query();
+        if (legacyDocuments && filters.size() > 1) {
+            // Cada filtro es un $or: se combinan con $and para que no se pisen
+            query.addCriteria(new Criteria().andOperator(filters));
+        } else {
+            filters.forEach(query::addCriteria);
+        }
+        if (!criteria.getSort().isEmpty()) {
+            query.with(Sort.by(criteria.getSort().stream()
+                    .map(key -> new Sort.Order(key.direction(), CampusSchema.field(key.field())))
+                    .toList()));
+        }
+        return query;
+    }
+
+    /**
+     * Estados que admiten los criterios, o null si no restringen el estado
+     */
+    private static List<String> allowedStates(CampusSearchCriteria criteria) {
+        List<String> states = criteria.getState() != null ? List.of(criteria.getState())
+                : criteria.excludesInactive() ? Constants.States.LIVE
+                : null;
+        if (criteria.getActive() == null) {
+            return states;
+        }
+        return (states != null ? states : Constants.States.ALL).stream()
+                .filter(state -> Constants.States.ACTIVE.equals(state) == criteria.getActive())
+                .toList();
+    }
+
+    /**
+     * Equivalente en memoria de compile(), para almacenes sin MongoDB (perfil logstore)
+     */
+    public Predicate<Campus> matcher(CampusSearchCriteria criteria) {
+        Predicate<Campus> matcher = campus -> true;
+        if (criteria.getCity() != null) {
+            matcher = matcher.and(campus -> criteria.getCity().equals(campus.getCity()));
+        }
+        if (criteria.getState() != null) {
+            matcher = matcher.and(campus -> criteria.getState().equals(campus.getCurrentState()));
+        } else if (criteria.excludesInactive()) {
+            matcher = matcher.and(campus -> Constants.States.LIVE.contains(campus.getCurrentState()));
+        }
+        if (criteria.getActive() != null) {
+            matcher = matcher.and(campus -> criteria.getActive() == campus.isActive());
+        }
+        if (criteria.getNamePrefix() != null) {
+            matcher = matcher.and(campus -> campus.getName() != null && campus.getName().startsWith(criteria.getNamePrefix()));
+        }
+        return matcher;
+    }
+
+    /**
+     * Orden en memoria equivalente al de compile() (nulos primero, como en MongoDB), o vacío si no se pidió orden
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Optional<Comparator<Campus>> ordering(CampusSearchCriteria criteria) {
+        Comparator<Campus> ordering = null;
+        for (CampusSearchCriteria.SortKey key : criteria.getSort()) {
+            Comparator<Campus> next = Comparator.comparing((Function) SORT_VALUES.get(key.field()),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            if (key.direction() == Sort.Direction.DESC) {
+                next = next.reversed();
+            }
+            ordering = ordering == null ? next : ordering.thenComparing(next);
+        }
+        return Optional.ofNullable(ordering);
+    }
+
+    /**
+     * Elige el índice declarado que mejor cubre los criterios
+     */
+    public Plan plan(CampusSearchCriteria criteria) {
+        if (criteria.isEmpty()) {
+            // Listado completo (o del conjunto de trabajo): se recorre entero con o sin índice
+            return new Plan(Coverage.FULL, null, List.of());
+        }
+        IndexMatch best = null;
+        for (CampusIndexes.IndexSpec index : indexes) {
+            IndexMatch match = IndexMatch.evaluate(index, criteria);
+            if (best == null || match.score() > best.score()) {
+                best = match;
+            }
+        }
+        if (best == null || best.score() == 0) {
+            return new Plan(Coverage.NONE, null,
+                    List.of("No declared index supports " + describe(criteria) + "; the query would scan the whole collection"));
+        }
+        List<String> reasons = best.reasons();
+        return new Plan(reasons.isEmpty() ? Coverage.FULL : Coverage.PARTIAL, best.index().name(), reasons);
+    }
+
+    /**
+     * Aplica la política configurada a un plan
+     * @throws InvalidRequestException si la consulta no está indexada y la política es REJECT
+     */
+    public void enforce(Plan plan) {
+        if (plan.coverage() == Coverage.NONE && unindexedPolicy == UnindexedPolicy.REJECT) {
+            throw new InvalidRequestException("Query rejected: " + plan.warning().orElse("not indexed"));
+        }
+    }
+
+    public UnindexedPolicy getUnindexedPolicy() {
+        return unindexedPolicy;
+    }
+
+    private static String describe(CampusSearchCriteria criteria) {
+        List<String> parts = new ArrayList<>(equalityFields(criteria, false));
+        if (criteria.excludesInactive()) {
+            parts.add("excluding inactive campuses");
+        }
+        if (criteria.getNamePrefix() != null) {
+            parts.add("name prefix");
+        }
+        if (!criteria.getSort().isEmpty()) {
+            parts.add("sort " + criteria.toSort());
+        }
+        return String.join(", ", parts);
+    }
+
+    /**
+     * Campos con igualdad en la consulta
+     * @param withLiveFilter incluir currentState por el $in del conjunto de trabajo (se trata como una igualdad
+     *                       múltiple: MongoDB mezcla los tramos ordenados del índice sin ordenar en memoria)
+     */
+    private static List<String> equalityFields(CampusSearchCriteria criteria, boolean withLiveFilter) {
+        List<String> fields = new ArrayList<>(2);
+        if (criteria.getCity() != null) {
+            fields.add("city");
+        }
+        // active se persiste en el código de estado: también es una igualdad (o un $in) sobre currentState
+        if (criteria.getState() != null || criteria.getActive() != null
+                || (withLiveFilter && criteria.excludesInactive())) {
+            fields.add(CampusIndexes.STATE_FIELD);
+        }
+        return fields;
+    }
+
+    /**
+     * El estado sólo está restringido por el filtro del conjunto de trabajo
+     */
+    private static boolean liveFilterOnly(CampusSearchCriteria criteria) {
+        return criteria.excludesInactive() && criteria.getActive() == null;
+    }
+
+    static String escapeRegex(String literal) {
+        StringBuilder escaped = new StringBuilder(literal.length() + 8);
+        for (char c : literal.toCharArray()) {
+            if ("\\^$.|?*+()[]{}".indexOf(c) >= 0) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Resultado de evaluar un índice frente a los criterios
+     */
+    private record IndexMatch(CampusIndexes.IndexSpec index, int score, List<String> reasons) {
+
+        static IndexMatch evaluate(CampusIndexes.IndexSpec index, CampusSearchCriteria criteria) {
+            if (index.isPartial() && !impliesPartialFilter(index, criteria)) {
+                return new IndexMatch(index, 0, List.of("Partial index " + index.name() + " does not cover "
+                        + describe(criteria)));
+            }
+            // El filtro del conjunto de trabajo ya lo resuelve el índice parcial: no es una igualdad pendiente
+            boolean liveFilterImplied = index.isPartial() && liveFilterOnly(criteria);
+            boolean liveEquality = !index.isPartial() && liveFilterOnly(criteria);
+            List<String> keys = index.fields();
+            List<String> equalities = equalityFields(criteria, !liveFilterImplied);
+            List<String> reasons = new ArrayList<>();
+
+            // E: prefijo del índice formado por campos con igualdad (en cualquier orden)
+            int position = 0;
+            while (position < keys.size() && equalities.contains(keys.get(position))) {
+                position++;
+            }
+            List<String> boundEqualities = keys.subList(0, position);
+            boolean liveBound = liveEquality && boundEqualities.contains(CampusIndexes.STATE_FIELD);
+            // El $in del conjunto de trabajo apenas descarta documentos: filtrarlo tras leer no es un aviso
+            List<String> residual = equalities.stream()
+                    .filter(field -> !boundEqualities.contains(field))
+                    .filter(field -> !(liveEquality && field.equals(CampusIndexes.STATE_FIELD)))
+                    .toList();
+            if (!residual.isEmpty()) {
+                reasons.add("Filter on " + residual + " is applied after fetching documents from index " + index.name());
+            }
+
+            // S: los campos de orden (salvo los fijados por igualdad) deben seguir al prefijo, en la misma dirección o toda invertida
+            List<CampusSearchCriteria.SortKey> sortKeys = criteria.getSort().stream()
+                    .filter(key -> !boundEqualities.contains(key.field()))
+                    .toList();
+            boolean sortCovered = sortCovered(index, keys, position, sortKeys);
+            List<String> sortFields = sortKeys.stream().map(CampusSearchCriteria.SortKey::field).toList();
+            int afterSort = sortCovered ? position + sortKeys.size() : position;
+            if (!sortKeys.isEmpty() && !sortCovered) {
+                reasons.add("Sort on " + sortFields + " is performed in memory");
+            }
+
+            // R: el prefijo del nombre debe ser la siguiente clave, o estar ya recorrido en orden
+            boolean rangeRequested = criteria.getNamePrefix() != null;
+            boolean rangeBounded = rangeRequested
+                    && ((sortCovered && sortFields.contains(NAME_FIELD))
+                    || (afterSort < keys.size() && keys.get(afterSort).equals(NAME_FIELD)));
+            if (rangeRequested && !rangeBounded) {
+                reasons.add("Name prefix is not bounded by index " + index.name());
+            }
+
+            // El filtro del conjunto de trabajo sólo puntúa si el índice acota algo más: por sí solo no es selectivo.
+            // A igualdad de cobertura se prefiere el índice parcial, más pequeño que uno completo con el $in
+            int selective = (position - (liveBound ? 1 : 0)) * 4 + (rangeBounded ? 2 : 0)
+                    + (sortCovered && !sortKeys.isEmpty() ? 3 : 0);
+            int liveCredit = selective == 0 ? 0 : liveFilterImplied ? 5 : liveBound ? 4 : 0;
+            return new IndexMatch(index, selective + liveCredit, reasons);
+        }
+
+        /**
+         * Un índice parcial sólo contiene documentos que cumplen su filtro: la consulta debe implicarlo
+         */
+        private static boolean impliesPartialFilter(CampusIndexes.IndexSpec index, CampusSearchCriteria criteria) {
+            List<String> states = allowedStates(criteria);
+            return index.partialFilter().entrySet().stream().allMatch(filter ->
+                    filter.getKey().equals(CampusIndexes.STATE_FIELD)
+                            && states != null && filter.getValue().containsAll(states));
+        }
+
+        private static boolean sortCovered(CampusIndexes.IndexSpec index, List<String> keys, int position,
+                                           List<CampusSearchCriteria.SortKey> sortKeys) {
+            if (sortKeys.isEmpty() || position + sortKeys.size() > keys.size()) {
+                return false;
+            }
+            Boolean reversed = null;
+            for (int i = 0; i < sortKeys.size(); i++) {
+                CampusSearchCriteria.SortKey key = sortKeys.get(i);
+                String indexField = keys.get(position + i);
+                if (!indexField.equals(key.field())) {
+                    return false;
+                }
+                boolean opposite = index.direction(indexField) != key.direction();
+                if (reversed == null) {
+                    reversed = opposite;
+                } else if (reversed != opposite) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.university.campusmanagement.service;
+
+import com.example.university.campusmanagement.dto.CampusFacet;
+import com.example.university.campusmanagement.dto.CampusFieldSet;
+import com.example.university.campusmanagement.dto.CampusSearchCriteria;
+import com.example.university.campusmanagement.dto.InvalidRequestException;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.CampusSchema;
+import com.example.university.campusmanagement.repository.CampusReadRouter;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Consultas de campus con filtros y orden arbitrarios, ejecutadas en MongoDB (no en memoria)
+ * tras pasar por CampusQueryPlanner.
+ */
+@Service
+public class CampusQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusQueryService.class);
+
+    private static final long UNPAGED_TOTAL = -1L;
+
+    // Salidas de la etapa $facet además de una por faceta (cuyos nombres no pueden coincidir con éstos)
+    private static final String RESULTS_FACET = "results";
+    private static final String TOTAL_FACET = "total";
+    private static final String COUNT_FIELD = "count";
+
+    // Sin MongoDB (perfil logstore) no hay índices que consultar: se filtra el catálogo en memoria
+    private static final CampusQueryPlanner.Plan IN_MEMORY_PLAN = new CampusQueryPlanner.Plan(
+            CampusQueryPlanner.Coverage.NONE, null, List.of("Evaluated in memory by the local campus store"));
+
+    private final CampusReadRouter readRouter;
+    private final CampusQueryPlanner planner;
+
+    public CampusQueryService(CampusReadRouter readRouter, CampusQueryPlanner planner) {
+        this.readRouter = Objects.requireNonNull(readRouter, "CampusReadRouter cannot be null");
+        this.planner = Objects.requireNonNull(planner, "CampusQueryPlanner cannot be null");
+    }
+
+    /**
+     * Resultado de una búsqueda
+     * @param campuses campus encontrados (con proyección si se pidieron campos)
+     * @param total total de coincidencias si la consulta es paginada; -1 en otro caso
+     * @param plan veredicto del planificador
+     * @param facets conteos por valor de cada faceta solicitada, de mayor a menor
+     */
+    public record SearchResult(List<Campus> campuses, long total, CampusQueryPlanner.Plan plan,
+                               Map<String, Map<String, Long>> facets) {
+
+        public SearchResult(List<Campus> campuses, long total, CampusQueryPlanner.Plan plan) {
+            this(campuses, total, plan, Map.of());
+        }
+    }
+
+    /**
+     * Ejecuta la búsqueda si el planificador la admite
+     * @param criteria filtros y orden
+     * @param fields propiedades a leer
+     * @param page página solicitada (null = sin paginar)
+     * @param size tamaño de página
+     * @return resultado con el plan aplicado
+     * @throws InvalidRequestException si la consulta no está indexada y la política es REJECT
+     */
+    public SearchResult search(CampusSearchCriteria criteria, CampusFieldSet fields, Integer page, int size) {
+        Optional<MongoOperations> readOperations = readRouter.readOperations();
+        if (readOperations.isEmpty()) {
+            return searchInMemory(criteria, page, size);
+        }
+        CampusQueryPlanner.Plan plan = planner.plan(criteria);
+        planner.enforce(plan);
+        plan.warning().ifPresent(warning -> logger.warn("Partially indexed campus query {}: {}", criteria, warning));
+
+        MongoOperations operations = readOperations.get();
+        Query query = fields.applyTo(planner.compile(criteria, readRouter.legacyDocumentsRemain()));
+        if (page == null) {
+            return new SearchResult(operations.find(query, Campus.class), UNPAGED_TOTAL, plan);
+        }
+        long total = operations.count(Query.of(query).skip(-1).limit(-1), Campus.class);
+        List<Campus> campuses = operations.find(query.with(PageRequest.of(page, size)), Campus.class);
+        return new SearchResult(campuses, total, plan);
+    }
+
+    /**
+     * Ejecuta la búsqueda paginada y los conteos por faceta en una sola agregación:
+     * $match (resuelto con el índice elegido por el planificador) seguido de un $facet con la página,
+     * el total y un $sortByCount por faceta, de modo que la página completa cuesta un único viaje a la BD.
+     * @param criteria filtros y orden
+     * @param fields propiedades a leer
+     * @param page página solicitada (el resultado de $facet es un único documento, así que siempre se pagina)
+     * @param size tamaño de página
+     * @param facets facetas a contar sobre todas las coincidencias
+     * @return página, total, plan aplicado y conteos
+     * @throws InvalidRequestException si la consulta no está indexada y la política es REJECT
+     */
+    public SearchResult searchWithFacets(CampusSearchCriteria criteria, CampusFieldSet fields, int page, int size,
+                                         Set<CampusFacet> facets) {
+        Optional<MongoOperations> readOperations = readRouter.readOperations();
+        if (readOperations.isEmpty()) {
+            List<Campus> matches = matchInMemory(criteria);
+            return new SearchResult(page(matches, page, size), matches.size(), IN_MEMORY_PLAN, facetCounts(matches, facets));
+        }
+        CampusQueryPlanner.Plan plan = planner.plan(criteria);
+        planner.enforce(plan);
+        plan.warning().ifPresent(warning -> logger.warn("Partially indexed campus query {}: {}", criteria, warning));
+
+        MongoOperations operations = readOperations.get();
+        Query query = fields.applyTo(planner.compile(criteria, readRouter.legacyDocumentsRemain()));
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$match", query.getQueryObject()));
+        // El orden va antes de $facet: justo detrás de $match MongoDB puede servirlo desde el índice,
+        // mientras que dentro de una sub-pipeline de $facet siempre ordena en memoria
+        if (!query.getSortObject().isEmpty()) {
+            pipeline.add(new Document("$sort", query.getSortObject()));
+        }
+        List<Document> results = new ArrayList<>();
+        results.add(new Document("$skip", (long) page * size));
+        results.add(new Document("$limit", size));
+        if (!query.getFieldsObject().isEmpty()) {
+            results.add(new Document("$project", query.getFieldsObject()));
+        }
+        Document facetStage = new Document(RESULTS_FACET, results)
+                .append(TOTAL_FACET, List.of(new Document("$count", COUNT_FIELD)));
+        facets.forEach(facet -> facetStage.append(facet.property(),
+                List.of(new Document("$sortByCount", facet.groupExpression()))));
+
+        pipeline.add(new Document("$facet", facetStage));
+
+        // Por la plantilla (no por la colección del driver): así pasa por la protección del repositorio
+        List<AggregationOperation> stages = pipeline.stream()
+                .<AggregationOperation>map(stage -> context -> stage)
+                .toList();
+        Document output = operations.aggregate(Aggregation.newAggregation(stages),
+                operations.getCollectionName(Campus.class), Document.class).getUniqueMappedResult();
+        if (output == null) {
+            output = new Document();
+        }
+
+        // converter.read no dispara las callbacks de lectura: los documentos sin migrar se completan aquí
+        List<Campus> campuses = output.getList(RESULTS_FACET, Document.class, List.of()).stream()
+                .map(document -> {
+                    Campus campus = operations.getConverter().read(Campus.class, document);
+                    if (CampusSchema.isLegacy(document)) {
+                        CampusSchema.readLegacy(campus, document);
+                    }
+                    return campus;
+                })
+                .toList();
+        List<Document> total = output.getList(TOTAL_FACET, Document.class, List.of());
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        for (CampusFacet facet : facets) {
+            Map<String, Long> buckets = new LinkedHashMap<>();
+            // Un código y su nombre de la versión 1 se suman en la misma clave
+            output.getList(facet.property(), Document.class, List.of()).forEach(bucket ->
+                    buckets.merge(facet.label(bucket.get("_id")), bucket.get(COUNT_FIELD, Number.class).longValue(),
+                            Long::sum));
+            counts.put(facet.property(), buckets);
+        }
+        return new SearchResult(campuses,
+                total.isEmpty() ? 0 : total.get(0).get(COUNT_FIELD, Number.class).longValue(), plan, counts);
+    }
+
+    /**
+     * Modo de depuración (?explain=true): ejecuta el comando explain de MongoDB con executionStats.
+     * No aplica la política del planificador, para poder diagnosticar también las consultas rechazadas.
+     * @return plan ganador, estadísticas de ejecución y veredicto del planificador
+     */
+    public Map<String, Object> explain(CampusSearchCriteria criteria, CampusFieldSet fields) {
+        Optional<MongoOperations> readOperations = readRouter.readOperations();
+        if (readOperations.isEmpty()) {
+            Map<String, Object> explanation = new LinkedHashMap<>();
+            explanation.put("planner", IN_MEMORY_PLAN.toMap());
+            explanation.put("nReturned", searchInMemory(criteria, null, 0).campuses().size());
+            explanation.put("totalDocsExamined", readRouter.forReads().count());
+            return explanation;
+        }
+        CampusQueryPlanner.Plan plan = planner.plan(criteria);
+        MongoOperations operations = readOperations.get();
+        Query query = fields.applyTo(planner.compile(criteria, readRouter.legacyDocumentsRemain()));
+
+        Document find = new Document("find", operations.getCollectionName(Campus.class))
+                .append("filter", query.getQueryObject());
+        if (!query.getSortObject().isEmpty()) {
+            find.append("sort", query.getSortObject());
+        }
+        if (!query.getFieldsObject().isEmpty()) {
+            find.append("projection", query.getFieldsObject());
+        }
+        Document result = operations.executeCommand(new Document("explain", find)
+                .append("verbosity", "executionStats"));
+
+        Document queryPlanner = result.get("queryPlanner", new Document());
+        Document executionStats = result.get("executionStats", new Document());
+        Map<String, Object> explanation = new LinkedHashMap<>();
+        explanation.put("planner", plan.toMap());
+        explanation.put("filter", query.getQueryObject().toJson());
+        explanation.put("sort", query.getSortObject().toJson());
+        explanation.put("winningPlan", queryPlanner.get("winningPlan"));
+        explanation.put("nReturned", executionStats.get("nReturned"));
+        explanation.put("totalDocsExamined", executionStats.get("totalDocsExamined"));
+        explanation.put("totalKeysExamined", executionStats.get("totalKeysExamined"));
+        explanation.put("executionTimeMillis", executionStats.get("executionTimeMillis"));
+        return explanation;
+    }
+
+    private SearchResult searchInMemory(CampusSearchCriteria criteria, Integer page, int size) {
+        List<Campus> matches = matchInMemory(criteria);
+        if (page == null) {
+            return new SearchResult(matches, UNPAGED_TOTAL, IN_MEMORY_PLAN);
+        }
+        return new SearchResult(page(matches, page, size), matches.size(), IN_MEMORY_PLAN);
+    }
+
+    private List<Campus> matchInMemory(CampusSearchCriteria criteria) {
+        List<Campus> matches = new ArrayList<>(readRouter.forReads().findAll().stream()
+                .filter(planner.matcher(criteria))
+                .toList());
+        planner.ordering(criteria).ifPresent(matches::sort);
+        return matches;
+    }
+
+    private static List<Campus> page(List<Campus> matches, int page, int size) {
+        int from = (int) Math.min((long) page * size, matches.size());
+        int to = Math.min(from + size, matches.size());
+        return matches.subList(from, to);
+    }
+
+    /**
+     * Conteos por faceta en memoria, ordenados como $sortByCount (de mayor a menor)
+     */
+    private static Map<String, Map<String, Long>> facetCounts(List<Campus> matches, Set<CampusFacet> facets) {
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        for (CampusFacet facet : facets) {
+            Map<String, Long> buckets = matches.stream()
+                    .collect(Collectors.groupingBy(facet::valueOf, Collectors.counting()));
+            counts.put(facet.property(), buckets.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+                            (first, second) -> first, LinkedHashMap::new)));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,392 @@
+package com.example.university.campusmanagement.service;
+
+import com.example.university.campusmanagement.event.CampusArchivedEvent;
+import com.example.university.campusmanagement.event.CampusBulkChangeEvent;
+import com.example.university.campusmanagement.event.CampusChangeEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caché de respuestas JSON ya serializadas para las lecturas más frecuentes
+ * (GET /api/campuses/{id} y el listado completo por defecto).
+ * Los bytes se guardan fuera del heap, en un único slab directo reservado al arrancar y dividido en páginas:
+ * guardar una respuesta sólo toma páginas libres y un acierto no ejecuta CampusDto.fromCampus ni Jackson
+ * ni reserva memoria. La caché está acotada en bytes (LRU) y se invalida con cada CampusChangeEvent;
+ * el TTL acota cuánto tarda en verse una escritura hecha en otro pod.
+ */
+@Component
+@ConditionalOnProperty(name = "campus.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CampusResponseCache {
+
+    private static final String METRIC_PREFIX = "campus.response.cache.";
+
+    /**
+     * Clave del listado sin parámetros (conjunto de trabajo, sin las bajas)
+     */
+    public static final String LIST_KEY = "list";
+
+    /**
+     * Clave del listado con includeInactive=true
+     */
+    public static final String ALL_LIST_KEY = "list:all";
+
+    // Páginas pequeñas para no desperdiciar slab con las respuestas de un campus (unos cientos de bytes);
+    // con límites muy pequeños la página baja hasta que caben al menos MIN_PAGES
+    private static final int MAX_PAGE_BYTES = 512;
+    private static final int MIN_PAGES = 64;
+    private static final int COPY_CHUNK_BYTES = 8 * 1024;
+    private static final int POOLED_CHUNKS = 64;
+
+    /**
+     * Respuesta guardada: sus páginas del slab sólo vuelven a la lista libre cuando se ha expulsado
+     * y ya no la está escribiendo ningún acierto (pins == 0)
+     */
+    private static final class Entry {
+        private final int[] pages;
+        private final int length;
+        private final long expiresAtNanos;
+        private int pins;
+        private boolean removed;
+
+        private Entry(int[] pages, int length, long expiresAtNanos) {
+            this.pages = pages;
+            this.length = length;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final int pageBytes;
+    private final ByteBuffer slab;
+    // Pila de páginas libres (sin boxing)
+    private final int[] freePages;
+    private int freeCount;
+    private final BlockingQueue<byte[]> copyChunks = new ArrayBlockingQueue<>(POOLED_CHUNKS);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long usedBytes;
+    // Se incrementa en cada invalidación: una respuesta calculada antes de una escritura no se guarda
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public CampusResponseCache(MeterRegistry meterRegistry,
+                               @Value("${campus.response-cache.max-bytes:16777216}") long maxBytes,
+                               @Value("${campus.response-cache.ttl-seconds:10}") long ttlSeconds) {
+        this.maxBytes = Math.clamp(maxBytes, 1, Integer.MAX_VALUE);
+        this.ttlNanos = Duration.ofSeconds(Math.max(1, ttlSeconds)).toNanos();
+        this.pageBytes = (int) Math.clamp(this.maxBytes / MIN_PAGES, 1, MAX_PAGE_BYTES);
+        int pageCount = (int) (this.maxBytes / pageBytes);
+        this.slab = ByteBuffer.allocateDirect(pageCount * pageBytes);
+        this.freePages = new int[pageCount];
+        for (int page = 0; page < pageCount; page++) {
+            freePages[freeCount++] = page;
+        }
+        bindMetrics(meterRegistry);
+    }
+
+    private void bindMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder(METRIC_PREFIX + "hits", hits, LongAdder::sum)
+                .description("Campus responses served from pre-serialized JSON")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + "misses", misses, LongAdder::sum)
+                .description("Campus responses that had to be serialized")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + "evictions", evictions, LongAdder::sum)
+                .description("Entries evicted to stay under the byte limit")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + "invalidations", invalidations, LongAdder::sum)
+                .description("Entries dropped because a campus changed")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "bytes", this, CampusResponseCache::getUsedBytes)
+                .description("Off-heap bytes held by the response cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "entries", this, CampusResponseCache::size)
+                .description("Pre-serialized responses in the cache")
+                .register(meterRegistry);
+    }
+
+    public static String campusKey(String id) {
+        return "campus:" + id;
+    }
+
+    /**
+     * Acierto de la caché. Mientras no se cierre, sus páginas no se reutilizan aunque la entrada se invalide
+     */
+    public final class CachedResponse implements AutoCloseable {
+
+        private final Entry entry;
+        private boolean closed;
+
+        private CachedResponse(Entry entry) {
+            this.entry = entry;
+        }
+
+        public int length() {
+            return entry.length;
+        }
+
+        /**
+         * Copia la respuesta al stream de salida con un buffer de transferencia reutilizado
+         */
+        public void writeTo(OutputStream out) throws IOException {
+            byte[] chunk = copyChunks.poll();
+            if (chunk == null) {
+                chunk = new byte[COPY_CHUNK_BYTES];
+            }
+            try {
+                int written = 0;
+                int filled = 0;
+                for (int page : entry.pages) {
+                    int length = Math.min(pageBytes, entry.length - written);
+                    if (filled + length > chunk.length) {
+                        out.write(chunk, 0, filled);
+                        filled = 0;
+                    }
+                    // Lectura absoluta: no toca la posición del slab, compartido entre hilos
+                    slab.get(page * pageBytes, chunk, filled, length);
+                    filled += length;
+                    written += length;
+                }
+                out.write(chunk, 0, filled);
+            } finally {
+                copyChunks.offer(chunk);
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (!closed) {
+                    closed = true;
+                    entry.pins--;
+                    releaseIfUnused(entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // ============ Lectura y escritura ============
+
+    /**
+     * Generación actual; debe leerse antes de cargar los datos que se van a serializar
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Respuesta serializada; el llamador debe cerrarla al terminar de escribirla
+     * @param key clave
+     * @return acierto vigente
+     */
+    public Optional<CachedResponse> get(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null || entry.expiresAtNanos - System.nanoTime() < 0) {
+                if (entry != null) {
+                    remove(key);
+                }
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            entry.pins++;
+            return Optional.of(new CachedResponse(entry));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Guarda una respuesta serializada si no ha habido escrituras desde que se leyó la generación
+     * @param key clave
+     * @param json bytes JSON
+     * @param observedGeneration generación leída antes de cargar los datos
+     * @return true si se guardó
+     */
+    public boolean put(String key, byte[] json, long observedGeneration) {
+        if (json.length > maxBytes || generation.get() != observedGeneration) {
+            return false;
+        }
+        int[] pages = reservePages(json.length, observedGeneration);
+        if (pages == null) {
+            return false;
+        }
+        // La copia al slab se hace fuera del lock: las páginas reservadas aún no son visibles para nadie
+        for (int i = 0, offset = 0; i < pages.length; i++, offset += pageBytes) {
+            slab.put(pages[i] * pageBytes, json, offset, Math.min(pageBytes, json.length - offset));
+        }
+        lock.lock();
+        try {
+            Entry entry = new Entry(pages, json.length, System.nanoTime() + ttlNanos);
+            if (generation.get() != observedGeneration) {
+                entry.removed = true;
+                releaseIfUnused(entry);
+                return false;
+            }
+            remove(key);
+            entries.put(key, entry);
+            usedBytes += json.length;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Toma las páginas libres necesarias, expulsando las entradas menos usadas si hace falta
+     * @return páginas reservadas, o null si hubo una escritura o no hay sitio (entradas aún en uso)
+     */
+    private int[] reservePages(int length, long observedGeneration) {
+        int needed = Math.max(1, (length + pageBytes - 1) / pageBytes);
+        lock.lock();
+        try {
+            if (generation.get() != observedGeneration) {
+                return null;
+            }
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (freeCount < needed && eldest.hasNext()) {
+                Entry evicted = eldest.next().getValue();
+                eldest.remove();
+                discard(evicted);
+                evictions.increment();
+            }
+            if (freeCount < needed) {
+                return null;
+            }
+            int[] pages = new int[needed];
+            for (int i = 0; i < needed; i++) {
+                pages[i] = freePages[--freeCount];
+            }
+            return pages;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            discard(removed);
+        }
+    }
+
+    private void discard(Entry entry) {
+        usedBytes -= entry.length;
+        entry.removed = true;
+        releaseIfUnused(entry);
+    }
+
+    private void releaseIfUnused(Entry entry) {
+        if (entry.removed && entry.pins == 0) {
+            for (int page : entry.pages) {
+                freePages[freeCount++] = page;
+            }
+        }
+    }
+
+    // ============ Invalidación ============
+
+    @EventListener
+    public void onCampusChange(CampusChangeEvent event) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            invalidate(campusKey(event.campusId()));
+            invalidate(LIST_KEY);
+            invalidate(ALL_LIST_KEY);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onBulkChange(CampusBulkChangeEvent event) {
+        clear();
+    }
+
+    @EventListener
+    public void onArchived(CampusArchivedEvent event) {
+        clear();
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            invalidations.add(entries.size());
+            entries.values().forEach(this::discard);
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void invalidate(String key) {
+        if (entries.containsKey(key)) {
+            remove(key);
+            invalidations.increment();
+        }
+    }
+
+    // ============ Estadísticas ============
+
+    public long getUsedBytes() {
+        lock.lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+}
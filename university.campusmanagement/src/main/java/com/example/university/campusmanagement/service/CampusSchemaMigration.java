@@ -0,0 +1,269 @@
+package com.example.university.campusmanagement.service;
+
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.CampusSchema;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Migración en línea de los campus a la codificación compacta (CampusSchema, versión 2).
+ * Recorre la colección por _id en lotes, desde el último _id confirmado (checkpoint en la colección migrations),
+ * y reescribe cada documento de la versión 1 con un replaceOne condicionado a que siga sin migrar y a que nadie
+ * lo haya modificado desde la lectura (mismo changeSeq); los que cambian entretanto se recogen en la siguiente pasada.
+ * No toca lastModified ni changeSeq: el contenido lógico del campus no cambia, así que no genera eventos.
+ * Un lease en el checkpoint evita que varias instancias migren a la vez; si una cae, otra continúa al expirar.
+ */
+@Component
+@ConditionalOnProperty(name = "campus.schema-migration.enabled", havingValue = "true", matchIfMissing = true)
+public class CampusSchemaMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusSchemaMigration.class);
+
+    public static final String MIGRATIONS_COLLECTION = "migrations";
+    public static final String MIGRATION_ID = "campus-compact-v" + CampusSchema.CURRENT_VERSION;
+    private static final String ID_FIELD = "_id";
+    private static final String LAST_ID_FIELD = "lastId";
+    private static final String MIGRATED_FIELD = "migrated";
+    private static final String PASSES_FIELD = "passes";
+    private static final String COMPLETED_AT_FIELD = "completedAt";
+    private static final String LOCKED_BY_FIELD = "lockedBy";
+    private static final String LOCKED_UNTIL_FIELD = "lockedUntil";
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+    private final long pauseMs;
+    private final int maxBatchesPerRun;
+    private final Duration lease;
+    private final String collection;
+    private final String owner = UUID.randomUUID().toString();
+    private final LongAdder migrated = new LongAdder();
+    private final ReentrantLock runLock = new ReentrantLock();
+    private volatile boolean completed;
+
+    public CampusSchemaMigration(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                                 @Value("${campus.schema-migration.batch-size:500}") int batchSize,
+                                 @Value("${campus.schema-migration.pause-ms:100}") long pauseMs,
+                                 @Value("${campus.schema-migration.max-batches-per-run:200}") int maxBatchesPerRun,
+                                 @Value("${campus.schema-migration.lease-seconds:300}") long leaseSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.collection = mongoTemplate.getCollectionName(Campus.class);
+        FunctionCounter.builder("campus.schema.migration.migrated", migrated, LongAdder::sum)
+                .description("Campus documents rewritten with the compact encoding")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lee al arrancar si otra instancia ya terminó la migración, para no esperar a la primera ejecución
+     * programada antes de dejar de consultar los campos de la versión 1
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadStatus() {
+        try {
+            Document checkpoint = mongoTemplate.findById(MIGRATION_ID, Document.class, MIGRATIONS_COLLECTION);
+            completed = checkpoint != null && checkpoint.get(COMPLETED_AT_FIELD) != null;
+        } catch (RuntimeException e) {
+            logger.warn("Could not read campus schema migration status: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cada ejecución corre en un virtual thread: las pausas entre lotes no ocupan el hilo del planificador
+     */
+    @Scheduled(initialDelayString = "${campus.schema-migration.initial-delay-ms:30000}",
+            fixedDelayString = "${campus.schema-migration.interval-ms:60000}")
+    public void migrateScheduled() {
+        if (completed || runLock.isLocked()) {
+            return;
+        }
+        Thread.ofVirtual().name("campus-schema-migration").start(() -> {
+            try {
+                migrate(Instant.now());
+            } catch (RuntimeException e) {
+                // El checkpoint conserva lo confirmado; la siguiente ejecución continúa desde ahí
+                logger.warn("Campus schema migration failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Migra hasta maxBatchesPerRun lotes desde el último checkpoint
+     * @param now instante de referencia para el lease
+     * @return documentos migrados en esta ejecución (0 si otra instancia tiene el lease o ya terminó)
+     */
+    public long migrate(Instant now) {
+        if (completed || !runLock.tryLock()) {
+            return 0;
+        }
+        try {
+            Document checkpoint = acquire(now);
+            if (checkpoint == null) {
+                return 0;
+            }
+            Object lastId = checkpoint.get(LAST_ID_FIELD);
+            long migratedInRun = 0;
+            try {
+                for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                    Query candidates = query(legacy(lastId)).with(Sort.by(ID_FIELD)).limit(batchSize);
+                    List<Document> documents = mongoTemplate.find(candidates, Document.class, collection);
+                    if (!documents.isEmpty()) {
+                        int rewritten = rewrite(documents);
+                        migratedInRun += rewritten;
+                        migrated.add(rewritten);
+                        lastId = documents.get(documents.size() - 1).get(ID_FIELD);
+                        saveCheckpoint(lastId, rewritten);
+                    }
+                    if (documents.size() < batchSize) {
+                        finishPass(now);
+                        break;
+                    }
+                    pause();
+                }
+            } finally {
+                release();
+            }
+            if (migratedInRun > 0) {
+                logger.info("Migrated {} campus documents to schema version {}", migratedInRun, CampusSchema.CURRENT_VERSION);
+            }
+            return migratedInRun;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Reescribe un lote; cada reemplazo sólo se aplica si el documento sigue como se leyó
+     * @return documentos reescritos
+     */
+    private int rewrite(List<Document> documents) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        for (Document document : documents) {
+            // Las actualizaciones parciales (group commit, importación) siempre escriben una nueva secuencia en q;
+            // {q: null} también casa con un documento que aún no lo tiene
+            Query unchanged = query(where(ID_FIELD).is(document.get(ID_FIELD))
+                    .and(CampusSchema.VERSION).exists(false)
+                    .and(CampusSchema.CHANGE_SEQ).is(document.get(CampusSchema.CHANGE_SEQ)));
+            bulk.replaceOne(unchanged, CampusSchema.toCompact(document), FindAndReplaceOptions.none());
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
+    private static Criteria legacy(Object lastId) {
+        Criteria criteria = where(CampusSchema.VERSION).exists(false);
+        return lastId == null ? criteria : criteria.and(ID_FIELD).gt(lastId);
+    }
+
+    // ============ Checkpoint y lease ============
+
+    /**
+     * Toma (o renueva) el lease del checkpoint
+     * @return checkpoint, o null si la migración ya terminó o la está ejecutando otra instancia
+     */
+    private Document acquire(Instant now) {
+        Query available = query(where(ID_FIELD).is(MIGRATION_ID)
+                .and(COMPLETED_AT_FIELD).exists(false)
+                .orOperator(where(LOCKED_UNTIL_FIELD).is(null),
+                        where(LOCKED_UNTIL_FIELD).lt(Date.from(now)),
+                        where(LOCKED_BY_FIELD).is(owner)));
+        Update lock = new Update()
+                .set(LOCKED_BY_FIELD, owner)
+                .set(LOCKED_UNTIL_FIELD, Date.from(now.plus(lease)));
+        try {
+            return mongoTemplate.findAndModify(available, lock, FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    Document.class, MIGRATIONS_COLLECTION);
+        } catch (DuplicateKeyException e) {
+            // El checkpoint existe pero no está disponible: ¿terminado o de otra instancia?
+            Document checkpoint = mongoTemplate.findById(MIGRATION_ID, Document.class, MIGRATIONS_COLLECTION);
+            completed = checkpoint != null && checkpoint.get(COMPLETED_AT_FIELD) != null;
+            return null;
+        }
+    }
+
+    /**
+     * Confirma el lote y renueva el lease
+     */
+    private void saveCheckpoint(Object lastId, int rewritten) {
+        mongoTemplate.updateFirst(query(where(ID_FIELD).is(MIGRATION_ID).and(LOCKED_BY_FIELD).is(owner)),
+                new Update().set(LAST_ID_FIELD, lastId)
+                        .inc(MIGRATED_FIELD, rewritten)
+                        .set(LOCKED_UNTIL_FIELD, Date.from(Instant.now().plus(lease))),
+                MIGRATIONS_COLLECTION);
+    }
+
+    /**
+     * Fin del recorrido: si quedan documentos sin migrar (cambiaron durante la pasada) se empieza otra
+     * desde el principio; si no, la migración se da por terminada
+     */
+    private void finishPass(Instant now) {
+        Update update = new Update().unset(LAST_ID_FIELD).inc(PASSES_FIELD, 1);
+        boolean remaining = mongoTemplate.exists(query(where(CampusSchema.VERSION).exists(false)), collection);
+        if (!remaining) {
+            update.set(COMPLETED_AT_FIELD, Date.from(now));
+            completed = true;
+            logger.info("Campus schema migration to version {} completed", CampusSchema.CURRENT_VERSION);
+        }
+        mongoTemplate.updateFirst(query(where(ID_FIELD).is(MIGRATION_ID).and(LOCKED_BY_FIELD).is(owner)), update,
+                MIGRATIONS_COLLECTION);
+    }
+
+    private void release() {
+        mongoTemplate.updateFirst(query(where(ID_FIELD).is(MIGRATION_ID).and(LOCKED_BY_FIELD).is(owner)),
+                new Update().unset(LOCKED_BY_FIELD).unset(LOCKED_UNTIL_FIELD), MIGRATIONS_COLLECTION);
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Campus schema migration interrupted", e);
+        }
+    }
+
+    public long getMigrated() {
+        return migrated.sum();
+    }
+
+    /**
+     * Mientras sea false, las consultas por estado, ciudad o nombre incluyen los campos de la versión 1
+     * (ver CampusReadRouter.legacyDocumentsRemain)
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+}
@@ -1,38 +1,135 @@
 package com.example.university.campusmanagement.service;
 
+import com.example.university.campusmanagement.constants.Constants;
+import com.example.university.campusmanagement.dto.CampusFieldSet;
+import com.example.university.campusmanagement.event.CampusChangeEvent;
 import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.CampusSchema;
+import com.example.university.campusmanagement.repository.CampusReadRouter;
 import com.example.university.campusmanagement.repository.CampusRepository;
+import com.example.university.campusmanagement.util.ChangeSequence;
+import com.example.university.campusmanagement.util.SingleFlight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
 
 /**
  * Servicio para gestión de campus con soporte para el patrón State
  */
 @Service
-public class CampusService implements CrudService {
+public class CampusService implements CrudService<Campus, String> {
 
     private static final Logger logger = LoggerFactory.getLogger(CampusService.class);
 
     // Constantes para evitar magic strings
     private static final String ACTIVE_STATE = "ACTIVE";
-    private static final String CAMPUS_NOT_FOUND_MSG = "Campus not found with id: ";
-    private static final String ENTITY_TYPE_ERROR = "Entity must be of type Campus";
+    private static final String ENTITY_REQUIRED_ERROR = "Campus cannot be null";
 
-    private final CampusRepository campusRepository;
+    // Coalescencia de lecturas concurrentes idénticas
+    private static final Duration COALESCING_TIMEOUT = Duration.ofSeconds(2);
+    private static final String ALL_CAMPUSES_KEY = "*";
+    private static final String LIVE_CAMPUSES_KEY = "live";
+
+    // Feed de cambios: sólo se entregan secuencias más antiguas que esta ventana, para que una escritura
+    // en vuelo (secuencia ya asignada, aún sin confirmar) no quede por detrás del token devuelto.
+    // saveAndPublish hace cumplir la cota: una escritura que tarda más en confirmarse recibe una secuencia nueva
+    private static final Duration CHANGE_SETTLE_WINDOW = Duration.ofSeconds(3);
+    private static final Sort CHANGE_ORDER = Sort.by("changeSeq", "id");
+
+    /**
+     * Posición en el feed de cambios. Pods distintos pueden escribir la misma secuencia, así que una página que
+     * termina a mitad de una secuencia guarda también el último _id entregado con ella
+     * @param sequence secuencia entregada (por completo si afterId es null)
+     * @param afterId último _id entregado con esa secuencia, o null
+     */
+    public record ChangeToken(long sequence, String afterId) {
+
+        private static final char SEPARATOR = ':';
+
+        /**
+         * @param token "secuencia" o "secuencia:_id", tal como lo devuelve toString()
+         * @throws IllegalArgumentException si el token no tiene ese formato
+         */
+        public static ChangeToken parse(String token) {
+            int separator = token.indexOf(SEPARATOR);
+            long sequence = Long.parseLong(separator < 0 ? token : token.substring(0, separator));
+            String afterId = separator < 0 ? null : token.substring(separator + 1);
+            if (sequence < 0 || (afterId != null && afterId.isEmpty())) {
+                throw new IllegalArgumentException("Invalid change token: " + token);
+            }
+            return new ChangeToken(sequence, afterId);
+        }
+
+        @Override
+        public String toString() {
+            return afterId == null ? Long.toString(sequence) : sequence + String.valueOf(SEPARATOR) + afterId;
+        }
+    }
 
-    public CampusService(CampusRepository campusRepository) {
-        this.campusRepository = Objects.requireNonNull(campusRepository, "CampusRepository cannot be null");
+    /**
+     * Página del feed de cambios
+     * @param campuses campus creados, modificados o desactivados, en orden de (secuencia, _id)
+     * @param nextToken posición desde la que continuar
+     * @param hasMore true si hay más cambios hasta el token actual
+     */
+    public record ChangeFeed(List<Campus> campuses, ChangeToken nextToken, boolean hasMore) {
     }
 
-    // ============ Implementación de CrudService (manteniendo tipos Object) ============
+    private final CampusRepository campusRepository;
+    private final CampusReadRouter readRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransitionGroupCommitter groupCommitter;
+    private final CampusCatalogCache catalogCache;
+    private final CampusOutbox outbox;
+    private final SingleFlight<String, Optional<Campus>> findByIdFlights = new SingleFlight<>(COALESCING_TIMEOUT);
+    private final SingleFlight<String, List<Campus>> listFlights = new SingleFlight<>(COALESCING_TIMEOUT);
+
+    public CampusService(CampusReadRouter readRouter, ApplicationEventPublisher eventPublisher,
+                         Optional<TransitionGroupCommitter> groupCommitter,
+                         Optional<CampusCatalogCache> catalogCache,
+                         Optional<CampusOutbox> outbox) {
+        this.readRouter = Objects.requireNonNull(readRouter, "CampusReadRouter cannot be null");
+        this.eventPublisher = Objects.requireNonNull(eventPublisher, "ApplicationEventPublisher cannot be null");
+        // Group commit opcional (campus.group-commit.enabled)
+        this.groupCommitter = groupCommitter.orElse(null);
+        // Caché del catálogo con snapshot local (campus.catalog-cache.enabled)
+        this.catalogCache = catalogCache.orElse(null);
+        // Outbox transaccional para webhooks (campus.webhooks.enabled)
+        this.outbox = outbox.orElse(null);
+        this.campusRepository = readRouter.forWrites();
+    }
+
+    // ============ Implementación de CrudService<Campus, String> ============
 
     @Override
-    public Object create(Object entity) {
-        Campus campus = validateAndCastToCampus(entity);
+    public Campus create(Campus campus) {
+        requireCampus(campus);
 
         // Asegurar que el campus tenga un estado inicial válido
         if (campus.getCurrentState() == null || campus.getCurrentState().isEmpty()) {
@@ -40,45 +137,234 @@ public class CampusService implements CrudService {
         }
 
         logger.info("Creating new campus: {} with state: {}", campus.getName(), campus.getCurrentState());
-        return campusRepository.save(campus);
+        Instant now = Instant.now();
+        campus.setCreatedAt(now);
+        campus.setLastModified(now);
+        return saveAndPublish(campus, CampusChangeEvent::created);
     }
 
     @Override
-    public List<Object> findAll() {
-        List<Campus> campuses = campusRepository.findAll();
+    public List<Campus> findAll() {
+        // Lista inmodificable compartida: se entrega tal cual, sin pasadas de copia adicionales
+        List<Campus> campuses = loadAllCampuses();
         logger.debug("Retrieved {} campuses from database", campuses.size());
-        // CORREGIDO: Usar referencia de método en lugar de lambda
-        return campuses.stream().map(Object.class::cast).toList();
+        return campuses;
+    }
+
+    @Override
+    public Stream<Campus> streamAll() {
+        if (catalogCache != null && catalogCache.isWarm()) {
+            return catalogCache.all().stream();
+        }
+        // Cursor de MongoDB: los documentos se leen por lotes a medida que se consumen
+        return readRouter.forReads().streamAllBy();
+    }
+
+    @Override
+    public Page<Campus> findAll(Pageable pageable) {
+        Page<Campus> page = readRouter.forReads().findAll(pageable);
+        logger.debug("Retrieved page {} of campuses ({} elements)", page.getNumber(), page.getNumberOfElements());
+        return page;
+    }
+
+    // ============ Conjunto de trabajo (sin bajas lógicas) ============
+
+    /**
+     * Obtiene los campus del conjunto de trabajo: todos salvo los dados de baja (INACTIVE)
+     * @param includeInactive true para incluir también las bajas (equivale a findAll())
+     * @return lista inmodificable
+     */
+    public List<Campus> findAll(boolean includeInactive) {
+        if (includeInactive) {
+            return findAll();
+        }
+        if (catalogCache != null && catalogCache.isWarm()) {
+            return catalogCache.all().stream().filter(CampusService::isLive).toList();
+        }
+        // Con el índice parcial del conjunto de trabajo, las bajas no se leen
+        return listFlights.execute(LIVE_CAMPUSES_KEY, () -> Collections.unmodifiableList(
+                readRouter.forReads().findByCurrentStateIn(Constants.States.LIVE, readRouter.legacyDocumentsRemain())));
+    }
+
+    /**
+     * Página de campus, por defecto sin las bajas
+     * @param pageable página y orden
+     * @param includeInactive true para incluir también las bajas
+     */
+    public Page<Campus> findAll(Pageable pageable, boolean includeInactive) {
+        if (includeInactive) {
+            return findAll(pageable);
+        }
+        Page<Campus> page = readRouter.forReads().findByCurrentStateIn(Constants.States.LIVE, pageable,
+                readRouter.legacyDocumentsRemain());
+        logger.debug("Retrieved page {} of live campuses ({} elements)", page.getNumber(), page.getNumberOfElements());
+        return page;
     }
 
     @Override
-    public Object update(String id, Object entity) {
-        Campus campusUpdate = validateAndCastToCampus(entity);
+    public Campus update(String id, Campus campusUpdate) {
+        requireCampus(campusUpdate);
         Campus existingCampus = findCampusById(id);
+        String previousState = existingCampus.getCurrentState();
+        boolean previousActive = existingCampus.isActive();
 
         updateCampusFields(existingCampus, campusUpdate);
+        existingCampus.setLastModified(Instant.now());
 
-        return campusRepository.save(existingCampus);
+        return saveAndPublish(existingCampus, saved -> CampusChangeEvent.updated(saved, previousState, previousActive));
     }
 
     @Override
-    public Object findById(String id) {
-        Campus campus = findCampusById(id);
+    public Campus findById(String id) {
+        // Lectura pura: caché del catálogo, o secundario compartiendo la consulta entre llamadas concurrentes
+        Campus campus = findCachedOrLoad(id)
+                .orElseThrow(() -> new CampusNotFoundException(id));
         logger.debug("Retrieved campus: {} with state: {}", campus.getName(), campus.getCurrentState());
-        return campus; // Campus es compatible con Object
+        return campus;
     }
 
     @Override
     public void delete(String id) {
-        Campus campus = findCampusById(id);
-
         // En lugar de eliminar, desactivamos el campus (soft delete)
-        campus.deactivate();
-        campusRepository.save(campus);
+        Campus campus = applyTransition(id, Campus::deactivate);
 
         logger.info("Campus {} has been deactivated", campus.getName());
     }
 
+    @Override
+    public Class<Campus> entityType() {
+        return Campus.class;
+    }
+
+    @Override
+    public Class<String> idType() {
+        return String.class;
+    }
+
+    // ============ Lecturas con proyección (sparse fieldsets) ============
+
+    /**
+     * Obtiene todos los campus leyendo de MongoDB sólo los campos solicitados.
+     * Con la caché del catálogo caliente no hay E/S y se devuelven los campus completos.
+     * @param fields propiedades solicitadas
+     * @return lista inmodificable; con proyección sólo los campos solicitados están cargados
+     */
+    public List<Campus> findAll(CampusFieldSet fields) {
+        return findAll(fields, true);
+    }
+
+    /**
+     * Como findAll(CampusFieldSet), por defecto sin las bajas
+     * @param fields propiedades solicitadas
+     * @param includeInactive true para incluir también las bajas
+     */
+    public List<Campus> findAll(CampusFieldSet fields, boolean includeInactive) {
+        Optional<MongoOperations> operations = projectionOperations(fields);
+        if (operations.isEmpty()) {
+            return findAll(includeInactive);
+        }
+        Query query = includeInactive ? new Query()
+                : query(CampusSchema.stateIn(Constants.States.LIVE, readRouter.legacyDocumentsRemain()));
+        return listFlights.execute("fields:" + fields.key() + (includeInactive ? "" : ":" + LIVE_CAMPUSES_KEY),
+                () -> Collections.unmodifiableList(operations.get().find(fields.applyTo(query), Campus.class)));
+    }
+
+    /**
+     * Busca un campus por ID leyendo sólo los campos solicitados
+     * @param id ID del campus
+     * @param fields propiedades solicitadas
+     * @return campus (parcial si hubo proyección; nunca se guarda en la caché)
+     * @throws CampusNotFoundException si el campus no existe
+     */
+    public Campus findById(String id, CampusFieldSet fields) {
+        if (!fields.isAll() && catalogCache != null) {
+            Optional<Campus> cached = catalogCache.get(id);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+        Optional<MongoOperations> operations = projectionOperations(fields);
+        if (operations.isEmpty()) {
+            return findById(id);
+        }
+        Campus campus = operations.get().findOne(fields.applyTo(query(where("_id").is(id))), Campus.class);
+        if (campus == null) {
+            throw new CampusNotFoundException(id);
+        }
+        return campus;
+    }
+
+    /**
+     * Busca varios campus por ID en una sola consulta ($in) a la BD.
+     * Los que ya están en la caché del catálogo no se consultan; sólo se leen los fallos.
+     * @param ids IDs solicitados (los repetidos se consultan una vez)
+     * @param fields propiedades solicitadas
+     * @return campus encontrados por ID (los inexistentes no aparecen)
+     */
+    public Map<String, Campus> findAllById(Collection<String> ids, CampusFieldSet fields) {
+        Map<String, Campus> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            Optional<Campus> cached = catalogCache != null ? catalogCache.get(id) : Optional.empty();
+            if (cached.isPresent()) {
+                found.put(id, cached.get());
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            loadAllById(misses, fields).forEach(campus -> found.put(campus.getId(), campus));
+        }
+        return found;
+    }
+
+    /**
+     * Recorre todos los campus con un cursor que sólo trae los campos solicitados.
+     * El stream debe cerrarse tras usarlo.
+     * @param fields propiedades solicitadas
+     * @return stream de campus
+     */
+    public Stream<Campus> streamAll(CampusFieldSet fields) {
+        Optional<MongoOperations> operations = projectionOperations(fields);
+        if (operations.isEmpty()) {
+            return streamAll();
+        }
+        return operations.get().stream(fields.applyTo(new Query()), Campus.class);
+    }
+
+    // ============ Feed de cambios (sincronización delta) ============
+
+    /**
+     * Campus escritos después de un token, para que un cliente se sincronice en O(cambios).
+     * Se lee del primario: un secundario con retraso podría no tener aún cambios anteriores al token.
+     * Completo si cada escritura se confirma dentro de CHANGE_SETTLE_WINDOW desde que recibe su secuencia
+     * (ver saveAndPublish) y los relojes de los pods no se desvían más que eso.
+     * @param since token devuelto por la llamada anterior; vacío para la sincronización inicial (catálogo completo)
+     * @param limit máximo de campus por página
+     * @return página de cambios y token siguiente
+     */
+    public ChangeFeed changesSince(Optional<ChangeToken> since, int limit) {
+        long upTo = ChangeSequence.at(Instant.now().minus(CHANGE_SETTLE_WINDOW));
+        if (since.isEmpty()) {
+            // El token se fija antes de leer: lo escrito durante la lectura se volverá a entregar (idempotente por id)
+            return new ChangeFeed(campusRepository.findAll(), new ChangeToken(upTo, null), false);
+        }
+        ChangeToken after = since.get();
+        if (after.sequence() > upTo || (after.sequence() == upTo && after.afterId() == null)) {
+            return new ChangeFeed(List.of(), after, false);
+        }
+        PageRequest firstPage = PageRequest.of(0, limit + 1, CHANGE_ORDER);
+        List<Campus> changed = after.afterId() == null
+                ? campusRepository.findChangedBetween(after.sequence(), upTo, firstPage)
+                : campusRepository.findChangedAfter(after.sequence(), after.afterId(), upTo, firstPage);
+        if (changed.size() > limit) {
+            List<Campus> page = changed.subList(0, limit);
+            Campus last = page.get(limit - 1);
+            return new ChangeFeed(page, new ChangeToken(last.getChangeSeq(), last.getId()), true);
+        }
+        return new ChangeFeed(changed, new ChangeToken(upTo, null), false);
+    }
+
     // ============ Métodos específicos de Campus (con tipos Campus para mayor claridad) ============
 
     /**
@@ -86,21 +372,17 @@ public class CampusService implements CrudService {
      * @return lista de campus
      */
     public List<Campus> getAllCampuses() {
-        List<Campus> campuses = campusRepository.findAll();
-        logger.debug("Retrieved {} campuses from database", campuses.size());
-        return campuses;
+        return findAll();
     }
 
     /**
      * Activa un campus por ID
      * @param id ID del campus a activar
      * @return Campus activado
-     * @throws RuntimeException si el campus no existe
+     * @throws CampusNotFoundException si el campus no existe
      */
     public Campus activateCampus(String id) {
-        Campus campus = findCampusById(id);
-        campus.activate();
-        Campus savedCampus = campusRepository.save(campus);
+        Campus savedCampus = applyTransition(id, Campus::activate);
         logger.info("Campus {} activated successfully", savedCampus.getName());
         return savedCampus;
     }
@@ -109,12 +391,10 @@ public class CampusService implements CrudService {
      * Desactiva un campus por ID
      * @param id ID del campus a desactivar
      * @return Campus desactivado
-     * @throws RuntimeException si el campus no existe
+     * @throws CampusNotFoundException si el campus no existe
      */
     public Campus deactivateCampus(String id) {
-        Campus campus = findCampusById(id);
-        campus.deactivate();
-        Campus savedCampus = campusRepository.save(campus);
+        Campus savedCampus = applyTransition(id, Campus::deactivate);
         logger.info("Campus {} deactivated successfully", savedCampus.getName());
         return savedCampus;
     }
@@ -123,13 +403,11 @@ public class CampusService implements CrudService {
      * Pone un campus en mantenimiento por ID
      * @param id ID del campus a poner en mantenimiento
      * @return Campus en mantenimiento
-     * @throws RuntimeException si el campus no existe
+     * @throws CampusNotFoundException si el campus no existe
      * @throws IllegalStateException si la transición de estado no es válida
      */
     public Campus putCampusInMaintenance(String id) {
-        Campus campus = findCampusById(id);
-        campus.putInMaintenance();
-        Campus savedCampus = campusRepository.save(campus);
+        Campus savedCampus = applyTransition(id, Campus::putInMaintenance);
         logger.info("Campus {} put in maintenance mode", savedCampus.getName());
         return savedCampus;
     }
@@ -144,10 +422,10 @@ public class CampusService implements CrudService {
             return List.of();
         }
 
-        List<Campus> allCampuses = campusRepository.findAll();
-        return allCampuses.stream()
-                .filter(campus -> stateName.equalsIgnoreCase(campus.getCurrentState()))
-                .toList();
+        String normalizedState = stateName.trim().toUpperCase(Locale.ROOT);
+        return listFlights.execute("state:" + normalizedState, () -> loadAllCampuses().stream()
+                .filter(campus -> normalizedState.equalsIgnoreCase(campus.getCurrentState()))
+                .toList());
     }
 
     /**
@@ -155,7 +433,7 @@ public class CampusService implements CrudService {
      * @return lista de campus disponibles para estudiantes
      */
     public List<Campus> findAvailableForStudents() {
-        List<Campus> allCampuses = campusRepository.findAll();
+        List<Campus> allCampuses = loadAllCampuses();
         return allCampuses.stream()
                 .filter(Campus::canAcceptStudents)
                 .toList();
@@ -163,28 +441,161 @@ public class CampusService implements CrudService {
 
     // ============ Métodos Privados de Utilidad ============
 
+    private static boolean isLive(Campus campus) {
+        return Constants.States.LIVE.contains(campus.getCurrentState());
+    }
+
     /**
-     * Valida y convierte un objeto a Campus
-     * @param entity objeto a validar
-     * @return Campus validado
-     * @throws IllegalArgumentException si el objeto no es un Campus
+     * Busca un campus en la caché del catálogo y, si no está, en la BD (coalesciendo llamadas concurrentes)
+     * @param id ID del campus
+     * @return campus encontrado
      */
-    private Campus validateAndCastToCampus(Object entity) {
-        if (!(entity instanceof Campus campus)) {
-            throw new IllegalArgumentException(ENTITY_TYPE_ERROR);
+    private Optional<Campus> findCachedOrLoad(String id) {
+        if (catalogCache != null) {
+            Optional<Campus> cached = catalogCache.get(id);
+            if (cached.isPresent()) {
+                return cached;
+            }
         }
-        return campus;
+        Optional<Campus> loaded = findByIdFlights.execute(id, () -> readRouter.forReads().findById(id));
+        if (catalogCache != null) {
+            loaded.ifPresent(catalogCache::put);
+        }
+        return loaded;
+    }
+
+    /**
+     * Lee de la BD los campus indicados en una sola consulta.
+     * Sin proyección los resultados completos alimentan la caché del catálogo
+     */
+    private List<Campus> loadAllById(List<String> ids, CampusFieldSet fields) {
+        Optional<MongoOperations> operations = projectionOperations(fields);
+        if (operations.isPresent()) {
+            return operations.get().find(fields.applyTo(query(where("_id").in(ids))), Campus.class);
+        }
+        List<Campus> loaded = readRouter.forReads().findAllById(ids);
+        if (catalogCache != null) {
+            loaded.forEach(catalogCache::put);
+        }
+        return loaded;
     }
 
     /**
-     * Busca un campus por ID con manejo de excepción
+     * Operaciones para una lectura con proyección, o vacío si no aporta nada: se piden todos los campos,
+     * la caché del catálogo ya tiene los datos en memoria o no hay plantilla de lectura disponible
+     */
+    private Optional<MongoOperations> projectionOperations(CampusFieldSet fields) {
+        if (fields.isAll() || (catalogCache != null && catalogCache.isWarm())) {
+            return Optional.empty();
+        }
+        return readRouter.readOperations();
+    }
+
+    /**
+     * Carga todos los campus compartiendo la consulta con otras peticiones concurrentes idénticas.
+     * La lista resultante es inmodificable porque puede entregarse a varios llamadores.
+     * @return lista de campus
+     */
+    private List<Campus> loadAllCampuses() {
+        if (catalogCache != null && catalogCache.isWarm()) {
+            return catalogCache.all();
+        }
+        return listFlights.execute(ALL_CAMPUSES_KEY,
+                () -> Collections.unmodifiableList(readRouter.forReads().findAll()));
+    }
+
+    /**
+     * Valida que se haya recibido un campus
+     * @param campus campus a validar
+     * @throws IllegalArgumentException si el campus es null
+     */
+    private void requireCampus(Campus campus) {
+        if (campus == null) {
+            throw new IllegalArgumentException(ENTITY_REQUIRED_ERROR);
+        }
+    }
+
+    /**
+     * Aplica una transición de estado sobre un campus, la persiste y publica el evento de cambio
+     * @param id ID del campus
+     * @param transition transición del patrón State a aplicar
+     * @return Campus persistido tras la transición
+     * @throws CampusNotFoundException si el campus no existe
+     */
+    private Campus applyTransition(String id, Consumer<Campus> transition) {
+        if (groupCommitter != null) {
+            TransitionGroupCommitter.TransitionResult result = groupCommitter.apply(id, () -> loadCampusById(id), transition);
+            eventPublisher.publishEvent(CampusChangeEvent.stateChanged(
+                    result.campus(), result.previousState(), result.previousActive()));
+            return result.campus();
+        }
+
+        Campus campus = findCampusById(id);
+        String previousState = campus.getCurrentState();
+        boolean previousActive = campus.isActive();
+
+        transition.accept(campus);
+        campus.setLastModified(Instant.now());
+
+        return saveAndPublish(campus, saved -> CampusChangeEvent.stateChanged(saved, previousState, previousActive));
+    }
+
+    /**
+     * Persiste un campus (con su mensaje de outbox si está habilitado) y publica el evento de cambio
+     * @param campus campus a guardar
+     * @param eventFactory construye el evento a partir del campus guardado
+     * @return Campus persistido
+     */
+    private Campus saveAndPublish(Campus campus, Function<Campus, CampusChangeEvent> eventFactory) {
+        long sequencedAt = System.nanoTime();
+        campus.setChangeSeq(ChangeSequence.next());
+        CampusChangeEvent event = outbox != null
+                ? outbox.saveWithOutbox(() -> campusRepository.save(campus), eventFactory)
+                : eventFactory.apply(campusRepository.save(campus));
+        if (System.nanoTime() - sequencedAt > CHANGE_SETTLE_WINDOW.toNanos()) {
+            resequence(event.campus());
+        }
+        eventPublisher.publishEvent(event);
+        return event.campus();
+    }
+
+    /**
+     * Una escritura confirmada fuera de la ventana de asentamiento puede haber quedado por detrás de un token
+     * ya entregado por el feed de cambios: se vuelve a escribir con una secuencia nueva para que se entregue
+     */
+    private void resequence(Campus saved) {
+        logger.warn("Campus {} took longer than {} to commit, assigning a new change sequence",
+                saved.getId(), CHANGE_SETTLE_WINDOW);
+        saved.setChangeSeq(ChangeSequence.next());
+        campusRepository.save(saved);
+    }
+
+    /**
+     * Busca un campus por ID en el primario (read-your-own-write antes de modificarlo).
+     * Si hay transiciones pendientes de group commit, se parte de esa versión.
      * @param id ID del campus
      * @return Campus encontrado
-     * @throws RuntimeException si no se encuentra el campus
+     * @throws CampusNotFoundException si no se encuentra el campus
      */
     private Campus findCampusById(String id) {
+        if (groupCommitter != null) {
+            Optional<Campus> pending = groupCommitter.pendingSnapshot(id);
+            if (pending.isPresent()) {
+                return pending.get();
+            }
+        }
+        return loadCampusById(id);
+    }
+
+    /**
+     * Carga un campus desde el primario
+     * @param id ID del campus
+     * @return Campus encontrado
+     * @throws CampusNotFoundException si no se encuentra el campus
+     */
+    private Campus loadCampusById(String id) {
         return campusRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException(CAMPUS_NOT_FOUND_MSG + id));
+                .orElseThrow(() -> new CampusNotFoundException(id));
     }
 
     /**
@@ -0,0 +1,148 @@
+package com.example.university.campusmanagement.service;
+
+import com.example.university.campusmanagement.model.Campus;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Formato binario compacto del snapshot local del catálogo de campus.
+ * Cabecera: magic (int), versión (int), instante del snapshot (long, epoch ms), número de campus (int).
+ * Cada campus: id, name, address, city, telephone y currentState como cadenas UTF-8 con longitud
+ * prefijada (-1 = null), active (byte), lastModified y createdAt (long, epoch ms, -1 = null) y changeSeq (long).
+ * La lectura usa un MappedByteBuffer para no copiar el fichero al heap antes de decodificarlo.
+ */
+public final class CampusSnapshotCodec {
+
+    private static final int MAGIC = 0x43414D50; // "CAMP"
+    private static final int FORMAT_VERSION = 3;
+    private static final int NULL_LENGTH = -1;
+    private static final long NULL_INSTANT = -1L;
+
+    /**
+     * Contenido de un snapshot
+     * @param takenAt instante en que se tomó
+     * @param campuses campus del catálogo
+     */
+    public record Snapshot(Instant takenAt, List<Campus> campuses) {
+    }
+
+    private CampusSnapshotCodec() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Escribe el snapshot de forma atómica (fichero temporal + move)
+     * @param path destino
+     * @param takenAt instante del snapshot
+     * @param campuses campus a guardar
+     * @throws IOException si falla la escritura
+     */
+    public static void write(Path path, Instant takenAt, Collection<Campus> campuses) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(takenAt.toEpochMilli());
+            out.writeInt(campuses.size());
+            for (Campus campus : campuses) {
+                writeString(out, campus.getId());
+                writeString(out, campus.getName());
+                writeString(out, campus.getAddress());
+                writeString(out, campus.getCity());
+                writeString(out, campus.getTelephone());
+                writeString(out, campus.getCurrentState());
+                out.writeBoolean(campus.isActive());
+                writeInstant(out, campus.getLastModified());
+                writeInstant(out, campus.getCreatedAt());
+                out.writeLong(campus.getChangeSeq());
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lee un snapshot mediante memory-mapped I/O
+     * @param path fichero del snapshot
+     * @return snapshot leído
+     * @throws IOException si el fichero no se puede leer o está corrupto
+     */
+    public static Snapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported campus snapshot format: " + path);
+            }
+            Instant takenAt = Instant.ofEpochMilli(buffer.getLong());
+            int count = buffer.getInt();
+
+            List<Campus> campuses = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Campus campus = new Campus();
+                campus.setId(readString(buffer));
+                campus.setName(readString(buffer));
+                campus.setAddress(readString(buffer));
+                campus.setCity(readString(buffer));
+                campus.setTelephone(readString(buffer));
+                campus.setCurrentState(readString(buffer));
+                campus.setActive(buffer.get() != 0);
+                campus.setLastModified(readInstant(buffer));
+                campus.setCreatedAt(readInstant(buffer));
+                campus.setChangeSeq(buffer.getLong());
+                campuses.add(campus);
+            }
+            return new Snapshot(takenAt, campuses);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupted campus snapshot: " + path, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant value) throws IOException {
+        out.writeLong(value != null ? value.toEpochMilli() : NULL_INSTANT);
+    }
+
+    private static Instant readInstant(MappedByteBuffer buffer) {
+        long epochMilli = buffer.getLong();
+        return epochMilli == NULL_INSTANT ? null : Instant.ofEpochMilli(epochMilli);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
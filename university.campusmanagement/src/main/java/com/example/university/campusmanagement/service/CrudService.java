@@ -1,11 +1,42 @@
 package com.example.university.campusmanagement.service;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Operaciones CRUD tipadas sobre una entidad
+ * @param <T> tipo de la entidad
+ * @param <ID> tipo del identificador
+ */
+public interface CrudService<T, ID> {
+    T create(T entity);
+    T update(ID id, T entity);
+    T findById(ID id);
+    void delete(ID id);
+
+    /**
+     * Obtiene todas las entidades
+     * @return lista inmodificable (puede compartirse entre llamadores, no se copia)
+     */
+    List<T> findAll();
+
+    /**
+     * Recorre todas las entidades sin materializarlas en una lista.
+     * El stream puede tener un cursor abierto detrás: debe cerrarse (try-with-resources).
+     * @return stream de entidades
+     */
+    Stream<T> streamAll();
+
+    /**
+     * Obtiene una página de entidades
+     * @param pageable página, tamaño y orden solicitados
+     * @return página de entidades
+     */
+    Page<T> findAll(Pageable pageable);
 
-public interface CrudService {
-    Object create(Object entity);
-    Object update(String id, Object entity);
-    Object findById(String id);
-    void delete(String id);
-    List<Object> findAll();
+    Class<T> entityType();
+    Class<ID> idType();
 }
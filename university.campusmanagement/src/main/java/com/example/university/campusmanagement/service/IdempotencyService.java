@@ -0,0 +1,177 @@
+package com.example.university.campusmanagement.service;
+
+import com.example.university.campusmanagement.model.IdempotencyRecord;
+import com.example.university.campusmanagement.repository.IdempotencyRecordRepository;
+import com.example.university.campusmanagement.util.BoundedTtlCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Servicio de claves de idempotencia.
+ * Las respuestas se guardan en la colección idempotency_keys (índice TTL) con una caché en memoria delante,
+ * de modo que un reintento se responde sin re-ejecutar la operación ni consultar MongoDB.
+ * Sin MongoDB (perfil logstore) se desactiva junto con el filtro (campus.idempotency.enabled=false).
+ */
+@Service
+@ConditionalOnProperty(name = "campus.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public enum Outcome {
+        STARTED,
+        REPLAY,
+        IN_PROGRESS,
+        // La clave ya se usó con otra petición (422)
+        MISMATCH
+    }
+
+    /**
+     * Resultado de reservar una clave
+     * @param outcome qué debe hacer el llamador
+     * @param storedResponse respuesta original (sólo en REPLAY)
+     */
+    public record Reservation(Outcome outcome, IdempotencyRecord storedResponse) {
+
+        static Reservation started() {
+            return new Reservation(Outcome.STARTED, null);
+        }
+
+        static Reservation replay(IdempotencyRecord storedResponse) {
+            return new Reservation(Outcome.REPLAY, storedResponse);
+        }
+
+        static Reservation inProgress() {
+            return new Reservation(Outcome.IN_PROGRESS, null);
+        }
+
+        static Reservation mismatch() {
+            return new Reservation(Outcome.MISMATCH, null);
+        }
+    }
+
+    private static final String ID_FIELD = "_id";
+    private static final String STATUS_FIELD = "status";
+    private static final String CREATED_AT_FIELD = "createdAt";
+    private static final String REQUEST_HASH_FIELD = "requestHash";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final MongoTemplate mongoTemplate;
+    private final BoundedTtlCache<String, IdempotencyRecord> frontCache;
+    private final Duration inProgressLease;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              MongoTemplate mongoTemplate,
+                              @Value("${campus.idempotency.front-cache-size:10000}") int frontCacheSize,
+                              @Value("${campus.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${campus.idempotency.in-progress-lease-seconds:60}") long inProgressLeaseSeconds) {
+        this.idempotencyRecordRepository = Objects.requireNonNull(idempotencyRecordRepository,
+                "IdempotencyRecordRepository cannot be null");
+        this.mongoTemplate = Objects.requireNonNull(mongoTemplate, "MongoTemplate cannot be null");
+        this.frontCache = new BoundedTtlCache<>(frontCacheSize, Duration.ofHours(ttlHours));
+        this.inProgressLease = Duration.ofSeconds(inProgressLeaseSeconds);
+    }
+
+    /**
+     * Reserva una clave antes de ejecutar la petición original.
+     * La inserción del marcador es atómica sobre _id, así que dos pods no pueden ejecutar la misma clave.
+     * @param key clave de idempotencia (ya acotada por cliente, método y ruta)
+     * @param requestHash huella de la petición (query string y cuerpo)
+     * @return reserva con el resultado
+     */
+    public Reservation reserve(String key, String requestHash) {
+        Optional<IdempotencyRecord> cached = frontCache.get(key);
+        if (cached.isPresent()) {
+            return cached.get().matches(requestHash) ? Reservation.replay(cached.get()) : Reservation.mismatch();
+        }
+
+        try {
+            idempotencyRecordRepository.insert(IdempotencyRecord.inProgress(key, requestHash));
+            return Reservation.started();
+        } catch (DuplicateKeyException e) {
+            return resolveExisting(key, requestHash);
+        }
+    }
+
+    /**
+     * Guarda la respuesta de la petición original. Sólo cambia la respuesta y el estado: createdAt
+     * (lease y TTL) y la huella quedan como se reservaron
+     */
+    public void complete(String key, String requestHash, int responseStatus, String contentType, byte[] body) {
+        mongoTemplate.updateFirst(query(where(ID_FIELD).is(key)),
+                new Update().set(STATUS_FIELD, IdempotencyRecord.Status.COMPLETED)
+                        .set("responseStatus", responseStatus)
+                        .set("contentType", contentType)
+                        .set("body", body),
+                IdempotencyRecord.class);
+        IdempotencyRecord completed = IdempotencyRecord.inProgress(key, requestHash);
+        completed.complete(responseStatus, contentType, body);
+        frontCache.put(key, completed);
+    }
+
+    /**
+     * Libera la clave cuando la petición original falló, para que el reintento la re-ejecute
+     */
+    public void release(String key) {
+        frontCache.invalidate(key);
+        idempotencyRecordRepository.deleteById(key);
+    }
+
+    private Reservation resolveExisting(String key, String requestHash) {
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findById(key);
+        if (existing.isEmpty()) {
+            // Expiró entre la inserción y la lectura: el cliente puede reintentar
+            return Reservation.inProgress();
+        }
+
+        IdempotencyRecord idempotencyRecord = existing.get();
+        if (!idempotencyRecord.matches(requestHash)) {
+            return Reservation.mismatch();
+        }
+        if (idempotencyRecord.isCompleted()) {
+            frontCache.put(key, idempotencyRecord);
+            return Reservation.replay(idempotencyRecord);
+        }
+
+        if (idempotencyRecord.getCreatedAt() != null
+                && idempotencyRecord.getCreatedAt().plus(inProgressLease).isBefore(Instant.now())) {
+            // La petición original murió sin completar (p. ej. caída del pod): tomar el relevo
+            return takeOver(idempotencyRecord, requestHash);
+        }
+        return Reservation.inProgress();
+    }
+
+    /**
+     * Relevo atómico de una clave abandonada: sólo se aplica si el marcador sigue siendo el que se leyó
+     * (mismo createdAt y sin completar). Si dos pods ven la misma clave caducada, sólo uno la ejecuta
+     */
+    private Reservation takeOver(IdempotencyRecord stale, String requestHash) {
+        Query unchanged = query(where(ID_FIELD).is(stale.getKey())
+                .and(STATUS_FIELD).is(IdempotencyRecord.Status.IN_PROGRESS)
+                .and(CREATED_AT_FIELD).is(stale.getCreatedAt()));
+        Update renew = new Update().set(CREATED_AT_FIELD, Instant.now()).set(REQUEST_HASH_FIELD, requestHash);
+        IdempotencyRecord taken = mongoTemplate.findAndModify(unchanged, renew,
+                FindAndModifyOptions.options().returnNew(true), IdempotencyRecord.class);
+        if (taken == null) {
+            return Reservation.inProgress();
+        }
+        logger.warn("Took over stale idempotency key {}", stale.getKey());
+        return Reservation.started();
+    }
+}
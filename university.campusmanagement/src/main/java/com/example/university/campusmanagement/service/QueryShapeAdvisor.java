@@ -0,0 +1,277 @@
+package com.example.university.campusmanagement.service;
+
+import com.example.university.campusmanagement.repository.CampusIndexes;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Asesor de índices a partir de las formas registradas por QueryShapeRecorder.
+ * Periódicamente ejecuta explain (executionStats) sobre la última muestra de las formas más frecuentes
+ * y señala las que examinan muchos más documentos de los que devuelven, con un índice sugerido
+ * según la regla ESR (igualdades, después orden, después rangos).
+ */
+@Component
+@ConditionalOnProperty(name = "campus.query-shapes.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryShapeAdvisor {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryShapeAdvisor.class);
+
+    private static final Set<String> EQUALITY_PREDICATES = Set.of("eq", "in");
+    private static final Set<String> RANGE_PREDICATES = Set.of("range", "prefix");
+
+    /**
+     * Resultado del último explain de una forma
+     * @param docsExamined documentos examinados
+     * @param keysExamined claves de índice examinadas
+     * @param returned documentos devueltos
+     * @param stage COLLSCAN, IXSCAN u otra etapa principal del plan ganador
+     * @param indexes índices usados por el plan ganador
+     * @param explainedAt momento del explain
+     */
+    public record ExplainStats(long docsExamined, long keysExamined, long returned, String stage,
+                               List<String> indexes, Instant explainedAt) {
+
+        public double examinedPerReturned() {
+            return (double) docsExamined / Math.max(1, returned);
+        }
+    }
+
+    /**
+     * Forma ineficiente con su índice sugerido
+     * @param shape forma de la consulta
+     * @param executions ejecuciones registradas
+     * @param meanMillis latencia media
+     * @param maxMillis latencia máxima
+     * @param explain último explain
+     * @param suggestedIndex claves del índice sugerido (vacío si la forma no admite uno útil)
+     * @param declaredIndex índice declarado en CampusIndexes con esas mismas claves persistidas, si lo hay
+     *                      (entonces el problema es que no existe o no se usa: ver la verificación de índices)
+     */
+    public record Finding(QueryShapeRecorder.QueryShape shape, long executions, double meanMillis, double maxMillis,
+                          ExplainStats explain, Map<String, Integer> suggestedIndex, String declaredIndex) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryShapeRecorder recorder;
+    private final int explainTop;
+    private final double examinedRatioThreshold;
+    private final long minDocsExamined;
+    private final ConcurrentMap<String, ExplainStats> explained = new ConcurrentHashMap<>();
+
+    public QueryShapeAdvisor(MongoTemplate mongoTemplate, QueryShapeRecorder recorder,
+                             @Value("${campus.query-shapes.explain-top:10}") int explainTop,
+                             @Value("${campus.query-shapes.examined-ratio-threshold:10}") double examinedRatioThreshold,
+                             @Value("${campus.query-shapes.min-docs-examined:100}") long minDocsExamined) {
+        this.mongoTemplate = mongoTemplate;
+        this.recorder = recorder;
+        this.explainTop = explainTop;
+        this.examinedRatioThreshold = examinedRatioThreshold;
+        this.minDocsExamined = minDocsExamined;
+    }
+
+    /**
+     * Explain periódico de las formas más frecuentes (el comando explain no se registra como forma)
+     */
+    @Scheduled(initialDelayString = "${campus.query-shapes.explain-interval-ms:300000}",
+            fixedDelayString = "${campus.query-shapes.explain-interval-ms:300000}")
+    public void explainTopShapes() {
+        for (QueryShapeRecorder.ShapeStats stats : recorder.top(explainTop)) {
+            BsonDocument sample = stats.getSample();
+            if (sample == null) {
+                continue;
+            }
+            try {
+                Document result = mongoTemplate.execute(db -> db.runCommand(new BsonDocument("explain", sample)
+                        .append("verbosity", new BsonString("executionStats"))));
+                ExplainStats explain = parseExplain(result);
+                explained.put(stats.getShape().key(), explain);
+                if (isInefficient(explain)) {
+                    logger.warn("Campus query shape examines {} documents to return {} (suggested index {}): {}",
+                            explain.docsExamined(), explain.returned(), describe(suggestIndex(stats.getShape())),
+                            stats.getShape().key());
+                }
+            } catch (RuntimeException e) {
+                logger.debug("Could not explain campus query shape {}: {}", stats.getShape().key(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Formas ya explicadas que examinan muchos más documentos de los que devuelven, de la más a la menos ejecutada
+     */
+    public List<Finding> findings() {
+        List<Finding> findings = new ArrayList<>();
+        for (QueryShapeRecorder.ShapeStats stats : recorder.top(Integer.MAX_VALUE)) {
+            ExplainStats explain = explained.get(stats.getShape().key());
+            if (explain == null || !isInefficient(explain)) {
+                continue;
+            }
+            Map<String, Integer> suggestion = suggestIndex(stats.getShape());
+            findings.add(new Finding(stats.getShape(), stats.getExecutions(), stats.getMeanMicros() / 1000.0,
+                    stats.getMaxMicros() / 1000.0, explain, suggestion, declaredIndex(suggestion).orElse(null)));
+        }
+        return findings;
+    }
+
+    /**
+     * Informe completo: formas registradas y formas ineficientes con su índice sugerido
+     */
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("recordedShapes", recorder.size());
+        report.put("droppedShapes", recorder.getDroppedShapes());
+        report.put("shapes", recorder.top(Integer.MAX_VALUE).stream().map(stats -> {
+            Map<String, Object> shape = new LinkedHashMap<>();
+            shape.put("shape", stats.getShape());
+            shape.put("executions", stats.getExecutions());
+            shape.put("failures", stats.getFailures());
+            shape.put("meanMillis", stats.getMeanMicros() / 1000.0);
+            shape.put("maxMillis", stats.getMaxMicros() / 1000.0);
+            shape.put("explain", explained.get(stats.getShape().key()));
+            return shape;
+        }).toList());
+        report.put("inefficient", findings());
+        return report;
+    }
+
+    public void reset() {
+        recorder.reset();
+        explained.clear();
+    }
+
+    private boolean isInefficient(ExplainStats explain) {
+        return explain.docsExamined() >= minDocsExamined && explain.examinedPerReturned() >= examinedRatioThreshold;
+    }
+
+    // ============ Sugerencia de índice ============
+
+    /**
+     * Índice sugerido por la regla ESR: campos con igualdad, después los de orden y por último los rangos.
+     * Los predicados que un índice no acota (regex sin anclar, negaciones, operadores lógicos) se omiten.
+     * @return claves y direcciones (1 / -1); vacío si ningún campo es indexable
+     */
+    public static Map<String, Integer> suggestIndex(QueryShapeRecorder.QueryShape shape) {
+        Map<String, Integer> keys = new LinkedHashMap<>();
+        shape.filter().forEach((field, predicate) -> {
+            if (EQUALITY_PREDICATES.contains(predicate)) {
+                keys.put(field, 1);
+            }
+        });
+        for (String sortKey : shape.sort()) {
+            int separator = sortKey.lastIndexOf(':');
+            keys.putIfAbsent(sortKey.substring(0, separator), Integer.parseInt(sortKey.substring(separator + 1)));
+        }
+        shape.filter().forEach((field, predicate) -> {
+            if (RANGE_PREDICATES.contains(predicate)) {
+                keys.putIfAbsent(field, 1);
+            }
+        });
+        return keys;
+    }
+
+    private static Optional<String> declaredIndex(Map<String, Integer> suggestion) {
+        if (suggestion.isEmpty()) {
+            return Optional.empty();
+        }
+        return CampusIndexes.all().stream()
+                .filter(spec -> {
+                    Map<String, Integer> declared = new LinkedHashMap<>();
+                    spec.storedKeys().forEach((field, direction) -> declared.put(field, direction == Sort.Direction.ASC ? 1 : -1));
+                    return List.copyOf(declared.entrySet()).equals(List.copyOf(suggestion.entrySet()));
+                })
+                .map(CampusIndexes.IndexSpec::name)
+                .findFirst();
+    }
+
+    // ============ Lectura del explain ============
+
+    /**
+     * Extrae del resultado de explain las estadísticas de ejecución y el plan ganador
+     */
+    public static ExplainStats parseExplain(Document result) {
+        Document executionStats = find(result, "executionStats").orElse(new Document());
+        Document winningPlan = find(result, "winningPlan").orElse(new Document());
+        Set<String> stages = new LinkedHashSet<>();
+        Set<String> indexes = new LinkedHashSet<>();
+        collectPlan(winningPlan, stages, indexes);
+        String stage = stages.contains("COLLSCAN") ? "COLLSCAN"
+                : stages.contains("IXSCAN") ? "IXSCAN"
+                : stages.stream().findFirst().orElse("UNKNOWN");
+        return new ExplainStats(number(executionStats, "totalDocsExamined"), number(executionStats, "totalKeysExamined"),
+                number(executionStats, "nReturned"), stage, List.copyOf(indexes), Instant.now());
+    }
+
+    /**
+     * Busca un subdocumento por nombre a cualquier profundidad: la estructura del explain cambia
+     * entre find y aggregate (etapa $cursor) y entre versiones del servidor
+     */
+    private static Optional<Document> find(Object node, String key) {
+        if (node instanceof Document document) {
+            if (document.get(key) instanceof Document found) {
+                return Optional.of(found);
+            }
+            for (Object value : document.values()) {
+                Optional<Document> found = find(value, key);
+                if (found.isPresent()) {
+                    return found;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object value : list) {
+                Optional<Document> found = find(value, key);
+                if (found.isPresent()) {
+                    return found;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static void collectPlan(Object node, Set<String> stages, Set<String> indexes) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            if (document.get("indexName") instanceof String index) {
+                indexes.add(index);
+            }
+            document.values().forEach(value -> collectPlan(value, stages, indexes));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectPlan(value, stages, indexes));
+        }
+    }
+
+    private static long number(Document document, String key) {
+        return document.get(key) instanceof Number number ? number.longValue() : 0;
+    }
+
+    /**
+     * Forma legible de las claves de un índice sugerido
+     */
+    public static String describe(Map<String, Integer> keys) {
+        return keys.entrySet().stream()
+                .map(entry -> entry.getKey() + ": " + entry.getValue())
+                .collect(Collectors.joining(", ", "{ ", " }"));
+    }
+}
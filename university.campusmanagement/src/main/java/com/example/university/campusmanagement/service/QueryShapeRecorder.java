@@ -0,0 +1,310 @@
+package com.example.university.campusmanagement.service;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonNumber;
+import org.bson.BsonRegularExpression;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro de las formas de consulta que la aplicación lanza realmente contra la colección de campus.
+ * Escucha los comandos del driver (find, aggregate y count), de modo que cubre repositorios, plantillas
+ * y agregaciones por igual. Cada comando se normaliza a su forma: campos filtrados con el tipo de predicado
+ * (eq, in, range, prefix, regex...), orden y proyección, sin valores; por forma se acumulan ejecuciones
+ * y latencias y se guarda como muestra para el explain de QueryShapeAdvisor el primer comando y luego uno
+ * de cada sampleEvery, copiando sólo los campos que el explain necesita.
+ * No depende de ningún bean de MongoDB: se registra como CommandListener del propio cliente.
+ */
+@Component
+@ConditionalOnProperty(name = "campus.query-shapes.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryShapeRecorder implements CommandListener {
+
+    private static final String COLLECTION = "campuses";
+    private static final Set<String> RECORDED_COMMANDS = Set.of("find", "aggregate", "count");
+    private static final List<String> EXPLAIN_FIELDS =
+            List.of("filter", "sort", "projection", "limit", "skip", "hint", "collation", "query", "pipeline");
+
+    /**
+     * Forma normalizada de una consulta
+     * @param command comando (find, aggregate o count)
+     * @param filter campo -> tipo de predicado, en orden alfabético
+     * @param sort campos de orden con su dirección (1 / -1), en el orden de la consulta
+     * @param projection campos proyectados, en orden alfabético (vacío = documento completo)
+     */
+    public record QueryShape(String command, Map<String, String> filter, List<String> sort, List<String> projection) {
+
+        public String key() {
+            return command + " filter=" + filter + " sort=" + sort + " projection=" + projection;
+        }
+    }
+
+    /**
+     * Estadísticas acumuladas de una forma
+     */
+    public static final class ShapeStats {
+        private final QueryShape shape;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final AtomicLong maxMicros = new AtomicLong();
+        private final AtomicLong started = new AtomicLong();
+        private volatile BsonDocument sample;
+
+        private ShapeStats(QueryShape shape) {
+            this.shape = shape;
+        }
+
+        private void record(long micros, boolean failed) {
+            executions.increment();
+            if (failed) {
+                failures.increment();
+            }
+            totalMicros.add(micros);
+            maxMicros.accumulateAndGet(micros, Math::max);
+        }
+
+        public QueryShape getShape() { return shape; }
+        public long getExecutions() { return executions.sum(); }
+        public long getFailures() { return failures.sum(); }
+        public long getMaxMicros() { return maxMicros.get(); }
+
+        public double getMeanMicros() {
+            long count = executions.sum();
+            return count == 0 ? 0 : (double) totalMicros.sum() / count;
+        }
+
+        /**
+         * Comando de muestra de esta forma (el primero y después uno de cada sampleEvery),
+         * listo para envolverlo en un explain
+         */
+        public BsonDocument getSample() { return sample; }
+    }
+
+    private final int maxShapes;
+    private final int sampleEvery;
+    private final ConcurrentMap<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, ShapeStats> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder droppedShapes = new LongAdder();
+
+    public QueryShapeRecorder(@Value("${campus.query-shapes.max-shapes:500}") int maxShapes,
+                              @Value("${campus.query-shapes.sample-every:100}") int sampleEvery) {
+        this.maxShapes = maxShapes;
+        this.sampleEvery = Math.max(1, sampleEvery);
+    }
+
+    // ============ CommandListener ============
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!RECORDED_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        BsonValue target = command.get(event.getCommandName());
+        if (target == null || !target.isString() || !COLLECTION.equals(target.asString().getValue())) {
+            return;
+        }
+        QueryShape shape = shapeOf(event.getCommandName(), command);
+        ShapeStats stats = shapes.get(shape.key());
+        if (stats == null) {
+            if (shapes.size() >= maxShapes) {
+                droppedShapes.increment();
+                return;
+            }
+            stats = shapes.computeIfAbsent(shape.key(), key -> new ShapeStats(shape));
+        }
+        // La forma ya identifica la consulta: basta con renovar la muestra de vez en cuando
+        if (stats.started.getAndIncrement() % sampleEvery == 0) {
+            stats.sample = explainable(event.getCommandName(), command);
+        }
+        inFlight.put(event.getRequestId(), stats);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        ShapeStats stats = inFlight.remove(event.getRequestId());
+        if (stats != null) {
+            stats.record(event.getElapsedTime(TimeUnit.MICROSECONDS), false);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        ShapeStats stats = inFlight.remove(event.getRequestId());
+        if (stats != null) {
+            stats.record(event.getElapsedTime(TimeUnit.MICROSECONDS), true);
+        }
+    }
+
+    // ============ Consulta del registro ============
+
+    /**
+     * Formas registradas, de la más a la menos ejecutada
+     * @param limit máximo de formas
+     */
+    public List<ShapeStats> top(int limit) {
+        return shapes.values().stream()
+                .sorted(Comparator.comparingLong(ShapeStats::getExecutions).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public int size() {
+        return shapes.size();
+    }
+
+    /**
+     * Comandos no registrados por haberse alcanzado el máximo de formas
+     */
+    public long getDroppedShapes() {
+        return droppedShapes.sum();
+    }
+
+    public void reset() {
+        shapes.clear();
+        droppedShapes.reset();
+    }
+
+    // ============ Normalización ============
+
+    /**
+     * Normaliza un comando a su forma (sin valores)
+     */
+    public static QueryShape shapeOf(String commandName, BsonDocument command) {
+        BsonDocument filter = new BsonDocument();
+        BsonDocument sort = new BsonDocument();
+        BsonDocument projection = new BsonDocument();
+        switch (commandName) {
+            case "find" -> {
+                filter = documentOrEmpty(command.get("filter"));
+                sort = documentOrEmpty(command.get("sort"));
+                projection = documentOrEmpty(command.get("projection"));
+            }
+            case "count" -> filter = documentOrEmpty(command.get("query"));
+            default -> {
+                // aggregate: se toman $match, $sort y $project iniciales (los que pueden usar un índice)
+                for (BsonValue stage : command.getArray("pipeline", new BsonArray())) {
+                    BsonDocument document = stage.asDocument();
+                    if (document.containsKey("$match") && filter.isEmpty() && sort.isEmpty()) {
+                        filter = document.getDocument("$match");
+                    } else if (document.containsKey("$sort") && sort.isEmpty()) {
+                        sort = document.getDocument("$sort");
+                    } else if (document.containsKey("$project") && projection.isEmpty()) {
+                        projection = document.getDocument("$project");
+                    } else {
+                        break;
+                    }
+                }
+            }
+        }
+        Map<String, String> predicates = new TreeMap<>();
+        collectPredicates(filter, predicates);
+        List<String> sortKeys = new ArrayList<>();
+        sort.forEach((field, direction) -> sortKeys.add(field + ":" + (isDescending(direction) ? -1 : 1)));
+        List<String> projected = projection.keySet().stream().sorted().toList();
+        return new QueryShape(commandName, predicates, sortKeys, projected);
+    }
+
+    private static void collectPredicates(BsonDocument filter, Map<String, String> predicates) {
+        filter.forEach((field, value) -> {
+            if (field.equals("$and")) {
+                value.asArray().forEach(clause -> collectPredicates(clause.asDocument(), predicates));
+            } else if (field.startsWith("$")) {
+                // $or / $nor / $expr: la forma sólo registra el operador lógico
+                predicates.merge(field, "logical", (a, b) -> a);
+            } else {
+                predicates.merge(field, predicateOf(value), (a, b) -> a + "+" + b);
+            }
+        });
+    }
+
+    private static String predicateOf(BsonValue value) {
+        if (value.isRegularExpression()) {
+            return regexPredicate(value.asRegularExpression());
+        }
+        if (!value.isDocument() || value.asDocument().isEmpty()
+                || !value.asDocument().getFirstKey().startsWith("$")) {
+            return "eq";
+        }
+        BsonDocument operators = value.asDocument();
+        List<String> kinds = new ArrayList<>();
+        for (String operator : operators.keySet()) {
+            String kind = switch (operator) {
+                case "$eq" -> "eq";
+                case "$in" -> "in";
+                case "$gt", "$gte", "$lt", "$lte" -> "range";
+                case "$ne", "$nin", "$not" -> "negation";
+                case "$exists" -> "exists";
+                case "$regex" -> operators.get("$regex").isRegularExpression()
+                        ? regexPredicate(operators.get("$regex").asRegularExpression())
+                        : regexPredicate(new BsonRegularExpression(operators.getString("$regex").getValue()));
+                case "$options" -> null;
+                default -> operator.substring(1);
+            };
+            if (kind != null && !kinds.contains(kind)) {
+                kinds.add(kind);
+            }
+        }
+        return String.join("+", kinds);
+    }
+
+    private static String regexPredicate(BsonRegularExpression regex) {
+        // Sólo un prefijo anclado sin opciones se convierte en un rango sobre el índice
+        return regex.getPattern().startsWith("^") && regex.getOptions().isEmpty() ? "prefix" : "regex";
+    }
+
+    private static boolean isDescending(BsonValue direction) {
+        return direction instanceof BsonNumber number && number.intValue() < 0;
+    }
+
+    private static BsonDocument documentOrEmpty(BsonValue value) {
+        return value != null && value.isDocument() ? value.asDocument() : new BsonDocument();
+    }
+
+    /**
+     * Comando reducido a los campos que admite un explain (sin sesión ni cursor).
+     * El documento del evento sólo es válido durante la llamada al listener, por eso se copian esos campos;
+     * el resto del comando no se toca.
+     */
+    private static BsonDocument explainable(String commandName, BsonDocument command) {
+        BsonDocument sample = new BsonDocument(commandName, new BsonString(COLLECTION));
+        for (String field : EXPLAIN_FIELDS) {
+            BsonValue value = command.get(field);
+            if (value != null) {
+                sample.put(field, copyOf(value));
+            }
+        }
+        if (commandName.equals("aggregate")) {
+            sample.put("cursor", new BsonDocument());
+        }
+        return sample;
+    }
+
+    private static BsonValue copyOf(BsonValue value) {
+        // Escalares inmutables (números, cadenas, booleanos): se comparten
+        if (value.isDocument()) {
+            return value.asDocument().clone();
+        }
+        return value.isArray() ? value.asArray().clone() : value;
+    }
+}
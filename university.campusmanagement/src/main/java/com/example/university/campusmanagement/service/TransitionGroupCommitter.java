@@ -0,0 +1,355 @@
+package com.example.university.campusmanagement.service;
+
+import com.example.university.campusmanagement.event.CampusChangeEvent;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.CampusSchema;
+import com.example.university.campusmanagement.model.OutboxMessage;
+import com.example.university.campusmanagement.util.ChangeSequence;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Group commit para transiciones de estado de alta frecuencia.
+ * Cada transición se aplica inmediatamente sobre una vista en memoria consistente, se encola
+ * y se persiste junto con otras en una única escritura bulk cada pocos milisegundos o cada N operaciones.
+ * El llamador no recibe confirmación hasta que su grupo se ha escrito, así que la durabilidad se mantiene.
+ * Cada escritura está condicionada al changeSeq persistido sobre el que se calculó: si otro escritor
+ * cambió el campus entretanto, la transición falla con OptimisticLockingFailureException en vez de pisarlo.
+ * Con el outbox de webhooks habilitado, el bulk y los mensajes de outbox del grupo se escriben en una misma transacción.
+ */
+@Component
+@ConditionalOnProperty(name = "campus.group-commit.enabled", havingValue = "true")
+public class TransitionGroupCommitter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransitionGroupCommitter.class);
+
+    // Campos persistidos (CampusSchema): el código de estado sustituye a currentState y active
+    private static final String STATE_FIELD = CampusSchema.STATE;
+    private static final String LAST_MODIFIED_FIELD = CampusSchema.LAST_MODIFIED;
+    private static final String CHANGE_SEQ_FIELD = CampusSchema.CHANGE_SEQ;
+    private static final String LEGACY_CHANGE_SEQ_FIELD = CampusSchema.legacyField(CampusSchema.CHANGE_SEQ);
+
+    /**
+     * Resultado de una transición confirmada
+     * @param campus copia del campus tras la transición
+     * @param previousState estado previo
+     * @param previousActive valor previo de active
+     */
+    public record TransitionResult(Campus campus, String previousState, boolean previousActive) {
+    }
+
+    private record PendingEntry(Campus campus, long version) {
+    }
+
+    /**
+     * @param baseChangeSeq changeSeq de la versión sobre la que se aplicó la transición
+     */
+    private record PendingWrite(String id, int stateCode, Instant lastModified, long baseChangeSeq, long changeSeq,
+                                long version, OutboxMessage outboxMessage, CompletableFuture<Void> ack) {
+    }
+
+    /**
+     * Escritura de un campus dentro de un grupo: condición de la más antigua y valores de la más reciente
+     */
+    private record GroupedWrite(PendingWrite first, PendingWrite last) {
+
+        GroupedWrite merge(PendingWrite write) {
+            return new GroupedWrite(write.version() < first.version() ? write : first,
+                    write.version() > last.version() ? write : last);
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final String collection;
+    private final CampusOutbox outbox;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Duration ackTimeout;
+
+    private final ConcurrentMap<String, PendingEntry> pendingView = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingWrite> queue;
+    private final AtomicLong versions = new AtomicLong();
+    private volatile boolean running = true;
+    private Thread flusher;
+
+    public TransitionGroupCommitter(MongoTemplate mongoTemplate,
+                                    Optional<CampusOutbox> outbox,
+                                    @Value("${campus.group-commit.max-batch-size:256}") int maxBatchSize,
+                                    @Value("${campus.group-commit.max-delay-ms:5}") long maxDelayMs,
+                                    @Value("${campus.group-commit.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${campus.group-commit.ack-timeout-ms:5000}") long ackTimeoutMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.collection = mongoTemplate.getCollectionName(Campus.class);
+        this.outbox = outbox.orElse(null);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.ackTimeout = Duration.ofMillis(ackTimeoutMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher = Thread.ofPlatform().name("campus-group-commit").daemon(true).start(this::flushLoop);
+        logger.info("Group commit enabled for campus transitions (maxBatchSize={}, maxDelayMs={})",
+                maxBatchSize, TimeUnit.NANOSECONDS.toMillis(maxDelayNanos));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.join(ackTimeout.toMillis());
+    }
+
+    /**
+     * Aplica una transición sobre la vista en memoria y espera a que su grupo se persista
+     * @param id ID del campus
+     * @param loader carga el campus desde el primario si no hay una versión pendiente
+     * @param transition transición del patrón State
+     * @return resultado confirmado
+     * @throws IllegalStateException si la transición no es válida desde el estado actual
+     * @throws TransientDataAccessResourceException si el grupo no pudo persistirse a tiempo
+     * @throws OptimisticLockingFailureException si el campus cambió en la base de datos después de leerlo
+     */
+    public TransitionResult apply(String id, Supplier<Campus> loader, Consumer<Campus> transition) {
+        TransitionCapture capture = new TransitionCapture();
+        Campus loaded = null;
+        while (capture.write == null) {
+            // La lectura del primario queda fuera del compute: no bloquea el bin del mapa durante la E/S
+            if (loaded == null && !pendingView.containsKey(id)) {
+                loaded = loader.get();
+            }
+            Campus base = loaded;
+            // compute serializa las transiciones concurrentes sobre el mismo campus
+            pendingView.compute(id, (key, current) -> {
+                if (current == null && base == null) {
+                    // La versión pendiente se persistió entre la comprobación y el compute: cargar y reintentar
+                    return null;
+                }
+                // La transición se aplica sobre una copia: la versión publicada en la vista nunca se modifica,
+                // así que pendingSnapshot puede copiarla sin bloqueo y una transición inválida no deja rastro
+                Campus target = (current != null ? current.campus() : base).copy();
+                long baseChangeSeq = target.getChangeSeq();
+                capture.previousState = target.getCurrentState();
+                capture.previousActive = target.isActive();
+                transition.accept(target);
+                target.setLastModified(Instant.now());
+                target.setChangeSeq(ChangeSequence.next());
+                long version = versions.incrementAndGet();
+                capture.snapshot = target.copy();
+                OutboxMessage outboxMessage = outbox == null ? null : outbox.messageFor(CampusChangeEvent.stateChanged(
+                        capture.snapshot, capture.previousState, capture.previousActive)).orElse(null);
+                capture.write = new PendingWrite(id, target.getStateCode(), target.getLastModified(), baseChangeSeq,
+                        target.getChangeSeq(), version, outboxMessage, new CompletableFuture<>());
+                return new PendingEntry(target, version);
+            });
+        }
+
+        enqueue(capture.write);
+        awaitAck(capture.write);
+        return new TransitionResult(capture.snapshot, capture.previousState, capture.previousActive);
+    }
+
+    /**
+     * Obtiene una copia del campus si tiene transiciones pendientes de persistir
+     * @param id ID del campus
+     * @return copia de la versión pendiente
+     */
+    public Optional<Campus> pendingSnapshot(String id) {
+        PendingEntry entry = pendingView.get(id);
+        return entry != null ? Optional.of(entry.campus().copy()) : Optional.empty();
+    }
+
+    private void enqueue(PendingWrite write) {
+        try {
+            if (!queue.offer(write, ackTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                discardPending(write);
+                throw new TransientDataAccessResourceException("Group commit queue is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            discardPending(write);
+            throw new TransientDataAccessResourceException("Interrupted while queueing transition", e);
+        }
+    }
+
+    /**
+     * Retira de la vista la versión de esta escritura, pero no una más reciente encadenada sobre ella
+     */
+    private void discardPending(PendingWrite write) {
+        pendingView.computeIfPresent(write.id(), (key, entry) -> entry.version() == write.version() ? null : entry);
+    }
+
+    private void awaitAck(PendingWrite write) {
+        try {
+            write.ack().get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof OptimisticLockingFailureException conflict) {
+                throw conflict;
+            }
+            throw new TransientDataAccessResourceException("Group commit failed for campus " + write.id(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new TransientDataAccessResourceException("Group commit acknowledgement timed out for campus " + write.id(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransientDataAccessResourceException("Interrupted while waiting for group commit", e);
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(maxDelayNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        // Varias transiciones del mismo campus en un grupo: se escribe la última, condicionada a la base de la primera
+        Map<String, GroupedWrite> writesById = new LinkedHashMap<>();
+        batch.forEach(write -> writesById.merge(write.id(), new GroupedWrite(write, write),
+                (grouped, candidate) -> grouped.merge(candidate.first())));
+
+        try {
+            Set<String> applied;
+            if (outbox != null) {
+                AtomicReference<Set<String>> appliedInTransaction = new AtomicReference<>();
+                outbox.writeWithOutbox(() -> {
+                    Set<String> written = writeGroup(writesById);
+                    appliedInTransaction.set(written);
+                    // Se notifican todas las transiciones aplicadas, aunque sólo se escriba la última de cada campus
+                    return batch.stream()
+                            .filter(write -> written.contains(write.id()))
+                            .map(PendingWrite::outboxMessage)
+                            .filter(Objects::nonNull)
+                            .toList();
+                });
+                applied = appliedInTransaction.get();
+            } else {
+                applied = writeGroup(writesById);
+            }
+
+            writesById.values().forEach(grouped -> discardPending(grouped.last()));
+            batch.forEach(write -> {
+                if (applied.contains(write.id())) {
+                    write.ack().complete(null);
+                } else {
+                    write.ack().completeExceptionally(new OptimisticLockingFailureException(
+                            "Campus " + write.id() + " was modified concurrently; transition not applied"));
+                }
+            });
+            logger.debug("Group commit flushed {} transitions in {} writes ({} conflicts)",
+                    batch.size(), writesById.size(), writesById.size() - applied.size());
+        } catch (RuntimeException e) {
+            logger.error("Group commit flush failed for {} transitions: {}", batch.size(), e.getMessage());
+            batch.forEach(write -> {
+                discardPending(write);
+                write.ack().completeExceptionally(e);
+            });
+        }
+    }
+
+    /**
+     * Ejecuta el bulk del grupo
+     * @return IDs de los campus cuya escritura se aplicó
+     */
+    private Set<String> writeGroup(Map<String, GroupedWrite> writesById) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Campus.class);
+        writesById.values().forEach(grouped -> bulk.updateOne(
+                query(where("_id").is(grouped.last().id()).andOperator(changeSeqIs(grouped.first().baseChangeSeq()))),
+                new Update().set(STATE_FIELD, grouped.last().stateCode())
+                        .set(LAST_MODIFIED_FIELD, grouped.last().lastModified())
+                        .set(CHANGE_SEQ_FIELD, grouped.last().changeSeq())));
+        BulkWriteResult result = bulk.execute();
+        if (result.getMatchedCount() == writesById.size()) {
+            return writesById.keySet();
+        }
+        // El bulk sólo informa del total: se comprueba qué campus tienen ya el changeSeq escrito
+        Query written = query(where("_id").in(writesById.keySet()));
+        written.fields().include(CHANGE_SEQ_FIELD);
+        return mongoTemplate.find(written, Document.class, collection).stream()
+                .filter(document -> document.get(CHANGE_SEQ_FIELD) instanceof Number seq
+                        && seq.longValue() == writesById.get(String.valueOf(document.get(CampusSchema.ID))).last().changeSeq())
+                .map(document -> String.valueOf(document.get(CampusSchema.ID)))
+                .collect(Collectors.toSet());
+    }
+
+    private static Criteria changeSeqIs(long changeSeq) {
+        // Un documento de la versión 1 guarda el changeSeq con su nombre largo, y uno anterior al feed
+        // de cambios no lo tiene: ambos casos se leen igual que en CampusSchema.readLegacy
+        Criteria legacy = where(CHANGE_SEQ_FIELD).exists(false).and(LEGACY_CHANGE_SEQ_FIELD);
+        if (changeSeq != 0) {
+            return new Criteria().orOperator(where(CHANGE_SEQ_FIELD).is(changeSeq), legacy.is(changeSeq));
+        }
+        return new Criteria().orOperator(where(CHANGE_SEQ_FIELD).is(0L), legacy.in(0L, null));
+    }
+
+    /**
+     * Datos capturados dentro del compute de la vista
+     */
+    private static final class TransitionCapture {
+        private String previousState;
+        private boolean previousActive;
+        private PendingWrite write;
+        private Campus snapshot;
+    }
+}
@@ -25,7 +25,7 @@ public class InactiveState implements CampusState {
     @Override
     public void maintenance(Campus campus) {
         logger.info("Cannot put inactive campus {} into maintenance. Activate first.", campus.getName());
-        throw new IllegalStateException("Cannot put inactive campus into maintenance. Activate first.");
+        throw new InvalidStateTransitionException("Cannot put inactive campus into maintenance. Activate first.");
     }
 
     @Override
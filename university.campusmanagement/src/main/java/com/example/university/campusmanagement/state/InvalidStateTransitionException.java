@@ -0,0 +1,12 @@
+package com.example.university.campusmanagement.state;
+
+/**
+ * Transición no permitida desde el estado actual del campus (p. ej. mantenimiento de un campus inactivo).
+ * ApiExceptionHandler la traduce a 409; cualquier otro IllegalStateException sigue siendo un fallo interno.
+ */
+public class InvalidStateTransitionException extends IllegalStateException {
+
+    public InvalidStateTransitionException(String message) {
+        super(message);
+    }
+}
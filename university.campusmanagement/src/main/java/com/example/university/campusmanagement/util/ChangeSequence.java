@@ -0,0 +1,33 @@
+package com.example.university.campusmanagement.util;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Secuencia de cambios de los campus: microsegundos desde epoch, estrictamente creciente dentro del proceso.
+ * Al derivarse del reloj no necesita una consulta extra a la BD por escritura y sigue creciendo tras un reinicio;
+ * entre pods el orden depende de la sincronización de relojes, por eso el feed de cambios sólo entrega
+ * secuencias más antiguas que una ventana de asentamiento (ver at(Instant)).
+ */
+public final class ChangeSequence {
+
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private ChangeSequence() {
+    }
+
+    /**
+     * Siguiente valor: el instante actual, o el anterior + 1 si el reloj no ha avanzado (o ha retrocedido)
+     */
+    public static long next() {
+        long now = at(Instant.now());
+        return LAST.accumulateAndGet(now, (last, candidate) -> Math.max(last + 1, candidate));
+    }
+
+    /**
+     * Valor de la secuencia que corresponde a un instante
+     */
+    public static long at(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+}
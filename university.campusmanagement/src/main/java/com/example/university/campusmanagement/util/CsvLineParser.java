@@ -0,0 +1,57 @@
+package com.example.university.campusmanagement.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser mínimo de líneas CSV (RFC 4180): separador coma, campos entre comillas dobles
+ * y comillas escapadas duplicándolas. No admite saltos de línea dentro de un campo.
+ */
+public final class CsvLineParser {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private CsvLineParser() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Divide una línea en sus campos
+     * @param line línea CSV
+     * @return campos sin comillas envolventes
+     * @throws IllegalArgumentException si las comillas no están balanceadas
+     */
+    public static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == QUOTE && i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                    current.append(QUOTE);
+                    i++;
+                } else if (c == QUOTE) {
+                    inQuotes = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == QUOTE) {
+                inQuotes = true;
+            } else if (c == SEPARATOR) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        if (inQuotes) {
+            throw new IllegalArgumentException("Unbalanced quotes in CSV line");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
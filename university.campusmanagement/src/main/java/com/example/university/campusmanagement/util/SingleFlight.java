@@ -0,0 +1,85 @@
+package com.example.university.campusmanagement.util;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicación de llamadas en vuelo ("single-flight").
+ * Las llamadas concurrentes con la misma clave comparten una única ejecución del loader y su resultado.
+ * No usa bloques synchronized, por lo que es seguro con virtual threads (no hay pinning del carrier).
+ *
+ * @param <K> tipo de la clave
+ * @param <V> tipo del resultado
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutNanos;
+
+    /**
+     * @param timeout tiempo máximo que un llamador espera al líder de su clave;
+     *                al vencer, el llamador ejecuta su propia consulta
+     */
+    public SingleFlight(Duration timeout) {
+        this.timeoutNanos = Objects.requireNonNull(timeout, "Timeout cannot be null").toNanos();
+    }
+
+    /**
+     * Ejecuta el loader para la clave, o se une a la ejecución en curso si ya existe una
+     * @param key clave de la llamada
+     * @param loader operación a ejecutar
+     * @return resultado compartido
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            return await(existing, loader);
+        }
+
+        try {
+            V value = loader.get();
+            leader.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    /**
+     * Número de claves con una llamada en vuelo
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> existing, Supplier<V> loader) {
+        try {
+            return existing.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // El líder está tardando demasiado: no bloquear indefinidamente a este llamador
+            return loader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight call", e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.university.campusmanagement.webhook;
+
+import com.example.university.campusmanagement.dto.WebhookEventDto;
+import com.example.university.campusmanagement.model.OutboxMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Cliente HTTP de webhooks: envía un lote de mensajes como un array JSON en un único POST
+ */
+public class WebhookClient {
+
+    public static final String SIGNATURE_HEADER = "X-Campus-Signature";
+    public static final String EVENT_COUNT_HEADER = "X-Campus-Event-Count";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    /**
+     * Resultado de una entrega
+     * @param success true si el endpoint respondió 2xx
+     * @param statusCode código HTTP (0 si no hubo respuesta)
+     * @param error descripción del fallo (null si tuvo éxito)
+     */
+    public record DeliveryResult(boolean success, int statusCode, String error) {
+    }
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+
+    public WebhookClient(ObjectMapper objectMapper, Duration requestTimeout) {
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    /**
+     * Envía un lote de mensajes a un endpoint (llamada bloqueante, pensada para hilos virtuales)
+     * @param endpoint endpoint destino
+     * @param messages mensajes del lote
+     * @return resultado de la entrega
+     */
+    public DeliveryResult deliver(WebhookProperties.Endpoint endpoint, List<OutboxMessage> messages) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(messages.stream().map(WebhookEventDto::fromMessage).toList());
+        } catch (JsonProcessingException e) {
+            return new DeliveryResult(false, 0, "Serialization failed: " + e.getMessage());
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(endpoint.url())
+                .timeout(requestTimeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(EVENT_COUNT_HEADER, String.valueOf(messages.size()))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (endpoint.secret() != null && !endpoint.secret().isBlank()) {
+            request.header(SIGNATURE_HEADER, "sha256=" + sign(endpoint.secret(), body));
+        }
+
+        try {
+            HttpResponse<Void> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            int status = response.statusCode();
+            boolean success = status >= 200 && status < 300;
+            return new DeliveryResult(success, status, success ? null : "HTTP " + status);
+        } catch (IOException e) {
+            return new DeliveryResult(false, 0, e.getClass().getSimpleName() + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new DeliveryResult(false, 0, "Interrupted");
+        }
+    }
+
+    /**
+     * Firma HMAC-SHA256 del cuerpo, en hexadecimal
+     */
+    public static String sign(String secret, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            return HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
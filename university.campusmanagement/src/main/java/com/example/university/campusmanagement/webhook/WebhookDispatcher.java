@@ -0,0 +1,269 @@
+package com.example.university.campusmanagement.webhook;
+
+import com.example.university.campusmanagement.model.OutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Entrega en segundo plano de los mensajes del outbox a los webhooks configurados.
+ * En cada ciclo reclama un lote de mensajes pendientes (con lease, para que varios pods no entreguen lo mismo),
+ * los agrupa por endpoint en peticiones de hasta maxBatchSize mensajes y las envía en hilos virtuales respetando
+ * el límite de concurrencia de cada endpoint. Los fallos se reintentan con backoff exponencial con jitter
+ * hasta maxAttempts; después el mensaje queda FAILED para revisión manual.
+ */
+@Component
+@ConditionalOnProperty(name = "campus.webhooks.enabled", havingValue = "true")
+public class WebhookDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookDispatcher.class);
+
+    private static final String METRIC_PREFIX = "campus.webhooks.";
+    private static final String ID_FIELD = "_id";
+    private static final String STATUS_FIELD = "status";
+    private static final String NEXT_ATTEMPT_AT_FIELD = "nextAttemptAt";
+    private static final String OCCURRED_AT_FIELD = "occurredAt";
+    private static final String LOCKED_BY_FIELD = "lockedBy";
+    private static final String LOCKED_UNTIL_FIELD = "lockedUntil";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final WebhookClient webhookClient;
+    private final WebhookProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Semaphore> endpointPermits = new ConcurrentHashMap<>();
+    private final String dispatcherId = UUID.randomUUID().toString();
+
+    public WebhookDispatcher(MongoTemplate mongoTemplate, WebhookClient webhookClient, WebhookProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.webhookClient = webhookClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        properties.endpoints().forEach(endpoint ->
+                endpointPermits.put(endpoint.name(), new Semaphore(Math.max(1, endpoint.maxConcurrency()))));
+        logger.info("Webhook dispatcher enabled for endpoints {}",
+                properties.endpoints().stream().map(WebhookProperties.Endpoint::name).toList());
+    }
+
+    /**
+     * Ciclo de entrega: reclama mensajes listos, los entrega y registra el resultado
+     * @return número de mensajes procesados en el ciclo
+     */
+    @Scheduled(initialDelayString = "${campus.webhooks.poll-interval-ms:500}",
+            fixedDelayString = "${campus.webhooks.poll-interval-ms:500}")
+    public int dispatchPending() {
+        List<OutboxMessage> claimed;
+        try {
+            claimed = claimBatch();
+        } catch (RuntimeException e) {
+            logger.warn("Could not claim outbox messages: {}", e.getMessage());
+            return 0;
+        }
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, DeliveryOutcome> outcomes = deliver(claimed);
+        Instant now = Instant.now();
+        for (OutboxMessage message : claimed) {
+            try {
+                recordOutcome(message, outcomes.getOrDefault(message.getId(), new DeliveryOutcome()), now);
+            } catch (RuntimeException e) {
+                // El lease expirará y el mensaje se volverá a reclamar: la entrega es at-least-once
+                logger.warn("Could not record delivery of outbox message {}: {}", message.getId(), e.getMessage());
+            }
+        }
+        return claimed.size();
+    }
+
+    /**
+     * Backoff exponencial con jitter completo: aleatorio en [base/2, base], base = initial * 2^(attempt-1)
+     * @param attempt intento fallido (1 = primer fallo)
+     * @param initialBackoffMs espera base tras el primer fallo
+     * @param maxBackoffMs espera máxima
+     * @return espera hasta el siguiente intento
+     */
+    public static Duration backoff(int attempt, long initialBackoffMs, long maxBackoffMs) {
+        int exponent = Math.min(Math.max(attempt - 1, 0), 30);
+        long base = Math.min(maxBackoffMs, initialBackoffMs * (1L << exponent));
+        long half = base / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(base - half + 1));
+    }
+
+    // ============ Reclamación ============
+
+    private List<OutboxMessage> claimBatch() {
+        Instant now = Instant.now();
+        Query candidates = query(readyCriteria(now))
+                .with(Sort.by(Sort.Direction.ASC, OCCURRED_AT_FIELD))
+                .limit(properties.claimSize());
+        candidates.fields().include(ID_FIELD);
+        List<String> ids = mongoTemplate.find(candidates, OutboxMessage.class).stream()
+                .map(OutboxMessage::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // El filtro se repite en la actualización: si otro pod ganó la carrera, esos mensajes no se reclaman
+        String claimToken = dispatcherId + ":" + UUID.randomUUID();
+        mongoTemplate.updateMulti(query(where(ID_FIELD).in(ids).andOperator(readyCriteria(now))),
+                new Update().set(LOCKED_BY_FIELD, claimToken)
+                        .set(LOCKED_UNTIL_FIELD, now.plusSeconds(properties.leaseSeconds())),
+                OutboxMessage.class);
+        return mongoTemplate.find(query(where(LOCKED_BY_FIELD).is(claimToken))
+                .with(Sort.by(Sort.Direction.ASC, OCCURRED_AT_FIELD)), OutboxMessage.class);
+    }
+
+    private static Criteria readyCriteria(Instant now) {
+        return where(STATUS_FIELD).is(OutboxMessage.Status.PENDING)
+                .and(NEXT_ATTEMPT_AT_FIELD).lte(now)
+                .orOperator(where(LOCKED_UNTIL_FIELD).is(null), where(LOCKED_UNTIL_FIELD).lt(now));
+    }
+
+    // ============ Entrega ============
+
+    private Map<String, DeliveryOutcome> deliver(List<OutboxMessage> messages) {
+        Map<String, DeliveryOutcome> outcomes = new ConcurrentHashMap<>();
+        messages.forEach(message -> outcomes.put(message.getId(), new DeliveryOutcome()));
+
+        // Un hilo virtual por lote; el semáforo de cada endpoint limita cuántos están en vuelo a la vez
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (WebhookProperties.Endpoint endpoint : properties.endpoints()) {
+                List<OutboxMessage> pending = messages.stream()
+                        .filter(endpoint::accepts)
+                        .filter(message -> !message.isDeliveredTo(endpoint.name()))
+                        .toList();
+                for (List<OutboxMessage> batch : partition(pending, Math.max(1, endpoint.maxBatchSize()))) {
+                    batch.forEach(message -> outcomes.get(message.getId()).expect(endpoint.name()));
+                    executor.submit(() -> deliverBatch(endpoint, batch, outcomes));
+                }
+            }
+        }
+        return outcomes;
+    }
+
+    private void deliverBatch(WebhookProperties.Endpoint endpoint, List<OutboxMessage> batch,
+                              Map<String, DeliveryOutcome> outcomes) {
+        Semaphore permits = endpointPermits.get(endpoint.name());
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.forEach(message -> outcomes.get(message.getId()).fail(endpoint.name(), "Interrupted"));
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            WebhookClient.DeliveryResult result = webhookClient.deliver(endpoint, batch);
+            Timer.builder(METRIC_PREFIX + "delivery")
+                    .tag("endpoint", endpoint.name())
+                    .tag("outcome", result.success() ? "success" : "failure")
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+            if (result.success()) {
+                counter("delivered", endpoint.name()).increment(batch.size());
+                batch.forEach(message -> outcomes.get(message.getId()).succeed(endpoint.name()));
+            } else {
+                logger.debug("Webhook delivery to {} failed: {}", endpoint.name(), result.error());
+                batch.forEach(message -> outcomes.get(message.getId()).fail(endpoint.name(), result.error()));
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void recordOutcome(OutboxMessage message, DeliveryOutcome outcome, Instant now) {
+        Set<String> delivered = new HashSet<>(message.getDeliveredEndpoints() != null ? message.getDeliveredEndpoints() : Set.of());
+        delivered.addAll(outcome.succeeded);
+
+        Update update = new Update()
+                .set("deliveredEndpoints", delivered)
+                .unset(LOCKED_BY_FIELD)
+                .unset(LOCKED_UNTIL_FIELD);
+
+        if (outcome.failures.isEmpty()) {
+            update.set(STATUS_FIELD, OutboxMessage.Status.DELIVERED);
+        } else {
+            int attempts = message.getAttempts() + 1;
+            String error = String.join("; ", outcome.failures.values());
+            update.set("attempts", attempts)
+                    .set("lastError", error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (attempts >= properties.maxAttempts()) {
+                update.set(STATUS_FIELD, OutboxMessage.Status.FAILED);
+                outcome.failures.keySet().forEach(endpoint -> counter("dead", endpoint).increment());
+                logger.error("Giving up on outbox message {} for campus {} after {} attempts: {}",
+                        message.getId(), message.getCampusId(), attempts, error);
+            } else {
+                update.set(NEXT_ATTEMPT_AT_FIELD, now.plus(backoff(attempts, properties.initialBackoffMs(), properties.maxBackoffMs())));
+                outcome.failures.keySet().forEach(endpoint -> counter("retries", endpoint).increment());
+            }
+        }
+
+        // Sólo el pod que tiene el lease puede registrar el resultado
+        mongoTemplate.updateFirst(query(where(ID_FIELD).is(message.getId()).and(LOCKED_BY_FIELD).is(message.getLockedBy())),
+                update, OutboxMessage.class);
+    }
+
+    private Counter counter(String name, String endpoint) {
+        return Counter.builder(METRIC_PREFIX + name).tag("endpoint", endpoint).register(meterRegistry);
+    }
+
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += size) {
+            batches.add(items.subList(from, Math.min(items.size(), from + size)));
+        }
+        return batches;
+    }
+
+    /**
+     * Resultado por endpoint de un mensaje en el ciclo actual
+     */
+    private static final class DeliveryOutcome {
+        private final Set<String> succeeded = ConcurrentHashMap.newKeySet();
+        private final Map<String, String> failures = new ConcurrentHashMap<>();
+
+        private void expect(String endpoint) {
+            // Pendiente hasta que se confirme: si el hilo no llega a ejecutarse cuenta como fallo
+            failures.put(endpoint, "Not attempted");
+        }
+
+        private void succeed(String endpoint) {
+            failures.remove(endpoint);
+            succeeded.add(endpoint);
+        }
+
+        private void fail(String endpoint, String error) {
+            failures.put(endpoint, endpoint + ": " + error);
+        }
+    }
+}
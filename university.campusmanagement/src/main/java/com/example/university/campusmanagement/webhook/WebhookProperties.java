@@ -0,0 +1,53 @@
+package com.example.university.campusmanagement.webhook;
+
+import com.example.university.campusmanagement.model.OutboxMessage;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Configuración de la entrega de webhooks (campus.webhooks.*)
+ *
+ * @param enabled           habilita el outbox y el dispatcher
+ * @param claimSize         mensajes de outbox reclamados por ciclo de entrega
+ * @param maxAttempts       intentos antes de dar un mensaje por fallido
+ * @param initialBackoffMs  espera tras el primer fallo (se duplica en cada intento)
+ * @param maxBackoffMs      espera máxima entre intentos
+ * @param leaseSeconds      tiempo que un pod retiene los mensajes reclamados
+ * @param requestTimeoutMs  timeout de cada petición HTTP
+ * @param endpoints         endpoints suscritos
+ */
+@ConfigurationProperties(prefix = "campus.webhooks")
+public record WebhookProperties(@DefaultValue("false") boolean enabled,
+                                @DefaultValue("200") int claimSize,
+                                @DefaultValue("8") int maxAttempts,
+                                @DefaultValue("1000") long initialBackoffMs,
+                                @DefaultValue("300000") long maxBackoffMs,
+                                @DefaultValue("30") long leaseSeconds,
+                                @DefaultValue("5000") long requestTimeoutMs,
+                                @DefaultValue List<Endpoint> endpoints) {
+
+    /**
+     * Endpoint suscrito a los cambios de estado
+     *
+     * @param name           nombre estable (se usa para registrar entregas y en las métricas)
+     * @param url            URL a la que se hace POST
+     * @param states         estados destino que interesan (vacío = todos)
+     * @param maxConcurrency peticiones simultáneas como máximo hacia este endpoint
+     * @param maxBatchSize   mensajes por petición
+     * @param secret         secreto para la firma HMAC-SHA256 (opcional)
+     */
+    public record Endpoint(String name,
+                           URI url,
+                           @DefaultValue List<String> states,
+                           @DefaultValue("2") int maxConcurrency,
+                           @DefaultValue("50") int maxBatchSize,
+                           String secret) {
+
+        public boolean accepts(OutboxMessage message) {
+            return states.isEmpty() || states.contains(message.getCurrentState());
+        }
+    }
+}
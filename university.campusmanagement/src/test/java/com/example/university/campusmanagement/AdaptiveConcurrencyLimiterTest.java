@@ -0,0 +1,82 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.filter.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del limitador de concurrencia adaptativo (AIMD)
+ */
+@DisplayName("Adaptive Concurrency Limiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter("read", 2, 1, 10, THRESHOLD_NANOS, 0.5, 0);
+    }
+
+    @Test
+    @DisplayName("Should reject requests above the current limit and count rejections")
+    void shouldRejectAboveLimit() {
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejections());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should increase limit additively while latency is healthy")
+    void shouldIncreaseLimitOnFastResponses() {
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+
+        limiter.release(FAST, false);
+
+        assertEquals(3, limiter.getLimit());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should decrease limit multiplicatively on slow or failed responses")
+    void shouldDecreaseLimitOnSlowResponses() {
+        assertTrue(limiter.tryAcquire());
+        limiter.release(SLOW, false);
+        assertEquals(1, limiter.getLimit());
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(FAST, true);
+        assertEquals(1, limiter.getLimit(), "Limit should never drop below the minimum");
+    }
+
+    @Test
+    @DisplayName("A burst of slow responses within one sampling interval should decrease the limit only once")
+    void shouldDecreaseOncePerInterval() {
+        // Given
+        AdaptiveConcurrencyLimiter sampled = new AdaptiveConcurrencyLimiter("read", 8, 1, 10, THRESHOLD_NANOS, 0.5,
+                TimeUnit.HOURS.toNanos(1));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(sampled.tryAcquire());
+        }
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            sampled.release(SLOW, false);
+        }
+
+        // Then
+        assertEquals(4, sampled.getLimit());
+    }
+}
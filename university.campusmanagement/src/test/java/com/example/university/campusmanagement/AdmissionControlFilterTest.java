@@ -0,0 +1,86 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.filter.AdaptiveConcurrencyLimiter;
+import com.example.university.campusmanagement.filter.AdmissionControlFilter;
+import com.example.university.campusmanagement.filter.EndpointClass;
+import jakarta.servlet.AsyncContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del filtro de control de admisión
+ */
+@DisplayName("Admission Control Filter Tests")
+class AdmissionControlFilterTest {
+
+    private AdaptiveConcurrencyLimiter bulkLimiter;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        bulkLimiter = new AdaptiveConcurrencyLimiter("bulk", 1, 1, 4, TimeUnit.SECONDS.toNanos(60), 0.5, 0);
+        filter = new AdmissionControlFilter(Map.of(EndpointClass.BULK, bulkLimiter), 1);
+    }
+
+    @Test
+    @DisplayName("An async export should hold its permit until the response completes")
+    void asyncRequestShouldHoldPermitUntilCompletion() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/campuses/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+
+        // Then
+        assertEquals(1, bulkLimiter.getInFlight(), "The permit must outlive the servlet thread");
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/campuses/export"), rejected,
+                (req, res) -> fail("A second export must not be admitted"));
+        assertEquals(503, rejected.getStatus());
+
+        AsyncContext asyncContext = request.getAsyncContext();
+        ((MockAsyncContext) asyncContext).complete();
+        assertEquals(0, bulkLimiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("A synchronous request should release its permit when the chain returns")
+    void syncRequestShouldReleaseOnReturn() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/campuses/import");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> assertEquals(1, bulkLimiter.getInFlight()));
+
+        // Then
+        assertEquals(0, bulkLimiter.getInFlight());
+        assertEquals(2, bulkLimiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("SSE subscriptions should bypass the adaptive limiters")
+    void eventStreamShouldBypassLimiters() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/campuses/events");
+        boolean[] invoked = {false};
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> invoked[0] = true);
+
+        // Then
+        assertEquals(EndpointClass.STREAM, EndpointClass.of(request));
+        assertTrue(invoked[0]);
+    }
+}
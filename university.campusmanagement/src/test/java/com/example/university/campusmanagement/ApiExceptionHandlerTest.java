@@ -0,0 +1,167 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.constants.Constants;
+import com.example.university.campusmanagement.controller.ApiExceptionHandler;
+import com.example.university.campusmanagement.controller.CampusExportController;
+import com.example.university.campusmanagement.controller.CampusImportController;
+import com.example.university.campusmanagement.controller.CampusStateController;
+import com.example.university.campusmanagement.dto.CampusFieldSet;
+import com.example.university.campusmanagement.dto.InvalidRequestException;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusRepositoryUnavailableException;
+import com.example.university.campusmanagement.service.CampusImportService;
+import com.example.university.campusmanagement.service.CampusNotFoundException;
+import com.example.university.campusmanagement.service.CampusService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de la traducción común de excepciones a respuestas HTTP.
+ * Los controladores no capturan errores por su cuenta: todos pasan por ApiExceptionHandler
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("API Exception Handler Tests")
+class ApiExceptionHandlerTest {
+
+    @Mock
+    private CampusService campusService;
+
+    @Mock
+    private CampusImportService campusImportService;
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new CampusStateController(campusService),
+                        new CampusImportController(campusImportService),
+                        new CampusExportController(campusService, new ObjectMapper()))
+                .setControllerAdvice(handler)
+                .build();
+    }
+
+    @Test
+    @DisplayName("A missing campus should map to 404 with its id")
+    void missingCampusShouldMapToNotFound() {
+        // When
+        ResponseEntity<Map<String, String>> response = handler.handleCampusNotFound(new CampusNotFoundException("42"));
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(Map.of("error", "Campus not found", "id", "42"), response.getBody());
+    }
+
+    @Test
+    @DisplayName("Only invalid request parameters should map to 400; other illegal arguments stay internal errors")
+    void onlyInvalidRequestsShouldMapToBadRequest() {
+        // Given
+        InvalidRequestException invalid = assertThrows(InvalidRequestException.class,
+                () -> CampusFieldSet.parse("telephoneNumber"));
+        ExceptionHandlerMethodResolver resolver = new ExceptionHandlerMethodResolver(ApiExceptionHandler.class);
+
+        // When
+        ResponseEntity<Map<String, String>> response = handler.handleInvalidRequest(invalid);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().get("error").contains("telephoneNumber"));
+        assertNotNull(resolver.resolveMethod(invalid));
+        assertNull(resolver.resolveMethod(new IllegalArgumentException("Unknown campus property: x")));
+    }
+
+    @Test
+    @DisplayName("An unavailable database should map to a retryable 503, not to 404")
+    void unavailableDatabaseShouldMapToServiceUnavailable() {
+        // When
+        ResponseEntity<Map<String, String>> response = handler.handleDatabaseUnavailable(
+                new CampusRepositoryUnavailableException("Campus repository circuit is open"));
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    @DisplayName("A transition not allowed from the current state should return 409")
+    void invalidTransitionShouldReturnConflict() throws Exception {
+        // Given
+        Campus inactive = new Campus("Campus Central", "Calle 1", "Armenia", "3001234567");
+        inactive.deactivate();
+        when(campusService.putCampusInMaintenance("1")).thenAnswer(invocation -> {
+            inactive.putInMaintenance();
+            return inactive;
+        });
+
+        // When & Then
+        mockMvc.perform(patch("/api/campuses/1/maintenance"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$." + Constants.ResponseFields.ERROR).value(containsString("Activate first")));
+    }
+
+    @Test
+    @DisplayName("A database failure during a transition should return 503 without echoing the driver message")
+    void databaseFailureShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        when(campusService.activateCampus("1"))
+                .thenThrow(new DataAccessResourceFailureException("Timed out after 30000 ms while connecting to mongo-0:27017"));
+
+        // When & Then
+        mockMvc.perform(patch("/api/campuses/1/activate"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$." + Constants.ResponseFields.ERROR).value(Constants.ErrorMessages.SERVICE_UNAVAILABLE))
+                .andExpect(content().string(not(containsString("mongo-0"))));
+    }
+
+    @Test
+    @DisplayName("An invalid CSV header should return 400")
+    void invalidCsvHeaderShouldReturnBadRequest() throws Exception {
+        // Given
+        when(campusImportService.importCsv(any()))
+                .thenThrow(new InvalidRequestException("CSV header must contain the columns [name, city]"));
+
+        // When & Then
+        mockMvc.perform(post("/api/campuses/import").contentType("text/csv").content("address\nCalle 1\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$." + Constants.ResponseFields.ERROR).value(containsString("header")));
+    }
+
+    @Test
+    @DisplayName("An unknown export field should return 400 before the stream starts")
+    void unknownExportFieldShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/campuses/export").param("fields", "name,password")
+                        .accept("application/x-ndjson"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$." + Constants.ResponseFields.ERROR).value(containsString("password")));
+        verifyNoInteractions(campusService);
+    }
+}
@@ -15,7 +15,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 		"MONGO_USERNAME=testuser",
 		"MONGO_PASSWORD=testpass",
 		"MONGO_CLUSTER=testcluster",
-		"MONGO_DATABASE=test_db"
+		"MONGO_DATABASE=test_db",
+		"campus.security.jwt-secret=bvZipEOR0UORW44z0KUyESxzyD5cwz75hT2uL8d7dKE="
 })
 class ApplicationTests {
 
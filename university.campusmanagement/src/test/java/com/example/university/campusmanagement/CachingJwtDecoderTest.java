@@ -0,0 +1,130 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.config.SecurityConfig;
+import com.example.university.campusmanagement.security.CachingJwtDecoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de la caché acotada de tokens verificados
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Caching Jwt Decoder Tests")
+class CachingJwtDecoderTest {
+
+    @Mock
+    private JwtDecoder verifyingDecoder;
+
+    private CachingJwtDecoder cachingDecoder;
+
+    @BeforeEach
+    void setUp() {
+        cachingDecoder = new CachingJwtDecoder(verifyingDecoder, 2);
+    }
+
+    @Test
+    @DisplayName("The decoder should not be built without a Base64 HMAC secret of at least 256 bits")
+    void missingOrShortSecretShouldFailAtStartup() {
+        // Given
+        SecurityConfig securityConfig = new SecurityConfig();
+
+        // Then
+        assertThrows(IllegalStateException.class, () -> securityConfig.jwtDecoder("", 10));
+        assertThrows(IllegalStateException.class, () -> securityConfig.jwtDecoder("not base64!", 10));
+        // 31 bytes: por debajo de los 32 que exige HS256
+        assertThrows(IllegalStateException.class,
+                () -> securityConfig.jwtDecoder("AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA==", 10));
+        assertNotNull(securityConfig.jwtDecoder("bvZipEOR0UORW44z0KUyESxzyD5cwz75hT2uL8d7dKE=", 10));
+    }
+
+    @Test
+    @DisplayName("Should verify each token signature only once")
+    void shouldVerifyTokenOnlyOnce() {
+        // Given
+        Jwt jwt = jwt("token-1", Instant.now().plusSeconds(300));
+        when(verifyingDecoder.decode("token-1")).thenReturn(jwt);
+
+        // When
+        Jwt first = cachingDecoder.decode("token-1");
+        Jwt second = cachingDecoder.decode("token-1");
+
+        // Then
+        assertSame(first, second);
+        verify(verifyingDecoder, times(1)).decode("token-1");
+    }
+
+    @Test
+    @DisplayName("Should re-verify expired tokens")
+    void shouldReverifyExpiredTokens() {
+        // Given
+        Jwt expired = jwt("token-1", Instant.now().minusSeconds(1));
+        when(verifyingDecoder.decode("token-1")).thenReturn(expired);
+
+        // When
+        cachingDecoder.decode("token-1");
+        cachingDecoder.decode("token-1");
+
+        // Then
+        verify(verifyingDecoder, times(2)).decode("token-1");
+    }
+
+    @Test
+    @DisplayName("Cache should stay bounded")
+    void cacheShouldStayBounded() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            String token = "token-" + i;
+            when(verifyingDecoder.decode(token)).thenReturn(jwt(token, Instant.now().plusSeconds(300)));
+        }
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            cachingDecoder.decode("token-" + i);
+        }
+
+        // Then
+        assertTrue(cachingDecoder.size() <= 2);
+    }
+
+    @Test
+    @DisplayName("A full cache should evict the least recently used token")
+    void fullCacheShouldEvictLeastRecentlyUsed() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            String token = "token-" + i;
+            when(verifyingDecoder.decode(token)).thenReturn(jwt(token, Instant.now().plusSeconds(300)));
+        }
+        cachingDecoder.decode("token-0");
+        cachingDecoder.decode("token-1");
+        cachingDecoder.decode("token-0");
+
+        // When
+        cachingDecoder.decode("token-2");
+        cachingDecoder.decode("token-0");
+        cachingDecoder.decode("token-1");
+
+        // Then: token-0 siguió en uso y no se volvió a verificar; token-1 fue el descartado
+        verify(verifyingDecoder, times(1)).decode("token-0");
+        verify(verifyingDecoder, times(2)).decode("token-1");
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "HS256")
+                .subject("registrar")
+                .issuedAt(expiresAt.minusSeconds(600))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.event.CampusArchivedEvent;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.service.CampusArchiver;
+import com.mongodb.client.result.DeleteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests del archivado de campus dados de baja
+ */
+@DisplayName("Campus Archiver Tests")
+class CampusArchiverTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-01T00:00:00Z");
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CampusArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollectionName(Campus.class)).thenReturn("campuses");
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CampusArchiver.ARCHIVE_COLLECTION)).thenReturn(bulk);
+        archiver = new CampusArchiver(mongoTemplate, eventPublisher, meterRegistry, 90, 2, 5);
+    }
+
+    private static Document inactive(String id) {
+        return new Document("_id", id).append("n", "Sede " + id).append("s", 2)
+                .append("m", Date.from(NOW.minus(Duration.ofDays(200)))).append("v", 2);
+    }
+
+    @Test
+    @DisplayName("Old inactive campuses should be copied to the archive before being deleted, batch by batch")
+    void inactiveCampusesShouldBeCopiedThenDeleted() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("campuses")))
+                .thenReturn(List.of(inactive("1"), inactive("2")))
+                .thenReturn(List.of(inactive("3")));
+        when(mongoTemplate.remove(any(Query.class), eq("campuses")))
+                .thenReturn(DeleteResult.acknowledged(2), DeleteResult.acknowledged(1));
+
+        // When
+        long archived = archiver.archiveInactive(NOW);
+
+        // Then
+        assertEquals(3, archived);
+        InOrder order = inOrder(bulk, mongoTemplate);
+        order.verify(bulk).execute();
+        order.verify(mongoTemplate).remove(any(Query.class), eq("campuses"));
+        verify(bulk, times(3)).replaceOne(any(Query.class), any(Document.class), any(FindAndReplaceOptions.class));
+
+        ArgumentCaptor<Query> candidates = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(candidates.capture(), eq(Document.class), eq("campuses"));
+        Document filter = candidates.getValue().getQueryObject();
+        assertEquals(2, filter.get("s"));
+        assertEquals(new Document("$lt", Date.from(NOW.minus(Duration.ofDays(90)))), filter.get("m"));
+
+        ArgumentCaptor<CampusArchivedEvent> event = ArgumentCaptor.forClass(CampusArchivedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Set.of("1", "2", "3"), event.getValue().campusIds());
+        assertEquals(3.0, meterRegistry.get("campus.archive.archived").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("A campus reactivated during archival should stay in the main collection and leave the archive")
+    void reactivatedCampusShouldNotBeArchived() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("campuses")))
+                .thenReturn(List.of(inactive("1")))
+                .thenReturn(List.of(new Document("_id", "1")));
+        when(mongoTemplate.remove(any(Query.class), eq("campuses"))).thenReturn(DeleteResult.acknowledged(0));
+
+        // When
+        long archived = archiver.archiveInactive(NOW);
+
+        // Then
+        assertEquals(0, archived);
+        verify(mongoTemplate).remove(any(Query.class), eq(CampusArchiver.ARCHIVE_COLLECTION));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Nothing to archive should not publish any event")
+    void nothingToArchiveShouldBeQuiet() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("campuses"))).thenReturn(List.of());
+
+        // When
+        long archived = archiver.archiveInactive(NOW);
+
+        // Then
+        assertEquals(0, archived);
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), anyString());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+}
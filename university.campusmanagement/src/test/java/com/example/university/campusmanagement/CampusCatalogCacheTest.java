@@ -0,0 +1,105 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusReadRouter;
+import com.example.university.campusmanagement.repository.CampusRepository;
+import com.example.university.campusmanagement.service.CampusCatalogCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests del refresco de la caché del catálogo (delta por secuencia y recarga completa)
+ */
+@DisplayName("Campus Catalog Cache Tests")
+class CampusCatalogCacheTest {
+
+    private final CampusRepository primaryRepository = mock(CampusRepository.class);
+    private final CampusRepository secondaryRepository = mock(CampusRepository.class);
+
+    @TempDir
+    Path snapshotDir;
+
+    private CampusCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CampusCatalogCache(new CampusReadRouter(primaryRepository, secondaryRepository),
+                snapshotDir.resolve("catalog.snapshot").toString());
+    }
+
+    private static Campus campus(String id, long changeSeq) {
+        Campus campus = new Campus("Sede " + id, "Calle 1", "Armenia", "3001234567");
+        campus.setId(id);
+        campus.setChangeSeq(changeSeq);
+        return campus;
+    }
+
+    @Test
+    @DisplayName("The delta refresh should read the primary from the highest loaded sequence, not from the local clock")
+    void deltaShouldStartFromTheLoadedSequence() {
+        // Given
+        when(primaryRepository.findAll()).thenReturn(List.of(campus("1", 10_000_000L), campus("2", 20_000_000L)));
+        cache.refresh();
+        when(primaryRepository.findChangedBetween(anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(campus("3", 21_000_000L)));
+
+        // When
+        cache.refresh();
+
+        // Then: 5 s de solape por debajo de la mayor secuencia leída
+        verify(primaryRepository).findChangedBetween(eq(15_000_000L), eq(Long.MAX_VALUE), any(Pageable.class));
+        assertTrue(cache.get("3").isPresent());
+        verifyNoInteractions(secondaryRepository);
+    }
+
+    @Test
+    @DisplayName("A full reload should evict campuses that are no longer in the collection")
+    void reloadShouldEvictRemovedCampuses() {
+        // Given
+        when(primaryRepository.findAll())
+                .thenReturn(List.of(campus("1", 10L), campus("2", 20L)))
+                .thenReturn(List.of(campus("2", 20L)));
+        cache.reload();
+
+        // When: otro pod ha archivado el campus 1
+        cache.reload();
+
+        // Then
+        assertTrue(cache.get("1").isEmpty());
+        assertTrue(cache.get("2").isPresent());
+        assertEquals(1, cache.all().size());
+    }
+
+    @Test
+    @DisplayName("Callers mutating a cached campus should not change the cache")
+    void readsShouldReturnCopies() {
+        // Given
+        when(primaryRepository.findAll()).thenReturn(List.of(campus("1", 10L)));
+        cache.reload();
+
+        // When: un llamador aplica una transición sobre lo que leyó, y otro la aplica sobre un campus que luego cachea
+        cache.get("1").orElseThrow().deactivate();
+        cache.all().getFirst().setName("Renamed");
+        Campus loaded = campus("2", 20L);
+        cache.put(loaded);
+        loaded.deactivate();
+
+        // Then
+        Campus cached = cache.get("1").orElseThrow();
+        assertTrue(cached.isActive());
+        assertNotEquals("Renamed", cached.getName());
+        assertTrue(cache.get("2").orElseThrow().isActive());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.event.CampusChangeEvent;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusReadRouter;
+import com.example.university.campusmanagement.repository.CampusRepository;
+import com.example.university.campusmanagement.service.CampusCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de los contadores de campus mantenidos incrementalmente
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Campus Counters Tests")
+class CampusCountersTest {
+
+    @Mock
+    private CampusRepository campusRepository;
+
+    private CampusCounters campusCounters;
+
+    @BeforeEach
+    void setUp() {
+        campusCounters = new CampusCounters(CampusReadRouter.primaryOnly(campusRepository));
+
+        // Colección vacía en la reconciliación inicial
+        when(campusRepository.countByCurrentState(anyString(), eq(false))).thenReturn(0L);
+        when(campusRepository.count()).thenReturn(0L);
+        when(campusRepository.countByActive(true, false)).thenReturn(0L);
+        campusCounters.reconcile();
+    }
+
+    @Test
+    @DisplayName("Should count created campuses and state transitions without querying")
+    @SuppressWarnings("unchecked")
+    void shouldMaintainCountsIncrementally() {
+        // Given
+        Campus campus = new Campus("Campus Central", "Calle 1", "Armenia", "3001234567");
+        campus.setId("1");
+        campusCounters.onCampusChange(CampusChangeEvent.created(campus));
+
+        // When
+        campus.putInMaintenance();
+        campusCounters.onCampusChange(CampusChangeEvent.stateChanged(campus, "ACTIVE", true));
+        Map<String, Object> counts = campusCounters.snapshot();
+
+        // Then
+        assertEquals(1L, counts.get("total"));
+        assertEquals(0L, counts.get("active"));
+        assertEquals(1L, counts.get("inactive"));
+        Map<String, Long> byState = (Map<String, Long>) counts.get("byState");
+        assertEquals(0L, byState.get("ACTIVE"));
+        assertEquals(1L, byState.get("MAINTENANCE"));
+        verify(campusRepository, times(1)).count();
+    }
+
+    @Test
+    @DisplayName("Reconciliation should overwrite drifted counters")
+    void reconciliationShouldFixDrift() {
+        // Given
+        when(campusRepository.count()).thenReturn(5L);
+        when(campusRepository.countByActive(true, false)).thenReturn(3L);
+        when(campusRepository.countByCurrentState("ACTIVE", false)).thenReturn(3L);
+
+        // When
+        campusCounters.reconcile();
+        Map<String, Object> counts = campusCounters.snapshot();
+
+        // Then
+        assertEquals(5L, counts.get("total"));
+        assertEquals(3L, counts.get("active"));
+        assertEquals(2L, counts.get("inactive"));
+    }
+
+    @Test
+    @DisplayName("Reconciliation should count on the primary, not on a lagging secondary")
+    void reconciliationShouldReadThePrimary() {
+        // Given
+        CampusRepository primary = mock(CampusRepository.class);
+        CampusRepository secondary = mock(CampusRepository.class);
+        when(primary.count()).thenReturn(2L);
+        CampusCounters counters = new CampusCounters(new CampusReadRouter(primary, secondary));
+
+        // When
+        counters.reconcile();
+
+        // Then
+        assertEquals(2L, counters.snapshot().get("total"));
+        verifyNoInteractions(secondary);
+    }
+}
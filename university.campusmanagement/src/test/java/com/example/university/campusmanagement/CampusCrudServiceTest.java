@@ -1,18 +1,32 @@
 package com.example.university.campusmanagement;
 
+import com.example.university.campusmanagement.dto.CampusFieldSet;
 import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusReadRouter;
 import com.example.university.campusmanagement.repository.CampusRepository;
+import com.example.university.campusmanagement.event.CampusChangeEvent;
+import com.example.university.campusmanagement.service.CampusNotFoundException;
+import com.example.university.campusmanagement.service.CampusOutbox;
 import com.example.university.campusmanagement.service.CampusService;
+import com.example.university.campusmanagement.service.CrudService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,16 +40,20 @@ import static org.mockito.Mockito.*;
 @DisplayName("Campus CRUD Service Tests")
 class CampusCrudServiceTest {
 
-    @InjectMocks
     private CampusService campusCrudService;
 
     @Mock
     private CampusRepository campusRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private Campus campus;
 
     @BeforeEach
     void setUp() {
+        campusCrudService = new CampusService(CampusReadRouter.primaryOnly(campusRepository), eventPublisher, Optional.empty(), Optional.empty(), Optional.empty());
+
         campus = new Campus();
         campus.setId("1");
         campus.setName("Campus Central");
@@ -52,7 +70,7 @@ class CampusCrudServiceTest {
         when(campusRepository.save(any(Campus.class))).thenReturn(campus);
 
         // When
-        Object result = campusCrudService.create(campus);
+        Campus result = campusCrudService.create(campus);
 
         // Then
         assertNotNull(result);
@@ -68,11 +86,10 @@ class CampusCrudServiceTest {
         when(campusRepository.save(any(Campus.class))).thenReturn(campus);
 
         // When
-        Object result = campusCrudService.update("1", campus);
+        Campus result = campusCrudService.update("1", campus);
 
         // Then
         assertNotNull(result);
-        assertInstanceOf(Campus.class, result);
         verify(campusRepository, times(1)).findById("1");
         verify(campusRepository, times(1)).save(any(Campus.class));
     }
@@ -84,7 +101,7 @@ class CampusCrudServiceTest {
         when(campusRepository.findById("1")).thenReturn(Optional.of(campus));
 
         // When
-        Object result = campusCrudService.findById("1");
+        Campus result = campusCrudService.findById("1");
 
         // Then
         assertNotNull(result);
@@ -100,14 +117,12 @@ class CampusCrudServiceTest {
         when(campusRepository.findAll()).thenReturn(campusList);
 
         // When
-        List<Object> result = campusCrudService.findAll();
+        List<Campus> result = campusCrudService.findAll();
 
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        // Verificar que el primer elemento es un Campus
-        assertTrue(result.get(0) instanceof Campus);
-        Campus resultCampus = (Campus) result.get(0);
+        Campus resultCampus = result.get(0);
         assertEquals(campus.getId(), resultCampus.getId());
         assertEquals(campus.getName(), resultCampus.getName());
         verify(campusRepository, times(1)).findAll();
@@ -142,6 +157,21 @@ class CampusCrudServiceTest {
         verify(campusRepository, times(1)).findById("999");
     }
 
+    @Test
+    @DisplayName("A missing campus should raise a stackless CampusNotFoundException")
+    void notFoundShouldBeStackless() {
+        // Given
+        when(campusRepository.findById("999")).thenReturn(Optional.empty());
+
+        // When
+        CampusNotFoundException exception = assertThrows(CampusNotFoundException.class,
+                () -> campusCrudService.update("999", new Campus()));
+
+        // Then
+        assertEquals("999", exception.getCampusId());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
     @Test
     @DisplayName("Should throw exception when trying to delete non-existent campus")
     void testDeleteThrowsException() {
@@ -159,30 +189,39 @@ class CampusCrudServiceTest {
 
     @Test
     @DisplayName("Should throw exception for invalid entity type in create")
+    @SuppressWarnings({"rawtypes", "unchecked"})
     void testCreateWithInvalidEntity() {
-        // Given
+        // Given: sólo un uso sin tipos (raw) puede colar algo que no sea un Campus
+        CrudService rawService = campusCrudService;
         String invalidEntity = "Not a Campus";
 
         // When & Then
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> campusCrudService.create(invalidEntity));
-
-        assertEquals("Entity must be of type Campus", exception.getMessage());
+        assertThrows(ClassCastException.class, () -> rawService.create(invalidEntity));
         verify(campusRepository, never()).save(any(Campus.class));
     }
 
     @Test
     @DisplayName("Should throw exception for invalid entity type in update")
+    @SuppressWarnings({"rawtypes", "unchecked"})
     void testUpdateWithInvalidEntity() {
         // Given
+        CrudService rawService = campusCrudService;
         String invalidEntity = "Not a Campus";
 
+        // When & Then
+        assertThrows(ClassCastException.class, () -> rawService.update("1", invalidEntity));
+        verify(campusRepository, never()).findById(anyString());
+        verify(campusRepository, never()).save(any(Campus.class));
+    }
+
+    @Test
+    @DisplayName("Should throw exception for null entity in create")
+    void testCreateWithNullEntity() {
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> campusCrudService.update("1", invalidEntity));
+                () -> campusCrudService.create(null));
 
-        assertEquals("Entity must be of type Campus", exception.getMessage());
-        verify(campusRepository, never()).findById(anyString());
+        assertEquals("Campus cannot be null", exception.getMessage());
         verify(campusRepository, never()).save(any(Campus.class));
     }
 
@@ -201,12 +240,11 @@ class CampusCrudServiceTest {
         when(campusRepository.save(any(Campus.class))).thenReturn(savedCampus);
 
         // When
-        Object result = campusCrudService.create(newCampus);
+        Campus result = campusCrudService.create(newCampus);
 
         // Then
         assertNotNull(result);
-        Campus resultCampus = (Campus) result;
-        assertEquals("ACTIVE", resultCampus.getCurrentState());
+        assertEquals("ACTIVE", result.getCurrentState());
         verify(campusRepository, times(1)).save(any(Campus.class));
     }
 
@@ -217,11 +255,97 @@ class CampusCrudServiceTest {
         when(campusRepository.findAll()).thenReturn(List.of());
 
         // When
-        List<Object> result = campusCrudService.findAll();
+        List<Campus> result = campusCrudService.findAll();
 
         // Then
         assertNotNull(result);
         assertTrue(result.isEmpty());
         verify(campusRepository, times(1)).findAll();
     }
+
+    @Test
+    @DisplayName("findAll should return an unmodifiable list")
+    void testFindAllIsUnmodifiable() {
+        // Given
+        when(campusRepository.findAll()).thenReturn(List.of(campus));
+
+        // When
+        List<Campus> result = campusCrudService.findAll();
+
+        // Then
+        assertThrows(UnsupportedOperationException.class, () -> result.add(new Campus()));
+    }
+
+    @Test
+    @DisplayName("Should stream all campuses from a repository cursor")
+    void testStreamAll() {
+        // Given
+        when(campusRepository.streamAllBy()).thenReturn(Stream.of(campus));
+
+        // When
+        List<Campus> result;
+        try (Stream<Campus> stream = campusCrudService.streamAll()) {
+            result = stream.toList();
+        }
+
+        // Then
+        assertEquals(List.of(campus), result);
+        verify(campusRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should return a page of campuses")
+    void testFindAllPaged() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1);
+        when(campusRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(campus), pageable, 3));
+
+        // When
+        Page<Campus> result = campusCrudService.findAll(pageable);
+
+        // Then
+        assertEquals(1, result.getNumberOfElements());
+        assertEquals(3, result.getTotalElements());
+        assertEquals(campus, result.getContent().get(0));
+    }
+
+    @Test
+    @DisplayName("Should resolve a list of ids with a single query for the distinct ids")
+    void testFindAllById() {
+        // Given
+        when(campusRepository.findAllById(List.of("1", "missing"))).thenReturn(List.of(campus));
+
+        // When
+        Map<String, Campus> result = campusCrudService.findAllById(List.of("1", "missing", "1"), CampusFieldSet.ALL);
+
+        // Then
+        assertEquals(Map.of("1", campus), result);
+        verify(campusRepository, times(1)).findAllById(any());
+        verify(campusRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("State transitions should be saved through the outbox when webhooks are enabled")
+    @SuppressWarnings("unchecked")
+    void testTransitionUsesOutbox() {
+        // Given
+        CampusOutbox outbox = mock(CampusOutbox.class);
+        when(outbox.saveWithOutbox(any(), any())).thenAnswer(invocation -> {
+            Supplier<Campus> save = invocation.getArgument(0);
+            Function<Campus, CampusChangeEvent> eventFactory = invocation.getArgument(1);
+            return eventFactory.apply(save.get());
+        });
+        CampusService serviceWithOutbox = new CampusService(CampusReadRouter.primaryOnly(campusRepository), eventPublisher,
+                Optional.empty(), Optional.empty(), Optional.of(outbox));
+        when(campusRepository.findById("1")).thenReturn(Optional.of(campus));
+        when(campusRepository.save(any(Campus.class))).thenReturn(campus);
+
+        // When
+        Campus result = serviceWithOutbox.putCampusInMaintenance("1");
+
+        // Then
+        assertEquals("MAINTENANCE", result.getCurrentState());
+        verify(outbox, times(1)).saveWithOutbox(any(), any());
+        verify(eventPublisher).publishEvent(any(CampusChangeEvent.class));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,252 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.event.CampusArchivedEvent;
+import com.example.university.campusmanagement.event.CampusBulkChangeEvent;
+import com.example.university.campusmanagement.event.CampusChangeEvent;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.service.CampusEventBroadcaster;
+import com.example.university.campusmanagement.service.CampusEventBroadcaster.SlowConsumerPolicy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la difusión SSE de cambios de campus: fan-out, reanudación y clientes lentos
+ */
+@DisplayName("Campus Event Broadcaster Tests")
+class CampusEventBroadcasterTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    private CampusEventBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        if (broadcaster != null) {
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Subscribers should receive serialized events with id and type")
+    void subscribersShouldReceiveEvents() throws Exception {
+        // Given
+        broadcaster = newBroadcaster(8, SlowConsumerPolicy.DROP_OLDEST, 10);
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        assertTrue(broadcaster.subscribe(first, null));
+        assertTrue(broadcaster.subscribe(second, null));
+
+        // When
+        broadcaster.onCampusChange(CampusChangeEvent.created(campus("1", "Sede Principal")));
+
+        // Then
+        for (RecordingEmitter emitter : List.of(first, second)) {
+            String message = emitter.next();
+            assertTrue(message.contains("event:CREATED"), message);
+            assertTrue(message.contains("\"name\":\"Sede Principal\""), message);
+            assertNotNull(eventId(message));
+        }
+        assertEquals(2, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Reconnecting with Last-Event-ID should replay only the missed events")
+    void lastEventIdShouldResume() throws Exception {
+        // Given
+        broadcaster = newBroadcaster(8, SlowConsumerPolicy.DROP_OLDEST, 10);
+        RecordingEmitter original = new RecordingEmitter();
+        broadcaster.subscribe(original, null);
+        for (int i = 1; i <= 3; i++) {
+            broadcaster.onCampusChange(CampusChangeEvent.created(campus(String.valueOf(i), "Campus " + i)));
+        }
+        String firstId = eventId(original.next());
+
+        // When
+        RecordingEmitter resumed = new RecordingEmitter();
+        broadcaster.subscribe(resumed, firstId);
+
+        // Then
+        assertTrue(resumed.next().contains("Campus 2"));
+        assertTrue(resumed.next().contains("Campus 3"));
+        assertNull(resumed.sent.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Unknown Last-Event-ID should ask the client to resync")
+    void unknownLastEventIdShouldResync() throws Exception {
+        // Given
+        broadcaster = newBroadcaster(8, SlowConsumerPolicy.DROP_OLDEST, 10);
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // When
+        broadcaster.subscribe(emitter, "previous-instance-42");
+
+        // Then
+        String message = emitter.next();
+        assertTrue(message.contains("event:resync"), message);
+        assertTrue(message.contains("unknown-last-event-id"), message);
+    }
+
+    @Test
+    @DisplayName("DISCONNECT policy should close a subscriber whose buffer is full")
+    void disconnectPolicyShouldCloseSlowSubscriber() throws Exception {
+        // Given
+        broadcaster = newBroadcaster(1, SlowConsumerPolicy.DISCONNECT, 10);
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.blockSends();
+        broadcaster.subscribe(slow, null);
+
+        // When: el hilo de envío retiene como mucho un evento y el buffer admite otro
+        for (int i = 1; i <= 3; i++) {
+            broadcaster.onCampusChange(CampusChangeEvent.created(campus(String.valueOf(i), "Campus " + i)));
+        }
+
+        // Then
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, broadcaster.getSlowConsumerDisconnects());
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST policy should drop events and notify the subscriber")
+    void dropOldestPolicyShouldDropAndNotify() throws Exception {
+        // Given
+        broadcaster = newBroadcaster(1, SlowConsumerPolicy.DROP_OLDEST, 10);
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.blockSends();
+        broadcaster.subscribe(slow, null);
+
+        // When
+        for (int i = 1; i <= 5; i++) {
+            broadcaster.onCampusChange(CampusChangeEvent.created(campus(String.valueOf(i), "Campus " + i)));
+        }
+        slow.releaseSends();
+
+        // Then
+        List<String> received = new ArrayList<>();
+        String message;
+        while ((message = slow.sent.poll(500, TimeUnit.MILLISECONDS)) != null) {
+            received.add(message);
+        }
+        assertTrue(broadcaster.getDroppedEvents() >= 3);
+        assertTrue(received.stream().anyMatch(m -> m.contains("buffer-overflow")), received.toString());
+        assertTrue(received.get(received.size() - 1).contains("Campus 5"));
+        assertEquals(1, broadcaster.getSubscriberCount());
+    }
+    @Test
+    @DisplayName("Bulk imports and archivals should reach subscribers and the replay buffer")
+    void bulkChangesAndArchivalsShouldBeStreamed() throws Exception {
+        // Given
+        broadcaster = newBroadcaster(8, SlowConsumerPolicy.DROP_OLDEST, 10);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(emitter, null);
+        broadcaster.onCampusChange(CampusChangeEvent.created(campus("1", "Sede Principal")));
+        String firstId = eventId(emitter.next());
+
+        // When
+        broadcaster.onBulkChange(new CampusBulkChangeEvent(120, Instant.now()));
+        broadcaster.onCampusesArchived(new CampusArchivedEvent(Set.of("7"), Instant.now()));
+
+        // Then
+        String bulk = emitter.next();
+        assertTrue(bulk.contains("event:resync") && bulk.contains("bulk-change"), bulk);
+        String archived = emitter.next();
+        assertTrue(archived.contains("event:ARCHIVED") && archived.contains("\"7\""), archived);
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        broadcaster.subscribe(resumed, firstId);
+        assertTrue(resumed.next().contains("bulk-change"));
+        assertTrue(resumed.next().contains("event:ARCHIVED"));
+    }
+
+    @Test
+    @DisplayName("Subscriptions beyond the limit should be rejected")
+    void subscriptionsBeyondLimitShouldBeRejected() {
+        // Given
+        broadcaster = newBroadcaster(8, SlowConsumerPolicy.DROP_OLDEST, 2);
+
+        // When & Then
+        assertTrue(broadcaster.subscribe(new RecordingEmitter(), null));
+        assertTrue(broadcaster.subscribe(new RecordingEmitter(), null));
+        assertFalse(broadcaster.subscribe(new RecordingEmitter(), null));
+    }
+
+    private static CampusEventBroadcaster newBroadcaster(int bufferSize, SlowConsumerPolicy policy, int maxSubscribers) {
+        return new CampusEventBroadcaster(new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(),
+                bufferSize, 16, maxSubscribers, policy, 60);
+    }
+
+    private static Campus campus(String id, String name) {
+        Campus campus = new Campus(name, "Calle 1", "Armenia", "3000000000");
+        campus.setId(id);
+        return campus;
+    }
+
+    private static String eventId(String message) {
+        Matcher matcher = EVENT_ID.matcher(message);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    /**
+     * SseEmitter que registra lo enviado en lugar de escribir en una respuesta HTTP
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+
+        void blockSends() {
+            gate = new CountDownLatch(1);
+        }
+
+        void releaseSends() {
+            gate.countDown();
+        }
+
+        String next() throws InterruptedException {
+            String message = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(message, "No SSE message received");
+            return message;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            CountDownLatch currentGate = gate;
+            if (currentGate != null) {
+                try {
+                    currentGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while blocked", e);
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            sent.add(text.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
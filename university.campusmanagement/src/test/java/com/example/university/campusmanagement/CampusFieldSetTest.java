@@ -0,0 +1,119 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.dto.CampusFieldSet;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusReadRouter;
+import com.example.university.campusmanagement.repository.CampusRepository;
+import com.example.university.campusmanagement.service.CampusService;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de los sparse fieldsets (?fields=) y su proyección en MongoDB
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Campus Field Set Tests")
+class CampusFieldSetTest {
+
+    @Mock
+    private CampusRepository campusRepository;
+
+    @Mock
+    private MongoOperations mongoOperations;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    @DisplayName("Fields should be parsed into canonical order")
+    void fieldsShouldBeParsedInCanonicalOrder() {
+        // When
+        CampusFieldSet fieldSet = CampusFieldSet.parse("currentState, id,name,");
+
+        // Then
+        assertFalse(fieldSet.isAll());
+        assertEquals("id,name,currentState", fieldSet.key());
+        assertSame(CampusFieldSet.ALL, CampusFieldSet.parse(null));
+        assertSame(CampusFieldSet.ALL, CampusFieldSet.parse(" "));
+        assertSame(CampusFieldSet.ALL, CampusFieldSet.parse("id,name,address,city,telephone,active,currentState"));
+    }
+
+    @Test
+    @DisplayName("Unknown fields should be rejected")
+    void unknownFieldsShouldBeRejected() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CampusFieldSet.parse("id,password"));
+        assertTrue(exception.getMessage().contains("password"));
+    }
+
+    @Test
+    @DisplayName("Field set should translate into a Mongo projection")
+    void fieldSetShouldTranslateIntoProjection() {
+        // When
+        Document withId = CampusFieldSet.parse("id,name").applyTo(new Query()).getFieldsObject();
+        Document withoutId = CampusFieldSet.parse("currentState").applyTo(new Query()).getFieldsObject();
+        Document all = CampusFieldSet.ALL.applyTo(new Query()).getFieldsObject();
+
+        // Then
+        assertEquals(new Document("_id", 1).append("n", 1).append("name", 1).append("v", 1), withId);
+        assertEquals(new Document("s", 1).append("currentState", 1).append("active", 1).append("v", 1).append("_id", 0),
+                withoutId);
+        assertTrue(all.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Rendering should only include the requested properties")
+    void renderShouldOnlyIncludeRequestedProperties() {
+        // Given
+        Campus campus = new Campus("Sede Principal", "Avenida Bolivar", "Armenia", "3248762045");
+        campus.setId("1");
+
+        // When
+        Map<String, Object> view = CampusFieldSet.parse("name,id,currentState").render(campus);
+
+        // Then
+        assertEquals(List.of("id", "name", "currentState"), List.copyOf(view.keySet()));
+        assertEquals("Sede Principal", view.get("name"));
+        assertEquals("ACTIVE", view.get("currentState"));
+    }
+
+    @Test
+    @DisplayName("Service should push the projection down to MongoDB")
+    void serviceShouldPushProjectionDown() {
+        // Given
+        CampusService campusService = new CampusService(new CampusReadRouter(campusRepository, campusRepository, mongoOperations),
+                eventPublisher, Optional.empty(), Optional.empty(), Optional.empty());
+        Campus partial = new Campus();
+        partial.setId("1");
+        partial.setName("Sede Principal");
+        when(mongoOperations.find(any(Query.class), eq(Campus.class))).thenReturn(List.of(partial));
+
+        // When
+        List<Campus> result = campusService.findAll(CampusFieldSet.parse("id,name"));
+
+        // Then
+        assertEquals(1, result.size());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoOperations).find(query.capture(), eq(Campus.class));
+        assertEquals(new Document("_id", 1).append("n", 1).append("name", 1).append("v", 1),
+                query.getValue().getFieldsObject());
+        verify(campusRepository, never()).findAll();
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.dto.ImportReport;
+import com.example.university.campusmanagement.dto.InvalidRequestException;
+import com.example.university.campusmanagement.event.CampusBulkChangeEvent;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.service.CampusImportService;
+import com.example.university.campusmanagement.dto.CampusCreateRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidationException;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de la importación CSV en streaming
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Campus CSV Import Tests")
+class CampusImportServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ValidatorFactory validatorFactory;
+
+    private CampusImportService campusImportService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        // Lotes y bloques pequeños para ejercitar varias vueltas del pipeline
+        campusImportService = new CampusImportService(mongoTemplate, validatorFactory.getValidator(), eventPublisher,
+                2, 2, 2, 10, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should upsert valid rows and report invalid ones with their line numbers")
+    void shouldImportValidRowsAndReportErrors() throws Exception {
+        // Given
+        when(mongoTemplate.getCollectionName(Campus.class)).thenReturn("campuses");
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq("campuses"))).thenReturn(bulkOperations);
+        String csv = """
+                name,address,city,telephone
+                Sede Principal,Avenida Bolivar N-183,Armenia,3248762045
+                "Sede Norte, Bloque A",Calle 10,Pereira,3001234567
+
+                X,Calle 1,Armenia,3001234567
+                Sede Sur,Calle 20,Manizales,+573012345678
+                """;
+
+        // When
+        ImportReport report = campusImportService.importCsv(stream(csv));
+
+        // Then
+        assertEquals(4, report.totalRows());
+        assertEquals(3, report.validRows());
+        assertEquals(1, report.invalidRows());
+        assertEquals(3, report.upsertedRows());
+        assertEquals(1, report.errors().size());
+        assertEquals(5, report.errors().get(0).line());
+        assertTrue(report.errors().get(0).message().contains("name"));
+        verify(bulkOperations, times(3)).upsert(any(Query.class), any(Update.class));
+        verify(eventPublisher, times(1)).publishEvent(any(CampusBulkChangeEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject files without the required columns")
+    void shouldRejectInvalidHeader() {
+        // When & Then
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+                () -> campusImportService.importCsv(stream("address,telephone\nCalle 1,3001234567\n")));
+
+        assertTrue(exception.getMessage().contains("header"));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("A row that makes the validator throw should be reported without stopping the import")
+    void unexpectedRowFailureShouldBeReported() throws Exception {
+        // Given
+        when(mongoTemplate.getCollectionName(Campus.class)).thenReturn("campuses");
+        when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq("campuses"))).thenReturn(bulkOperations);
+        Validator validator = mock(Validator.class);
+        when(validator.validate(any(CampusCreateRequest.class))).thenAnswer(invocation -> {
+            CampusCreateRequest request = invocation.getArgument(0);
+            if ("Sede Rota".equals(request.getName())) {
+                throw new ValidationException("validator failure");
+            }
+            return Set.of();
+        });
+        CampusImportService service = new CampusImportService(mongoTemplate, validator, eventPublisher, 2, 2, 2, 10, 1000);
+        String csv = "name,city\nSede Rota,Armenia\nSede Norte,Pereira\nSede Sur,Manizales\n";
+
+        // When
+        ImportReport report = service.importCsv(stream(csv));
+
+        // Then
+        assertEquals(2, report.upsertedRows());
+        assertEquals(1, report.invalidRows());
+        assertEquals(2, report.errors().get(0).line());
+    }
+
+    @Test
+    @DisplayName("The reader should fail fast instead of blocking when the parsers have died")
+    void deadParsersShouldFailTheImport() {
+        // Given: un Error no se trata como fila inválida y termina con el parser
+        Validator validator = mock(Validator.class);
+        when(validator.validate(any(CampusCreateRequest.class))).thenThrow(new StackOverflowError());
+        CampusImportService service = new CampusImportService(mongoTemplate, validator, eventPublisher, 2, 2, 2, 10, 1000);
+        StringBuilder csv = new StringBuilder("name,city\n");
+        for (int i = 0; i < 1000; i++) {
+            csv.append("Sede ").append(i).append(",Armenia\n");
+        }
+
+        // When & Then
+        IllegalStateException exception = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(IllegalStateException.class, () -> service.importCsv(stream(csv.toString()))));
+        assertTrue(exception.getMessage().contains("parser"));
+        verify(bulkOperations, never()).execute();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
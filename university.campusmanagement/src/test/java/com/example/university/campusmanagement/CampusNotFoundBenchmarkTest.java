@@ -0,0 +1,144 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.controller.ApiExceptionHandler;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusLogStore;
+import com.example.university.campusmanagement.repository.CampusReadRouter;
+import com.example.university.campusmanagement.repository.LogStructuredCampusRepository;
+import com.example.university.campusmanagement.service.CampusNotFoundException;
+import com.example.university.campusmanagement.service.CampusService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmark del camino de fallo (ID inexistente): búsqueda, excepción y traducción a 404.
+ * Usa el backend local para que el coste medido sea el de la aplicación y no el de la red.
+ * Se ejecuta con: ./mvnw test -Dtest=CampusNotFoundBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Campus Not Found Benchmark")
+class CampusNotFoundBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampusNotFoundBenchmarkTest.class);
+
+    private static final int CAMPUSES = 1_000;
+    private static final int WARMUP_LOOKUPS = 200_000;
+    private static final int LOOKUPS = 1_000_000;
+    private static final int THREADS = 16;
+    // Profundidad aproximada de la pila de un controlador bajo Tomcat, filtros y Spring MVC
+    private static final int REQUEST_STACK_DEPTH = 120;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    @DisplayName("Miss and hit throughput through the service and the exception handler under concurrency")
+    void missPathUnderLoad() throws Exception {
+        try (LogStructuredCampusRepository repository = new LogStructuredCampusRepository(
+                CampusLogStore.open(dataDir, 50), 0.5, Long.MAX_VALUE)) {
+            for (int i = 0; i < CAMPUSES; i++) {
+                repository.save(campus(String.valueOf(i)));
+            }
+            CampusService service = new CampusService(CampusReadRouter.primaryOnly(repository),
+                    mock(ApplicationEventPublisher.class), Optional.empty(), Optional.empty(), Optional.empty());
+            ApiExceptionHandler handler = new ApiExceptionHandler();
+
+            for (boolean miss : new boolean[]{true, false}) {
+                runConcurrently(WARMUP_LOOKUPS, () -> lookup(service, handler, miss));
+                long start = System.nanoTime();
+                runConcurrently(LOOKUPS, () -> lookup(service, handler, miss));
+                long elapsed = System.nanoTime() - start;
+                logger.info("{} ({} threads): {} lookups/s",
+                        miss ? "Missing ids" : "Existing ids", THREADS, Math.round(LOOKUPS * 1e9 / elapsed));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Cost of the not-found exception with and without a stack trace at request depth")
+    void exceptionCost() {
+        long stackful = measure(() -> new RuntimeException("Campus not found with id: missing"));
+        long stackless = measure(() -> new CampusNotFoundException("missing"));
+        logger.info("RuntimeException with stack trace: {} ns, CampusNotFoundException: {} ns", stackful, stackless);
+        assertTrue(stackless < stackful, "A stackless exception should be cheaper than a full stack trace");
+    }
+
+    /**
+     * @return código de estado HTTP de la respuesta
+     */
+    private static int lookup(CampusService service, ApiExceptionHandler handler, boolean miss) {
+        int id = ThreadLocalRandom.current().nextInt(CAMPUSES);
+        try {
+            service.findById(miss ? "missing-" + id : String.valueOf(id));
+            assertFalse(miss);
+            return 200;
+        } catch (CampusNotFoundException e) {
+            return handler.handleCampusNotFound(e).getStatusCode().value();
+        }
+    }
+
+    private static long measure(Supplier<RuntimeException> factory) {
+        for (int i = 0; i < WARMUP_LOOKUPS / 10; i++) {
+            throwAtDepth(REQUEST_STACK_DEPTH, factory);
+        }
+        int iterations = LOOKUPS / 10;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            throwAtDepth(REQUEST_STACK_DEPTH, factory);
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+
+    private static int throwAtDepth(int depth, Supplier<RuntimeException> factory) {
+        if (depth > 0) {
+            return throwAtDepth(depth - 1, factory) + 1;
+        }
+        try {
+            throw factory.get();
+        } catch (RuntimeException e) {
+            return e.getMessage().length();
+        }
+    }
+
+    private static void runConcurrently(int lookups, IntSupplier lookup) throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < lookups / THREADS; i++) {
+                        assertTrue(lookup.getAsInt() > 0);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private static Campus campus(String id) {
+        Campus campus = new Campus("Sede " + id, "Calle " + id, "Armenia", "3001234567");
+        campus.setId(id);
+        return campus;
+    }
+}
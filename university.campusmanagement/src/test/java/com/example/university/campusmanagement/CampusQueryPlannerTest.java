@@ -0,0 +1,207 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.dto.CampusSearchCriteria;
+import com.example.university.campusmanagement.service.CampusQueryPlanner;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de los criterios de búsqueda y del planificador de consultas sobre los índices declarados
+ */
+@DisplayName("Campus Query Planner Tests")
+class CampusQueryPlannerTest {
+
+    private final CampusQueryPlanner planner = new CampusQueryPlanner(CampusQueryPlanner.UnindexedPolicy.REJECT);
+
+    @Test
+    @DisplayName("Criteria should normalize state and parse sort directions")
+    void criteriaShouldNormalizeStateAndParseSort() {
+        // When
+        CampusSearchCriteria criteria = CampusSearchCriteria.of(" ", "maintenance", null, "", "name, -createdAt");
+
+        // Then
+        assertNull(criteria.getCity());
+        assertNull(criteria.getNamePrefix());
+        assertEquals("MAINTENANCE", criteria.getState());
+        assertEquals(List.of(
+                new CampusSearchCriteria.SortKey("name", Sort.Direction.ASC),
+                new CampusSearchCriteria.SortKey("createdAt", Sort.Direction.DESC)), criteria.getSort());
+        assertTrue(CampusSearchCriteria.of(null, null, null, null, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Invalid criteria should be rejected")
+    void invalidCriteriaShouldBeRejected() {
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> CampusSearchCriteria.of(null, "CLOSED", null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> CampusSearchCriteria.of(null, null, null, null, "telephone"));
+        assertThrows(IllegalArgumentException.class, () -> CampusSearchCriteria.of(null, null, null, null, "name,-name"));
+    }
+
+    @Test
+    @DisplayName("Criteria should compile into a Mongo query on the stored fields with an escaped, anchored name prefix")
+    void criteriaShouldCompileIntoMongoQuery() {
+        // Given
+        CampusSearchCriteria criteria = CampusSearchCriteria.of("Armenia", "ACTIVE", true, "Sede (1).", "-name");
+
+        // When
+        Query query = planner.compile(criteria);
+
+        // Then
+        Document filter = query.getQueryObject();
+        assertEquals("Armenia", filter.get("c"));
+        assertEquals(1, filter.get("s"));
+        assertFalse(filter.containsKey("active"));
+        assertTrue(filter.get("n").toString().contains("^Sede \\(1\\)\\."));
+        assertEquals(new Document("n", -1), query.getSortObject());
+    }
+
+    @Test
+    @DisplayName("While the migration is pending, each filter should also match the version 1 fields of unmigrated documents")
+    void pendingMigrationShouldAlsoMatchLegacyFields() {
+        // Given
+        CampusSearchCriteria criteria = CampusSearchCriteria.of("Armenia", "MAINTENANCE", null, null, null);
+
+        // When
+        Document filter = planner.compile(criteria, true).getQueryObject();
+
+        // Then
+        List<Document> filters = filter.getList("$and", Document.class);
+        assertEquals(2, filters.size());
+        assertEquals(List.of(new Document("c", "Armenia"),
+                new Document("v", new Document("$exists", false)).append("c", new Document("$exists", false))
+                        .append("city", "Armenia")), filters.get(0).get("$or"));
+        assertEquals(List.of(new Document("s", 3),
+                new Document("v", new Document("$exists", false)).append("s", new Document("$exists", false))
+                        .append("currentState", new Document("$in", List.of("MAINTENANCE")))), filters.get(1).get("$or"));
+        assertEquals(planner.compile(criteria).getQueryObject(), planner.compile(criteria, false).getQueryObject());
+    }
+
+    @Test
+    @DisplayName("Equality prefix followed by the sort key should be fully covered")
+    void equalityAndSortShouldBeFullyCovered() {
+        // When
+        CampusQueryPlanner.Plan byState = planner.plan(CampusSearchCriteria.of(null, "ACTIVE", null, null, "-name"));
+        CampusQueryPlanner.Plan byCityAndState = planner.plan(
+                CampusSearchCriteria.of("Armenia", "ACTIVE", null, "Sede", null));
+        CampusQueryPlanner.Plan byCreation = planner.plan(
+                CampusSearchCriteria.of(null, null, null, null, "-createdAt").excludingInactive());
+
+        // Then
+        assertEquals(CampusQueryPlanner.Coverage.FULL, byState.coverage());
+        assertEquals("campus_state_name", byState.index());
+        assertTrue(byState.warning().isEmpty());
+        assertEquals(CampusQueryPlanner.Coverage.FULL, byCityAndState.coverage());
+        assertEquals("campus_city_state_name", byCityAndState.index());
+        assertEquals(CampusQueryPlanner.Coverage.FULL, byCreation.coverage());
+        assertEquals("campus_live_created_at", byCreation.index());
+    }
+
+    @Test
+    @DisplayName("The working set filter should select the partial indexes, which never serve queries that include inactive campuses")
+    void workingSetShouldUsePartialIndexes() {
+        // Given
+        CampusSearchCriteria byName = CampusSearchCriteria.of(null, null, null, null, "name").excludingInactive();
+        CampusSearchCriteria byPrefix = CampusSearchCriteria.of(null, null, null, "Sede", null).excludingInactive();
+        CampusSearchCriteria byCity = CampusSearchCriteria.of("Armenia", null, null, null, "name").excludingInactive();
+
+        // When
+        Document filter = planner.compile(byName).getQueryObject();
+        CampusQueryPlanner.Plan byNamePlan = planner.plan(byName);
+        CampusQueryPlanner.Plan byPrefixPlan = planner.plan(byPrefix);
+        CampusQueryPlanner.Plan byCityPlan = planner.plan(byCity);
+        CampusQueryPlanner.Plan withInactive = planner.plan(CampusSearchCriteria.of(null, null, null, "Sede", null));
+        CampusQueryPlanner.Plan inactiveOnly = planner.plan(
+                CampusSearchCriteria.of(null, "INACTIVE", null, null, "name").excludingInactive());
+
+        // Then
+        assertEquals(new Document("$in", List.of(1, 3, 4)), filter.get("s"));
+        assertEquals("campus_live_name", byNamePlan.index());
+        assertEquals(CampusQueryPlanner.Coverage.FULL, byNamePlan.coverage());
+        assertEquals("campus_live_name", byPrefixPlan.index());
+        assertEquals(CampusQueryPlanner.Coverage.FULL, byPrefixPlan.coverage());
+        assertEquals("campus_city_state_name", byCityPlan.index());
+        assertEquals(CampusQueryPlanner.Coverage.FULL, byCityPlan.coverage());
+        assertEquals(CampusQueryPlanner.Coverage.NONE, withInactive.coverage());
+        assertFalse(CampusSearchCriteria.of(null, "INACTIVE", null, null, "name").excludingInactive().excludesInactive());
+        assertEquals("campus_state_name", inactiveOnly.index());
+    }
+
+    @Test
+    @DisplayName("The working set filter alone should not make an unindexed query acceptable")
+    void workingSetFilterAloneShouldNotCountAsIndexed() {
+        // When
+        CampusQueryPlanner.Plan plan = planner.plan(
+                CampusSearchCriteria.of(null, null, null, null, "city,createdAt").excludingInactive());
+
+        // Then
+        assertEquals(CampusQueryPlanner.Coverage.NONE, plan.coverage());
+        assertTrue(plan.warning().orElseThrow().contains("excluding inactive campuses"));
+        assertThrows(IllegalArgumentException.class, () -> planner.enforce(plan));
+    }
+
+    @Test
+    @DisplayName("In-memory sorts should be reported as partial coverage, with active bound through the state code")
+    void residualFiltersShouldBePartial() {
+        // When
+        CampusQueryPlanner.Plan plan = planner.plan(CampusSearchCriteria.of("Armenia", null, true, null, "createdAt"));
+
+        // Then
+        assertEquals(CampusQueryPlanner.Coverage.PARTIAL, plan.coverage());
+        assertEquals("campus_city_state_name", plan.index());
+        assertFalse(plan.warning().orElseThrow().contains("Filter on"));
+        assertTrue(plan.warning().orElseThrow().contains("in memory"));
+        assertDoesNotThrow(() -> planner.enforce(plan));
+    }
+
+    @Test
+    @DisplayName("Active should narrow the state codes and contradictory criteria should match nothing")
+    void activeShouldNarrowStateCodes() {
+        // When
+        Document inactive = planner.compile(CampusSearchCriteria.of(null, null, false, null, null)).getQueryObject();
+        Document liveInactive = planner.compile(
+                CampusSearchCriteria.of(null, null, false, null, null).excludingInactive()).getQueryObject();
+        Document contradictory = planner.compile(CampusSearchCriteria.of(null, "ACTIVE", false, null, null)).getQueryObject();
+
+        // Then
+        assertEquals(new Document("$in", List.of(2, 3, 4)), inactive.get("s"));
+        assertEquals(new Document("$in", List.of(3, 4)), liveInactive.get("s"));
+        assertEquals(new Document("$in", List.of()), contradictory.get("s"));
+    }
+
+    @Test
+    @DisplayName("Queries no declared index supports should be rejected under REJECT and allowed under WARN")
+    void unindexedQueriesShouldFollowPolicy() {
+        // Given
+        CampusSearchCriteria criteria = CampusSearchCriteria.of(null, null, null, null, "city,createdAt");
+        CampusQueryPlanner lenient = new CampusQueryPlanner(CampusQueryPlanner.UnindexedPolicy.WARN);
+
+        // When
+        CampusQueryPlanner.Plan plan = planner.plan(criteria);
+
+        // Then
+        assertEquals(CampusQueryPlanner.Coverage.NONE, plan.coverage());
+        assertNull(plan.index());
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> planner.enforce(plan));
+        assertTrue(e.getMessage().contains("scan the whole collection"));
+        assertDoesNotThrow(() -> lenient.enforce(lenient.plan(criteria)));
+    }
+
+    @Test
+    @DisplayName("An empty criteria should not need any index")
+    void emptyCriteriaShouldBeAllowed() {
+        // When
+        CampusQueryPlanner.Plan plan = planner.plan(CampusSearchCriteria.of(null, null, null, null, null));
+
+        // Then
+        assertEquals(CampusQueryPlanner.Coverage.FULL, plan.coverage());
+        assertDoesNotThrow(() -> planner.enforce(plan));
+    }
+}
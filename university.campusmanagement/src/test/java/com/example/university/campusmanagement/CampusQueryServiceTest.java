@@ -0,0 +1,115 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.dto.CampusFacet;
+import com.example.university.campusmanagement.dto.CampusFieldSet;
+import com.example.university.campusmanagement.dto.CampusSearchCriteria;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusReadRouter;
+import com.example.university.campusmanagement.repository.CampusRepository;
+import com.example.university.campusmanagement.service.CampusQueryPlanner;
+import com.example.university.campusmanagement.service.CampusQueryService;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de la búsqueda con facetas ($facet) de CampusQueryService
+ */
+@DisplayName("Campus Query Service Tests")
+class CampusQueryServiceTest {
+
+    private final CampusQueryPlanner planner = new CampusQueryPlanner(CampusQueryPlanner.UnindexedPolicy.REJECT);
+    private final CampusRepository campusRepository = mock(CampusRepository.class);
+
+    private static Campus campus(String id, String city, String state) {
+        Campus campus = new Campus("Sede " + id, "Calle 1", city, "3001234567");
+        campus.setId(id);
+        campus.setCurrentState(state);
+        return campus;
+    }
+
+    @Test
+    @DisplayName("Page, total and facet counts should come from a single $facet aggregation")
+    void facetsShouldUseSingleAggregation() {
+        // Given
+        MongoOperations operations = mock(MongoOperations.class);
+        MongoConverter converter = mock(MongoConverter.class);
+        when(operations.getCollectionName(Campus.class)).thenReturn("campuses");
+        when(operations.getConverter()).thenReturn(converter);
+        Document output = new Document("results", List.of(new Document("_id", "1").append("v", 2)))
+                .append("total", List.of(new Document("count", 3)))
+                .append("currentState", List.of(new Document("_id", 1).append("count", 2),
+                        new Document("_id", 3).append("count", 1)));
+        when(operations.aggregate(any(Aggregation.class), eq("campuses"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(output), new Document()));
+        when(converter.read(eq(Campus.class), any(Document.class))).thenReturn(campus("1", "Armenia", "ACTIVE"));
+        CampusQueryService service = new CampusQueryService(
+                new CampusReadRouter(campusRepository, campusRepository, operations), planner);
+        CampusSearchCriteria criteria = CampusSearchCriteria.of("Armenia", null, null, null, "name");
+
+        // When
+        CampusQueryService.SearchResult result = service.searchWithFacets(criteria, CampusFieldSet.ALL, 0, 1,
+                EnumSet.of(CampusFacet.CURRENT_STATE));
+
+        // Then
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(operations, times(1)).aggregate(aggregation.capture(), eq("campuses"), eq(Document.class));
+        List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertEquals(new Document("c", "Armenia"), pipeline.get(0).get("$match"));
+        // El orden se aplica antes de $facet, donde puede usar el índice
+        assertEquals(new Document("n", 1), pipeline.get(1).get("$sort"));
+        Document facet = pipeline.get(2).get("$facet", Document.class);
+        assertEquals(List.of("results", "total", "currentState"), List.copyOf(facet.keySet()));
+        assertTrue(facet.getList("results", Document.class).stream().noneMatch(stage -> stage.containsKey("$sort")));
+        verify(operations, never()).count(any(), eq(Campus.class));
+        assertEquals(1, result.campuses().size());
+        assertEquals(3, result.total());
+        assertEquals(Map.of("ACTIVE", 2L, "MAINTENANCE", 1L), result.facets().get("currentState"));
+    }
+
+    @Test
+    @DisplayName("Without MongoDB the facets should be counted in memory over all matches")
+    void facetsShouldBeCountedInMemory() {
+        // Given
+        when(campusRepository.findAll()).thenReturn(List.of(
+                campus("1", "Armenia", "ACTIVE"),
+                campus("2", "Armenia", "MAINTENANCE"),
+                campus("3", "Pereira", "ACTIVE"),
+                campus("4", "Armenia", "ACTIVE")));
+        CampusQueryService service = new CampusQueryService(CampusReadRouter.primaryOnly(campusRepository), planner);
+
+        // When
+        CampusQueryService.SearchResult result = service.searchWithFacets(
+                CampusSearchCriteria.of(null, "ACTIVE", null, null, "name"), CampusFieldSet.ALL, 0, 1,
+                EnumSet.of(CampusFacet.CITY, CampusFacet.ACTIVE));
+
+        // Then
+        assertEquals(List.of("1"), result.campuses().stream().map(Campus::getId).toList());
+        assertEquals(3, result.total());
+        assertEquals(List.of("Armenia", "Pereira"), List.copyOf(result.facets().get("city").keySet()));
+        assertEquals(2L, result.facets().get("city").get("Armenia"));
+        assertEquals(Map.of("true", 3L), result.facets().get("active"));
+    }
+
+    @Test
+    @DisplayName("Unknown facets should be rejected")
+    void unknownFacetsShouldBeRejected() {
+        // When / Then
+        assertEquals(EnumSet.of(CampusFacet.CITY, CampusFacet.CURRENT_STATE), CampusFacet.parse("city, currentState"));
+        assertTrue(CampusFacet.parse(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> CampusFacet.parse("telephone"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.config.MongoReadRoutingConfig;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusLegacyReadCallback;
+import com.example.university.campusmanagement.repository.CampusReadRouter;
+import com.example.university.campusmanagement.repository.CampusRepository;
+import com.example.university.campusmanagement.service.CampusService;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests del enrutamiento lectura/escritura de CampusService.
+ * El repositorio "secundario" es un stand-in local del replica set.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Campus Read Routing Tests")
+class CampusReadRoutingTest {
+
+    @Mock
+    private CampusRepository primaryRepository;
+
+    @Mock
+    private CampusRepository secondaryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CampusService campusService;
+
+    private Campus campus;
+
+    @BeforeEach
+    void setUp() {
+        campusService = new CampusService(new CampusReadRouter(primaryRepository, secondaryRepository), eventPublisher, Optional.empty(), Optional.empty(), Optional.empty());
+
+        campus = new Campus("Campus Norte", "Calle 10", "Armenia", "3001234567");
+        campus.setId("1");
+    }
+
+    @Test
+    @DisplayName("Read-only operations should go to the secondary")
+    void readOnlyOperationsShouldUseSecondary() {
+        // Given
+        when(secondaryRepository.findById("1")).thenReturn(Optional.of(campus));
+        when(secondaryRepository.findAll()).thenReturn(List.of(campus));
+
+        // When
+        campusService.findById("1");
+        campusService.getAllCampuses();
+        campusService.findByState("ACTIVE");
+
+        // Then
+        verify(secondaryRepository, times(1)).findById("1");
+        verify(secondaryRepository, times(2)).findAll();
+        verifyNoInteractions(primaryRepository);
+    }
+
+    @Test
+    @DisplayName("Transitions should read and write on the primary")
+    void transitionsShouldUsePrimary() {
+        // Given
+        when(primaryRepository.findById("1")).thenReturn(Optional.of(campus));
+        when(primaryRepository.save(any(Campus.class))).thenReturn(campus);
+
+        // When
+        Campus result = campusService.putCampusInMaintenance("1");
+
+        // Then
+        assertEquals("MAINTENANCE", result.getCurrentState());
+        verify(primaryRepository, times(1)).findById("1");
+        verify(primaryRepository, times(1)).save(campus);
+        verifyNoInteractions(secondaryRepository);
+    }
+
+    @Test
+    @DisplayName("Primary-only router should not enable read routing")
+    void primaryOnlyRouterShouldNotRoute() {
+        CampusReadRouter router = CampusReadRouter.primaryOnly(primaryRepository);
+
+        assertFalse(router.isReadRoutingEnabled());
+        assertSame(router.forReads(), router.forWrites());
+    }
+
+    @Test
+    @DisplayName("A version 1 document read through the secondary should be completed by the legacy read callback")
+    @SuppressWarnings("unchecked")
+    void legacyDocumentShouldBeReadThroughTheSecondary() {
+        // Given: un documento aún sin migrar servido por el "secundario"
+        Document legacy = new Document("_id", "1").append("name", "Sede Norte").append("city", "Pereira")
+                .append("currentState", "MAINTENANCE").append("active", true);
+        FindIterable<Document> found = mock(FindIterable.class, Answers.RETURNS_SELF);
+        when(found.first()).thenReturn(legacy);
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(collection.withReadPreference(any(ReadPreference.class))).thenReturn(collection);
+        when(collection.find(any(Document.class), eq(Document.class))).thenReturn(found);
+        MongoDatabase database = mock(MongoDatabase.class);
+        when(database.getCollection("campuses", Document.class)).thenReturn(collection);
+        MongoDatabaseFactory databaseFactory = mock(MongoDatabaseFactory.class);
+        when(databaseFactory.getMongoDatabase()).thenReturn(database);
+        when(databaseFactory.getExceptionTranslator()).thenReturn(mock(PersistenceExceptionTranslator.class));
+
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(CampusLegacyReadCallback.class);
+        context.refresh();
+
+        CampusReadRouter router = new MongoReadRoutingConfig().campusReadRouter(primaryRepository,
+                mock(MongoTemplate.class), databaseFactory, converter, Optional.empty(), Optional.empty(), context, true, 90);
+
+        // When
+        Campus read = router.forReads().findById("1").orElseThrow();
+
+        // Then
+        assertEquals("Sede Norte", read.getName());
+        assertEquals("Pereira", read.getCity());
+        assertEquals("MAINTENANCE", read.getCurrentState());
+        verify(collection).withReadPreference(any(ReadPreference.class));
+        verifyNoInteractions(primaryRepository);
+        context.close();
+    }
+}
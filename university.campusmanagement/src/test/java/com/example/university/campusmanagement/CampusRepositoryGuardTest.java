@@ -0,0 +1,238 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusRepository;
+import com.example.university.campusmanagement.repository.CampusRepositoryGuard;
+import com.example.university.campusmanagement.repository.CampusRepositoryUnavailableException;
+import com.example.university.campusmanagement.util.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests del circuit breaker y de la protección de CampusRepository (timeouts y último valor bueno conocido)
+ */
+@DisplayName("Campus Repository Guard Tests")
+class CampusRepositoryGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CampusRepository repository = mock(CampusRepository.class);
+
+    private CampusRepositoryGuard guard(long pointReadTimeoutMs) {
+        return new CampusRepositoryGuard(meterRegistry, pointReadTimeoutMs, 1000, 1000, 1000,
+                4, 4, 10, 4, 2, 0.5, 60, 1, 100, 60, 60);
+    }
+
+    private static Campus campus(String id) {
+        Campus campus = new Campus("Sede " + id, "Calle 1", "Armenia", "3001234567");
+        campus.setId(id);
+        return campus;
+    }
+
+    @Test
+    @DisplayName("The circuit should open on failures, probe after the open period and close on success")
+    void circuitShouldOpenProbeAndClose() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker("test", 4, 2, 0.5, Duration.ofSeconds(10), 1, clock::get);
+
+        // When
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess();
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onFailure();
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+
+        // When
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Then
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("A failed read should be answered with an independent copy of the last known good value")
+    void failedReadShouldServeLastKnownGood() {
+        // Given
+        CampusRepository guarded = guard(1000).protect(repository);
+        when(repository.findAll()).thenReturn(List.of(campus("1")))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        guarded.findAll().get(0).setName("Modificado por el llamador");
+
+        // When
+        List<Campus> stale = guarded.findAll();
+
+        // Then
+        assertEquals(1, stale.size());
+        assertEquals("Sede 1", stale.get(0).getName());
+        assertEquals(1.0, meterRegistry.get("campus.repository.stale.responses").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Template reads should be guarded and fall back per query, including its page")
+    void templateReadsShouldServeLastKnownGood() {
+        // Given
+        MongoOperations operations = mock(MongoOperations.class);
+        MongoOperations guarded = guard(1000).protect(operations);
+        Query firstPage = new Query().with(PageRequest.of(0, 10));
+        Query secondPage = new Query().with(PageRequest.of(1, 10));
+        when(operations.find(any(Query.class), eq(Campus.class))).thenReturn(List.of(campus("1")))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        when(operations.getCollectionName(Campus.class)).thenReturn("campuses");
+        guarded.find(firstPage, Campus.class);
+
+        // When
+        List<Campus> stale = guarded.find(firstPage, Campus.class);
+
+        // Then
+        assertEquals("Sede 1", stale.get(0).getName());
+        // El circuito ya está abierto y la otra página no tiene valor anterior
+        assertThrows(CampusRepositoryUnavailableException.class, () -> guarded.find(secondPage, Campus.class));
+        assertEquals("campuses", guarded.getCollectionName(Campus.class));
+        assertEquals(1.0, meterRegistry.get("campus.repository.stale.responses").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Successful reads should not copy their result again within the refresh interval")
+    void lastKnownGoodShouldBeCopiedOncePerRefreshInterval() {
+        // Given
+        CampusRepository guarded = guard(1000).protect(repository);
+        when(repository.findAll()).thenReturn(List.of(campus("1")), List.of(campus("2")))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        guarded.findAll();
+        guarded.findAll();
+
+        // When
+        List<Campus> stale = guarded.findAll();
+
+        // Then: se sirve la copia tomada en la primera lectura
+        assertEquals("Sede 1", stale.get(0).getName());
+    }
+
+    @Test
+    @DisplayName("The primary repository should surface the failure instead of a stale copy")
+    void primaryShouldNotServeLastKnownGood() {
+        // Given
+        CampusRepository primary = guard(1000).protect(repository, false);
+        when(repository.findById("1")).thenReturn(Optional.of(campus("1")))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        primary.findById("1");
+
+        // When / Then: una lectura previa a una escritura no puede partir de una copia obsoleta
+        assertThrows(DataAccessResourceFailureException.class, () -> primary.findById("1"));
+        assertEquals(0.0, meterRegistry.get("campus.repository.stale.responses").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Without a previous value the failure should surface, and an open circuit should skip the database")
+    void openCircuitShouldSkipDatabase() {
+        // Given
+        CampusRepositoryGuard guard = guard(1000);
+        CampusRepository guarded = guard.protect(repository);
+        when(repository.findById(any())).thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        // When
+        assertThrows(DataAccessResourceFailureException.class, () -> guarded.findById("1"));
+        assertThrows(DataAccessResourceFailureException.class, () -> guarded.findById("2"));
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+        assertThrows(CampusRepositoryUnavailableException.class, () -> guarded.findById("3"));
+        verify(repository, times(2)).findById(any());
+    }
+
+    @Test
+    @DisplayName("A timed-out call should keep its bulkhead permit until the database call really finishes")
+    void timedOutCallShouldHoldItsPermit() throws InterruptedException {
+        // Given: bulkhead de 2 lecturas (hasta 200 ms de espera) y un circuito que no llega a abrirse
+        CampusRepositoryGuard guard = new CampusRepositoryGuard(meterRegistry, 20, 1000, 1000, 1000,
+                2, 2, 200, 50, 50, 0.5, 60, 1, 100, 60, 60);
+        CampusRepository guarded = guard.protect(repository, false);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findById(any())).thenAnswer(invocation -> {
+            // Como una lectura bloqueante del driver: cancel(true) no la detiene
+            while (release.getCount() > 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                    // sigue esperando
+                }
+            }
+            return Optional.of(campus("1"));
+        });
+        for (int i = 0; i < 2; i++) {
+            String id = String.valueOf(i);
+            assertThrows(CampusRepositoryUnavailableException.class, () -> guarded.findById(id));
+        }
+
+        // When / Then: las dos llamadas siguen en vuelo en el driver
+        assertThrows(CampusRepositoryUnavailableException.class, () -> guarded.findById("3"));
+        assertEquals(1.0, meterRegistry.get("campus.repository.rejections").tag("reason", "bulkhead-full")
+                .functionCounter().count());
+        verify(repository, times(2)).findById(any());
+
+        // When: terminan en el driver y devuelven sus permisos
+        release.countDown();
+
+        // Then
+        assertTrue(guarded.findById("4").isPresent());
+    }
+
+    @Test
+    @DisplayName("A slow read should be abandoned after its operation timeout")
+    void slowReadShouldTimeOut() {
+        // Given
+        CampusRepository guarded = guard(50).protect(repository);
+        when(repository.findById("1")).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return Optional.of(campus("1"));
+        });
+
+        // When
+        long start = System.nanoTime();
+        assertThrows(CampusRepositoryUnavailableException.class, () -> guarded.findById("1"));
+
+        // Then
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(2).toNanos());
+        assertEquals(1.0, meterRegistry.get("campus.repository.timeouts").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Business errors should propagate without counting as database failures")
+    void businessErrorsShouldNotOpenCircuit() {
+        // Given
+        CampusRepositoryGuard guard = guard(1000);
+        CampusRepository guarded = guard.protect(repository);
+        when(repository.save(any())).thenThrow(new DuplicateKeyException("duplicate name"));
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            assertThrows(DuplicateKeyException.class, () -> guarded.save(campus("1")));
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitState());
+    }
+}
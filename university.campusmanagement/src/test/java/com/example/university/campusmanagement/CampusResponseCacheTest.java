@@ -0,0 +1,143 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.event.CampusBulkChangeEvent;
+import com.example.university.campusmanagement.event.CampusChangeEvent;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.service.CampusResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la caché de respuestas JSON pre-serializadas fuera del heap
+ */
+@DisplayName("Campus Response Cache Tests")
+class CampusResponseCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Campus campus(String id) {
+        Campus campus = new Campus("Sede " + id, "Calle 1", "Armenia", "3001234567");
+        campus.setId(id);
+        return campus;
+    }
+
+    @Test
+    @DisplayName("Cached responses should be stored off-heap and written unchanged")
+    void cachedResponsesShouldBeWrittenUnchanged() throws IOException {
+        // Given: más de una página del slab
+        CampusResponseCache cache = new CampusResponseCache(meterRegistry, 1024, 60);
+        String key = CampusResponseCache.campusKey("1");
+        assertTrue(cache.put(key, json("{\"id\":\"1\"}"), cache.generation()));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CampusResponseCache.CachedResponse cached = cache.get(key).orElseThrow()) {
+            assertEquals(10, cached.length());
+            cached.writeTo(out);
+        }
+
+        // Then
+        assertEquals("{\"id\":\"1\"}", out.toString(StandardCharsets.UTF_8));
+        assertEquals(1, cache.getHits());
+        assertTrue(cache.get("campus:2").isEmpty());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1.0, meterRegistry.get("campus.response.cache.hits").functionCounter().count());
+        assertEquals(10.0, meterRegistry.get("campus.response.cache.bytes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("A campus change should invalidate its entry and the default list")
+    void campusChangeShouldInvalidateEntryAndList() {
+        // Given
+        CampusResponseCache cache = new CampusResponseCache(meterRegistry, 1024, 60);
+        cache.put(CampusResponseCache.campusKey("1"), json("{\"id\":\"1\"}"), cache.generation());
+        cache.put(CampusResponseCache.campusKey("2"), json("{\"id\":\"2\"}"), cache.generation());
+        cache.put(CampusResponseCache.LIST_KEY, json("[]"), cache.generation());
+
+        // When
+        cache.onCampusChange(CampusChangeEvent.updated(campus("1"), "ACTIVE", true));
+
+        // Then
+        assertTrue(cache.get(CampusResponseCache.campusKey("1")).isEmpty());
+        assertTrue(cache.get(CampusResponseCache.LIST_KEY).isEmpty());
+        assertTrue(cache.get(CampusResponseCache.campusKey("2")).isPresent());
+
+        // When
+        cache.onBulkChange(new CampusBulkChangeEvent(10, Instant.now()));
+
+        // Then
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    @Test
+    @DisplayName("A response computed before a write should not be cached")
+    void responseComputedBeforeWriteShouldNotBeCached() {
+        // Given
+        CampusResponseCache cache = new CampusResponseCache(meterRegistry, 1024, 60);
+        long generation = cache.generation();
+
+        // When
+        cache.onCampusChange(CampusChangeEvent.stateChanged(campus("1"), "ACTIVE", true));
+        boolean stored = cache.put(CampusResponseCache.campusKey("1"), json("{\"stale\":true}"), generation);
+
+        // Then
+        assertFalse(stored);
+        assertTrue(cache.get(CampusResponseCache.campusKey("1")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("The cache should evict least recently used entries to stay under its byte limit")
+    void cacheShouldEvictToStayUnderByteLimit() {
+        // Given
+        CampusResponseCache cache = new CampusResponseCache(meterRegistry, 20, 60);
+        cache.put("a", json("0123456789"), cache.generation());
+        cache.put("b", json("0123456789"), cache.generation());
+        cache.get("a");
+
+        // When
+        cache.put("c", json("0123456789"), cache.generation());
+
+        // Then
+        assertTrue(cache.get("a").isPresent());
+        assertTrue(cache.get("b").isEmpty());
+        assertTrue(cache.get("c").isPresent());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(20, cache.getUsedBytes());
+        assertFalse(cache.put("huge", new byte[21], cache.generation()));
+    }
+
+    @Test
+    @DisplayName("An entry being written should keep its bytes even if it is evicted meanwhile")
+    void pinnedEntryShouldSurviveEviction() throws IOException {
+        // Given
+        CampusResponseCache cache = new CampusResponseCache(meterRegistry, 20, 60);
+        cache.put("a", json("aaaaaaaaaa"), cache.generation());
+        cache.put("b", json("bbbbbbbbbb"), cache.generation());
+        CampusResponseCache.CachedResponse reading = cache.get("a").orElseThrow();
+
+        // When: la entrada se invalida y una respuesta nueva necesita todo el slab
+        cache.clear();
+        boolean stored = cache.put("c", json("cccccccccccccccccccc"), cache.generation());
+
+        // Then: las páginas de "a" no se reutilizan hasta cerrar el acierto
+        assertFalse(stored);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reading.writeTo(out);
+        assertEquals("aaaaaaaaaa", out.toString(StandardCharsets.UTF_8));
+        reading.close();
+        assertTrue(cache.put("c", json("cccccccccccccccccccc"), cache.generation()));
+    }
+}
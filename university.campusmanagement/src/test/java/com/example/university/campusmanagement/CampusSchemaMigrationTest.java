@@ -0,0 +1,116 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.service.CampusSchemaMigration;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de la migración en línea a la codificación compacta
+ */
+@DisplayName("Campus Schema Migration Tests")
+class CampusSchemaMigrationTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-01T00:00:00Z");
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CampusSchemaMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollectionName(Campus.class)).thenReturn("campuses");
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "campuses")).thenReturn(bulk);
+        migration = new CampusSchemaMigration(mongoTemplate, meterRegistry, 2, 0, 10, 300);
+    }
+
+    private static Document legacy(String id) {
+        return new Document("_id", id).append("name", "Sede " + id).append("currentState", "ACTIVE").append("active", true);
+    }
+
+    private static BulkWriteResult modified(int count) {
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getModifiedCount()).thenReturn(count);
+        return result;
+    }
+
+    @Test
+    @DisplayName("Legacy documents should be rewritten batch by batch from the checkpoint, guarded against concurrent writes")
+    void legacyDocumentsShouldBeRewrittenInBatches() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq(CampusSchemaMigration.MIGRATIONS_COLLECTION)))
+                .thenReturn(new Document("_id", CampusSchemaMigration.MIGRATION_ID));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("campuses")))
+                .thenReturn(List.of(legacy("1"), legacy("2")))
+                .thenReturn(List.of(legacy("3")));
+        BulkWriteResult first = modified(2);
+        BulkWriteResult second = modified(1);
+        when(bulk.execute()).thenReturn(first, second);
+        when(mongoTemplate.exists(any(Query.class), eq("campuses"))).thenReturn(false);
+
+        // When
+        long migrated = migration.migrate(NOW);
+
+        // Then
+        assertEquals(3, migrated);
+        assertTrue(migration.isCompleted());
+        assertEquals(3.0, meterRegistry.get("campus.schema.migration.migrated").functionCounter().count());
+
+        ArgumentCaptor<Query> guards = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Document> replacements = ArgumentCaptor.forClass(Document.class);
+        verify(bulk, times(3)).replaceOne(guards.capture(), replacements.capture(), any(FindAndReplaceOptions.class));
+        Document guard = guards.getAllValues().get(0).getQueryObject();
+        assertEquals("1", guard.get("_id"));
+        assertEquals(new Document("$exists", false), guard.get("v"));
+        assertTrue(guard.containsKey("q"));
+        assertNull(guard.get("q"));
+        assertEquals(new Document("_id", "1").append("n", "Sede 1").append("s", 1).append("v", 2),
+                replacements.getAllValues().get(0));
+
+        ArgumentCaptor<Query> candidates = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(candidates.capture(), eq(Document.class), eq("campuses"));
+        assertEquals(new Document("$gt", "2"), candidates.getAllValues().get(1).getQueryObject().get("_id"));
+    }
+
+    @Test
+    @DisplayName("Another instance holding the lease should leave the collection untouched")
+    void leaseHeldElsewhereShouldSkipTheRun() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq(CampusSchemaMigration.MIGRATIONS_COLLECTION)))
+                .thenThrow(new DuplicateKeyException("lease held"));
+        when(mongoTemplate.findById(CampusSchemaMigration.MIGRATION_ID, Document.class,
+                CampusSchemaMigration.MIGRATIONS_COLLECTION))
+                .thenReturn(new Document("_id", CampusSchemaMigration.MIGRATION_ID).append("lockedBy", "other"));
+
+        // When
+        long migrated = migration.migrate(NOW);
+
+        // Then
+        assertEquals(0, migrated);
+        assertFalse(migration.isCompleted());
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Document.class), eq("campuses"));
+    }
+}
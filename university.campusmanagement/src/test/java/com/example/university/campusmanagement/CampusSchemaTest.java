@@ -0,0 +1,113 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.CampusSchema;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la codificación compacta de Campus y de la conversión de documentos de la versión 1
+ */
+@DisplayName("Campus Schema Tests")
+class CampusSchemaTest {
+
+    private static final Date MODIFIED = Date.from(Instant.parse("2026-09-01T10:00:00Z"));
+
+    private static Document legacy(String state, boolean active) {
+        return new Document("_id", "1").append("name", "Sede Norte").append("address", "Calle 10")
+                .append("city", "Pereira").append("telephone", "3001234567")
+                .append("currentState", state).append("active", active)
+                .append("lastModified", MODIFIED).append("changeSeq", 42L)
+                .append("_class", "com.example.university.campusmanagement.model.Campus");
+    }
+
+    @Test
+    @DisplayName("Properties should map to their stored fields, with active and currentState sharing the state code")
+    void propertiesShouldMapToStoredFields() {
+        // Then
+        assertEquals("n", CampusSchema.field("name"));
+        assertEquals("s", CampusSchema.field("currentState"));
+        assertEquals("s", CampusSchema.field("active"));
+        assertEquals("q", CampusSchema.field("changeSeq"));
+        assertThrows(IllegalArgumentException.class, () -> CampusSchema.field("telephoneNumber"));
+        assertEquals(List.of(1, 3, 4), CampusSchema.stateCodes(List.of("ACTIVE", "MAINTENANCE", "RENOVATION")));
+        assertEquals("MAINTENANCE", CampusSchema.stateName(3));
+        assertEquals(CampusSchema.ACTIVE_CODE, CampusSchema.stateCode(null));
+    }
+
+    @Test
+    @DisplayName("A version 1 document should be converted to short names and a single state code")
+    void legacyDocumentShouldBeCompacted() {
+        // When
+        Document compact = CampusSchema.toCompact(legacy("MAINTENANCE", false));
+
+        // Then
+        assertEquals("Sede Norte", compact.get("n"));
+        assertEquals("Pereira", compact.get("c"));
+        assertEquals(3, compact.get("s"));
+        assertEquals(MODIFIED, compact.get("m"));
+        assertEquals(42L, compact.get("q"));
+        assertEquals(2, compact.get("v"));
+        assertFalse(compact.containsKey("name"));
+        assertFalse(compact.containsKey("currentState"));
+        assertFalse(compact.containsKey("active"));
+        assertTrue(compact.containsKey("_class"));
+        assertFalse(CampusSchema.isLegacy(compact));
+    }
+
+    @Test
+    @DisplayName("Short fields written over a version 1 document should win over the long ones")
+    void shortFieldsShouldWinInHybridDocuments() {
+        // Given: una transición del group commit sobre un documento aún sin migrar
+        Document hybrid = legacy("ACTIVE", true).append("s", 2).append("q", 43L);
+
+        // When
+        Document compact = CampusSchema.toCompact(hybrid);
+
+        // Then
+        assertEquals(2, compact.get("s"));
+        assertEquals(43L, compact.get("q"));
+        assertEquals("Sede Norte", compact.get("n"));
+    }
+
+    @Test
+    @DisplayName("A version 1 document with only the active flag should keep its state")
+    void activeFlagAloneShouldGiveTheState() {
+        // Given
+        Document deactivated = new Document("_id", "2").append("name", "Sede Sur").append("active", false);
+
+        // When
+        Campus campus = new Campus();
+        CampusSchema.readLegacy(campus, deactivated);
+
+        // Then
+        assertEquals("Sede Sur", campus.getName());
+        assertEquals("INACTIVE", campus.getCurrentState());
+        assertFalse(campus.isActive());
+    }
+
+    @Test
+    @DisplayName("Active and currentState should be derived from the same state code")
+    void activeShouldBeDerivedFromStateCode() {
+        // Given
+        Campus campus = new Campus("Sede", "Calle 1", "Armenia", "3001234567");
+
+        // When
+        campus.putInMaintenance();
+        campus.setActive(false);
+
+        // Then
+        assertEquals(3, campus.getStateCode());
+        assertEquals("MAINTENANCE", campus.getCurrentState());
+        campus.setActive(true);
+        assertEquals(CampusSchema.ACTIVE_CODE, campus.getStateCode());
+        assertTrue(campus.isActive());
+    }
+}
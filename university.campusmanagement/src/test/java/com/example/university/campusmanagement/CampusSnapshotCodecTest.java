@@ -0,0 +1,73 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.service.CampusSnapshotCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del formato binario del snapshot local del catálogo
+ */
+@DisplayName("Campus Snapshot Codec Tests")
+class CampusSnapshotCodecTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Snapshot should round-trip campuses, including nulls and state")
+    void snapshotShouldRoundTrip() throws IOException {
+        // Given
+        Instant takenAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Campus central = new Campus("Sede Principal", "Avenida Bolivar N-183", "Armenia", "3248762045");
+        central.setId("1");
+        central.setLastModified(takenAt.minusSeconds(10));
+        central.setCreatedAt(takenAt.minusSeconds(60));
+        central.setChangeSeq(42L);
+        Campus north = new Campus("Sede Norte", null, "Pereira", null);
+        north.setId("2");
+        north.putInMaintenance();
+        Path snapshotFile = tempDir.resolve("catalog.snapshot");
+
+        // When
+        CampusSnapshotCodec.write(snapshotFile, takenAt, List.of(central, north));
+        CampusSnapshotCodec.Snapshot snapshot = CampusSnapshotCodec.read(snapshotFile);
+
+        // Then
+        assertEquals(takenAt, snapshot.takenAt());
+        assertEquals(2, snapshot.campuses().size());
+        Campus restoredCentral = snapshot.campuses().get(0);
+        assertEquals("Sede Principal", restoredCentral.getName());
+        assertEquals(central.getLastModified(), restoredCentral.getLastModified());
+        assertEquals(central.getCreatedAt(), restoredCentral.getCreatedAt());
+        assertEquals(42L, restoredCentral.getChangeSeq());
+        assertTrue(restoredCentral.isActive());
+        Campus restoredNorth = snapshot.campuses().get(1);
+        assertNull(restoredNorth.getAddress());
+        assertNull(restoredNorth.getLastModified());
+        assertNull(restoredNorth.getCreatedAt());
+        assertEquals("MAINTENANCE", restoredNorth.getCurrentState());
+        assertFalse(restoredNorth.canAcceptStudents());
+    }
+
+    @Test
+    @DisplayName("Corrupted snapshot should be rejected")
+    void corruptedSnapshotShouldBeRejected() throws IOException {
+        // Given
+        Path snapshotFile = tempDir.resolve("corrupted.snapshot");
+        Files.write(snapshotFile, new byte[]{1, 2, 3});
+
+        // When & Then
+        assertThrows(IOException.class, () -> CampusSnapshotCodec.read(snapshotFile));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.factory.CampusCrudFactory;
+import com.example.university.campusmanagement.factory.CrudServiceRegistry;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusReadRouter;
+import com.example.university.campusmanagement.repository.CampusRepository;
+import com.example.university.campusmanagement.service.CampusService;
+import com.example.university.campusmanagement.service.CrudService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del registro tipado de servicios CRUD
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Crud Service Registry Tests")
+class CrudServiceRegistryTest {
+
+    @Mock
+    private CampusRepository campusRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CampusService campusService;
+    private CrudServiceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        campusService = new CampusService(CampusReadRouter.primaryOnly(campusRepository), eventPublisher, Optional.empty(), Optional.empty(), Optional.empty());
+        registry = new CrudServiceRegistry(List.of(new CampusCrudFactory(campusService)));
+    }
+
+    @Test
+    @DisplayName("Should resolve the typed service registered for an entity")
+    void shouldResolveTypedService() {
+        // When
+        CrudService<Campus, String> service = registry.serviceFor(Campus.class, String.class);
+
+        // Then
+        assertSame(campusService, service);
+        assertEquals(Set.of(Campus.class), registry.entityTypes());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown entities and mismatched ID types")
+    void shouldRejectUnknownEntityOrIdType() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> registry.serviceFor(String.class, String.class));
+        assertThrows(IllegalArgumentException.class, () -> registry.serviceFor(Campus.class, Long.class));
+    }
+
+    @Test
+    @DisplayName("Should reject two services for the same entity")
+    void shouldRejectDuplicateEntity() {
+        // Given
+        CampusService otherService = new CampusService(CampusReadRouter.primaryOnly(campusRepository), eventPublisher, Optional.empty(), Optional.empty(), Optional.empty());
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> new CrudServiceRegistry(
+                List.of(new CampusCrudFactory(campusService), new CampusCrudFactory(otherService))));
+    }
+}
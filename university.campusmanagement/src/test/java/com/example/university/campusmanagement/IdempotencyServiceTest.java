@@ -0,0 +1,170 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.model.IdempotencyRecord;
+import com.example.university.campusmanagement.repository.IdempotencyRecordRepository;
+import com.example.university.campusmanagement.service.IdempotencyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests del servicio de claves de idempotencia
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Idempotency Service Tests")
+class IdempotencyServiceTest {
+
+    private static final String KEY = "client|POST|/api/campuses|abc-123";
+    private static final String HASH = "4f2a";
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, mongoTemplate, 100, 24, 60);
+    }
+
+    @Test
+    @DisplayName("First request with a key should be executed")
+    void firstRequestShouldStart() {
+        // When
+        IdempotencyService.Reservation reservation = idempotencyService.reserve(KEY, HASH);
+
+        // Then
+        assertEquals(IdempotencyService.Outcome.STARTED, reservation.outcome());
+        verify(idempotencyRecordRepository, times(1)).insert(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Retry after completion should replay from the front cache without querying")
+    void retryShouldReplayFromFrontCache() {
+        // Given
+        byte[] body = "{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+        idempotencyService.complete(KEY, HASH, 201, "application/json", body);
+
+        // When
+        IdempotencyService.Reservation reservation = idempotencyService.reserve(KEY, HASH);
+
+        // Then
+        assertEquals(IdempotencyService.Outcome.REPLAY, reservation.outcome());
+        assertEquals(201, reservation.storedResponse().getResponseStatus());
+        assertArrayEquals(body, reservation.storedResponse().getBody());
+        verify(idempotencyRecordRepository, never()).insert(any(IdempotencyRecord.class));
+        verify(idempotencyRecordRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Key completed by another pod should be replayed from MongoDB")
+    void keyCompletedElsewhereShouldReplay() {
+        // Given
+        IdempotencyRecord stored = IdempotencyRecord.inProgress(KEY, HASH);
+        stored.complete(200, "application/json", new byte[0]);
+        when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class)))
+                .thenThrow(new DuplicateKeyException("duplicate"));
+        when(idempotencyRecordRepository.findById(KEY)).thenReturn(Optional.of(stored));
+
+        // When
+        IdempotencyService.Reservation reservation = idempotencyService.reserve(KEY, HASH);
+
+        // Then
+        assertEquals(IdempotencyService.Outcome.REPLAY, reservation.outcome());
+    }
+
+    @Test
+    @DisplayName("Concurrent request with the same key should be reported as in progress")
+    void concurrentRequestShouldBeInProgress() {
+        // Given
+        IdempotencyRecord running = IdempotencyRecord.inProgress(KEY, HASH);
+        running.setCreatedAt(Instant.now());
+        when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class)))
+                .thenThrow(new DuplicateKeyException("duplicate"));
+        when(idempotencyRecordRepository.findById(KEY)).thenReturn(Optional.of(running));
+
+        // When
+        IdempotencyService.Reservation reservation = idempotencyService.reserve(KEY, HASH);
+
+        // Then
+        assertEquals(IdempotencyService.Outcome.IN_PROGRESS, reservation.outcome());
+        verify(idempotencyRecordRepository, never()).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Reusing a key with a different request body should be rejected")
+    void differentRequestShouldMismatch() {
+        // Given
+        IdempotencyRecord stored = IdempotencyRecord.inProgress(KEY, HASH);
+        stored.complete(201, "application/json", new byte[0]);
+        when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class)))
+                .thenThrow(new DuplicateKeyException("duplicate"));
+        when(idempotencyRecordRepository.findById(KEY)).thenReturn(Optional.of(stored));
+
+        // When
+        IdempotencyService.Reservation reservation = idempotencyService.reserve(KEY, "other");
+
+        // Then
+        assertEquals(IdempotencyService.Outcome.MISMATCH, reservation.outcome());
+    }
+
+    @Test
+    @DisplayName("A stale key should be taken over only if the marker is still the one that was read")
+    void staleKeyShouldBeTakenOverConditionally() {
+        // Given: dos pods ven el mismo marcador caducado; el otro lo ha relevado antes
+        Instant staleSince = Instant.now().minusSeconds(120);
+        IdempotencyRecord stale = IdempotencyRecord.inProgress(KEY, HASH);
+        stale.setCreatedAt(staleSince);
+        when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class)))
+                .thenThrow(new DuplicateKeyException("duplicate"));
+        when(idempotencyRecordRepository.findById(KEY)).thenReturn(Optional.of(stale));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(IdempotencyRecord.class))).thenReturn(null);
+
+        // When
+        IdempotencyService.Reservation reservation = idempotencyService.reserve(KEY, HASH);
+
+        // Then
+        assertEquals(IdempotencyService.Outcome.IN_PROGRESS, reservation.outcome());
+        ArgumentCaptor<Query> guard = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(guard.capture(), any(Update.class), any(FindAndModifyOptions.class),
+                eq(IdempotencyRecord.class));
+        assertEquals(staleSince, guard.getValue().getQueryObject().get("createdAt"));
+        verify(idempotencyRecordRepository, never()).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Completing a key should store the response without renewing createdAt")
+    void completeShouldKeepCreatedAt() {
+        // When
+        idempotencyService.complete(KEY, HASH, 201, "application/json", new byte[0]);
+
+        // Then
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(IdempotencyRecord.class));
+        assertFalse(update.getValue().modifies("createdAt"));
+        assertTrue(update.getValue().modifies("body"));
+        verify(idempotencyRecordRepository, never()).save(any(IdempotencyRecord.class));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusLogStore;
+import com.example.university.campusmanagement.repository.LogStructuredCampusRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de rendimiento de lecturas y escrituras del backend local de campus.
+ * Se ejecuta con: ./mvnw test -Dtest=LogStructuredCampusRepositoryBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Log-Structured Campus Repository Benchmark")
+class LogStructuredCampusRepositoryBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogStructuredCampusRepositoryBenchmarkTest.class);
+
+    private static final int CAMPUSES = 10_000;
+    private static final int WRITES_PER_THREAD = 2_000;
+    private static final int READS = 500_000;
+    private static final int THREADS = 16;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    @DisplayName("Write throughput with per-write group commit and with interval fsync")
+    void writeThroughput() throws Exception {
+        for (long fsyncIntervalMs : new long[]{0, 50}) {
+            Path directory = dataDir.resolve("fsync-" + fsyncIntervalMs);
+            try (LogStructuredCampusRepository repository = new LogStructuredCampusRepository(
+                    CampusLogStore.open(directory, fsyncIntervalMs), 0.5, Long.MAX_VALUE)) {
+                long start = System.nanoTime();
+                runConcurrently(thread -> {
+                    for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                        repository.save(campus(thread + "-" + (i % 100)));
+                    }
+                });
+                long elapsed = System.nanoTime() - start;
+                long writes = (long) THREADS * WRITES_PER_THREAD;
+                logger.info("Writes (fsync-interval-ms={}, {} threads): {} writes/s, {} fsyncs",
+                        fsyncIntervalMs, THREADS, Math.round(writes * 1e9 / elapsed), repository.getStore().syncCount());
+                assertEquals(THREADS * 100L, repository.count());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Point read throughput through the in-memory hash index")
+    void readThroughput() throws Exception {
+        try (LogStructuredCampusRepository repository = new LogStructuredCampusRepository(
+                CampusLogStore.open(dataDir, 50), 0.5, Long.MAX_VALUE)) {
+            for (int i = 0; i < CAMPUSES; i++) {
+                repository.save(campus(String.valueOf(i)));
+            }
+            repository.getStore().sync();
+
+            long start = System.nanoTime();
+            runConcurrently(thread -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < READS / THREADS; i++) {
+                    assertTrue(repository.findById(String.valueOf(random.nextInt(CAMPUSES))).isPresent());
+                }
+            });
+            long elapsed = System.nanoTime() - start;
+            logger.info("Point reads ({} threads): {} reads/s", THREADS, Math.round(READS * 1e9 / elapsed));
+
+            start = System.nanoTime();
+            int scanned = repository.findAll().size();
+            logger.info("Full scan of {} campuses: {} µs", scanned, (System.nanoTime() - start) / 1_000);
+        }
+    }
+
+    private interface Worker {
+        void run(int thread) throws IOException;
+    }
+
+    private static void runConcurrently(Worker worker) throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    worker.run(thread);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private static Campus campus(String id) {
+        Campus campus = new Campus("Sede " + id, "Calle " + id, "Armenia", "3001234567");
+        campus.setId(id);
+        return campus;
+    }
+}
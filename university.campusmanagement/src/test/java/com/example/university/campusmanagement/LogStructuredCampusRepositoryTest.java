@@ -0,0 +1,331 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.repository.CampusLogStore;
+import com.example.university.campusmanagement.repository.CampusReadRouter;
+import com.example.university.campusmanagement.repository.LogStructuredCampusRepository;
+import com.example.university.campusmanagement.service.CampusService;
+import com.example.university.campusmanagement.util.ChangeSequence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests del backend local de campus (log append-only con índice hash en memoria):
+ * contrato de CampusRepository, recuperación tras una caída y compactación
+ */
+@DisplayName("Log-Structured Campus Repository Tests")
+class LogStructuredCampusRepositoryTest {
+
+    @TempDir
+    Path dataDir;
+
+    private LogStructuredCampusRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    private LogStructuredCampusRepository open() throws IOException {
+        return new LogStructuredCampusRepository(CampusLogStore.open(dataDir, 0), 0.5, 0);
+    }
+
+    private static Campus campus(String id, String name, String city) {
+        Campus campus = new Campus(name, "Calle 1", city, "3001234567");
+        campus.setId(id);
+        return campus;
+    }
+
+    @Test
+    @DisplayName("Saved campuses should be read back as independent copies")
+    void savedCampusesShouldBeReadBack() {
+        // Given
+        Campus central = campus(null, "Sede Principal", "Armenia");
+        central.setLastModified(Instant.ofEpochMilli(1_000));
+
+        // When
+        Campus saved = repository.save(central);
+        central.setName("Changed after save");
+
+        // Then
+        assertNotNull(saved.getId());
+        Campus found = repository.findById(saved.getId()).orElseThrow();
+        assertEquals("Sede Principal", found.getName());
+        assertEquals(Instant.ofEpochMilli(1_000), found.getLastModified());
+        assertNotSame(found, repository.findById(saved.getId()).orElseThrow());
+        assertTrue(repository.existsById(saved.getId()));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Derived queries should match the Mongo repository semantics")
+    void derivedQueriesShouldWork() {
+        // Given
+        Campus central = campus("1", "Sede Principal", "Armenia");
+        central.setLastModified(Instant.ofEpochMilli(5_000));
+        Campus north = campus("2", "Sede Norte", "Pereira");
+        north.putInMaintenance();
+        north.setLastModified(Instant.ofEpochMilli(1_000));
+        repository.saveAll(List.of(central, north));
+
+        // Then
+        assertEquals(1, repository.countByCurrentState("ACTIVE"));
+        assertEquals(1, repository.countByCurrentState("MAINTENANCE"));
+        assertEquals(1, repository.countByActive(true));
+        assertEquals(List.of("1"), repository.findByLastModifiedGreaterThanEqual(Instant.ofEpochMilli(5_000))
+                .stream().map(Campus::getId).toList());
+        try (Stream<Campus> all = repository.streamAllBy()) {
+            assertEquals(2, all.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Sorting and paging should be applied like in MongoDB")
+    void sortingAndPagingShouldWork() {
+        // Given
+        repository.saveAll(List.of(campus("1", "Sede C", "Armenia"), campus("2", "Sede A", "Pereira"),
+                campus("3", "Sede B", "Armenia")));
+
+        // When
+        List<Campus> byName = repository.findAll(Sort.by(Sort.Direction.DESC, "name"));
+        Page<Campus> page = repository.findAll(PageRequest.of(1, 2, Sort.by("id")));
+
+        // Then
+        assertEquals(List.of("Sede C", "Sede B", "Sede A"), byName.stream().map(Campus::getName).toList());
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of("3"), page.getContent().stream().map(Campus::getId).toList());
+        assertThrows(IllegalArgumentException.class, () -> repository.findAll(Sort.by("unknown")));
+    }
+
+    @Test
+    @DisplayName("Delete should remove campuses")
+    void deleteShouldRemoveCampuses() {
+        // Given
+        repository.save(campus("1", "Sede Principal", "Armenia"));
+
+        // When
+        repository.deleteById("1");
+
+        // Then
+        assertTrue(repository.findById("1").isEmpty());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    @DisplayName("Reopening the log should recover the latest version of every campus")
+    void reopeningShouldRecoverState() throws IOException {
+        // Given
+        repository.save(campus("1", "Sede Principal", "Armenia"));
+        Campus north = campus("2", "Sede Norte", "Pereira");
+        repository.save(north);
+        north.deactivate();
+        repository.save(north);
+        repository.save(campus("3", "Sede Temporal", "Cali"));
+        repository.deleteById("3");
+
+        // When
+        repository.close();
+        repository = open();
+
+        // Then
+        assertEquals(2, repository.count());
+        Campus recovered = repository.findById("2").orElseThrow();
+        assertEquals("INACTIVE", recovered.getCurrentState());
+        assertFalse(recovered.isActive());
+        assertTrue(repository.findById("3").isEmpty());
+    }
+
+    @Test
+    @DisplayName("A torn record at the tail of the log should be truncated on recovery")
+    void tornTailShouldBeTruncated() throws IOException {
+        // Given
+        repository.save(campus("1", "Sede Principal", "Armenia"));
+        repository.close();
+        Path log = dataDir.resolve("campus.log");
+        long intactSize = Files.size(log);
+        // Cabecera de un registro de 200 bytes del que sólo llegaron 3 al disco
+        Files.write(log, new byte[]{0, 0, 0, (byte) 200, 1, 2, 3, 4, 1, 0, 0}, StandardOpenOption.APPEND);
+
+        // When
+        repository = open();
+
+        // Then
+        assertEquals(intactSize, Files.size(log));
+        assertEquals("Sede Principal", repository.findById("1").orElseThrow().getName());
+        repository.save(campus("2", "Sede Norte", "Pereira"));
+        repository.close();
+        repository = open();
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    @DisplayName("A corrupted record in the middle of the log should fail recovery instead of dropping later records")
+    void corruptedMiddleRecordShouldFailRecovery() throws IOException {
+        // Given
+        repository.save(campus("1", "Sede Principal", "Armenia"));
+        repository.save(campus("2", "Sede Norte", "Pereira"));
+        repository.close();
+        Path log = dataDir.resolve("campus.log");
+        long size = Files.size(log);
+        byte[] bytes = Files.readAllBytes(log);
+        // Un byte del cuerpo del primer registro (cabecera de 8 bytes)
+        bytes[10] ^= 0x7f;
+        Files.write(log, bytes);
+
+        // When
+        IOException failure = assertThrows(IOException.class, this::open);
+
+        // Then
+        assertTrue(failure.getMessage().contains("offset 0"));
+        assertEquals(size, Files.size(log));
+    }
+
+    @Test
+    @DisplayName("A zero-filled tail left by a crash should be truncated on recovery")
+    void zeroFilledTailShouldBeTruncated() throws IOException {
+        // Given
+        repository.save(campus("1", "Sede Principal", "Armenia"));
+        repository.close();
+        Path log = dataDir.resolve("campus.log");
+        long intactSize = Files.size(log);
+        Files.write(log, new byte[64], StandardOpenOption.APPEND);
+
+        // When
+        repository = open();
+
+        // Then
+        assertEquals(intactSize, Files.size(log));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    @DisplayName("Compaction should keep only live records and survive a restart")
+    void compactionShouldDropGarbage() throws IOException {
+        // Given
+        Campus central = campus("1", "Sede Principal", "Armenia");
+        for (int i = 0; i < 50; i++) {
+            central.setTelephone("300000" + i);
+            repository.save(central);
+        }
+        repository.save(campus("2", "Sede Norte", "Pereira"));
+        repository.deleteById("2");
+        CampusLogStore store = repository.getStore();
+        long before = store.fileBytes();
+
+        // When
+        repository.compactIfNeeded();
+
+        // Then
+        assertEquals(1, store.compactionCount());
+        assertTrue(store.fileBytes() < before / 10);
+        assertEquals(0.0, store.garbageRatio());
+        assertEquals("30000049", repository.findById("1").orElseThrow().getTelephone());
+        repository.close();
+        repository = open();
+        assertEquals(1, repository.count());
+        assertEquals("30000049", repository.findById("1").orElseThrow().getTelephone());
+    }
+
+    @Test
+    @DisplayName("CampusService should run its CRUD and state flows on top of the log store")
+    void campusServiceShouldRunOnLogStore() {
+        // Given
+        CampusService service = new CampusService(CampusReadRouter.primaryOnly(repository),
+                mock(ApplicationEventPublisher.class), Optional.empty(), Optional.empty(), Optional.empty());
+
+        // When
+        Campus created = service.create(campus(null, "Sede Principal", "Armenia"));
+        service.update(created.getId(), campus(null, "Sede Principal Renovada", null));
+        service.putCampusInMaintenance(created.getId());
+
+        // Then
+        Campus stored = service.findById(created.getId());
+        assertEquals("Sede Principal Renovada", stored.getName());
+        assertEquals("MAINTENANCE", stored.getCurrentState());
+        assertNotNull(stored.getCreatedAt());
+        assertEquals(1, service.findAll().size());
+        assertEquals(1, service.findByState("MAINTENANCE").size());
+        assertThrows(RuntimeException.class, () -> service.findById("missing"));
+    }
+
+    @Test
+    @DisplayName("The change feed should page by sequence and hold back writes inside the settle window")
+    void changeFeedShouldPageBySequence() {
+        // Given
+        CampusService service = new CampusService(CampusReadRouter.primaryOnly(repository),
+                mock(ApplicationEventPublisher.class), Optional.empty(), Optional.empty(), Optional.empty());
+        long minuteAgo = ChangeSequence.at(Instant.now().minusSeconds(60));
+        for (int i = 1; i <= 3; i++) {
+            Campus campus = campus(String.valueOf(i), "Sede " + i, "Armenia");
+            campus.setChangeSeq(minuteAgo + i);
+            repository.save(campus);
+        }
+        Campus recent = service.create(campus(null, "Sede Nueva", "Armenia"));
+
+        // When
+        CampusService.ChangeFeed first = service.changesSince(
+                Optional.of(new CampusService.ChangeToken(minuteAgo, null)), 2);
+        CampusService.ChangeFeed second = service.changesSince(
+                Optional.of(CampusService.ChangeToken.parse(first.nextToken().toString())), 2);
+        CampusService.ChangeFeed initial = service.changesSince(Optional.empty(), 2);
+
+        // Then
+        assertEquals(List.of("1", "2"), first.campuses().stream().map(Campus::getId).toList());
+        assertTrue(first.hasMore());
+        assertEquals(List.of("3"), second.campuses().stream().map(Campus::getId).toList());
+        assertFalse(second.hasMore());
+        assertTrue(second.nextToken().sequence() < recent.getChangeSeq());
+        assertEquals(4, initial.campuses().size());
+    }
+
+    @Test
+    @DisplayName("A page ending inside a sequence shared by several campuses should continue after the last id")
+    void changeFeedShouldNotSkipCampusesSharingASequence() {
+        // Given: dos pods han escrito la misma secuencia
+        CampusService service = new CampusService(CampusReadRouter.primaryOnly(repository),
+                mock(ApplicationEventPublisher.class), Optional.empty(), Optional.empty(), Optional.empty());
+        long minuteAgo = ChangeSequence.at(Instant.now().minusSeconds(60));
+        for (String id : List.of("a", "b", "c")) {
+            Campus campus = campus(id, "Sede " + id, "Armenia");
+            campus.setChangeSeq(minuteAgo + 1);
+            repository.save(campus);
+        }
+
+        // When
+        CampusService.ChangeFeed first = service.changesSince(
+                Optional.of(new CampusService.ChangeToken(minuteAgo, null)), 2);
+        CampusService.ChangeFeed second = service.changesSince(
+                Optional.of(CampusService.ChangeToken.parse(first.nextToken().toString())), 2);
+
+        // Then
+        assertEquals(List.of("a", "b"), first.campuses().stream().map(Campus::getId).toList());
+        assertEquals((minuteAgo + 1) + ":b", first.nextToken().toString());
+        assertEquals(List.of("c"), second.campuses().stream().map(Campus::getId).toList());
+        assertFalse(second.hasMore());
+        assertThrows(IllegalArgumentException.class, () -> CampusService.ChangeToken.parse("12:"));
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.service.QueryShapeAdvisor;
+import com.example.university.campusmanagement.service.QueryShapeRecorder;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.DbCallback;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests del registro de formas de consulta y del asesor de índices
+ */
+@DisplayName("Query Shape Advisor Tests")
+class QueryShapeAdvisorTest {
+
+    private static CommandStartedEvent started(int requestId, String commandName, BsonDocument command) {
+        CommandStartedEvent event = mock(CommandStartedEvent.class);
+        when(event.getRequestId()).thenReturn(requestId);
+        when(event.getCommandName()).thenReturn(commandName);
+        when(event.getCommand()).thenReturn(command);
+        return event;
+    }
+
+    private static CommandSucceededEvent succeeded(int requestId, long micros) {
+        CommandSucceededEvent event = mock(CommandSucceededEvent.class);
+        when(event.getRequestId()).thenReturn(requestId);
+        when(event.getElapsedTime(TimeUnit.MICROSECONDS)).thenReturn(micros);
+        return event;
+    }
+
+    @Test
+    @DisplayName("Commands should be normalized to their shape without values")
+    void commandsShouldBeNormalized() {
+        // Given
+        BsonDocument find = BsonDocument.parse("{ find: 'campuses', filter: { currentState: 'ACTIVE',"
+                + " name: { $regex: '^Sede', $options: '' }, createdAt: { $gte: 1, $lt: 2 } },"
+                + " sort: { name: -1 }, projection: { name: 1, city: 1 } }");
+        BsonDocument aggregate = BsonDocument.parse("{ aggregate: 'campuses', pipeline: ["
+                + " { $match: { city: { $in: ['Armenia', 'Pereira'] } } }, { $sort: { name: 1 } }, { $count: 'n' } ] }");
+
+        // When
+        QueryShapeRecorder.QueryShape findShape = QueryShapeRecorder.shapeOf("find", find);
+        QueryShapeRecorder.QueryShape aggregateShape = QueryShapeRecorder.shapeOf("aggregate", aggregate);
+
+        // Then
+        assertEquals(Map.of("createdAt", "range", "currentState", "eq", "name", "prefix"), findShape.filter());
+        assertEquals(List.of("name:-1"), findShape.sort());
+        assertEquals(List.of("city", "name"), findShape.projection());
+        assertEquals(Map.of("city", "in"), aggregateShape.filter());
+        assertEquals(List.of("name:1"), aggregateShape.sort());
+    }
+
+    @Test
+    @DisplayName("Executions of the same shape should be aggregated and other collections ignored")
+    void executionsShouldBeAggregatedByShape() {
+        // Given
+        QueryShapeRecorder recorder = new QueryShapeRecorder(500, 1);
+
+        // When
+        recorder.commandStarted(started(1, "find", BsonDocument.parse("{ find: 'campuses', filter: { city: 'Armenia' } }")));
+        recorder.commandSucceeded(succeeded(1, 2_000));
+        recorder.commandStarted(started(2, "find", BsonDocument.parse("{ find: 'campuses', filter: { city: 'Pereira' } }")));
+        recorder.commandSucceeded(succeeded(2, 4_000));
+        recorder.commandStarted(started(3, "find", BsonDocument.parse("{ find: 'outbox', filter: { status: 'PENDING' } }")));
+        recorder.commandSucceeded(succeeded(3, 1_000));
+
+        // Then
+        assertEquals(1, recorder.size());
+        QueryShapeRecorder.ShapeStats stats = recorder.top(1).get(0);
+        assertEquals(2, stats.getExecutions());
+        assertEquals(3_000.0, stats.getMeanMicros());
+        assertEquals(4_000, stats.getMaxMicros());
+        assertEquals("Pereira", stats.getSample().getDocument("filter").getString("city").getValue());
+        assertFalse(stats.getSample().containsKey("lsid"));
+    }
+
+    @Test
+    @DisplayName("The sample should be taken from the first command and then from one in every sampleEvery")
+    void sampleShouldBeReplacedOneInN() {
+        // Given
+        QueryShapeRecorder recorder = new QueryShapeRecorder(500, 3);
+        String[] cities = {"Armenia", "Pereira", "Manizales", "Cali"};
+
+        // When / Then
+        for (int i = 0; i < cities.length; i++) {
+            recorder.commandStarted(started(i, "find", BsonDocument.parse(
+                    "{ find: 'campuses', filter: { city: '" + cities[i] + "' }, lsid: { id: 1 } }")));
+            recorder.commandSucceeded(succeeded(i, 1_000));
+            String expected = i < 3 ? "Armenia" : "Cali";
+            BsonDocument sample = recorder.top(1).get(0).getSample();
+            assertEquals(expected, sample.getDocument("filter").getString("city").getValue());
+            assertFalse(sample.containsKey("lsid"));
+        }
+    }
+
+    @Test
+    @DisplayName("The suggested index should follow equality, sort, range order")
+    void suggestedIndexShouldFollowEsr() {
+        // Given
+        QueryShapeRecorder.QueryShape shape = QueryShapeRecorder.shapeOf("find", BsonDocument.parse(
+                "{ find: 'campuses', filter: { createdAt: { $gt: 1 }, city: 'Armenia', address: /calle/i },"
+                        + " sort: { name: 1 } }"));
+
+        // When
+        Map<String, Integer> suggestion = QueryShapeAdvisor.suggestIndex(shape);
+
+        // Then
+        assertEquals(List.of("city", "name", "createdAt"), List.copyOf(suggestion.keySet()));
+        assertEquals("{ city: 1, name: 1, createdAt: 1 }", QueryShapeAdvisor.describe(suggestion));
+    }
+
+    @Test
+    @DisplayName("A shape that scans far more documents than it returns should be reported with its index")
+    @SuppressWarnings("unchecked")
+    void inefficientShapeShouldBeReported() {
+        // Given
+        QueryShapeRecorder recorder = new QueryShapeRecorder(500, 100);
+        recorder.commandStarted(started(1, "find",
+                BsonDocument.parse("{ find: 'campuses', filter: { city: 'Armenia' }, sort: { name: 1 } }")));
+        recorder.commandSucceeded(succeeded(1, 8_000));
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.execute(any(DbCallback.class))).thenReturn(new Document("queryPlanner",
+                new Document("winningPlan", new Document("stage", "SORT")
+                        .append("inputStage", new Document("stage", "COLLSCAN"))))
+                .append("executionStats", new Document("nReturned", 3).append("totalDocsExamined", 5_000)
+                        .append("totalKeysExamined", 0)));
+        QueryShapeAdvisor advisor = new QueryShapeAdvisor(mongoTemplate, recorder, 10, 10, 100);
+
+        // When
+        advisor.explainTopShapes();
+
+        // Then
+        List<QueryShapeAdvisor.Finding> findings = advisor.findings();
+        assertEquals(1, findings.size());
+        assertEquals("COLLSCAN", findings.get(0).explain().stage());
+        assertEquals(Map.of("city", 1, "name", 1), findings.get(0).suggestedIndex());
+        assertNull(findings.get(0).declaredIndex());
+    }
+
+    @Test
+    @DisplayName("Explain output of an aggregation should be read from its $cursor stage")
+    void explainShouldBeReadFromAggregation() {
+        // Given
+        Document explain = new Document("stages", List.of(
+                new Document("$cursor", new Document("queryPlanner",
+                        new Document("winningPlan", new Document("stage", "FETCH")
+                                .append("inputStage", new Document("stage", "IXSCAN")
+                                        .append("indexName", "campus_state_name"))))
+                        .append("executionStats", new Document("nReturned", 40).append("totalDocsExamined", 40)
+                                .append("totalKeysExamined", 41))),
+                new Document("$sort", new Document("name", 1))));
+
+        // When
+        QueryShapeAdvisor.ExplainStats stats = QueryShapeAdvisor.parseExplain(explain);
+
+        // Then
+        assertEquals("IXSCAN", stats.stage());
+        assertEquals(List.of("campus_state_name"), stats.indexes());
+        assertEquals(40, stats.docsExamined());
+        assertEquals(1.0, stats.examinedPerReturned());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.university.campusmanagement;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark del coste por petición de la cadena de filtros de seguridad.
+ * La cadena termina en un MockFilterChain vacío, así que sólo se mide la autenticación.
+ * Se ejecuta con: ./mvnw test -Dtest=SecurityFilterChainBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@TestPropertySource(properties = "campus.security.jwt-secret=bvZipEOR0UORW44z0KUyESxzyD5cwz75hT2uL8d7dKE=")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Security Filter Chain Benchmark")
+class SecurityFilterChainBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecurityFilterChainBenchmarkTest.class);
+
+    private static final int WARMUP_REQUESTS = 20_000;
+    private static final int MEASURED_REQUESTS = 100_000;
+
+    @Autowired
+    private FilterChainProxy filterChainProxy;
+
+    @Value("${campus.security.jwt-secret}")
+    private String jwtSecret;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        SecretKeySpec key = new SecretKeySpec(Base64.getDecoder().decode(jwtSecret), "HmacSHA256");
+        NimbusJwtEncoder encoder = new NimbusJwtEncoder(new ImmutableSecret<>(key));
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject("benchmark")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        token = encoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+                .getTokenValue();
+    }
+
+    @Test
+    @DisplayName("Authenticated request cost per request through the stateless chain")
+    void authenticatedRequestCost() throws Exception {
+        assertEquals(HttpServletResponse.SC_OK, runRequest("Bearer " + token));
+
+        long nanosPerRequest = measure("Bearer " + token);
+        logger.info("Authenticated /api/campuses: {} ns/request", nanosPerRequest);
+    }
+
+    @Test
+    @DisplayName("Rejected request cost per request through the stateless chain")
+    void rejectedRequestCost() throws Exception {
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, runRequest(null));
+
+        long nanosPerRequest = measure(null);
+        logger.info("Unauthenticated /api/campuses: {} ns/request", nanosPerRequest);
+    }
+
+    private long measure(String authorization) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            runRequest(authorization);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            runRequest(authorization);
+        }
+        return (System.nanoTime() - start) / MEASURED_REQUESTS;
+    }
+
+    private int runRequest(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/campuses");
+        request.setServletPath("/api/campuses");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filterChainProxy.doFilter(request, response, new MockFilterChain());
+        assertNull(request.getSession(false), "Stateless chain must not create sessions");
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.util.SingleFlight;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la coalescencia de llamadas concurrentes (single-flight)
+ */
+@DisplayName("Single Flight Tests")
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Concurrent calls with the same key should share one load")
+    void concurrentCallsShouldShareOneLoad() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("1", () -> {
+                loads.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return "Campus Central";
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            // When
+            List<Future<String>> followers = new ArrayList<>();
+            CountDownLatch followersStarted = new CountDownLatch(50);
+            for (int i = 0; i < 50; i++) {
+                followers.add(executor.submit(() -> {
+                    followersStarted.countDown();
+                    return singleFlight.execute("1", () -> {
+                        loads.incrementAndGet();
+                        return "unexpected";
+                    });
+                }));
+            }
+            // Soltar al líder antes de que arranquen los seguidores haría que todos cargasen por su cuenta
+            assertTrue(followersStarted.await(5, TimeUnit.SECONDS));
+            release.countDown();
+
+            // Then
+            assertEquals("Campus Central", leader.get(5, TimeUnit.SECONDS));
+            for (Future<String> follower : followers) {
+                String result = follower.get(5, TimeUnit.SECONDS);
+                // Un seguidor que llegue después de que el líder termine hace su propia carga
+                assertTrue(result.equals("Campus Central") || result.equals("unexpected"));
+            }
+        }
+        assertEquals(0, singleFlight.inFlightCount());
+        assertTrue(loads.get() < 51, "Concurrent followers should have joined the leader's load");
+    }
+
+    @Test
+    @DisplayName("Followers should stop waiting after the per-key timeout")
+    void followersShouldLoadThemselvesAfterTimeout() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMillis(50));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> singleFlight.execute("1", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return "slow";
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            // When
+            String result = singleFlight.execute("1", () -> "fallback");
+
+            // Then
+            assertEquals("fallback", result);
+            release.countDown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
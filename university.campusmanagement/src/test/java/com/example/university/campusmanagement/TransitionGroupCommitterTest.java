@@ -0,0 +1,178 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.CampusSchema;
+import com.example.university.campusmanagement.service.TransitionGroupCommitter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests del group commit de transiciones de estado
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Transition Group Commit Tests")
+class TransitionGroupCommitterTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private TransitionGroupCommitter groupCommitter;
+
+    // Escrituras encoladas en el bulk desde el último execute: el mock las da todas por aplicadas
+    private final AtomicInteger queuedUpdates = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(Campus.class))).thenReturn(bulkOperations);
+        lenient().when(mongoTemplate.getCollectionName(Campus.class)).thenReturn("campuses");
+        lenient().when(bulkOperations.updateOne(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+            queuedUpdates.incrementAndGet();
+            return bulkOperations;
+        });
+        lenient().when(bulkOperations.execute()).thenAnswer(invocation -> matched(queuedUpdates.getAndSet(0)));
+        groupCommitter = new TransitionGroupCommitter(mongoTemplate, Optional.empty(), 64, 20, 1000, 5000);
+        groupCommitter.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        groupCommitter.stop();
+    }
+
+    @Test
+    @DisplayName("Concurrent transitions should be acknowledged after a shared bulk write")
+    void concurrentTransitionsShouldShareBulkWrites() throws Exception {
+        // Given
+        List<Future<TransitionGroupCommitter.TransitionResult>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                String id = String.valueOf(i);
+                results.add(executor.submit(() -> groupCommitter.apply(id, () -> campus(id), Campus::putInMaintenance)));
+            }
+            for (Future<TransitionGroupCommitter.TransitionResult> result : results) {
+                TransitionGroupCommitter.TransitionResult transition = result.get(5, TimeUnit.SECONDS);
+                assertEquals("MAINTENANCE", transition.campus().getCurrentState());
+                assertEquals("ACTIVE", transition.previousState());
+            }
+        }
+
+        // Then
+        verify(bulkOperations, times(20)).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOperations, atMost(20)).execute();
+        assertTrue(groupCommitter.pendingSnapshot("0").isEmpty(), "Flushed transitions should leave the pending view");
+    }
+
+    @Test
+    @DisplayName("Invalid transitions should fail without queueing a write")
+    void invalidTransitionShouldNotBeQueued() {
+        // Given
+        Campus inactive = campus("1");
+        inactive.deactivate();
+
+        // When & Then
+        assertThrows(IllegalStateException.class,
+                () -> groupCommitter.apply("1", () -> inactive, Campus::putInMaintenance));
+        assertTrue(groupCommitter.pendingSnapshot("1").isEmpty());
+        verify(bulkOperations, never()).execute();
+    }
+
+    @Test
+    @DisplayName("A failed transition should leave the pending version untouched and never call the loader")
+    void failedTransitionShouldNotMutatePendingVersion() throws Exception {
+        // Given: el primer grupo queda retenido para que la transición siga pendiente
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return matched(queuedUpdates.getAndSet(0));
+        }).when(bulkOperations).execute();
+        AtomicInteger loads = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<TransitionGroupCommitter.TransitionResult> first = executor.submit(
+                    () -> groupCommitter.apply("1", () -> campus("1"), Campus::putInMaintenance));
+            assertTrue(flushing.await(5, TimeUnit.SECONDS));
+
+            // When
+            assertThrows(IllegalStateException.class, () -> groupCommitter.apply("1", () -> {
+                loads.incrementAndGet();
+                return campus("1");
+            }, campus -> {
+                campus.setActive(false);
+                throw new IllegalStateException("rejected");
+            }));
+
+            // Then
+            assertEquals("MAINTENANCE", groupCommitter.pendingSnapshot("1").orElseThrow().getCurrentState());
+            assertEquals(0, loads.get());
+            release.countDown();
+            assertEquals("MAINTENANCE", first.get(5, TimeUnit.SECONDS).campus().getCurrentState());
+        }
+    }
+
+    @Test
+    @DisplayName("A write that no longer matches the persisted changeSeq should fail as a conflict instead of overwriting")
+    void concurrentlyModifiedCampusShouldFailAsConflict() {
+        // Given: otro escritor cambió el campus después de cargarlo
+        Campus loaded = campus("1");
+        loaded.setChangeSeq(41);
+        doAnswer(invocation -> matched(0)).when(bulkOperations).execute();
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("campuses")))
+                .thenReturn(List.of(new Document("_id", "1").append(CampusSchema.CHANGE_SEQ, 99L)));
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> groupCommitter.apply("1", () -> loaded, Campus::putInMaintenance));
+        ArgumentCaptor<Query> condition = ArgumentCaptor.forClass(Query.class);
+        verify(bulkOperations).updateOne(condition.capture(), any(Update.class));
+        assertTrue(condition.getValue().getQueryObject().toJson().contains("41"),
+                "The update must be conditioned on the changeSeq it was computed from");
+        assertTrue(groupCommitter.pendingSnapshot("1").isEmpty(), "A rejected transition must leave the pending view");
+    }
+
+    private static BulkWriteResult matched(int count) {
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getMatchedCount()).thenReturn(count);
+        return result;
+    }
+
+    private static Campus campus(String id) {
+        Campus campus = new Campus("Campus " + id, "Calle " + id, "Armenia", "3001234567");
+        campus.setId(id);
+        return campus;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.university.campusmanagement;
+
+import com.example.university.campusmanagement.event.CampusChangeEvent;
+import com.example.university.campusmanagement.model.Campus;
+import com.example.university.campusmanagement.model.OutboxMessage;
+import com.example.university.campusmanagement.webhook.WebhookClient;
+import com.example.university.campusmanagement.webhook.WebhookDispatcher;
+import com.example.university.campusmanagement.webhook.WebhookProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de la entrega de webhooks contra un stub HTTP local
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Webhook Dispatcher Tests")
+class WebhookDispatcherTest {
+
+    private static final String SECRET = "s3cret";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private HttpServer stub;
+    private final AtomicInteger responseStatus = new AtomicInteger(204);
+    private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private record Request(String body, String signature, String eventCount) {
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/hooks", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes());
+            requests.add(new Request(body, exchange.getRequestHeaders().getFirst(WebhookClient.SIGNATURE_HEADER),
+                    exchange.getRequestHeaders().getFirst(WebhookClient.EVENT_COUNT_HEADER)));
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        stub.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+    }
+
+    @Test
+    @DisplayName("Client should POST a signed JSON batch")
+    void clientShouldPostSignedBatch() throws Exception {
+        // Given
+        WebhookClient client = new WebhookClient(objectMapper, Duration.ofSeconds(2));
+        List<OutboxMessage> batch = List.of(message("m1", "1", "MAINTENANCE"), message("m2", "2", "INACTIVE"));
+
+        // When
+        WebhookClient.DeliveryResult result = client.deliver(endpoint(List.of(), 10), batch);
+
+        // Then
+        assertTrue(result.success());
+        assertEquals(204, result.statusCode());
+        Request request = requests.take();
+        assertEquals("2", request.eventCount());
+        assertTrue(request.body().startsWith("["));
+        assertTrue(request.body().contains("\"campusId\":\"1\""));
+        assertTrue(request.body().contains("\"currentState\":\"INACTIVE\""));
+        assertEquals("sha256=" + WebhookClient.sign(SECRET, request.body().getBytes()), request.signature());
+    }
+
+    @Test
+    @DisplayName("Client should report non-2xx responses and unreachable endpoints as failures")
+    void clientShouldReportFailures() {
+        // Given
+        WebhookClient client = new WebhookClient(objectMapper, Duration.ofSeconds(2));
+        responseStatus.set(503);
+        WebhookProperties.Endpoint closedPort = new WebhookProperties.Endpoint("closed",
+                URI.create("http://127.0.0.1:1/hooks"), List.of(), 1, 10, null);
+
+        // When
+        WebhookClient.DeliveryResult serverError = client.deliver(endpoint(List.of(), 10), List.of(message("m1", "1", "INACTIVE")));
+        WebhookClient.DeliveryResult unreachable = client.deliver(closedPort, List.of(message("m1", "1", "INACTIVE")));
+
+        // Then
+        assertFalse(serverError.success());
+        assertEquals(503, serverError.statusCode());
+        assertFalse(unreachable.success());
+        assertEquals(0, unreachable.statusCode());
+    }
+
+    @Test
+    @DisplayName("Dispatcher should batch matching messages and mark them delivered")
+    void dispatcherShouldDeliverAndMarkDelivered() throws Exception {
+        // Given
+        List<OutboxMessage> claimed = List.of(message("m1", "1", "MAINTENANCE"), message("m2", "2", "INACTIVE"),
+                message("m3", "3", "MAINTENANCE"));
+        stubClaim(claimed);
+        WebhookDispatcher dispatcher = dispatcher(endpoint(List.of("MAINTENANCE", "INACTIVE"), 2));
+
+        // When
+        int processed = dispatcher.dispatchPending();
+
+        // Then: 3 mensajes en lotes de 2 -> 2 peticiones
+        assertEquals(3, processed);
+        int delivered = 0;
+        for (int i = 0; i < 2; i++) {
+            delivered += Integer.parseInt(requests.take().eventCount());
+        }
+        assertEquals(3, delivered);
+        for (Document set : recordedSets(3)) {
+            assertEquals(OutboxMessage.Status.DELIVERED, set.get("status"));
+        }
+    }
+
+    @Test
+    @DisplayName("Dispatcher should schedule a retry with backoff when the endpoint fails")
+    void dispatcherShouldScheduleRetryOnFailure() {
+        // Given
+        responseStatus.set(500);
+        stubClaim(List.of(message("m1", "1", "INACTIVE")));
+        WebhookDispatcher dispatcher = dispatcher(endpoint(List.of(), 10));
+
+        // When
+        dispatcher.dispatchPending();
+
+        // Then
+        Document set = recordedSets(1).get(0);
+        assertEquals(1, set.get("attempts"));
+        assertNotNull(set.get("nextAttemptAt"));
+        assertNull(set.get("status"));
+        assertTrue(((String) set.get("lastError")).contains("HTTP 500"));
+    }
+
+    @Test
+    @DisplayName("Messages for states nobody subscribes to should be completed without calls")
+    void unmatchedMessagesShouldCompleteWithoutCalls() {
+        // Given
+        stubClaim(List.of(message("m1", "1", "ACTIVE")));
+        WebhookDispatcher dispatcher = dispatcher(endpoint(List.of("MAINTENANCE"), 10));
+
+        // When
+        dispatcher.dispatchPending();
+
+        // Then
+        assertTrue(requests.isEmpty());
+        assertEquals(OutboxMessage.Status.DELIVERED, recordedSets(1).get(0).get("status"));
+    }
+
+    @Test
+    @DisplayName("Backoff should grow exponentially with jitter and respect the maximum")
+    void backoffShouldGrowAndBeCapped() {
+        for (int attempt = 1; attempt <= 5; attempt++) {
+            long base = 1000L << (attempt - 1);
+            long delay = WebhookDispatcher.backoff(attempt, 1000, 60_000).toMillis();
+            assertTrue(delay >= base / 2 && delay <= base, "attempt " + attempt + " -> " + delay);
+        }
+        assertTrue(WebhookDispatcher.backoff(40, 1000, 60_000).toMillis() <= 60_000);
+    }
+
+    private WebhookDispatcher dispatcher(WebhookProperties.Endpoint endpoint) {
+        WebhookProperties properties = new WebhookProperties(true, 100, 5, 1000, 60_000, 30, 2000, List.of(endpoint));
+        return new WebhookDispatcher(mongoTemplate, new WebhookClient(objectMapper, Duration.ofSeconds(2)),
+                properties, new SimpleMeterRegistry());
+    }
+
+    private WebhookProperties.Endpoint endpoint(List<String> states, int maxBatchSize) {
+        URI url = URI.create("http://127.0.0.1:" + stub.getAddress().getPort() + "/hooks");
+        return new WebhookProperties.Endpoint("timetabling", url, states, 2, maxBatchSize, SECRET);
+    }
+
+    private void stubClaim(List<OutboxMessage> claimed) {
+        // Primera consulta: candidatos; segunda: mensajes reclamados con nuestro token
+        when(mongoTemplate.find(any(Query.class), eq(OutboxMessage.class))).thenReturn(claimed).thenReturn(claimed);
+    }
+
+    private List<Document> recordedSets(int expectedUpdates) {
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(expectedUpdates)).updateFirst(any(Query.class), updates.capture(), eq(OutboxMessage.class));
+        return updates.getAllValues().stream()
+                .map(update -> (Document) update.getUpdateObject().get("$set"))
+                .toList();
+    }
+
+    private static OutboxMessage message(String id, String campusId, String state) {
+        Campus campus = new Campus("Sede " + campusId, "Calle 1", "Armenia", "3000000000");
+        campus.setId(campusId);
+        campus.setCurrentState(state);
+        OutboxMessage message = OutboxMessage.fromEvent(CampusChangeEvent.stateChanged(campus, "ACTIVE", true));
+        message.setId(id);
+        message.setLockedBy("token");
+        return message;
+    }
+}